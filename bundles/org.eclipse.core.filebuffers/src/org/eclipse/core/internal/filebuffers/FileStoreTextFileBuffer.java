@@ -15,6 +15,7 @@
 package org.eclipse.core.internal.filebuffers;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -57,6 +58,7 @@ import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
@@ -363,6 +365,9 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 
 		String encoding= computeEncoding();
 
+		if (fDocument instanceof SynchronizableDocument synchronizableDocument)
+			synchronizableDocument.detachLazyContent();
+
 		Charset charset;
 		try {
 			charset= Charset.forName(encoding);
@@ -498,11 +503,22 @@ public class FileStoreTextFileBuffer extends FileStoreFileBuffer implements ITex
 		if (encoding == null) {
 			encoding= fManager.getDefaultEncoding();
 		}
+		boolean skipUTF8BOM= hasBOM && StandardCharsets.UTF_8.name().equals(encoding);
+		if (document instanceof SynchronizableDocument synchronizableDocument) {
+			try {
+				File localFile= file.toLocalFile(EFS.NONE, null);
+				if (localFile != null && synchronizableDocument.setLazyContent(localFile, encoding, skipUTF8BOM, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP))
+					return;
+			} catch (IOException x) {
+				String msg= x.getMessage() == null ? "" : x.getMessage(); //$NON-NLS-1$
+				IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, msg, x);
+				throw new CoreException(s);
+			}
+		}
 		try (InputStream contentStream= getFileContents(file)) {
 			if (contentStream == null) {
 				return;
 			}
-			boolean skipUTF8BOM= hasBOM && StandardCharsets.UTF_8.name().equals(encoding);
 			if (skipUTF8BOM) {
 				byte[] bom= contentStream.readNBytes(IContentDescription.BOM_UTF_8.length);
 				if (bom.length != IContentDescription.BOM_UTF_8.length) {
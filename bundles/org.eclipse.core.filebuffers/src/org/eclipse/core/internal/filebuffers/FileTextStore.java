@@ -0,0 +1,862 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Cleaner.Cleanable;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.ILineTrackerExtension;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextStore;
+
+
+/**
+ * A text store whose initial content is read lazily from a file.
+ * <p>
+ * The file is decoded in pages of bounded size. The byte and character offset of every page is
+ * recorded the first time the page is decoded, either on demand or by a background job, see
+ * {@link #scheduleIndexing()}. The decoded characters are not kept; instead, pages are decoded
+ * again on demand and a small number of them is cached.
+ * </p>
+ * <p>
+ * Reads from the file are validated against its size and modification time. Once the file has
+ * been changed by others, the content that is not cached cannot be read anymore: pages read as
+ * replacement characters of the same length, and if the file is not indexed yet, the content ends
+ * with the last indexed page. The content therefore keeps its length and stays consistent with the
+ * line tracker until the file buffer replaces it with the new file content.
+ * </p>
+ * <p>
+ * Modifications are recorded in a piece table on top of the file content, so the content is never
+ * copied into memory as a whole. Before the first modification, the file is copied to a private
+ * snapshot from which the remaining file content is read, so that the content of a modified store
+ * does not change when the file is modified or deleted by others.
+ * </p>
+ * <p>
+ * Only stateless charsets, i.e. UTF-8 and single byte charsets, are supported since decoding has
+ * to be restartable at every page boundary, see {@link #isSupported(Charset)}. The file is closed
+ * and the snapshot is deleted once no content refers to them anymore, see {@link #detach()}, or
+ * when the store is garbage collected.
+ * </p>
+ */
+public class FileTextStore implements ITextStore {
+
+	/** The number of characters per page. */
+	static final int PAGE_SIZE= 16 * 1024;
+
+	/** The maximum number of decoded pages that are cached. */
+	private static final int CACHED_PAGES= 16;
+
+	/** The size of the buffer used to read the file while indexing it. */
+	private static final int READ_BUFFER_SIZE= 64 * 1024;
+
+	/** The character read for content that cannot be read from the file anymore. */
+	private static final char UNREADABLE= '\uFFFD';
+
+	/** Closes the files of unreachable stores. */
+	private static final Cleaner CLEANER= Cleaner.create();
+
+	/**
+	 * A piece of the content, either a range of the file content or of the added text.
+	 */
+	private static final class Piece {
+
+		/** <code>true</code> if the piece refers to the file content, <code>false</code> if it refers to the added text. */
+		final boolean inFile;
+		/** The offset of this piece in the file content respectively in the added text. */
+		final int start;
+		/** The length of this piece. */
+		final int length;
+
+		Piece(boolean inFile, int start, int length) {
+			this.inFile= inFile;
+			this.start= start;
+			this.length= length;
+		}
+	}
+
+	/**
+	 * The file from which the content is read, either the original file or the private snapshot
+	 * taken before the first modification. It does not refer to the store, so that it can be
+	 * released once the store is unreachable.
+	 */
+	private static final class Source implements Runnable {
+
+		private final Path fFile;
+		private Path fSnapshot;
+		private FileChannel fChannel;
+		private boolean fReleased;
+
+		Source(Path file) {
+			fFile= file;
+		}
+
+		synchronized FileChannel getChannel() throws IOException {
+			if (fReleased)
+				throw new IOException("The file content has been released"); //$NON-NLS-1$
+			if (fChannel == null)
+				fChannel= FileChannel.open(fSnapshot != null ? fSnapshot : fFile, StandardOpenOption.READ);
+			return fChannel;
+		}
+
+		synchronized boolean isSnapshot() {
+			return fSnapshot != null;
+		}
+
+		synchronized void setSnapshot(Path snapshot) throws IOException {
+			if (fChannel != null)
+				fChannel.close();
+			fChannel= null;
+			fSnapshot= snapshot;
+		}
+
+		@Override
+		public synchronized void run() {
+			fReleased= true;
+			try {
+				if (fChannel != null)
+					fChannel.close();
+				fChannel= null;
+				if (fSnapshot != null)
+					Files.deleteIfExists(fSnapshot);
+			} catch (IOException x) {
+				// the snapshot is deleted on exit
+			}
+		}
+	}
+
+	/**
+	 * The state of the pass that decodes the file page by page.
+	 */
+	private static final class Indexer {
+
+		final CharsetDecoder fDecoder;
+		final ByteBuffer fIn= ByteBuffer.allocate(READ_BUFFER_SIZE);
+		final CharBuffer fOut= CharBuffer.allocate(PAGE_SIZE);
+		/** The file offset of the next byte to read. */
+		long fPosition;
+		/** The file offset after the last decoded byte. */
+		long fConsumed;
+		boolean fEndOfInput;
+		/** A trailing CR is passed to the tracker together with the next page, it may start with LF. */
+		String fPendingCR= ""; //$NON-NLS-1$
+
+		Indexer(CharsetDecoder decoder, long start) {
+			fDecoder= decoder;
+			fPosition= start;
+			fConsumed= start;
+			fIn.flip();
+		}
+	}
+
+	/**
+	 * A line tracker that indexes the file as far as needed to answer a query. Queries that
+	 * depend on the whole content, e.g. the number of lines, and modifications index the whole
+	 * file first.
+	 */
+	private final class LineTracker implements ILineTracker, ILineTrackerExtension {
+
+		@Override
+		public String[] getLegalLineDelimiters() {
+			return fTracker.getLegalLineDelimiters();
+		}
+
+		@Override
+		public String getLineDelimiter(int line) throws BadLocationException {
+			synchronized (FileTextStore.this) {
+				indexLines(line);
+				return fTracker.getLineDelimiter(line);
+			}
+		}
+
+		@Override
+		public int computeNumberOfLines(String text) {
+			return fTracker.computeNumberOfLines(text);
+		}
+
+		@Override
+		public int getNumberOfLines() {
+			synchronized (FileTextStore.this) {
+				indexAll();
+				return fTracker.getNumberOfLines();
+			}
+		}
+
+		@Override
+		public int getNumberOfLines(int offset, int length) throws BadLocationException {
+			synchronized (FileTextStore.this) {
+				// the tracker lags behind by a trailing CR
+				index(offset + length + 1);
+				return fTracker.getNumberOfLines(offset, length);
+			}
+		}
+
+		@Override
+		public int getLineOffset(int line) throws BadLocationException {
+			synchronized (FileTextStore.this) {
+				indexLines(line);
+				return fTracker.getLineOffset(line);
+			}
+		}
+
+		@Override
+		public int getLineLength(int line) throws BadLocationException {
+			synchronized (FileTextStore.this) {
+				indexLines(line);
+				return fTracker.getLineLength(line);
+			}
+		}
+
+		@Override
+		public int getLineNumberOfOffset(int offset) throws BadLocationException {
+			synchronized (FileTextStore.this) {
+				// the character at the offset decides whether it follows a CR in the same line
+				index(offset + 2);
+				return fTracker.getLineNumberOfOffset(offset);
+			}
+		}
+
+		@Override
+		public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+			synchronized (FileTextStore.this) {
+				index(offset + 2);
+				indexLines(fTracker.getLineNumberOfOffset(offset));
+				return fTracker.getLineInformationOfOffset(offset);
+			}
+		}
+
+		@Override
+		public IRegion getLineInformation(int line) throws BadLocationException {
+			synchronized (FileTextStore.this) {
+				indexLines(line);
+				return fTracker.getLineInformation(line);
+			}
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) throws BadLocationException {
+			synchronized (FileTextStore.this) {
+				indexAll();
+				fTracker.replace(offset, length, text);
+			}
+		}
+
+		@Override
+		public void set(String text) {
+			synchronized (FileTextStore.this) {
+				indexAll();
+				fTracker.set(text);
+			}
+		}
+
+		@Override
+		public void startRewriteSession(DocumentRewriteSession session) throws IllegalStateException {
+			synchronized (FileTextStore.this) {
+				indexAll();
+				if (fTracker instanceof ILineTrackerExtension extension)
+					extension.startRewriteSession(session);
+			}
+		}
+
+		@Override
+		public void stopRewriteSession(DocumentRewriteSession session, String text) {
+			synchronized (FileTextStore.this) {
+				if (fTracker instanceof ILineTrackerExtension extension)
+					extension.stopRewriteSession(session, text);
+			}
+		}
+	}
+
+	/** The file. */
+	private final Path fFile;
+	/** The size of the file when the store was created. */
+	private final long fFileSize;
+	/** The modification time of the file when the store was created. */
+	private final FileTime fFileTime;
+	/** The charset used to decode the file. */
+	private final Charset fCharset;
+	/** The file from which the content is read. */
+	private final Source fSource;
+	/** Releases the source. */
+	private final Cleanable fCleanable;
+	/** The line tracker initialized while indexing, or <code>null</code>. */
+	private final ILineTracker fTracker;
+
+	/** The byte offset of each indexed page in the file, with an additional entry for its end. */
+	private long[] fPageByteOffsets= new long[16];
+	/** The character offset of each indexed page, with an additional entry for its end. */
+	private int[] fPageCharOffsets= new int[16];
+	/** The number of indexed pages. */
+	private int fPageCount;
+	/** The indexing state, or <code>null</code> if the file is indexed. */
+	private Indexer fIndexer;
+	/** Tells whether the file has been changed since the store was created. */
+	private boolean fStale;
+	/** Tells whether a failure to read the file has been logged. */
+	private boolean fFailureLogged;
+	/** The decoded pages, in access order. */
+	private final Map<Integer, String> fPageCache= new LinkedHashMap<>(CACHED_PAGES, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+			return size() > CACHED_PAGES;
+		}
+	};
+
+	/** The text added by modifications, pieces refer to ranges of it. */
+	private StringBuilder fAdded= new StringBuilder();
+	/** The pieces forming the content of this store. */
+	private final List<Piece> fPieces= new ArrayList<>();
+	/**
+	 * The content offset of each piece, with an additional entry for the content length, or
+	 * <code>null</code> as long as the content is the unmodified file content.
+	 */
+	private int[] fPieceOffsets;
+
+	/**
+	 * Returns the file size in bytes from which on file buffers read documents lazily, or
+	 * <code>-1</code> if lazy loading is disabled. Configured through the
+	 * <code>org.eclipse.core.filebuffers.lazyLoadingThreshold</code> system property.
+	 *
+	 * @return the lazy loading threshold
+	 */
+	static long getLazyLoadingThreshold() {
+		return Long.getLong("org.eclipse.core.filebuffers.lazyLoadingThreshold", -1).longValue(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tells whether the given charset can be used to lazily decode a file.
+	 *
+	 * @param charset the charset
+	 * @return <code>true</code> if the charset is supported
+	 */
+	public static boolean isSupported(Charset charset) {
+		if (StandardCharsets.UTF_8.equals(charset))
+			return true;
+		return charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1f;
+	}
+
+	/**
+	 * Creates a new text store for the given file. Only the first page of the file is decoded; if
+	 * a line tracker is given, the decoded content is appended to it while indexing, see
+	 * {@link #getLineTracker()}.
+	 *
+	 * @param path the file
+	 * @param charset the charset, must be {@linkplain #isSupported(Charset) supported}
+	 * @param skip the number of bytes to skip at the beginning of the file, e.g. for a BOM
+	 * @param tracker the line tracker to initialize, or <code>null</code>
+	 * @throws IOException if the file cannot be read
+	 */
+	public FileTextStore(Path path, Charset charset, int skip, ILineTracker tracker) throws IOException {
+		BasicFileAttributes attributes= Files.readAttributes(path, BasicFileAttributes.class);
+		fFile= path;
+		fFileSize= attributes.size();
+		fFileTime= attributes.lastModifiedTime();
+		fCharset= charset;
+		fTracker= tracker;
+		fSource= new Source(path);
+		fCleanable= CLEANER.register(this, fSource);
+		fPageByteOffsets[0]= skip;
+		fIndexer= new Indexer(newDecoder(), skip);
+		// report files that cannot be read right away
+		synchronized (this) {
+			try {
+				decodePage();
+			} catch (IOException | RuntimeException x) {
+				fCleanable.clean();
+				throw x;
+			}
+		}
+	}
+
+	/**
+	 * Returns a line tracker for the content of this store. It answers from the line tracker given
+	 * when the store was created, after indexing the file as far as needed.
+	 *
+	 * @return the line tracker, or <code>null</code> if the store was created without one
+	 */
+	public ILineTracker getLineTracker() {
+		return fTracker != null ? new LineTracker() : null;
+	}
+
+	/**
+	 * Indexes the rest of the file in a background job. Readers that need content which has not
+	 * been indexed yet index it themselves instead of waiting for the job.
+	 */
+	public void scheduleIndexing() {
+		Job job= Job.createSystem(NLSUtility.format(FileBuffersMessages.FileTextStore_job_indexing, fFile.getFileName()), monitor -> {
+			while (!monitor.isCanceled() && indexNextPage()) {
+				// releases the lock between pages
+			}
+			return Status.OK_STATUS;
+		});
+		job.setPriority(Job.LONG);
+		job.schedule();
+	}
+
+	private synchronized boolean indexNextPage() {
+		if (fIndexer == null)
+			return false;
+		indexPage();
+		return fIndexer != null;
+	}
+
+	/**
+	 * Indexes the file until the given number of characters is decoded or the file is indexed.
+	 *
+	 * @param end the number of characters to index
+	 * @return the number of indexed characters
+	 */
+	private synchronized int index(int end) {
+		while (fIndexer != null && fPageCharOffsets[fPageCount] < end)
+			indexPage();
+		return fPageCharOffsets[fPageCount];
+	}
+
+	private int indexAll() {
+		return index(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Indexes the file until the given line and its delimiter are known to the tracker or the
+	 * file is indexed.
+	 *
+	 * @param line the line
+	 */
+	private synchronized void indexLines(int line) {
+		while (fIndexer != null && fTracker.getNumberOfLines() <= line + 1)
+			indexPage();
+	}
+
+	/**
+	 * Decodes the next page of the file. If the file cannot be read anymore, the content ends
+	 * with the last indexed page.
+	 */
+	private void indexPage() {
+		try {
+			decodePage();
+		} catch (IOException x) {
+			logFailure(x);
+			try {
+				finishIndexing(fIndexer);
+			} catch (IOException e) {
+				// cannot happen, the text is always appended
+			}
+		}
+	}
+
+	private void decodePage() throws IOException {
+		Indexer indexer= fIndexer;
+		ByteBuffer in= indexer.fIn;
+		CharBuffer out= indexer.fOut;
+		while (true) {
+			int before= in.position();
+			CoderResult result= indexer.fDecoder.decode(in, out, indexer.fEndOfInput);
+			indexer.fConsumed+= in.position() - before;
+			if (result.isUnderflow() && indexer.fEndOfInput)
+				result= indexer.fDecoder.flush(out);
+
+			if (result.isOverflow() || indexer.fEndOfInput) {
+				// the page is complete, the decoder stopped at a character boundary
+				out.flip();
+				if (out.hasRemaining())
+					addPage(indexer, out);
+				out.clear();
+				if (!result.isOverflow())
+					finishIndexing(indexer);
+				return;
+			}
+
+			in.compact();
+			FileChannel channel= fSource.getChannel();
+			int read= channel.read(in, indexer.fPosition);
+			in.flip();
+			checkUnchanged();
+			if (read == -1)
+				indexer.fEndOfInput= true;
+			else
+				indexer.fPosition+= read;
+		}
+	}
+
+	/**
+	 * Records a decoded page and appends it to the line tracker.
+	 *
+	 * @param indexer the indexing state
+	 * @param page the decoded page
+	 * @throws IOException if the file is too large
+	 */
+	private void addPage(Indexer indexer, CharBuffer page) throws IOException {
+		int start= fPageCharOffsets[fPageCount];
+		int pageLength= page.remaining();
+		if (start + pageLength < 0)
+			throw new IOException("File content exceeds the maximum document length"); //$NON-NLS-1$
+		if (++fPageCount == fPageByteOffsets.length) {
+			fPageByteOffsets= Arrays.copyOf(fPageByteOffsets, fPageCount * 2);
+			fPageCharOffsets= Arrays.copyOf(fPageCharOffsets, fPageCount * 2);
+		}
+		fPageByteOffsets[fPageCount]= indexer.fConsumed;
+		fPageCharOffsets[fPageCount]= start + pageLength;
+
+		if (fTracker != null) {
+			String text= indexer.fPendingCR + page;
+			int offset= start - indexer.fPendingCR.length();
+			indexer.fPendingCR= text.endsWith("\r") ? "\r" : ""; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			try {
+				fTracker.replace(offset, 0, text.substring(0, text.length() - indexer.fPendingCR.length()));
+			} catch (BadLocationException x) {
+				// cannot happen, the text is always appended
+				throw new IOException(x);
+			}
+		}
+	}
+
+	private void finishIndexing(Indexer indexer) throws IOException {
+		if (fTracker != null && !indexer.fPendingCR.isEmpty()) {
+			try {
+				fTracker.replace(fPageCharOffsets[fPageCount] - 1, 0, indexer.fPendingCR);
+			} catch (BadLocationException x) {
+				// cannot happen, the text is always appended
+				throw new IOException(x);
+			}
+		}
+		fIndexer= null;
+		if (fPageCount == 0)
+			fCleanable.clean();
+	}
+
+	/**
+	 * Verifies that the file has not been changed since the store was created, unless the content
+	 * is read from the snapshot. Once a change is detected, the file is never read again.
+	 *
+	 * @throws IOException if the file has been changed
+	 */
+	private void checkUnchanged() throws IOException {
+		if (fSource.isSnapshot())
+			return;
+		if (!fStale) {
+			BasicFileAttributes attributes= Files.readAttributes(fFile, BasicFileAttributes.class);
+			fStale= attributes.size() != fFileSize || !attributes.lastModifiedTime().equals(fFileTime);
+		}
+		if (fStale)
+			throw new IOException("The file has been changed: " + fFile); //$NON-NLS-1$
+	}
+
+	/**
+	 * Copies the file to the private snapshot from which its content is read from now on. If the
+	 * copy fails, the content is still read from the file.
+	 */
+	private synchronized void takeSnapshot() {
+		try {
+			Path snapshot= Files.createTempFile("filebuffer", ".snapshot"); //$NON-NLS-1$ //$NON-NLS-2$
+			snapshot.toFile().deleteOnExit();
+			try {
+				checkUnchanged();
+				Files.copy(fFile, snapshot, StandardCopyOption.REPLACE_EXISTING);
+				checkUnchanged();
+				fSource.setSnapshot(snapshot);
+			} catch (IOException x) {
+				Files.deleteIfExists(snapshot);
+				throw x;
+			}
+		} catch (IOException x) {
+			logFailure(x);
+		}
+	}
+
+	private void logFailure(IOException x) {
+		if (!fFailureLogged) {
+			fFailureLogged= true;
+			ILog.of(FileTextStore.class).warn("Cannot read the content of " + fFile, x); //$NON-NLS-1$
+		}
+	}
+
+	private CharsetDecoder newDecoder() {
+		// same replacement behavior as new String(byte[], Charset)
+		return fCharset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Returns the decoded page with the given index.
+	 *
+	 * @param page the page index
+	 * @return the decoded page
+	 */
+	private synchronized String getPage(int page) {
+		String text= fPageCache.get(Integer.valueOf(page));
+		if (text == null) {
+			long start= fPageByteOffsets[page];
+			int byteLength= (int) (fPageByteOffsets[page + 1] - start);
+			ByteBuffer bytes= ByteBuffer.allocate(byteLength);
+			try {
+				FileChannel channel= fSource.getChannel();
+				while (bytes.hasRemaining()) {
+					if (channel.read(bytes, start + bytes.position()) == -1)
+						throw new IOException("The file is truncated: " + fFile); //$NON-NLS-1$
+				}
+				checkUnchanged();
+				bytes.flip();
+				text= newDecoder().decode(bytes).toString();
+			} catch (IOException x) {
+				logFailure(x);
+				return String.valueOf(UNREADABLE).repeat(fPageCharOffsets[page + 1] - fPageCharOffsets[page]);
+			}
+			fPageCache.put(Integer.valueOf(page), text);
+		}
+		return text;
+	}
+
+	/**
+	 * Returns the index of the page respectively piece containing the given offset.
+	 *
+	 * @param offsets the start offsets, with an additional entry for the end
+	 * @param count the number of pages respectively pieces
+	 * @param offset the offset
+	 * @return the index of the page or piece containing the offset
+	 */
+	private static int indexOf(int[] offsets, int count, int offset) {
+		int index= Arrays.binarySearch(offsets, 0, count, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	private synchronized char getFileChar(int offset) {
+		int page= indexOf(fPageCharOffsets, fPageCount, offset);
+		return getPage(page).charAt(offset - fPageCharOffsets[page]);
+	}
+
+	private synchronized void appendFileContent(int offset, int length, StringBuilder buffer) {
+		int end= offset + length;
+		int page= indexOf(fPageCharOffsets, fPageCount, offset);
+		while (offset < end) {
+			int pageStart= fPageCharOffsets[page];
+			int pageEnd= Math.min(fPageCharOffsets[page + 1], end);
+			buffer.append(getPage(page), offset - pageStart, pageEnd - pageStart);
+			offset= pageEnd;
+			page++;
+		}
+	}
+
+	@Override
+	public char get(int offset) {
+		if (fPieceOffsets == null) {
+			if (offset < 0 || offset >= index(offset + 1))
+				throw new IndexOutOfBoundsException(offset);
+			return getFileChar(offset);
+		}
+		if (offset < 0 || offset >= getLength())
+			throw new IndexOutOfBoundsException(offset);
+
+		int index= indexOf(fPieceOffsets, fPieces.size(), offset);
+		Piece piece= fPieces.get(index);
+		int inPiece= piece.start + offset - fPieceOffsets[index];
+		return piece.inFile ? getFileChar(inPiece) : fAdded.charAt(inPiece);
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (fPieceOffsets == null) {
+			if (offset < 0 || length < 0 || offset + length > index(offset + length))
+				throw new IndexOutOfBoundsException();
+			StringBuilder buffer= new StringBuilder(length);
+			appendFileContent(offset, length, buffer);
+			return buffer.toString();
+		}
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException();
+
+		StringBuilder buffer= new StringBuilder(length);
+		int end= offset + length;
+		int index= indexOf(fPieceOffsets, fPieces.size(), offset);
+		while (offset < end) {
+			Piece piece= fPieces.get(index);
+			int pieceStart= fPieceOffsets[index];
+			int from= piece.start + offset - pieceStart;
+			int count= Math.min(fPieceOffsets[index + 1], end) - offset;
+			if (piece.inFile)
+				appendFileContent(from, count, buffer);
+			else
+				buffer.append(fAdded, from, from + count);
+			offset+= count;
+			index++;
+		}
+		return buffer.toString();
+	}
+
+	@Override
+	public int getLength() {
+		if (fPieceOffsets == null)
+			return indexAll();
+		return fPieceOffsets[fPieceOffsets.length - 1];
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (fPieceOffsets == null) {
+			// the first modification
+			int fileContentLength= indexAll();
+			if (offset < 0 || length < 0 || offset + length > fileContentLength)
+				throw new IndexOutOfBoundsException();
+			if (fileContentLength > 0) {
+				takeSnapshot();
+				fPieces.add(new Piece(true, 0, fileContentLength));
+			}
+			updatePieceOffsets(0);
+		}
+
+		int contentLength= getLength();
+		if (offset < 0 || length < 0 || offset + length > contentLength)
+			throw new IndexOutOfBoundsException();
+
+		int textLength= text != null ? text.length() : 0;
+		int count= fPieces.size();
+
+		// typing extends the piece of the previously added text
+		if (length == 0 && textLength > 0 && offset > 0) {
+			int index= indexOf(fPieceOffsets, count, offset - 1);
+			Piece piece= fPieces.get(index);
+			if (!piece.inFile && fPieceOffsets[index + 1] == offset && piece.start + piece.length == fAdded.length()) {
+				fAdded.append(text);
+				fPieces.set(index, new Piece(false, piece.start, piece.length + textLength));
+				for (int i= index + 1; i <= count; i++)
+					fPieceOffsets[i]+= textLength;
+				return;
+			}
+		}
+
+		int end= offset + length;
+		// the pieces from first to last (exclusive) are replaced by at most three pieces
+		int first= offset < contentLength ? indexOf(fPieceOffsets, count, offset) : count;
+		Piece[] replacement= new Piece[3];
+		int replacementCount= 0;
+		if (first < count && fPieceOffsets[first] < offset) {
+			Piece piece= fPieces.get(first);
+			replacement[replacementCount++]= new Piece(piece.inFile, piece.start, offset - fPieceOffsets[first]);
+		}
+		if (textLength > 0) {
+			replacement[replacementCount++]= new Piece(false, fAdded.length(), textLength);
+			fAdded.append(text);
+		}
+		int last= count;
+		if (end < contentLength) {
+			last= indexOf(fPieceOffsets, count, end);
+			int skip= end - fPieceOffsets[last];
+			if (skip > 0) {
+				Piece piece= fPieces.get(last);
+				replacement[replacementCount++]= new Piece(piece.inFile, piece.start + skip, piece.length - skip);
+				last++;
+			}
+		}
+
+		// reuse the slots of the replaced pieces before inserting or removing slots
+		int reused= Math.min(last - first, replacementCount);
+		for (int i= 0; i < reused; i++)
+			fPieces.set(first + i, replacement[i]);
+		if (reused < replacementCount) {
+			fPieces.addAll(first + reused, Arrays.asList(replacement).subList(reused, replacementCount));
+		} else if (reused < last - first) {
+			fPieces.subList(first + reused, last).clear();
+		}
+		updatePieceOffsets(first);
+	}
+
+	@Override
+	public void set(String text) {
+		synchronized (this) {
+			// the file content is replaced, it does not need to be indexed anymore
+			fIndexer= null;
+		}
+		fPieces.clear();
+		fAdded= new StringBuilder();
+		if (text != null && !text.isEmpty()) {
+			fAdded.append(text);
+			fPieces.add(new Piece(false, 0, text.length()));
+		}
+		fPieceOffsets= null;
+		updatePieceOffsets(0);
+		release();
+	}
+
+	/**
+	 * Copies all content that still refers to the file into memory and releases the file.
+	 */
+	public void detach() {
+		if (fPieceOffsets == null) {
+			set(get(0, getLength()));
+			return;
+		}
+		for (Piece piece : fPieces) {
+			if (piece.inFile) {
+				set(get(0, getLength()));
+				return;
+			}
+		}
+		release();
+	}
+
+	/**
+	 * Releases the file. No content may refer to it anymore.
+	 */
+	private void release() {
+		synchronized (this) {
+			fPageCache.clear();
+		}
+		fCleanable.clean();
+	}
+
+	/**
+	 * Updates the content offsets of the pieces from the given index on.
+	 *
+	 * @param from the index of the first piece whose offset may have changed
+	 */
+	private void updatePieceOffsets(int from) {
+		int count= fPieces.size();
+		if (fPieceOffsets == null || fPieceOffsets.length != count + 1) {
+			int[] offsets= new int[count + 1];
+			if (fPieceOffsets != null)
+				System.arraycopy(fPieceOffsets, 0, offsets, 0, Math.min(from + 1, fPieceOffsets.length));
+			fPieceOffsets= offsets;
+		}
+		for (int i= from; i < count; i++)
+			fPieceOffsets[i + 1]= fPieceOffsets[i] + fPieces.get(i).length;
+	}
+}
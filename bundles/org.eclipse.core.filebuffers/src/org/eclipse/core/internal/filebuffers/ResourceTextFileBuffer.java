@@ -37,6 +37,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResourceStatus;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -286,6 +287,9 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 
 		String encoding= computeEncoding();
 
+		if (fDocument instanceof SynchronizableDocument synchronizableDocument)
+			synchronizableDocument.detachLazyContent();
+
 		if (fBOM == IContentDescription.BOM_UTF_16LE && StandardCharsets.UTF_16.name().equals(encoding))
 			encoding= StandardCharsets.UTF_16LE.name();
 
@@ -478,8 +482,19 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		if (encoding == null) {
 			encoding= fManager.getDefaultEncoding();
 		}
+		boolean skipUTF8BOM= fBOM != null && StandardCharsets.UTF_8.name().equals(encoding);
+		IPath location= file.getLocation();
+		if (location != null && document instanceof SynchronizableDocument synchronizableDocument) {
+			try {
+				if (synchronizableDocument.setLazyContent(location.toFile(), encoding, skipUTF8BOM, file.getModificationStamp()))
+					return;
+			} catch (IOException x) {
+				String message= (x.getMessage() != null ? x.getMessage() : ""); //$NON-NLS-1$
+				IStatus s= new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IStatus.OK, message, x);
+				throw new CoreException(s);
+			}
+		}
 		try (InputStream contentStream= file.getContents()) {
-			boolean skipUTF8BOM= fBOM != null && StandardCharsets.UTF_8.name().equals(encoding);
 			if (skipUTF8BOM) {
 				byte[] bom= contentStream.readNBytes(IContentDescription.BOM_UTF_8.length);
 				if (bom.length != IContentDescription.BOM_UTF_8.length) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,14 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.core.runtime.content.IContentDescription;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPartitioningException;
 import org.eclipse.jface.text.BadPositionCategoryException;
@@ -24,6 +29,8 @@ import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.DocumentRewriteSession;
 import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.ILineTracker;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.ITypedRegion;
@@ -429,4 +436,86 @@ public class SynchronizableDocument extends Document implements ISynchronizable
 			return super.getLineOfOffset(pos);
 		}
 	}
+
+	/**
+	 * Initializes the content of this empty document lazily from the given file if the file is
+	 * larger than {@link FileTextStore#getLazyLoadingThreshold()}. The content is not
+	 * materialized; it is decoded on demand by a {@link FileTextStore}, which indexes the lines of
+	 * the file in the background.
+	 * <p>
+	 * Document listeners cannot be notified about the new content without materializing it, so
+	 * this is only done for documents without document listeners. Connected partitioners are
+	 * reconnected.
+	 * </p>
+	 *
+	 * @param file the file to read
+	 * @param encoding the encoding of the file
+	 * @param skipUTF8BOM <code>true</code> if the file starts with a UTF-8 BOM that must be skipped
+	 * @param modificationStamp the new modification stamp of this document, or
+	 *            {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 * @return <code>true</code> if the content has been initialized, <code>false</code> if the
+	 *         caller has to read and set the content
+	 * @throws IOException if the file cannot be read
+	 */
+	boolean setLazyContent(File file, String encoding, boolean skipUTF8BOM, long modificationStamp) throws IOException {
+		long threshold= FileTextStore.getLazyLoadingThreshold();
+		if (threshold < 0 || file.length() < threshold)
+			return false;
+		if (getLength() != 0 || !getDocumentListeners().isEmpty())
+			return false;
+		Charset charset;
+		try {
+			charset= Charset.forName(encoding);
+		} catch (IllegalArgumentException x) {
+			// let the caller report the unsupported encoding
+			return false;
+		}
+		if (!FileTextStore.isSupported(charset))
+			return false;
+
+		// updates the modification stamp, the document is empty and has no listeners
+		if (modificationStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+			set(""); //$NON-NLS-1$
+		else
+			set("", modificationStamp); //$NON-NLS-1$
+
+		ILineTracker tracker= getTracker();
+		FileTextStore store;
+		try {
+			store= new FileTextStore(file.toPath(), charset, skipUTF8BOM ? IContentDescription.BOM_UTF_8.length : 0, tracker);
+		} catch (IOException | RuntimeException x) {
+			tracker.set(""); //$NON-NLS-1$
+			throw x;
+		}
+		setTextStore(store);
+		setLineTracker(store.getLineTracker());
+		store.scheduleIndexing();
+
+		for (String partitioning : getPartitionings()) {
+			IDocumentPartitioner partitioner= getDocumentPartitioner(partitioning);
+			if (partitioner != null) {
+				partitioner.disconnect();
+				partitioner.connect(this);
+				setDocumentPartitioner(partitioning, partitioner);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copies all content of this document that is still read lazily from a file into memory. Must
+	 * be called before the file is overwritten.
+	 */
+	void detachLazyContent() {
+		Object lockObject= getLockObject();
+		if (lockObject == null) {
+			if (getStore() instanceof FileTextStore store)
+				store.detach();
+			return;
+		}
+		synchronized (lockObject) {
+			if (getStore() instanceof FileTextStore store)
+				store.detach();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@
 package org.eclipse.jface.text.source.projection;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -33,6 +34,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.internal.text.SelectionProcessor;
 
@@ -46,6 +48,7 @@ import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISlaveDocumentManager;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.text.ITextViewerExtension5;
+import org.eclipse.jface.text.MultiTextSelection;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextSelection;
@@ -226,6 +229,7 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 
 		final static int REDRAW_COSTS= 15;
 		final static int INVALIDATION_COSTS= 10;
+		final static int BULK_COSTS= 100;
 
 		List<ProjectionCommand> fList= new ArrayList<>(15);
 		int fExpectedExecutionCosts= -1;
@@ -256,6 +260,10 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 			return fExpectedExecutionCosts > INVALIDATION_COSTS;
 		}
 
+		boolean passedBulkCostsThreshold() {
+			return fList.size() > BULK_COSTS;
+		}
+
 		private void computeExpectedExecutionCosts() {
 			int max_costs= Math.max(REDRAW_COSTS, INVALIDATION_COSTS);
 			fExpectedExecutionCosts= fList.size();
@@ -968,7 +976,11 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 			ProjectionCommandQueue commandQueue= fCommandQueue;
 			fCommandQueue= null;
 
-			if (commandQueue.passedRedrawCostsThreshold()) {
+			if (commandQueue.passedBulkCostsThreshold()) {
+				// many folding changes at once, e.g. collapse all: rebuild the projection in one pass
+				commandQueue.clear();
+				reinitializeProjection();
+			} else if (commandQueue.passedRedrawCostsThreshold()) {
 				setRedraw(false);
 				try {
 					executeProjectionCommands(commandQueue, false);
@@ -1195,30 +1207,69 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 				IDocument slave= manager.createSlaveDocument(master);
 				if (slave instanceof ProjectionDocument) {
 					projection= (ProjectionDocument) slave;
-					addMasterDocumentRange(projection, 0, master.getLength());
+					List<IRegion> collapsed= computeCollapsedMasterRanges(master);
+					projection.replaceMasterDocumentRanges(computeExpandedMasterRanges(collapsed, master.getLength()));
 				}
 			}
 		}
 
-		if (projection != null) {
-			Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
-			while (e.hasNext()) {
-				ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
-				if (annotation.isCollapsed()) {
-					Position position= fProjectionAnnotationModel.getPosition(annotation);
-					if (position != null) {
-						IRegion[] regions= computeCollapsedRegions(position);
-						if (regions != null)
-							for (IRegion region : regions) {
-								removeMasterDocumentRange(projection, region.getOffset(), region.getLength());
+		replaceVisibleDocument(projection);
+	}
+
+	/**
+	 * Returns the line based master document ranges hidden by the collapsed annotations of the
+	 * projection annotation model.
+	 *
+	 * @param master the master document
+	 * @return the collapsed ranges, sorted by offset, possibly overlapping
+	 * @throws BadLocationException in case the annotation model is not in sync with the document
+	 * @since 3.27
+	 */
+	private List<IRegion> computeCollapsedMasterRanges(IDocument master) throws BadLocationException {
+		List<IRegion> collapsed= new ArrayList<>();
+		Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
+		while (e.hasNext()) {
+			ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
+			if (annotation.isCollapsed()) {
+				Position position= fProjectionAnnotationModel.getPosition(annotation);
+				if (position != null) {
+					IRegion[] regions= computeCollapsedRegions(position);
+					if (regions != null) {
+						for (IRegion region : regions) {
+							// make sure the document range is strictly line based, see removeMasterDocumentRange
+							int end= region.getOffset() + region.getLength();
+							int offset= toLineStart(master, region.getOffset(), false);
+							int length= toLineStart(master, end, true) - offset;
+							if (length > 0)
+								collapsed.add(new Region(offset, length));
 						}
 					}
 				}
 			}
-
 		}
+		collapsed.sort(Comparator.comparingInt(IRegion::getOffset));
+		return collapsed;
+	}
 
-		replaceVisibleDocument(projection);
+	/**
+	 * Returns the master document ranges that are not covered by the given collapsed ranges.
+	 *
+	 * @param collapsed the collapsed ranges, sorted by offset
+	 * @param masterLength the length of the master document
+	 * @return the ranges to be shown
+	 * @since 3.27
+	 */
+	private static IRegion[] computeExpandedMasterRanges(List<IRegion> collapsed, int masterLength) {
+		List<IRegion> expanded= new ArrayList<>(collapsed.size() + 1);
+		int offset= 0;
+		for (IRegion region : collapsed) {
+			if (offset < region.getOffset())
+				expanded.add(new Region(offset, region.getOffset() - offset));
+			offset= Math.max(offset, region.getOffset() + region.getLength());
+		}
+		if (offset < masterLength)
+			expanded.add(new Region(offset, masterLength - offset));
+		return expanded.toArray(new IRegion[expanded.size()]);
 	}
 
 	@Override
@@ -1733,4 +1784,48 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 
 		return -1;
 	}
+
+	@Override
+	protected int findAndSelectAll(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IRegion range, IProgressMonitor monitor) {
+
+		if (!isProjectionMode())
+			return super.findAndSelectAll(findString, caseSensitive, wholeWord, regExSearch, range, monitor);
+
+		if (getTextWidget() == null)
+			return 0;
+
+		FindReplaceDocumentAdapter adapter= getFindReplaceDocumentAdapter();
+		IRegion searchRange= range == null ? new Region(0, adapter.length()) : range;
+		List<IRegion> matches= new ArrayList<>();
+		try {
+			adapter.findAll(searchRange.getOffset(), searchRange.getLength(), findString, caseSensitive, wholeWord, regExSearch, matches::add, monitor);
+		} catch (BadLocationException x) {
+			return 0;
+		}
+
+		if (!matches.isEmpty()) {
+			for (IRegion match : matches)
+				exposeModelRange(match);
+			setSelection(new MultiTextSelection(getDocument(), matches.toArray(new IRegion[matches.size()])), true);
+		}
+		return matches.size();
+	}
+
+	@Override
+	protected int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IRegion range, IProgressMonitor monitor) {
+
+		if (!isProjectionMode())
+			return super.replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch, range, monitor);
+
+		if (getTextWidget() == null)
+			return 0;
+
+		FindReplaceDocumentAdapter adapter= getFindReplaceDocumentAdapter();
+		IRegion searchRange= range == null ? new Region(0, adapter.length()) : range;
+		try {
+			return adapter.replaceAll(searchRange.getOffset(), searchRange.getLength(), findString, replaceString, caseSensitive, wholeWord, regExSearch, monitor);
+		} catch (BadLocationException x) {
+			return 0;
+		}
+	}
 }
@@ -154,6 +154,11 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 
 	@Override
 	public void update(List<ICodeMining> minings, IProgressMonitor monitor) {
+		if (fMinings.equals(minings)) {
+			// the same minings are rendered again, keep their resolved state
+			fMonitor= monitor;
+			return;
+		}
 		if (fResolvedMinings == null || (fResolvedMinings.length != minings.size())) {
 			// size of resolved minings are different from size of minings to update, initialize it with size of minings to update
 			fResolvedMinings= new ICodeMining[minings.size()];
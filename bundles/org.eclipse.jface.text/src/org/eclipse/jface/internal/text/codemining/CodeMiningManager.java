@@ -13,21 +13,27 @@
  */
 package org.eclipse.jface.internal.text.codemining;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.osgi.framework.Bundle;
 
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.graphics.Rectangle;
 
 import org.eclipse.core.runtime.Assert;
@@ -37,11 +43,19 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextInputListener;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.JFaceTextUtil;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineContentCodeMining;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.source.ISourceViewer;
@@ -50,11 +64,195 @@ import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
 
 /**
  * Code Mining manager implementation.
+ * <p>
+ * The minings of {@link ICodeMiningProviderExtension providers} which can compute the minings of a
+ * region are only computed for the visible lines and a margin of lines around them. They are cached
+ * per region; a region is dropped when it gets edited and computed again once it is close to the
+ * visible lines.
+ * </p>
  *
  * @since 3.13
  */
 public class CodeMiningManager implements Runnable {
 
+	/**
+	 * The maximal number of provider requests of a viewer that run at the same time.
+	 */
+	private static final int MAX_CONCURRENT_REQUESTS= 4;
+
+	/**
+	 * The minimal number of lines above and below the visible lines for which the minings of the
+	 * region providers are computed.
+	 */
+	private static final int MIN_PREFETCH_LINES= 50;
+
+	/**
+	 * The minings that a region provider computed for a region of the document.
+	 */
+	private static final class CachedRegion {
+
+		/** The offset of the region in the current document. */
+		int fOffset;
+		/** The length of the region. */
+		final int fLength;
+		/** The offset of the region when the minings have been computed. */
+		final int fOriginalOffset;
+		/** The minings of the region, <code>null</code> while they are computed. */
+		ICodeMining[] fMinings;
+		/** The offsets of the minings when they have been computed. */
+		int[] fMiningOffsets;
+
+		CachedRegion(int offset, int length) {
+			fOffset= offset;
+			fLength= length;
+			fOriginalOffset= offset;
+		}
+
+		int getEnd() {
+			return fOffset + fLength;
+		}
+
+		void setMinings(List<? extends ICodeMining> minings) {
+			List<ICodeMining> inRegion= new ArrayList<>();
+			if (minings != null) {
+				for (ICodeMining mining : minings) {
+					Position position= mining != null ? mining.getPosition() : null;
+					if (position != null && position.getOffset() >= fOffset && position.getOffset() < getEnd())
+						inRegion.add(mining);
+				}
+			}
+			fMinings= inRegion.toArray(new ICodeMining[inRegion.size()]);
+			fMiningOffsets= new int[fMinings.length];
+			for (int i= 0; i < fMinings.length; i++)
+				fMiningOffsets[i]= fMinings[i].getPosition().getOffset();
+		}
+
+		/**
+		 * Returns the position of the mining at the given index in the current document.
+		 *
+		 * @param index the index of the mining
+		 * @return the position of the mining
+		 */
+		Position getPosition(int index) {
+			Position position= fMinings[index].getPosition();
+			int offset= fMiningOffsets[index] + fOffset - fOriginalOffset;
+			return offset == position.getOffset() ? position : new Position(offset, position.getLength());
+		}
+	}
+
+	/**
+	 * A code mining with its position in the current document.
+	 */
+	private record PlacedMining(Position position, ICodeMining mining) {
+	}
+
+	/**
+	 * Tracks the changes of the document and of the visible lines.
+	 */
+	private final class Listener implements IDocumentListener, ITextInputListener, IViewportListener {
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// do nothing
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			handleDocumentChanged(event);
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null)
+				oldInput.removeDocumentListener(this);
+			synchronized (fLock) {
+				fRegionMinings.clear();
+				fModificationCount++;
+			}
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			if (newInput != null)
+				newInput.addDocumentListener(this);
+		}
+
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			updateVisibleLines();
+			updateVisibleRegions();
+		}
+	}
+
+	/**
+	 * A provider request which runs once it got one of the {@link #MAX_CONCURRENT_REQUESTS} slots.
+	 * The slot is released when the future of the provider completes, or when the request gets
+	 * canceled before it started.
+	 */
+	private final class ProviderRequest implements Runnable {
+
+		/** The provider request. */
+		private final Supplier<CompletableFuture<List<? extends ICodeMining>>> fSupplier;
+		/** The progress monitor of the update which started the request. */
+		final IProgressMonitor fUpdateMonitor;
+		/** The future of the code minings. */
+		final CompletableFuture<List<? extends ICodeMining>> fResult= new CompletableFuture<>();
+		/** Tells whether the slot of the request has been released. */
+		private final AtomicBoolean fReleased= new AtomicBoolean();
+
+		ProviderRequest(Supplier<CompletableFuture<List<? extends ICodeMining>>> supplier, IProgressMonitor monitor) {
+			fSupplier= supplier;
+			fUpdateMonitor= monitor;
+		}
+
+		@Override
+		public void run() {
+			if (isCanceled(fUpdateMonitor)) {
+				cancelRequest();
+				return;
+			}
+			CompletableFuture<List<? extends ICodeMining>> future;
+			try {
+				future= fSupplier.get();
+			} catch (RuntimeException e) {
+				future= CompletableFuture.failedFuture(e);
+			}
+			if (future == null) {
+				future= CompletableFuture.completedFuture(Collections.emptyList());
+			}
+			future.whenComplete((minings, e) -> {
+				release();
+				if (e != null) {
+					fResult.completeExceptionally(e);
+				} else {
+					fResult.complete(minings);
+				}
+			});
+		}
+
+		/**
+		 * Completes the request as canceled and releases its slot. Must only be called before the
+		 * provider has been asked for its code minings.
+		 */
+		void cancelRequest() {
+			fResult.cancel(false);
+			release();
+		}
+
+		/**
+		 * Releases the slot of this request, if it has not been released yet, and dispatches the
+		 * next queued request.
+		 */
+		private void release() {
+			if (fReleased.compareAndSet(false, true)) {
+				synchronized (fQueuedRequests) {
+					fRunningRequests.remove(this);
+				}
+				dispatchQueuedRequest();
+			}
+		}
+	}
+
 	/**
 	 * The source viewer
 	 */
@@ -75,6 +273,59 @@ public class CodeMiningManager implements Runnable {
 	 */
 	private IProgressMonitor fMonitor;
 
+	/**
+	 * The listener to the document and the viewport.
+	 */
+	private final Listener fListener= new Listener();
+
+	/**
+	 * The lock guarding the computed minings.
+	 */
+	private final Object fLock= new Object();
+
+	/**
+	 * The minings of the providers that compute the minings of the whole document.
+	 */
+	private final Map<ICodeMiningProvider, List<? extends ICodeMining>> fDocumentMinings= new HashMap<>();
+
+	/**
+	 * The regions computed by the region providers, sorted by offset.
+	 */
+	private final Map<ICodeMiningProvider, List<CachedRegion>> fRegionMinings= new HashMap<>();
+
+	/**
+	 * Counts the changes of the document, to detect the results computed for an outdated
+	 * document.
+	 */
+	private long fModificationCount;
+
+	/**
+	 * Tells whether the document has changed since the code minings have been updated the last
+	 * time.
+	 */
+	private boolean fDocumentChanged;
+
+	/**
+	 * The requests waiting for one of the running requests to release its slot. Guards
+	 * {@link #fRunningRequests}.
+	 */
+	private final Deque<ProviderRequest> fQueuedRequests= new ArrayDeque<>();
+
+	/**
+	 * The provider requests which hold one of the {@link #MAX_CONCURRENT_REQUESTS} slots.
+	 */
+	private final Set<ProviderRequest> fRunningRequests= new HashSet<>();
+
+	/**
+	 * The first visible model line, or -1 if unknown.
+	 */
+	private volatile int fTopLine= -1;
+
+	/**
+	 * The last visible model line, or -1 if unknown.
+	 */
+	private volatile int fBottomLine= -1;
+
 	/**
 	 * Constructor of codemining manager with the given arguments.
 	 *
@@ -90,6 +341,13 @@ public class CodeMiningManager implements Runnable {
 		fViewer= viewer;
 		fInlinedAnnotationSupport= inlinedAnnotationSupport;
 		setCodeMiningProviders(codeMiningProviders);
+		fViewer.addTextInputListener(fListener);
+		fViewer.addViewportListener(fListener);
+		IDocument document= fViewer.getDocument();
+		if (document != null) {
+			document.addDocumentListener(fListener);
+		}
+		updateVisibleLines();
 	}
 
 	/**
@@ -103,6 +361,10 @@ public class CodeMiningManager implements Runnable {
 			fCodeMiningProviders.stream().forEach(ICodeMiningProvider::dispose);
 		}
 		fCodeMiningProviders= Arrays.asList(codeMiningProviders);
+		synchronized (fLock) {
+			fDocumentMinings.clear();
+			fRegionMinings.clear();
+		}
 	}
 
 	/**
@@ -110,6 +372,16 @@ public class CodeMiningManager implements Runnable {
 	 */
 	public void uninstall() {
 		cancel();
+		fViewer.removeTextInputListener(fListener);
+		fViewer.removeViewportListener(fListener);
+		IDocument document= fViewer.getDocument();
+		if (document != null) {
+			document.removeDocumentListener(fListener);
+		}
+		synchronized (fLock) {
+			fDocumentMinings.clear();
+			fRegionMinings.clear();
+		}
 		if (fInlinedAnnotationSupport != null) {
 			fInlinedAnnotationSupport.updateAnnotations(Collections.emptySet());
 		}
@@ -117,6 +389,11 @@ public class CodeMiningManager implements Runnable {
 
 	/**
 	 * Collect, resolve and render the code minings of the viewer.
+	 * <p>
+	 * The cached minings of the region providers are only reused if the document has changed since
+	 * the last update, i.e. when this update has been triggered by an edit. Otherwise all minings
+	 * are computed again.
+	 * </p>
 	 */
 	@Override
 	public void run() {
@@ -127,6 +404,12 @@ public class CodeMiningManager implements Runnable {
 		// Cancel the last progress monitor to cancel last resolve and render of code
 		// minings
 		cancel();
+		synchronized (fLock) {
+			if (!fDocumentChanged) {
+				fRegionMinings.clear();
+			}
+			fDocumentChanged= false;
+		}
 		// Update the code minings
 		updateCodeMinings();
 	}
@@ -138,17 +421,61 @@ public class CodeMiningManager implements Runnable {
 		// Refresh the code minings by using the new progress monitor.
 		fMonitor= new CancellationExceptionMonitor();
 		IProgressMonitor monitor= fMonitor;
+		IRegion region= getPrefetchRegion();
 		// Collect the code minings for the viewer
-		getCodeMinings(fViewer, fCodeMiningProviders, monitor).thenAccept(symbols -> {
-			// check if request was canceled.
-			monitor.isCanceled();
-			// then group code minings by lines position
-			Map<Position, List<ICodeMining>> groups= groupByLines(symbols, fCodeMiningProviders);
+		List<CompletableFuture<Void>> futures= new ArrayList<>();
+		for (ICodeMiningProvider provider : fCodeMiningProviders) {
+			if (provider instanceof ICodeMiningProviderExtension) {
+				futures.addAll(requestRegions(provider, region, monitor));
+			} else {
+				futures.add(requestDocument(provider, monitor));
+			}
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).thenRun(() -> {
 			// resolve and render code minings
-			renderCodeMinings(groups, fViewer, monitor);
+			renderCodeMinings(fViewer, monitor);
 		});
 	}
 
+	/**
+	 * Computes the minings of the region providers for the regions around the visible lines which
+	 * have not been computed yet. Called in the UI thread when the visible lines have changed.
+	 */
+	private void updateVisibleRegions() {
+		IProgressMonitor monitor= fMonitor;
+		if (monitor == null || isCanceled(monitor) || isDocumentChanged() || !isVisibleRangeMissing()) {
+			// after an edit the minings are updated by the next reconcile
+			return;
+		}
+		IRegion region= getPrefetchRegion();
+		List<CompletableFuture<Void>> futures= new ArrayList<>();
+		for (ICodeMiningProvider provider : fCodeMiningProviders) {
+			if (provider instanceof ICodeMiningProviderExtension) {
+				futures.addAll(requestRegions(provider, region, monitor));
+			}
+		}
+		if (!futures.isEmpty()) {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).thenRun(() -> {
+				// the minings of the other providers have outdated positions after an edit
+				if (!isDocumentChanged()) {
+					renderCodeMinings(fViewer, monitor);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns whether the document has changed since the code minings have been updated the last
+	 * time.
+	 *
+	 * @return <code>true</code> if the document has changed
+	 */
+	private boolean isDocumentChanged() {
+		synchronized (fLock) {
+			return fDocumentChanged;
+		}
+	}
+
 	/**
 	 * Cancel the codemining process.
 	 */
@@ -156,6 +483,15 @@ public class CodeMiningManager implements Runnable {
 		// Cancel the last progress monitor.
 		if (fMonitor != null) {
 			fMonitor.setCanceled(true);
+			cancelRequests();
+		}
+	}
+
+	private static boolean isCanceled(IProgressMonitor monitor) {
+		try {
+			return monitor.isCanceled();
+		} catch (CancellationException e) {
+			return true;
 		}
 	}
 
@@ -176,27 +512,326 @@ public class CodeMiningManager implements Runnable {
 	}
 
 	/**
-	 * Return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
-	 * for the given <code>viewer</code> by using the given providers.
+	 * Computes the minings of the whole document with the given provider.
 	 *
-	 * @param viewer    the text viewer.
-	 * @param providers the CodeMining list providers.
-	 * @param monitor   the progress monitor.
-	 * @return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
-	 *         for the given <code>viewer</code> by using the given providers.
-	 */
-	private static CompletableFuture<List<? extends ICodeMining>> getCodeMinings(ITextViewer viewer,
-			List<ICodeMiningProvider> providers, IProgressMonitor monitor) {
-		List<CompletableFuture<List<? extends ICodeMining>>> com= providers.stream()
-				.map(provider -> provider.provideCodeMinings(viewer, monitor))
-				.filter(c -> c != null)
-				.map(future -> future.exceptionally(e -> {
+	 * @param provider the provider
+	 * @param monitor  the progress monitor
+	 * @return the future which completes when the minings are computed
+	 */
+	private CompletableFuture<Void> requestDocument(ICodeMiningProvider provider, IProgressMonitor monitor) {
+		return request(() -> provider.provideCodeMinings(fViewer, monitor), monitor).handle((minings, e) -> {
+			if (e != null) {
+				logCodeMiningProviderException(e);
+				minings= Collections.emptyList();
+			}
+			synchronized (fLock) {
+				if (!isCanceled(monitor)) {
+					fDocumentMinings.put(provider, minings != null ? minings : Collections.emptyList());
+				}
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Computes the minings of the given region provider for the parts of the given region which
+	 * have not been computed yet.
+	 *
+	 * @param provider the region provider
+	 * @param region   the region, <code>null</code> if there are no visible lines
+	 * @param monitor  the progress monitor
+	 * @return the futures which complete when the minings are computed
+	 */
+	private List<CompletableFuture<Void>> requestRegions(ICodeMiningProvider provider, IRegion region, IProgressMonitor monitor) {
+		if (region == null) {
+			return Collections.emptyList();
+		}
+		List<CachedRegion> gaps;
+		long modificationCount;
+		List<CachedRegion> regions;
+		synchronized (fLock) {
+			regions= fRegionMinings.computeIfAbsent(provider, p -> new ArrayList<>());
+			gaps= addGaps(regions, region.getOffset(), region.getOffset() + region.getLength());
+			modificationCount= fModificationCount;
+		}
+		List<CompletableFuture<Void>> futures= new ArrayList<>(gaps.size());
+		for (CachedRegion gap : gaps) {
+			IRegion gapRegion= new Region(gap.fOffset, gap.fLength);
+			futures.add(request(() -> ((ICodeMiningProviderExtension) provider).provideCodeMinings(fViewer, gapRegion, monitor), monitor).handle((minings, e) -> {
+				synchronized (fLock) {
+					if (e != null || modificationCount != fModificationCount || isCanceled(monitor)) {
+						// computed for an outdated document, compute it again when needed
+						regions.remove(gap);
+					} else {
+						gap.setMinings(minings);
+					}
+				}
+				if (e != null) {
 					logCodeMiningProviderException(e);
-					return Collections.emptyList();
-				}))
-				.collect(Collectors.toList());
-		return CompletableFuture.allOf(com.toArray(new CompletableFuture[com.size()])).thenApply(
-				v -> com.stream().map(CompletableFuture::join).filter(Objects::nonNull).flatMap(java.util.Collection::stream).collect(Collectors.toList()));
+				}
+				return null;
+			}));
+		}
+		return futures;
+	}
+
+	/**
+	 * Adds pending regions for the parts of the given range which are not covered by the given
+	 * regions.
+	 *
+	 * @param regions the regions sorted by offset
+	 * @param start   the start offset of the range
+	 * @param end     the end offset of the range
+	 * @return the added regions
+	 */
+	private static List<CachedRegion> addGaps(List<CachedRegion> regions, int start, int end) {
+		List<CachedRegion> gaps= new ArrayList<>();
+		int offset= start;
+		int i= 0;
+		while (offset < end && i <= regions.size()) {
+			CachedRegion next= i < regions.size() ? regions.get(i) : null;
+			if (next != null && next.getEnd() <= offset) {
+				i++;
+				continue;
+			}
+			int gapEnd= next != null ? Math.min(next.fOffset, end) : end;
+			if (gapEnd > offset) {
+				CachedRegion gap= new CachedRegion(offset, gapEnd - offset);
+				regions.add(i, gap);
+				gaps.add(gap);
+				i++;
+			}
+			if (next == null) {
+				break;
+			}
+			offset= next.getEnd();
+			i++;
+		}
+		return gaps;
+	}
+
+	/**
+	 * Runs the given provider request once less than {@link #MAX_CONCURRENT_REQUESTS} requests
+	 * are running.
+	 *
+	 * @param supplier the provider request
+	 * @param monitor  the progress monitor, the request is canceled once it is canceled
+	 * @return the future of the code minings
+	 */
+	private CompletableFuture<List<? extends ICodeMining>> request(Supplier<CompletableFuture<List<? extends ICodeMining>>> supplier, IProgressMonitor monitor) {
+		ProviderRequest request= new ProviderRequest(supplier, monitor);
+		synchronized (fQueuedRequests) {
+			if (fRunningRequests.size() >= MAX_CONCURRENT_REQUESTS) {
+				fQueuedRequests.add(request);
+				return request.fResult;
+			}
+			fRunningRequests.add(request);
+		}
+		request.run();
+		return request.fResult;
+	}
+
+	/**
+	 * Starts the next queued request in another thread if a slot is free. Queued requests of
+	 * canceled updates are dropped.
+	 */
+	private void dispatchQueuedRequest() {
+		List<ProviderRequest> canceled= new ArrayList<>();
+		ProviderRequest next= null;
+		synchronized (fQueuedRequests) {
+			while (next == null && fRunningRequests.size() < MAX_CONCURRENT_REQUESTS && !fQueuedRequests.isEmpty()) {
+				ProviderRequest request= fQueuedRequests.poll();
+				if (isCanceled(request.fUpdateMonitor)) {
+					canceled.add(request);
+				} else {
+					next= request;
+					fRunningRequests.add(next);
+				}
+			}
+		}
+		for (ProviderRequest request : canceled) {
+			request.fResult.cancel(false);
+		}
+		if (next != null) {
+			// the request may complete synchronously, don't start the following one in this call
+			CompletableFuture.runAsync(next);
+		}
+	}
+
+	/**
+	 * Cancels the running and queued requests of canceled updates. Running requests keep their
+	 * slot until the future of their provider completes.
+	 */
+	private void cancelRequests() {
+		List<ProviderRequest> canceled= new ArrayList<>();
+		synchronized (fQueuedRequests) {
+			for (ProviderRequest request : fRunningRequests) {
+				if (isCanceled(request.fUpdateMonitor)) {
+					request.fResult.cancel(false);
+				}
+			}
+			Iterator<ProviderRequest> iter= fQueuedRequests.iterator();
+			while (iter.hasNext()) {
+				ProviderRequest request= iter.next();
+				if (isCanceled(request.fUpdateMonitor)) {
+					iter.remove();
+					canceled.add(request);
+				}
+			}
+		}
+		for (ProviderRequest request : canceled) {
+			request.cancelRequest();
+		}
+	}
+
+	/**
+	 * Updates the cached regions after a document change: the regions touched by the change are
+	 * dropped, the ones after it are shifted.
+	 *
+	 * @param event the document event
+	 */
+	private void handleDocumentChanged(DocumentEvent event) {
+		int start= event.getOffset();
+		int end= start + event.getLength();
+		int delta= (event.getText() != null ? event.getText().length() : 0) - event.getLength();
+		synchronized (fLock) {
+			fModificationCount++;
+			fDocumentChanged= true;
+			for (List<CachedRegion> regions : fRegionMinings.values()) {
+				Iterator<CachedRegion> iter= regions.iterator();
+				while (iter.hasNext()) {
+					CachedRegion region= iter.next();
+					if (region.getEnd() < start) {
+						continue;
+					}
+					if (region.fOffset <= end) {
+						iter.remove();
+					} else {
+						region.fOffset+= delta;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remembers the visible lines of the viewer. Must be called in the UI thread.
+	 */
+	private void updateVisibleLines() {
+		StyledText widget= fViewer.getTextWidget();
+		if (widget == null || widget.isDisposed()) {
+			return;
+		}
+		fTopLine= JFaceTextUtil.getPartialTopIndex(fViewer);
+		fBottomLine= JFaceTextUtil.getPartialBottomIndex(fViewer);
+	}
+
+	/**
+	 * Returns the region of complete lines for which the minings of the region providers are
+	 * computed: the visible lines and a margin of lines above and below them.
+	 *
+	 * @return the region, or <code>null</code> if the viewer has no document
+	 */
+	private IRegion getPrefetchRegion() {
+		IDocument document= fViewer.getDocument();
+		if (document == null) {
+			return null;
+		}
+		int lines= document.getNumberOfLines();
+		int top= fTopLine;
+		int bottom= fBottomLine;
+		if (top < 0 || bottom < top) {
+			return new Region(0, document.getLength());
+		}
+		int margin= Math.max(bottom - top + 1, MIN_PREFETCH_LINES);
+		int firstLine= Math.max(0, top - margin);
+		int lastLine= Math.min(lines - 1, bottom + margin);
+		try {
+			int offset= document.getLineOffset(firstLine);
+			int end= lastLine < lines - 1 ? document.getLineOffset(lastLine + 1) : document.getLength();
+			return new Region(offset, end - offset);
+		} catch (BadLocationException e) {
+			return new Region(0, document.getLength());
+		}
+	}
+
+	/**
+	 * Returns whether the visible lines are not entirely covered by the computed or pending
+	 * regions of a region provider.
+	 *
+	 * @return <code>true</code> if minings of visible lines are missing
+	 */
+	private boolean isVisibleRangeMissing() {
+		IDocument document= fViewer.getDocument();
+		int top= fTopLine;
+		int bottom= fBottomLine;
+		if (document == null || top < 0 || bottom < top) {
+			return false;
+		}
+		int start;
+		int end;
+		try {
+			int lines= document.getNumberOfLines();
+			start= document.getLineOffset(Math.min(top, lines - 1));
+			IRegion last= document.getLineInformation(Math.min(bottom, lines - 1));
+			end= last.getOffset() + last.getLength();
+		} catch (BadLocationException e) {
+			return false;
+		}
+		synchronized (fLock) {
+			for (ICodeMiningProvider provider : fCodeMiningProviders) {
+				if (!(provider instanceof ICodeMiningProviderExtension)) {
+					continue;
+				}
+				List<CachedRegion> regions= fRegionMinings.get(provider);
+				if (regions == null) {
+					return true;
+				}
+				int offset= start;
+				for (CachedRegion region : regions) {
+					if (region.fOffset > offset) {
+						break;
+					}
+					offset= Math.max(offset, region.getEnd());
+				}
+				if (offset < end) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the computed code minings of all providers with their current positions.
+	 *
+	 * @return the computed code minings
+	 */
+	private List<PlacedMining> getComputedMinings() {
+		List<PlacedMining> minings= new ArrayList<>();
+		synchronized (fLock) {
+			for (ICodeMiningProvider provider : fCodeMiningProviders) {
+				List<? extends ICodeMining> documentMinings= fDocumentMinings.get(provider);
+				if (documentMinings != null) {
+					for (ICodeMining mining : documentMinings) {
+						if (mining != null) {
+							minings.add(new PlacedMining(mining.getPosition(), mining));
+						}
+					}
+				}
+				List<CachedRegion> regions= fRegionMinings.get(provider);
+				if (regions != null) {
+					for (CachedRegion region : regions) {
+						if (region.fMinings != null) {
+							for (int i= 0; i < region.fMinings.length; i++) {
+								minings.add(new PlacedMining(region.getPosition(i), region.fMinings[i]));
+							}
+						}
+					}
+				}
+			}
+		}
+		return minings;
 	}
 
 	/**
@@ -206,35 +841,33 @@ public class CodeMiningManager implements Runnable {
 	 * @param providers   CodeMining providers used to retrieve code minings.
 	 * @return a sorted Map which groups the given code minings by same position line.
 	 */
-	private static Map<Position, List<ICodeMining>> groupByLines(List<? extends ICodeMining> codeMinings,
+	private static Map<Position, List<ICodeMining>> groupByLines(List<PlacedMining> codeMinings,
 			List<ICodeMiningProvider> providers) {
 		// sort code minings by lineNumber and provider-rank if
 		Collections.sort(codeMinings, (a, b) -> {
-			if (a.getPosition().offset < b.getPosition().offset) {
+			if (a.position().offset < b.position().offset) {
 				return -1;
-			} else if (a.getPosition().offset > b.getPosition().offset) {
+			} else if (a.position().offset > b.position().offset) {
 				return 1;
-			} else if (providers.indexOf(a.getProvider()) < providers.indexOf(b.getProvider())) {
+			} else if (providers.indexOf(a.mining().getProvider()) < providers.indexOf(b.mining().getProvider())) {
 				return -1;
-			} else if (providers.indexOf(a.getProvider()) > providers.indexOf(b.getProvider())) {
+			} else if (providers.indexOf(a.mining().getProvider()) > providers.indexOf(b.mining().getProvider())) {
 				return 1;
 			} else {
 				return 0;
 			}
 		});
-		return codeMinings.stream().collect(Collectors.groupingBy(ICodeMining::getPosition, LinkedHashMap::new,
-				Collectors.mapping(Function.identity(), Collectors.toList())));
+		return codeMinings.stream().collect(Collectors.groupingBy(PlacedMining::position, LinkedHashMap::new,
+				Collectors.mapping(PlacedMining::mining, Collectors.toList())));
 	}
 
 	/**
-	 * Render the codemining grouped by line position.
+	 * Render the computed code minings grouped by line position.
 	 *
-	 * @param groups  code minings grouped by lines position
 	 * @param viewer  the viewer
 	 * @param monitor the progress monitor
 	 */
-	private void renderCodeMinings(Map<Position, List<ICodeMining>> groups, ISourceViewer viewer,
-			IProgressMonitor monitor) {
+	private void renderCodeMinings(ISourceViewer viewer, IProgressMonitor monitor) {
 		// check if request was canceled.
 		monitor.isCanceled();
 		IDocument document= viewer != null ? viewer.getDocument() : null;
@@ -243,6 +876,8 @@ public class CodeMiningManager implements Runnable {
 			// done.
 			return;
 		}
+		// group code minings by lines position
+		Map<Position, List<ICodeMining>> groups= groupByLines(getComputedMinings(), fCodeMiningProviders);
 		Set<ICodeMiningAnnotation> annotationsToRedraw= new HashSet<>();
 		Set<AbstractInlinedAnnotation> currentAnnotations= new HashSet<>();
 		// Loop for grouped code minings
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2005 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,8 @@ import org.eclipse.swt.graphics.Point;
  * clients to specify search queries as regular expressions.</li>
  * <li>{@link org.eclipse.jface.text.IFindReplaceTargetExtension4} since version 3.19 allowing
  * clients to select multiple text ranges in the target.</li>
+ * <li>{@link org.eclipse.jface.text.IFindReplaceTargetExtension5} since version 3.27 allowing
+ * clients to select or replace all occurrences of a find query at once.</li>
  * </ul>
  * <p>
  * Clients of a <code>IFindReplaceTarget</code> that also implements the
@@ -43,6 +45,7 @@ import org.eclipse.swt.graphics.Point;
  * @see org.eclipse.jface.text.IFindReplaceTargetExtension
  * @see org.eclipse.jface.text.IFindReplaceTargetExtension3
  * @see org.eclipse.jface.text.IFindReplaceTargetExtension4
+ * @see org.eclipse.jface.text.IFindReplaceTargetExtension5
  */
 public interface IFindReplaceTarget {
 
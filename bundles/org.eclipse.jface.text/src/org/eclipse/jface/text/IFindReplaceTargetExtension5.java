@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+
+/**
+ * Extension interface for {@link org.eclipse.jface.text.IFindReplaceTarget} providing methods to
+ * select or replace all occurrences of a find query at once, instead of finding them one after
+ * the other.
+ * <p>
+ * The operations apply to the target's find/replace scope if one has been set, and to its whole
+ * content otherwise.
+ * </p>
+ *
+ * @since 3.27
+ */
+public interface IFindReplaceTargetExtension5 {
+
+	/**
+	 * Selects all occurrences of the given find query.
+	 *
+	 * @param findString the string to find
+	 * @param caseSensitive <code>true</code> if the search should be case sensitive
+	 * @param wholeWord <code>true</code> if matches must be whole words. Must not be used in
+	 *            combination with <code>regExSearch</code>.
+	 * @param regExSearch <code>true</code> if <code>findString</code> is a regular expression
+	 * @param monitor the progress monitor to use for reporting progress and checking for
+	 *            cancellation, or <code>null</code>
+	 * @return the number of selected occurrences, or <code>-1</code> if this target cannot select
+	 *         all occurrences at once
+	 * @throws PatternSyntaxException if <code>regExSearch</code> is <code>true</code> and
+	 *             <code>findString</code> is an invalid regular expression
+	 */
+	int findAndSelectAll(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor);
+
+	/**
+	 * Replaces all occurrences of the given find query. If <code>regExSearch</code> is
+	 * <code>true</code>, <code>replaceString</code> is a regular expression replace pattern.
+	 *
+	 * @param findString the string to find
+	 * @param replaceString the replacement text
+	 * @param caseSensitive <code>true</code> if the search should be case sensitive
+	 * @param wholeWord <code>true</code> if matches must be whole words. Must not be used in
+	 *            combination with <code>regExSearch</code>.
+	 * @param regExSearch <code>true</code> if <code>findString</code> is a regular expression
+	 * @param monitor the progress monitor to use for reporting progress and checking for
+	 *            cancellation, or <code>null</code>
+	 * @return the number of replaced occurrences, or <code>-1</code> if this target cannot
+	 *         replace all occurrences at once
+	 * @throws PatternSyntaxException if <code>regExSearch</code> is <code>true</code> and
+	 *             <code>findString</code> or <code>replaceString</code> is invalid
+	 */
+	int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor);
+}
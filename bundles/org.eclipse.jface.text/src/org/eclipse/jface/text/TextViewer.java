@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -67,6 +67,7 @@ import org.eclipse.swt.widgets.ScrollBar;
 import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.internal.text.NonDeletingPositionUpdater;
@@ -767,7 +768,7 @@ public class TextViewer extends Viewer implements
 	/**
 	 * This viewer's find/replace target.
 	 */
-	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+	class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 		/** The range for this target. */
 		private FindReplaceRange fRange;
@@ -853,6 +854,16 @@ public class TextViewer extends Viewer implements
 			return widgetOffset;
 		}
 
+		@Override
+		public int findAndSelectAll(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+			return TextViewer.this.findAndSelectAll(findString, caseSensitive, wholeWord, regExSearch, getScope(), monitor);
+		}
+
+		@Override
+		public int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+			return TextViewer.this.replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch, getScope(), monitor);
+		}
+
 		@Override
 		public boolean canPerformFind() {
 			return TextViewer.this.canPerformFind();
@@ -4705,6 +4716,76 @@ public class TextViewer extends Viewer implements
 		return -1;
 	}
 
+	/**
+	 * Adheres to the contract of
+	 * {@link org.eclipse.jface.text.IFindReplaceTargetExtension5#findAndSelectAll(String, boolean, boolean, boolean, IProgressMonitor)}.
+	 *
+	 * @param findString the find string specification
+	 * @param caseSensitive <code>true</code> if case sensitive, <code>false</code> otherwise
+	 * @param wholeWord <code>true</code> if matches must be whole words, <code>false</code> otherwise
+	 * @param regExSearch <code>true</code> if <code>findString</code> is a regular expression, <code>false</code> otherwise
+	 * @param range the search scope in model coordinates, or <code>null</code> to search the whole document
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the number of selected matches
+	 * @since 3.27
+	 */
+	protected int findAndSelectAll(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IRegion range, IProgressMonitor monitor) {
+		if (fTextWidget == null)
+			return 0;
+
+		FindReplaceDocumentAdapter adapter= getFindReplaceDocumentAdapter();
+		IRegion widgetRange= range == null ? new Region(0, adapter.length()) : modelRange2WidgetRange(range);
+		if (widgetRange == null)
+			return 0;
+
+		List<IRegion> matches= new ArrayList<>();
+		try {
+			adapter.findAll(widgetRange.getOffset(), widgetRange.getLength(), findString, caseSensitive, wholeWord, regExSearch, match -> matches.add(widgetRange2ModelRange(match)), monitor);
+		} catch (BadLocationException x) {
+			if (TRACE_ERRORS)
+				System.out.println(JFaceTextMessages.getString("TextViewer.error.bad_location.findAndSelect")); //$NON-NLS-1$
+			return 0;
+		}
+
+		if (!matches.isEmpty()) {
+			setSelectedRanges(matches.toArray(new IRegion[matches.size()]));
+			revealRange(matches.get(0).getOffset(), matches.get(0).getLength());
+		}
+		return matches.size();
+	}
+
+	/**
+	 * Adheres to the contract of
+	 * {@link org.eclipse.jface.text.IFindReplaceTargetExtension5#replaceAll(String, String, boolean, boolean, boolean, IProgressMonitor)}.
+	 *
+	 * @param findString the find string specification
+	 * @param replaceString the replacement text or regular expression replace pattern
+	 * @param caseSensitive <code>true</code> if case sensitive, <code>false</code> otherwise
+	 * @param wholeWord <code>true</code> if matches must be whole words, <code>false</code> otherwise
+	 * @param regExSearch <code>true</code> if <code>findString</code> is a regular expression, <code>false</code> otherwise
+	 * @param range the search scope in model coordinates, or <code>null</code> to search the whole document
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the number of replaced matches
+	 * @since 3.27
+	 */
+	protected int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IRegion range, IProgressMonitor monitor) {
+		if (fTextWidget == null)
+			return 0;
+
+		FindReplaceDocumentAdapter adapter= getFindReplaceDocumentAdapter();
+		IRegion widgetRange= range == null ? new Region(0, adapter.length()) : modelRange2WidgetRange(range);
+		if (widgetRange == null)
+			return 0;
+
+		try {
+			return adapter.replaceAll(widgetRange.getOffset(), widgetRange.getLength(), findString, replaceString, caseSensitive, wholeWord, regExSearch, monitor);
+		} catch (BadLocationException x) {
+			if (TRACE_ERRORS)
+				System.out.println(JFaceTextMessages.getString("TextViewer.error.bad_location.findAndSelect")); //$NON-NLS-1$
+			return 0;
+		}
+	}
+
 	//---------- text presentation support
 
 	@Override
@@ -4779,11 +4860,49 @@ public class TextViewer extends Viewer implements
 			if (!list.isEmpty()) {
 				StyleRange[] ranges= new StyleRange[list.size()];
 				list.toArray(ranges);
-				fTextWidget.replaceStyleRanges(region.getOffset(), region.getLength(), ranges);
+				replaceChangedStyleRanges(region.getOffset(), region.getLength(), ranges);
 			}
 		}
 	}
 
+	/**
+	 * Replaces the style ranges of the given widget region with the given style ranges. The leading
+	 * and trailing ranges which the widget already shows are left out, and nothing is replaced if
+	 * the widget already shows all of them. This avoids redrawing unchanged text when a region is
+	 * repaired with the same presentation again, e.g. while typing.
+	 *
+	 * @param offset the widget offset of the region
+	 * @param length the length of the region
+	 * @param ranges the new style ranges of the region, in widget coordinates
+	 */
+	private void replaceChangedStyleRanges(int offset, int length, StyleRange[] ranges) {
+		StyleRange[] current= fTextWidget.getStyleRanges(offset, length, true);
+		int max= Math.min(ranges.length, current.length);
+
+		int prefix= 0;
+		while (prefix < max && ranges[prefix].equals(current[prefix]))
+			prefix++;
+		if (prefix == ranges.length && prefix == current.length)
+			return;
+
+		int suffix= 0;
+		while (suffix < max - prefix && ranges[ranges.length - 1 - suffix].equals(current[current.length - 1 - suffix]))
+			suffix++;
+
+		if (prefix == 0 && suffix == 0) {
+			fTextWidget.replaceStyleRanges(offset, length, ranges);
+			return;
+		}
+
+		int start= offset;
+		if (prefix > 0) {
+			StyleRange last= ranges[prefix - 1];
+			start= last.start + last.length;
+		}
+		int end= suffix > 0 ? ranges[ranges.length - suffix].start : offset + length;
+		fTextWidget.replaceStyleRanges(start, end - start, Arrays.copyOfRange(ranges, prefix, ranges.length - suffix));
+	}
+
 	/**
 	 * Applies the given presentation to the given text widget. Helper method.
 	 *
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.codemining;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+
+/**
+ * Extends {@link ICodeMiningProvider} with the ability to compute the code minings of a region of
+ * the document.
+ * <p>
+ * The minings of providers implementing this interface are only computed for the lines around the
+ * visible part of the viewer. They are cached per region and only computed again when the region is
+ * edited, scrolled into view after it has been dropped, or when the code minings of the viewer are
+ * explicitly updated with {@link org.eclipse.jface.text.source.ISourceViewerExtension5#updateCodeMinings()}
+ * while the document has not changed. Providers whose minings depend on other parts of the
+ * document than the lines they are shown on should not implement this interface.
+ * </p>
+ *
+ * @since 3.27
+ */
+public interface ICodeMiningProviderExtension {
+
+	/**
+	 * Computes the code minings {@link ICodeMining} which are positioned in the given region. This
+	 * call should return as fast as possible, see
+	 * {@link ICodeMiningProvider#provideCodeMinings(ITextViewer, IProgressMonitor)}. Minings
+	 * outside the region are ignored.
+	 *
+	 * @param viewer the viewer in which the command was invoked.
+	 * @param region the region of the document, covers complete lines
+	 * @param monitor A progress monitor.
+	 * @return A future of code minings. The lack of a result can be signaled by returning null, or
+	 *         an empty list.
+	 */
+	CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor);
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -165,6 +165,7 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 			// when the user types fast.
 			fContentAssistSubjectControlAdapter.addKeyListener(fKeyListener);
 
+			proposalsRequested();
 			fInvocationOffset= fContentAssistSubjectControlAdapter.getSelectedRange().x;
 			fFilterOffset= fInvocationOffset;
 			fLastCompletionOffset= fFilterOffset;
@@ -187,8 +188,12 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 	private void computeAndPopulateProposals(int offset, Consumer<List<ICompletionProposal>> callback, boolean createSelector, boolean autoActivated, boolean autoInsert) {
 		List<CompletableFuture<List<ICompletionProposal>>> computationFutures= buildCompletionFuturesOrJobs(offset);
 		toCancelFutures.addAll(computationFutures);
-		fComputedProposals= Collections.synchronizedList(new ArrayList<>());
-		List<CompletableFuture<Void>> populateFutures= computationFutures.stream().map(future -> future.thenAccept(fComputedProposals::addAll)).collect(Collectors.toList());
+		List<ICompletionProposal> computedProposals= Collections.synchronizedList(new ArrayList<>());
+		fComputedProposals= computedProposals;
+		List<CompletableFuture<List<ICompletionProposal>>> populateFutures= computationFutures.stream().map(future -> future.thenApply(proposals -> {
+			computedProposals.addAll(proposals);
+			return proposals;
+		})).collect(Collectors.toList());
 		toCancelFutures.addAll(populateFutures);
 		CompletableFuture<?> aggregatedPopulateFuture= CompletableFuture.allOf(populateFutures.toArray(new CompletableFuture[populateFutures.size()]));
 		toCancelFutures.add(aggregatedPopulateFuture);
@@ -231,7 +236,7 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 			setProposals(fComputedProposals, false);
 			AtomicInteger remaining= new AtomicInteger(populateFutures.size());
 			final List<ICompletionProposal> requestSpecificProposals= fComputedProposals; //fComputedProposals can be changed/reset later
-			populateFutures= populateFutures.stream().map(future -> future.thenRun(() -> {
+			List<CompletableFuture<Void>> displayFutures= populateFutures.stream().map(future -> future.thenAccept(proposals -> {
 				computingProposal.setRemaining(remaining.decrementAndGet());
 				if (remaining.get() == 0) {
 					requestSpecificProposals.remove(computingProposal);
@@ -260,11 +265,18 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 						if (!stillComputing && callback != null) {
 							callback.accept(fComputedProposals);
 						} else {
-							boolean hasProposals= (stillComputing && fComputedProposals.size() > 1)
-									|| (!stillComputing && !fComputedProposals.isEmpty());
+							List<ICompletionProposal> shownProposals= fComputedProposals;
+							if (fFilterOffset != offset) {
+								// the user typed while computing, only add the new proposals that are still valid
+								List<ICompletionProposal> filtered= addFilteredProposals(proposals, stillComputing ? computingProposal : null);
+								if (filtered != null)
+									shownProposals= filtered;
+							}
+							boolean hasProposals= (stillComputing && shownProposals.size() > 1)
+									|| (!stillComputing && !shownProposals.isEmpty());
 
 							if ((autoActivated && hasProposals) || !autoActivated) {
-								setProposals(fComputedProposals, false);
+								setProposals(shownProposals, false);
 								displayProposals(true);
 							} else if (isValid(fProposalShell) && (!fProposalShell.isVisible() || !hasProposals) && remaining.get() == 0) {
 								hide(); // we only tear down if the popup is not visible or it is visible but has no proposals.
@@ -273,8 +285,8 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 					});
 				}
 			})).collect(Collectors.toList());
-			toCancelFutures.addAll(populateFutures);
-			fAggregatedPopulateFuture= CompletableFuture.allOf(populateFutures.toArray(new CompletableFuture[populateFutures.size()]));
+			toCancelFutures.addAll(displayFutures);
+			fAggregatedPopulateFuture= CompletableFuture.allOf(displayFutures.toArray(new CompletableFuture[displayFutures.size()]));
 			toCancelFutures.add(fAggregatedPopulateFuture);
 		}
 		displayProposals(!autoActivated);
@@ -306,6 +318,7 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 		if (!isValid(fProposalShell) && !control.isDisposed())
 			fContentAssistSubjectControlAdapter.addKeyListener(fKeyListener);
 
+		proposalsRequested();
 		fInvocationOffset= fContentAssistSubjectControlAdapter.getSelectedRange().x;
 		fFilterOffset= fInvocationOffset;
 		fLastCompletionOffset= fFilterOffset;
@@ -348,11 +361,65 @@ class AsyncCompletionProposalPopup extends CompletionProposalPopup {
 		if (fAggregatedPopulateFuture != null && !fAggregatedPopulateFuture.isDone()) {
 			// user typed a char & computation still pending -> let all futures complete then invoke "filterProposals" upon completion
 			fAggregatedPopulateFuture.thenRun(this::filterProposals);
+			if (offset > fInvocationOffset) {
+				// meanwhile filter the proposals that are already there, later ones are filtered as they arrive
+				List<ICompletionProposal> available= unordered(offset < fFilterOffset || fFilteredProposals == null ? fComputedProposals : fFilteredProposals);
+				ComputingProposal computingProposal= null;
+				List<ICompletionProposal> proposals= new ArrayList<>(available.size());
+				synchronized (available) {
+					for (ICompletionProposal proposal : available) {
+						if (proposal instanceof ComputingProposal computing)
+							computingProposal= computing;
+						else if (!isEmptyProposal(proposal))
+							proposals.add(proposal);
+					}
+				}
+				List<ICompletionProposal> filtered= validateProposals(proposals, offset, event);
+				if (filtered != null) {
+					if (computingProposal != null)
+						filtered.add(0, computingProposal);
+					return filtered;
+				}
+			}
 			return fComputedProposals;
 		}
 		return super.computeFilteredProposals(offset, event);
 	}
 
+	/**
+	 * Adds the proposals of a processor that completed after the user typed to the shown
+	 * proposals, if they are valid at the current offset.
+	 *
+	 * @param proposals the new proposals
+	 * @param computingProposal the placeholder to show on top, or <code>null</code> if the
+	 *            computation is done
+	 * @return the proposals to show, or <code>null</code> if a proposal cannot be validated
+	 * @since 3.27
+	 */
+	private List<ICompletionProposal> addFilteredProposals(List<ICompletionProposal> proposals, ComputingProposal computingProposal) {
+		List<ICompletionProposal> valid= validateProposals(proposals, fFilterOffset, null);
+		if (valid == null || fFilteredProposals == null)
+			return null;
+		List<ICompletionProposal> result= new ArrayList<>(fFilteredProposals.size() + valid.size());
+		if (computingProposal != null)
+			result.add(computingProposal);
+		for (ICompletionProposal proposal : unordered(fFilteredProposals)) {
+			if (!(proposal instanceof ComputingProposal) && !isEmptyProposal(proposal))
+				result.add(proposal);
+		}
+		result.addAll(valid);
+		return result;
+	}
+
+	private static List<ICompletionProposal> unordered(List<ICompletionProposal> proposals) {
+		return proposals instanceof RankedProposalList ranked ? ranked.getUnordered() : proposals;
+	}
+
+	@Override
+	boolean hasProposals(List<ICompletionProposal> proposals) {
+		return proposals.size() > 1 || !(proposals.get(0) instanceof ComputingProposal);
+	}
+
 	@Override
 	public void hide() {
 		fPopupVisibleTimer.stop();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.osgi.util.TextProcessor;
@@ -358,6 +359,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 			if (!isValid(fContentAssistSubjectControlAdapter.getControl()))
 				return;
 
+			long start= System.nanoTime();
 			int offset= fContentAssistSubjectControlAdapter.getSelectedRange().x;
 			List<ICompletionProposal> proposals= null;
 			DocumentEvent event= null;
@@ -371,9 +373,10 @@ class CompletionProposalPopup implements IContentAssistListener {
 			}
 			fFilterOffset= offset;
 
-			if (proposals != null && !proposals.isEmpty())
+			if (proposals != null && !proposals.isEmpty()) {
 				setProposals(proposals, fIsFilteredSubset);
-			else {
+				fLastFilterTime= TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			} else {
 				hide();
 				if (fContentAssistant.isAutoActivation() && offset > 0 && event != null) {
 					try {
@@ -450,6 +453,37 @@ class CompletionProposalPopup implements IContentAssistListener {
 	 */
 	boolean fIsInitialSort;
 
+	/**
+	 * The number of proposals that are sorted eagerly when many proposals are sorted, see
+	 * {@link #sortProposals(List)}.
+	 *
+	 * @since 3.27
+	 */
+	private static final int RANKED_PROPOSALS= 100;
+
+	/**
+	 * The time in nanoseconds at which the proposals were requested, or <code>0</code> if the
+	 * first proposals have already been shown.
+	 *
+	 * @since 3.27
+	 */
+	private long fRequestTime;
+
+	/**
+	 * The time in milliseconds it took until the first proposals were shown, or <code>-1</code>.
+	 *
+	 * @since 3.27
+	 */
+	private long fLastTimeToFirstProposal= -1;
+
+	/**
+	 * The time in milliseconds it took to filter the proposals for the last typed character, or
+	 * <code>-1</code>.
+	 *
+	 * @since 3.27
+	 */
+	private long fLastFilterTime= -1;
+
 	/**
 	 * Creates a new completion proposal popup for the given elements.
 	 *
@@ -501,6 +535,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 
 			BusyIndicator.showWhile(control.getDisplay(), () -> {
 
+				proposalsRequested();
 				fInvocationOffset= fContentAssistSubjectControlAdapter.getSelectedRange().x;
 				fFilterOffset= fInvocationOffset;
 				fLastCompletionOffset= fFilterOffset;
@@ -581,7 +616,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 		}
 		List<ICompletionProposal> proposals= Arrays.asList(completionProposals);
 		if (fSorter != null) {
-			sortProposals(proposals);
+			proposals= sortProposals(proposals);
 			fIsInitialSort= true;
 		}
 		return proposals;
@@ -1175,10 +1210,13 @@ class CompletionProposalPopup implements IContentAssistListener {
 				fEmptyProposal.fOffset= fFilterOffset;
 				fEmptyProposal.fDisplayString= fEmptyMessage != null ? fEmptyMessage : JFaceTextMessages.getString("CompletionProposalPopup.no_proposals"); //$NON-NLS-1$
 				proposals= Collections.singletonList(fEmptyProposal);
+			} else if (fRequestTime != 0 && hasProposals(proposals)) {
+				fLastTimeToFirstProposal= TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fRequestTime);
+				fRequestTime= 0;
 			}
 
 			if (fSorter != null && !fIsInitialSort) {
-				sortProposals(proposals);
+				proposals= sortProposals(proposals);
 			}
 			fIsInitialSort= false;
 
@@ -1558,6 +1596,34 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return null;
 		}
 
+		List<ICompletionProposal> filtered= validateProposals(proposals, offset, event);
+		if (filtered == null) {
+			// restore original behavior
+			fIsFilteredSubset= false;
+			fInvocationOffset= offset;
+			fContentAssistant.fireSessionRestartEvent();
+			fComputedProposals= computeProposals(fInvocationOffset);
+			return fComputedProposals;
+		}
+		return filtered;
+	}
+
+	/**
+	 * Returns the given proposals that are still valid at the given offset.
+	 *
+	 * @param proposals the proposals to validate
+	 * @param offset the offset
+	 * @param event the merged document event, or <code>null</code>
+	 * @return the valid proposals, or <code>null</code> if a proposal cannot be validated and the
+	 *         proposals have to be computed again
+	 * @since 3.27
+	 */
+	List<ICompletionProposal> validateProposals(List<ICompletionProposal> proposals, int offset, DocumentEvent event) {
+		if (fSorter != null && proposals instanceof RankedProposalList ranked) {
+			// the valid proposals are sorted again, do not sort all of them for iterating
+			proposals= ranked.getUnordered();
+		}
+
 		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
 		int length= proposals.size();
 		List<ICompletionProposal> filtered= new ArrayList<>(length);
@@ -1582,12 +1648,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 					// Make sure that poorly behaved completion proposers do not break filtering.
 				}
 			} else {
-				// restore original behavior
-				fIsFilteredSubset= false;
-				fInvocationOffset= offset;
-				fContentAssistant.fireSessionRestartEvent();
-				fComputedProposals= computeProposals(fInvocationOffset);
-				return fComputedProposals;
+				return null;
 			}
 		}
 
@@ -1651,6 +1712,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 
 			BusyIndicator.showWhile(control.getDisplay(), () -> {
 
+				proposalsRequested();
 				fInvocationOffset= fContentAssistSubjectControlAdapter.getSelectedRange().x;
 				fFilterOffset= fInvocationOffset;
 				fLastCompletionOffset= fFilterOffset;
@@ -2017,13 +2079,73 @@ class CompletionProposalPopup implements IContentAssistListener {
 	}
 
 	/**
-	 * Sorts the given proposal array.
+	 * Sorts the given proposal array. Many proposals are not sorted in place, instead only the
+	 * first ones are sorted right away and the others when they are accessed.
 	 *
 	 * @param proposals the new proposals to display in the popup window
+	 * @return the sorted proposals
 	 * @throws NullPointerException if no sorter has been set
 	 * @since 3.8
 	 */
-	void sortProposals(final List<ICompletionProposal> proposals) {
+	List<ICompletionProposal> sortProposals(final List<ICompletionProposal> proposals) {
+		if (proposals.size() > 2 * RANKED_PROPOSALS)
+			return new RankedProposalList(proposals, fSorter::compare, RANKED_PROPOSALS);
 		proposals.sort(fSorter::compare);
+		return proposals;
+	}
+
+	/**
+	 * Remembers that proposals have been requested, for measuring the time until the first
+	 * proposals are shown.
+	 *
+	 * @since 3.27
+	 */
+	void proposalsRequested() {
+		fRequestTime= System.nanoTime();
+	}
+
+	/**
+	 * Tells whether the given non-empty proposals contain actual proposals and not only
+	 * placeholders.
+	 *
+	 * @param proposals the proposals to display
+	 * @return <code>true</code> if there are actual proposals
+	 * @since 3.27
+	 */
+	boolean hasProposals(List<ICompletionProposal> proposals) {
+		return !proposals.isEmpty();
+	}
+
+	/**
+	 * Tells whether the given proposal is the placeholder shown if there are no proposals.
+	 *
+	 * @param proposal the proposal
+	 * @return <code>true</code> if the proposal is the empty proposal
+	 * @since 3.27
+	 */
+	boolean isEmptyProposal(ICompletionProposal proposal) {
+		return proposal == fEmptyProposal;
+	}
+
+	/**
+	 * Returns the time it took from requesting the proposals until the first proposals were shown,
+	 * the last time proposals were requested.
+	 *
+	 * @return the time in milliseconds, or <code>-1</code> if no proposals have been shown yet
+	 * @since 3.27
+	 */
+	long getLastTimeToFirstProposal() {
+		return fLastTimeToFirstProposal;
+	}
+
+	/**
+	 * Returns the time it took to filter and show the proposals after the last change of the
+	 * document while the popup was showing.
+	 *
+	 * @return the time in milliseconds, or <code>-1</code> if no proposals have been filtered yet
+	 * @since 3.27
+	 */
+	long getLastFilterTime() {
+		return fLastFilterTime;
 	}
 }
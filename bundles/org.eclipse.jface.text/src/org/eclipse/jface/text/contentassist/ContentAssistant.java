@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -2735,6 +2735,28 @@ public class ContentAssistant implements IContentAssistant, IContentAssistantExt
 		}
 	}
 
+	/**
+	 * Returns the time it took from requesting completion proposals until the first proposals were
+	 * shown, the last time proposals were requested.
+	 *
+	 * @return the time in milliseconds, or <code>-1</code> if no proposals have been shown yet
+	 * @since 3.27
+	 */
+	public long getLastTimeToFirstProposal() {
+		return fProposalPopup != null ? fProposalPopup.getLastTimeToFirstProposal() : -1;
+	}
+
+	/**
+	 * Returns the time it took to filter and show the completion proposals after the last change of
+	 * the document while the proposals were showing.
+	 *
+	 * @return the time in milliseconds, or <code>-1</code> if no proposals have been filtered yet
+	 * @since 3.27
+	 */
+	public long getLastFilterTime() {
+		return fProposalPopup != null ? fProposalPopup.getLastFilterTime() : -1;
+	}
+
 	/**
 	 * Returns whether completion trigger char are enabled. If false, completion proposal trigger
 	 * chars are ignored and only Enter key can be used to select a proposal.
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.contentassist;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+
+
+/**
+ * A list of proposals in the order of a sorter, of which only the first proposals are sorted
+ * eagerly. The remaining proposals are only sorted once one of them is accessed, which usually does
+ * not happen as the popup shows the first proposals and the list is filtered again on the next
+ * keystroke.
+ * <p>
+ * The order is the one of a stable sort of the given proposals.
+ * </p>
+ *
+ * @since 3.27
+ */
+final class RankedProposalList extends AbstractList<ICompletionProposal> implements RandomAccess {
+
+	/** The first proposals, sorted. */
+	private final ICompletionProposal[] fHead;
+	/** The remaining proposals in their original order until they are sorted. */
+	private final ICompletionProposal[] fTail;
+	private final Comparator<? super ICompletionProposal> fComparator;
+	private boolean fTailSorted;
+
+	/**
+	 * Creates the list.
+	 *
+	 * @param proposals the proposals
+	 * @param comparator the comparator of the sorter
+	 * @param headSize the number of proposals to sort eagerly
+	 */
+	RankedProposalList(List<ICompletionProposal> proposals, Comparator<? super ICompletionProposal> comparator, int headSize) {
+		fComparator= comparator;
+		ICompletionProposal[] all= proposals.toArray(new ICompletionProposal[proposals.size()]);
+		int k= Math.min(headSize, all.length);
+
+		// the k smallest indices by (comparator, index), kept in a max-heap
+		Comparator<Integer> order= (a, b) -> {
+			int result= comparator.compare(all[a.intValue()], all[b.intValue()]);
+			return result != 0 ? result : Integer.compare(a.intValue(), b.intValue());
+		};
+		PriorityQueue<Integer> heap= new PriorityQueue<>(k + 1, order.reversed());
+		for (int i= 0; i < all.length; i++) {
+			Integer index= Integer.valueOf(i);
+			if (heap.size() < k) {
+				heap.add(index);
+			} else if (k > 0 && order.compare(index, heap.peek()) < 0) {
+				heap.poll();
+				heap.add(index);
+			}
+		}
+
+		Integer[] head= heap.toArray(new Integer[heap.size()]);
+		Arrays.sort(head, order);
+		boolean[] inHead= new boolean[all.length];
+		fHead= new ICompletionProposal[head.length];
+		for (int i= 0; i < head.length; i++) {
+			inHead[head[i].intValue()]= true;
+			fHead[i]= all[head[i].intValue()];
+		}
+		fTail= new ICompletionProposal[all.length - head.length];
+		int j= 0;
+		for (int i= 0; i < all.length; i++) {
+			if (!inHead[i])
+				fTail[j++]= all[i];
+		}
+		fTailSorted= fTail.length < 2;
+	}
+
+	@Override
+	public ICompletionProposal get(int index) {
+		if (index < fHead.length)
+			return fHead[index];
+		if (!fTailSorted) {
+			// stable, like the sort of the complete list
+			Arrays.sort(fTail, fComparator);
+			fTailSorted= true;
+		}
+		return fTail[index - fHead.length];
+	}
+
+	@Override
+	public int size() {
+		return fHead.length + fTail.length;
+	}
+
+	/**
+	 * Returns the proposals of this list in no particular order, without sorting the remaining
+	 * proposals.
+	 *
+	 * @return the proposals
+	 */
+	List<ICompletionProposal> getUnordered() {
+		List<ICompletionProposal> proposals= new ArrayList<>(size());
+		proposals.addAll(Arrays.asList(fHead));
+		proposals.addAll(Arrays.asList(fTail));
+		return proposals;
+	}
+}
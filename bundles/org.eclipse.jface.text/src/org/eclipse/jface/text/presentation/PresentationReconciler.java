@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,19 @@
 
 package org.eclipse.jface.text.presentation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
+import org.eclipse.swt.custom.CaretListener;
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.ControlListener;
+import org.eclipse.swt.events.SelectionListener;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.ScrollBar;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -40,6 +48,8 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.JFaceTextUtil;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
@@ -56,6 +66,11 @@ import org.eclipse.jface.text.TypedPosition;
  * document change rather than just the portion overlapping with the viewer's
  * viewport.
  * <p>
+ * Lines that are longer than the {@link #setLongLineThreshold(int) long line threshold}, as found in
+ * minified files, are an exception: only the part of such a line around the visible part of the
+ * viewer is repaired, the rest of the line is repaired when it is scrolled into view.
+ * </p>
+ * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
  */
@@ -64,6 +79,20 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	/** Prefix of the name of the position category for tracking damage regions. */
 	protected final static String TRACKED_PARTITION= "__reconciler_tracked_partition"; //$NON-NLS-1$
 
+	/**
+	 * The default length in characters above which lines are only repaired around the visible part.
+	 *
+	 * @since 3.27
+	 */
+	public static final int DEFAULT_LONG_LINE_THRESHOLD= 20000;
+
+	/**
+	 * The minimal number of characters repaired on each side of the visible part of a long line.
+	 *
+	 * @since 3.27
+	 */
+	private static final int LONG_LINE_MARGIN= 500;
+
 
 	/**
 	 * Internal listener class.
@@ -265,6 +294,41 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * The length above which lines are only repaired around the visible part, or <code>-1</code>.
+	 * @since 3.27
+	 */
+	private int fLongLineThreshold= DEFAULT_LONG_LINE_THRESHOLD;
+	/**
+	 * The repaired parts of long lines by model line, since the last damage was processed.
+	 * @since 3.27
+	 */
+	private final Map<Integer, IRegion> fRepairedLongLines= new HashMap<>();
+	/**
+	 * Tells whether a repair of the visible long lines has been posted.
+	 * @since 3.27
+	 */
+	private boolean fLongLineRepairPending;
+	/**
+	 * The listener scheduling the repair of long lines on vertical scrolling.
+	 * @since 3.27
+	 */
+	private final IViewportListener fViewportListener= verticalOffset -> scheduleLongLineRepair();
+	/**
+	 * The listener scheduling the repair of long lines on horizontal scrolling.
+	 * @since 3.27
+	 */
+	private final SelectionListener fHorizontalScrollListener= SelectionListener.widgetSelectedAdapter(e -> scheduleLongLineRepair());
+	/**
+	 * The listener scheduling the repair of long lines on caret movements, which may scroll.
+	 * @since 3.27
+	 */
+	private final CaretListener fCaretListener= e -> scheduleLongLineRepair();
+	/**
+	 * The listener scheduling the repair of long lines on resize.
+	 * @since 3.27
+	 */
+	private final ControlListener fResizeListener= ControlListener.controlResizedAdapter(e -> scheduleLongLineRepair());
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -289,6 +353,28 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= partitioning;
 	}
 
+	/**
+	 * Sets the length in characters above which lines are only repaired around the part that is
+	 * visible in the viewer. The default is {@link #DEFAULT_LONG_LINE_THRESHOLD}.
+	 *
+	 * @param threshold the number of characters, or <code>-1</code> to always repair complete lines
+	 * @since 3.27
+	 */
+	public void setLongLineThreshold(int threshold) {
+		fLongLineThreshold= threshold;
+	}
+
+	/**
+	 * Returns the length in characters above which lines are only repaired around the part that is
+	 * visible in the viewer.
+	 *
+	 * @return the number of characters, or <code>-1</code> if complete lines are always repaired
+	 * @since 3.27
+	 */
+	public int getLongLineThreshold() {
+		return fLongLineThreshold;
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.presentation.IPresentationReconcilerExtension#geDocumenttPartitioning()
 	 * @since 3.0
@@ -346,6 +432,15 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		fViewer= viewer;
 		fViewer.addTextInputListener(fInternalListener);
+		fViewer.addViewportListener(fViewportListener);
+		StyledText textWidget= viewer.getTextWidget();
+		if (textWidget != null) {
+			textWidget.addCaretListener(fCaretListener);
+			textWidget.addControlListener(fResizeListener);
+			ScrollBar horizontalBar= textWidget.getHorizontalBar();
+			if (horizontalBar != null)
+				horizontalBar.addSelectionListener(fHorizontalScrollListener);
+		}
 
 		IDocument document= viewer.getDocument();
 		if (document != null)
@@ -355,6 +450,16 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	@Override
 	public void uninstall() {
 		fViewer.removeTextInputListener(fInternalListener);
+		fViewer.removeViewportListener(fViewportListener);
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget != null && !textWidget.isDisposed()) {
+			textWidget.removeCaretListener(fCaretListener);
+			textWidget.removeControlListener(fResizeListener);
+			ScrollBar horizontalBar= textWidget.getHorizontalBar();
+			if (horizontalBar != null)
+				horizontalBar.removeSelectionListener(fHorizontalScrollListener);
+		}
+		fRepairedLongLines.clear();
 
 		// Ensure we uninstall all listeners
 		fInternalListener.inputDocumentAboutToBeChanged(fViewer.getDocument(), null);
@@ -546,9 +651,124 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
-			TextPresentation p= createPresentation(damage, document);
-			if (p != null)
-				applyTextRegionCollection(p);
+			for (IRegion region : clipLongLines(damage, document)) {
+				TextPresentation p= createPresentation(region, document);
+				if (p != null)
+					applyTextRegionCollection(p);
+			}
+		}
+	}
+
+	/**
+	 * Splits the given damage such that lines longer than the threshold are only covered around
+	 * their visible part, and remembers which parts of these lines are repaired.
+	 *
+	 * @param damage the damage to be repaired
+	 * @param document the document whose presentation must be repaired
+	 * @return the regions to repair
+	 * @since 3.27
+	 */
+	private List<IRegion> clipLongLines(IRegion damage, IDocument document) {
+		fRepairedLongLines.clear();
+		if (fLongLineThreshold < 0 || damage.getLength() <= fLongLineThreshold)
+			return List.of(damage);
+
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed())
+			return List.of(damage);
+
+		List<IRegion> regions= new ArrayList<>();
+		try {
+			int start= damage.getOffset();
+			int end= start + damage.getLength();
+			int lastLine= document.getLineOfOffset(end);
+			Viewport viewport= null;
+			for (int line= document.getLineOfOffset(start); line <= lastLine; line++) {
+				IRegion info= document.getLineInformation(line);
+				if (info.getLength() <= fLongLineThreshold)
+					continue;
+
+				int lineEnd= info.getOffset() + info.getLength();
+				if (start < info.getOffset())
+					regions.add(new Region(start, info.getOffset() - start));
+				if (viewport == null)
+					viewport= new Viewport(textWidget);
+				IRegion slice= viewport.getRepairRegion(info);
+				fRepairedLongLines.put(Integer.valueOf(line), slice);
+				int sliceStart= Math.max(start, slice.getOffset());
+				int sliceEnd= Math.min(end, slice.getOffset() + slice.getLength());
+				if (sliceStart < sliceEnd)
+					regions.add(new Region(sliceStart, sliceEnd - sliceStart));
+				start= Math.max(start, lineEnd);
+				if (start >= end)
+					break;
+			}
+			if (start < end)
+				regions.add(new Region(start, end - start));
+		} catch (BadLocationException x) {
+			fRepairedLongLines.clear();
+			return List.of(damage);
+		}
+		return regions;
+	}
+
+	/**
+	 * Posts a repair of the long lines visible in the viewer, unless one is already pending.
+	 *
+	 * @since 3.27
+	 */
+	private void scheduleLongLineRepair() {
+		if (fLongLineRepairPending || fLongLineThreshold < 0 || fViewer.getDocument() == null)
+			return;
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed())
+			return;
+		fLongLineRepairPending= true;
+		textWidget.getDisplay().asyncExec(() -> {
+			fLongLineRepairPending= false;
+			repairVisibleLongLines();
+		});
+	}
+
+	/**
+	 * Repairs the visible long lines whose visible part has not been repaired yet.
+	 *
+	 * @since 3.27
+	 */
+	private void repairVisibleLongLines() {
+		IDocument document= fViewer.getDocument();
+		StyledText textWidget= fViewer.getTextWidget();
+		if (document == null || textWidget == null || textWidget.isDisposed() || fLongLineThreshold < 0 || !fInternalListener.fCachedRedrawState)
+			return;
+
+		int top= JFaceTextUtil.getPartialTopIndex(fViewer);
+		int bottom= JFaceTextUtil.getPartialBottomIndex(fViewer);
+		if (top < 0 || bottom < 0)
+			return;
+
+		Viewport viewport= null;
+		try {
+			for (int line= top; line <= bottom && line < document.getNumberOfLines(); line++) {
+				IRegion info= document.getLineInformation(line);
+				if (info.getLength() <= fLongLineThreshold)
+					continue;
+
+				if (viewport == null)
+					viewport= new Viewport(textWidget);
+				IRegion visible= viewport.getVisibleRegion(info);
+				IRegion repaired= fRepairedLongLines.get(Integer.valueOf(line));
+				if (repaired != null && repaired.getOffset() <= visible.getOffset()
+						&& visible.getOffset() + visible.getLength() <= repaired.getOffset() + repaired.getLength())
+					continue;
+
+				IRegion slice= viewport.getRepairRegion(info);
+				fRepairedLongLines.put(Integer.valueOf(line), slice);
+				TextPresentation p= createPresentation(slice, document);
+				if (p != null)
+					applyTextRegionCollection(p);
+			}
+		} catch (BadLocationException x) {
+			// the document changed, the damage is processed anyway
 		}
 	}
 
@@ -574,4 +794,75 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	private ITypedRegion getPartition(IDocument document, int offset) throws BadLocationException {
 		return TextUtilities.getPartition(document, getDocumentPartitioning(), offset, false);
 	}
+
+	/**
+	 * The part of the document visible in the text widget, used to compute which parts of long
+	 * lines have to be repaired.
+	 *
+	 * @since 3.27
+	 */
+	private class Viewport {
+
+		/** Whether the widget wraps lines. */
+		private final boolean fWrapped;
+		/** The first visible column if not wrapped, otherwise the first visible model offset. */
+		private final int fStart;
+		/** The number of visible columns if not wrapped, otherwise the number of visible characters. */
+		private final int fExtent;
+
+		Viewport(StyledText textWidget) {
+			int charWidth= Math.max(1, JFaceTextUtil.getAverageCharWidth(textWidget));
+			int columns= textWidget.getClientArea().width / charWidth + 1;
+			fWrapped= textWidget.getWordWrap();
+			if (fWrapped) {
+				int rows= textWidget.getClientArea().height / Math.max(1, textWidget.getLineHeight()) + 1;
+				int widgetOffset= textWidget.getOffsetAtPoint(new Point(textWidget.getLeftMargin(), textWidget.getTopMargin()));
+				int offset= widgetOffset == -1 ? -1 : widgetOffset2ModelOffset(widgetOffset);
+				fStart= offset == -1 ? modelOffsetOfTopLine(textWidget) : offset;
+				fExtent= rows * columns;
+			} else {
+				fStart= textWidget.getHorizontalPixel() / charWidth;
+				fExtent= columns;
+			}
+		}
+
+		/**
+		 * Returns the visible part of the given line.
+		 *
+		 * @param line the line
+		 * @return the visible part, possibly empty
+		 */
+		IRegion getVisibleRegion(IRegion line) {
+			return clip(line, 0);
+		}
+
+		/**
+		 * Returns the part of the given line to repair, the visible part and a margin around it.
+		 *
+		 * @param line the line
+		 * @return the part to repair
+		 */
+		IRegion getRepairRegion(IRegion line) {
+			return clip(line, Math.max(fExtent, LONG_LINE_MARGIN));
+		}
+
+		private IRegion clip(IRegion line, int margin) {
+			int start= fWrapped ? fStart : line.getOffset() + fStart;
+			int lineEnd= line.getOffset() + line.getLength();
+			int sliceStart= Math.min(lineEnd, Math.max(line.getOffset(), start - margin));
+			int sliceEnd= Math.max(sliceStart, Math.min(lineEnd, start + fExtent + margin));
+			return new Region(sliceStart, sliceEnd - sliceStart);
+		}
+
+		private int widgetOffset2ModelOffset(int widgetOffset) {
+			if (fViewer instanceof ITextViewerExtension5 extension)
+				return extension.widgetOffset2ModelOffset(widgetOffset);
+			return widgetOffset + fViewer.getVisibleRegion().getOffset();
+		}
+
+		private int modelOffsetOfTopLine(StyledText textWidget) {
+			int offset= widgetOffset2ModelOffset(textWidget.getOffsetAtLine(textWidget.getTopIndex()));
+			return Math.max(0, offset);
+		}
+	}
 }
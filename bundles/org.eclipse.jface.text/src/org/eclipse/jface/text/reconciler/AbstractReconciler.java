@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jface.text.reconciler;
 
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Event;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -41,6 +47,10 @@ import org.eclipse.jface.text.ITextViewer;
  * <p>
  * It is subclass responsibility to specify how dirty regions are processed.
  * </p>
+ * <p>
+ * By default every reconciler runs on a thread of its own. Reconcilers can instead share a small
+ * pool of threads, see {@link #setUseSharedThreadPool(boolean)}.
+ * </p>
  *
  * @see org.eclipse.jface.text.IDocumentListener
  * @see org.eclipse.jface.text.ITextInputListener
@@ -49,11 +59,79 @@ import org.eclipse.jface.text.ITextViewer;
  */
 abstract public class AbstractReconciler implements IReconciler {
 
+	/**
+	 * The name of the system property that makes reconcilers use the shared thread pool by default.
+	 *
+	 * @see #setUseSharedThreadPool(boolean)
+	 * @since 3.27
+	 */
+	public static final String SHARED_THREAD_POOL_PROPERTY= "org.eclipse.jface.text.reconciler.sharedThreadPool"; //$NON-NLS-1$
+
+
+	/**
+	 * The reconciling activity.
+	 */
+	interface Worker {
+
+		/**
+		 * Returns whether a reconciling strategy is active right now.
+		 *
+		 * @return <code>true</code> if a activity is active
+		 */
+		boolean isActive();
+
+		/**
+		 * Returns whether some changes need to be processed.
+		 *
+		 * @return <code>true</code> if changes wait to be processed
+		 */
+		boolean isDirty();
+
+		/**
+		 * Returns whether the activity has been started and not yet ended.
+		 *
+		 * @return <code>true</code> if the activity is alive
+		 */
+		boolean isAlive();
+
+		/**
+		 * Returns whether the caller runs in this activity.
+		 *
+		 * @return <code>true</code> if the caller runs in this activity
+		 */
+		boolean isCurrentThread();
+
+		/**
+		 * Starts the activity.
+		 */
+		void start();
+
+		/**
+		 * Cancels the activity.
+		 */
+		void cancel();
+
+		/**
+		 * Suspends the caller of this method until the dirty region queue has been emptied.
+		 */
+		void suspendCallerWhileDirty();
+
+		/**
+		 * Reset the activity as the text viewer has been changed.
+		 */
+		void reset();
+
+		/**
+		 * Tells the activity that it should not delay the processing of the pending changes.
+		 */
+		default void wakeUp() {
+		}
+	}
 
 	/**
 	 * Background thread for the reconciling activity.
 	 */
-	class BackgroundThread extends Thread {
+	class BackgroundThread extends Thread implements Worker {
 
 		/** Has the reconciler been canceled. */
 		private boolean fCanceled= false;
@@ -81,6 +159,7 @@ abstract public class AbstractReconciler implements IReconciler {
 		 *
 		 * @return <code>true</code> if a activity is active
 		 */
+		@Override
 		public boolean isActive() {
 			return fIsActive;
 		}
@@ -91,13 +170,20 @@ abstract public class AbstractReconciler implements IReconciler {
 		 * @return <code>true</code> if changes wait to be processed
 		 * @since 3.0
 		 */
+		@Override
 		public synchronized boolean isDirty() {
 			return fIsDirty;
 		}
 
+		@Override
+		public boolean isCurrentThread() {
+			return Thread.currentThread() == this;
+		}
+
 		/**
 		 * Cancels the background thread.
 		 */
+		@Override
 		public void cancel() {
 			fCanceled= true;
 			IProgressMonitor pm= fProgressMonitor;
@@ -112,6 +198,7 @@ abstract public class AbstractReconciler implements IReconciler {
 		 * Suspends the caller of this method until this background thread has
 		 * emptied the dirty region queue.
 		 */
+		@Override
 		public void suspendCallerWhileDirty() {
 			AbstractReconciler.this.signalWaitForFinish();
 			boolean isDirty;
@@ -131,8 +218,11 @@ abstract public class AbstractReconciler implements IReconciler {
 		/**
 		 * Reset the background thread as the text viewer has been changed,
 		 */
+		@Override
 		public void reset() {
 
+			markDirty();
+
 			if (fDelay > 0) {
 
 				synchronized (this) {
@@ -208,9 +298,289 @@ abstract public class AbstractReconciler implements IReconciler {
 
 				synchronized (fDirtyRegionQueue) {
 					if (0 == fDirtyRegionQueue.getSize()) {
+						boolean isDirty= fProgressMonitor.isCanceled();
+						synchronized (this) {
+							fIsDirty= isDirty;
+						}
+						if (!isDirty)
+							markReconciled();
+						fDirtyRegionQueue.notifyAll();
+					}
+				}
+
+				fIsActive= false;
+			}
+		}
+	}
+
+	/**
+	 * Reconciling activity that runs on the threads of the {@link ReconcilerScheduler} instead of
+	 * a thread of its own. Each run processes one step, i.e. the initial process or one dirty
+	 * region, so that reconcilers with a higher priority get a thread in between. While the text
+	 * widget of the viewer is not visible, the pending changes are only processed if the caller
+	 * waits for them.
+	 */
+	class SharedWorker implements Worker, org.eclipse.swt.widgets.Listener {
+
+		/** The milliseconds a caller waits for a worker to process the changes before it does. */
+		private static final long WORKER_WAIT_TIME= 100;
+
+		/** Has the activity been started. */
+		private boolean fStarted= false;
+		/** Has the reconciler been canceled. */
+		private boolean fCanceled= false;
+		/** Some changes need to be processed. */
+		private boolean fIsDirty= false;
+		/** Is a reconciling strategy active. */
+		private volatile boolean fIsActive= false;
+		/** Has the initial process been run. */
+		private boolean fInitialProcessed= false;
+		/** The time in nanoseconds before which no changes are processed. */
+		private long fDueTime;
+		/** The token of the pending timer, or <code>null</code>. */
+		private Object fTimer;
+		/**
+		 * The token of the step waiting for a worker thread, {@link #fRunningStep} while a step
+		 * runs, or <code>null</code>.
+		 */
+		private Object fSubmission;
+		/** The value of {@link #fSubmission} while a step runs. */
+		private final Object fRunningStep= new Object();
+		/** Are changes pending that are not processed because the viewer is not visible. */
+		private boolean fParked= false;
+		/** The thread running a step, or <code>null</code>. */
+		private volatile Thread fRunner;
+		/** Is the text widget visible. */
+		private volatile boolean fVisible= true;
+		/** Has the text widget the focus. */
+		private volatile boolean fFocused= false;
+		/** The text widget whose events are listened to, or <code>null</code>. */
+		private StyledText fWidget;
+
+		@Override
+		public boolean isActive() {
+			return fIsActive;
+		}
+
+		@Override
+		public synchronized boolean isDirty() {
+			return fIsDirty;
+		}
+
+		@Override
+		public synchronized boolean isAlive() {
+			return fStarted && !fCanceled;
+		}
+
+		@Override
+		public boolean isCurrentThread() {
+			return Thread.currentThread() == fRunner;
+		}
+
+		@Override
+		public void start() {
+			synchronized (this) {
+				if (fStarted || fCanceled)
+					return;
+				fStarted= true;
+				fDueTime= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fDelay);
+			}
+			addWidgetListeners();
+			synchronized (this) {
+				schedule();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			synchronized (this) {
+				fCanceled= true;
+				fTimer= null;
+			}
+			IProgressMonitor pm= fProgressMonitor;
+			if (pm != null)
+				pm.setCanceled(true);
+			synchronized (fDirtyRegionQueue) {
+				fDirtyRegionQueue.notifyAll();
+			}
+			removeWidgetListeners();
+		}
+
+		/**
+		 * Suspends the caller until the dirty region queue is empty. The shared workers can all be
+		 * blocked, for example by strategies that wait for the caller's thread, so if no worker
+		 * starts to process the queue in time, the caller processes it itself.
+		 */
+		@Override
+		public void suspendCallerWhileDirty() {
+			AbstractReconciler.this.signalWaitForFinish();
+			boolean waitForWorker= true;
+			while (isAlive()) {
+				synchronized (fDirtyRegionQueue) {
+					if (fDirtyRegionQueue.getSize() == 0)
+						return;
+					if (waitForWorker) {
+						try {
+							fDirtyRegionQueue.wait(WORKER_WAIT_TIME);
+						} catch (InterruptedException x) {
+						}
+						if (fDirtyRegionQueue.getSize() == 0)
+							return;
+					}
+				}
+				waitForWorker= !runStepInCaller();
+			}
+		}
+
+		@Override
+		public void reset() {
+			markDirty();
+			updateVisibility();
+			synchronized (this) {
+				fIsDirty= true;
+				fDueTime= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fDelay);
+			}
+
+			informNotFinished();
+			reconcilerReset();
+
+			synchronized (this) {
+				schedule();
+			}
+		}
+
+		@Override
+		public synchronized void wakeUp() {
+			schedule();
+		}
+
+		/**
+		 * Arms the timer for the next step unless a step is pending already or there is nothing to
+		 * do. Must be called while holding the lock of this worker.
+		 */
+		private void schedule() {
+			if (!fStarted || fCanceled || fSubmission != null || fInitialProcessed && !fIsDirty)
+				return;
+			fParked= false;
+			long delay= waitFinish ? 0 : Math.max(0, TimeUnit.NANOSECONDS.toMillis(fDueTime - System.nanoTime()));
+			if (fTimer != null && delay > 0)
+				return; // the pending timer checks the due time again when it fires
+			Object token= new Object();
+			fTimer= token;
+			ReconcilerScheduler.getDefault().schedule(() -> dispatch(token), delay);
+		}
+
+		/**
+		 * Called by the timer. Hands the next step over to a worker thread if it is due.
+		 *
+		 * @param token the token of the timer
+		 */
+		private void dispatch(Object token) {
+			Object submission= new Object();
+			synchronized (this) {
+				if (token != fTimer)
+					return;
+				fTimer= null;
+				if (fCanceled)
+					return;
+				if (!waitFinish) {
+					if (fDueTime - System.nanoTime() > 0) {
+						schedule();
+						return;
+					}
+					if (!fVisible) {
+						fParked= true;
+						return;
+					}
+				}
+				fSubmission= submission;
+			}
+			int priority= fFocused ? ReconcilerScheduler.PRIORITY_FOCUSED : fVisible ? ReconcilerScheduler.PRIORITY_VISIBLE : ReconcilerScheduler.PRIORITY_HIDDEN;
+			ReconcilerScheduler.getDefault().submit(() -> step(submission), priority);
+		}
+
+		/**
+		 * Called by a worker thread. Runs the submitted step unless the caller of
+		 * {@link #suspendCallerWhileDirty()} took it over.
+		 *
+		 * @param submission the token of the submitted step
+		 */
+		private void step(Object submission) {
+			synchronized (this) {
+				if (fCanceled || submission != fSubmission)
+					return;
+				fSubmission= fRunningStep;
+			}
+			runStep();
+		}
+
+		/**
+		 * Runs the next step in the calling thread unless a step is running already.
+		 *
+		 * @return <code>true</code> if a step was run
+		 */
+		private boolean runStepInCaller() {
+			synchronized (this) {
+				if (fCanceled || fSubmission == fRunningStep)
+					return false;
+				fSubmission= fRunningStep;
+				fTimer= null;
+			}
+			runStep();
+			return true;
+		}
+
+		/**
+		 * Runs the initial process or processes the next dirty region.
+		 */
+		private void runStep() {
+			fRunner= Thread.currentThread();
+			try {
+				boolean initial;
+				synchronized (this) {
+					initial= !fInitialProcessed;
+					fInitialProcessed= true;
+				}
+				if (initial)
+					initialProcess();
+				else
+					processNextDirtyRegion();
+			} finally {
+				fRunner= null;
+				synchronized (this) {
+					fSubmission= null;
+					fDueTime= Math.max(fDueTime, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fDelay));
+					schedule();
+				}
+			}
+		}
+
+		private void processNextDirtyRegion() {
+			if (!isDirty()) {
+				waitFinish= false; //signalWaitForFinish() was called but nothing todo
+				return;
+			}
+
+			DirtyRegion r= null;
+			synchronized (fDirtyRegionQueue) {
+				r= fDirtyRegionQueue.removeNextDirtyRegion();
+			}
+
+			fIsActive= true;
+
+			fProgressMonitor.setCanceled(false);
+
+			try {
+				process(r);
+			} finally {
+				synchronized (fDirtyRegionQueue) {
+					if (0 == fDirtyRegionQueue.getSize()) {
+						boolean isDirty= fProgressMonitor.isCanceled();
 						synchronized (this) {
-							fIsDirty= fProgressMonitor.isCanceled();
+							fIsDirty= isDirty;
 						}
+						if (!isDirty)
+							markReconciled();
 						fDirtyRegionQueue.notifyAll();
 					}
 				}
@@ -218,6 +588,65 @@ abstract public class AbstractReconciler implements IReconciler {
 				fIsActive= false;
 			}
 		}
+
+		/**
+		 * Samples the visibility of the text widget if called in the UI thread.
+		 */
+		private void updateVisibility() {
+			StyledText widget= fWidget;
+			if (widget != null && !widget.isDisposed() && widget.getDisplay().getThread() == Thread.currentThread())
+				fVisible= widget.isVisible();
+		}
+
+		private void addWidgetListeners() {
+			StyledText widget= fViewer != null ? fViewer.getTextWidget() : null;
+			if (widget == null || widget.isDisposed() || widget.getDisplay().getThread() != Thread.currentThread())
+				return;
+			fWidget= widget;
+			fVisible= widget.isVisible();
+			fFocused= widget.isFocusControl();
+			widget.addListener(SWT.Paint, this);
+			widget.addListener(SWT.FocusIn, this);
+			widget.addListener(SWT.FocusOut, this);
+		}
+
+		private void removeWidgetListeners() {
+			StyledText widget= fWidget;
+			if (widget == null || widget.isDisposed())
+				return;
+			Runnable runnable= () -> {
+				if (!widget.isDisposed()) {
+					widget.removeListener(SWT.Paint, this);
+					widget.removeListener(SWT.FocusIn, this);
+					widget.removeListener(SWT.FocusOut, this);
+				}
+			};
+			if (widget.getDisplay().getThread() == Thread.currentThread())
+				runnable.run();
+			else
+				widget.getDisplay().asyncExec(runnable);
+		}
+
+		@Override
+		public void handleEvent(Event event) {
+			switch (event.type) {
+				case SWT.Paint:
+					fVisible= true;
+					synchronized (this) {
+						if (fParked)
+							schedule();
+					}
+					break;
+				case SWT.FocusIn:
+					fFocused= true;
+					break;
+				case SWT.FocusOut:
+					fFocused= false;
+					break;
+				default:
+					break;
+			}
+		}
 	}
 
 	/**
@@ -233,7 +662,7 @@ abstract public class AbstractReconciler implements IReconciler {
 		public void documentChanged(DocumentEvent e) {
 
 			if (fThread.isActive() || !fThread.isDirty() && fThread.isAlive()) {
-				if (!fIsAllowedToModifyDocument && Thread.currentThread() == fThread)
+				if (!fIsAllowedToModifyDocument && fThread.isCurrentThread())
 					throw new UnsupportedOperationException("The reconciler thread is not allowed to modify the document"); //$NON-NLS-1$
 				aboutToBeReconciledInternal();
 			}
@@ -297,8 +726,8 @@ abstract public class AbstractReconciler implements IReconciler {
 
 	/** Queue to manage the changes applied to the text viewer. */
 	private DirtyRegionQueue fDirtyRegionQueue;
-	/** The background thread. */
-	private BackgroundThread fThread;
+	/** The background activity. */
+	private Worker fThread;
 	/** Internal document and text input listener. */
 	private Listener fListener;
 	/** The background thread delay. */
@@ -314,6 +743,28 @@ abstract public class AbstractReconciler implements IReconciler {
 	 * @since 3.2
 	 */
 	private boolean fIsAllowedToModifyDocument= true;
+	/**
+	 * Tells whether this reconciler runs on the shared thread pool.
+	 * @since 3.27
+	 */
+	private boolean fUseSharedThreadPool= Boolean.getBoolean(SHARED_THREAD_POOL_PROPERTY);
+	/**
+	 * The time in nanoseconds at which the reconciler became dirty, only valid if
+	 * {@link #fLatencyPending} is set. Guarded by {@link #fDirtyRegionQueue}.
+	 * @since 3.27
+	 */
+	private long fDirtySince;
+	/**
+	 * Tells whether the reconciler became dirty after it was last reconciled. Guarded by
+	 * {@link #fDirtyRegionQueue}.
+	 * @since 3.27
+	 */
+	private boolean fLatencyPending;
+	/**
+	 * The latency of the last reconcile in milliseconds, or <code>-1</code>.
+	 * @since 3.27
+	 */
+	private volatile long fLastLatency= -1;
 
 
 	/** The text viewer's document. */
@@ -391,6 +842,56 @@ abstract public class AbstractReconciler implements IReconciler {
 		fIsAllowedToModifyDocument= isAllowedToModify;
 	}
 
+	/**
+	 * Tells the reconciler whether it runs on a small pool of threads shared by all reconcilers
+	 * that do so, instead of on a thread of its own. The reconcilers of focused and visible text
+	 * viewers get a thread first, and the changes of a text viewer that is not visible are only
+	 * reconciled once it is painted again, or when they are waited for. Must be called before the
+	 * reconciler is installed.
+	 * <p>
+	 * When the input document of the viewer is replaced, the changes of the old document are waited
+	 * for. If no shared thread starts to process them shortly, since all of them are busy or
+	 * blocked, they are processed in the thread that replaces the document.
+	 * </p>
+	 * <p>
+	 * The default is <code>false</code> unless the system property
+	 * {@value #SHARED_THREAD_POOL_PROPERTY} is set to <code>true</code>.
+	 * </p>
+	 *
+	 * @param useSharedThreadPool <code>true</code> to run on the shared thread pool
+	 * @since 3.27
+	 */
+	public void setUseSharedThreadPool(boolean useSharedThreadPool) {
+		fUseSharedThreadPool= useSharedThreadPool;
+	}
+
+	/**
+	 * Returns the number of dirty regions that wait to be processed. Reconcilers that are not
+	 * incremental do not queue dirty regions.
+	 *
+	 * @return the number of queued dirty regions
+	 * @since 3.27
+	 */
+	public int getPendingDirtyRegionCount() {
+		DirtyRegionQueue queue= fDirtyRegionQueue;
+		if (queue == null)
+			return 0;
+		synchronized (queue) {
+			return queue.getSize();
+		}
+	}
+
+	/**
+	 * Returns the time it took from the first change after the reconciler was clean until all
+	 * changes were processed, the last time this happened.
+	 *
+	 * @return the latency in milliseconds, or <code>-1</code> if no change has been reconciled yet
+	 * @since 3.27
+	 */
+	public long getLastReconcileLatency() {
+		return fLastLatency;
+	}
+
 	/**
 	 * Sets the progress monitor of this reconciler.
 	 *
@@ -449,7 +950,7 @@ abstract public class AbstractReconciler implements IReconciler {
 		synchronized (this) {
 			if (fThread != null)
 				return;
-			fThread= new BackgroundThread(getClass().getName());
+			fThread= fUseSharedThreadPool ? new SharedWorker() : new BackgroundThread(getClass().getName());
 		}
 
 		fDirtyRegionQueue= new DirtyRegionQueue();
@@ -483,7 +984,7 @@ abstract public class AbstractReconciler implements IReconciler {
 
 			synchronized (this) {
 				// http://dev.eclipse.org/bugs/show_bug.cgi?id=19135
-				BackgroundThread bt= fThread;
+				Worker bt= fThread;
 				fThread= null;
 				bt.cancel();
 			}
@@ -550,6 +1051,9 @@ abstract public class AbstractReconciler implements IReconciler {
 			waitFinish= true;
 			fDirtyRegionQueue.notifyAll(); // notify AbstractReconciler#delay about waitFinish
 		}
+		Worker worker= fThread;
+		if (worker != null)
+			worker.wakeUp();
 	}
 
 	private void informNotFinished() {
@@ -557,6 +1061,26 @@ abstract public class AbstractReconciler implements IReconciler {
 		aboutToWork();
 	}
 
+	private void markDirty() {
+		synchronized (fDirtyRegionQueue) {
+			if (!fLatencyPending) {
+				fLatencyPending= true;
+				fDirtySince= System.nanoTime();
+			}
+		}
+	}
+
+	/**
+	 * Records the latency once the reconciler is clean. Must be called while holding the lock of
+	 * {@link #fDirtyRegionQueue}.
+	 */
+	private void markReconciled() {
+		if (fLatencyPending) {
+			fLatencyPending= false;
+			fLastLatency= TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fDirtySince);
+		}
+	}
+
 	private void aboutToBeReconciledInternal() {
 		aboutToBeReconciled();
 		informNotFinished();
@@ -641,6 +1165,7 @@ abstract public class AbstractReconciler implements IReconciler {
 	 * @since 3.4
 	 */
 	protected boolean isRunningInReconcilerThread() {
-		return Thread.currentThread() == fThread;
+		Worker worker= fThread;
+		return worker != null && worker.isCurrentThread();
 	}
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.reconciler;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * The threads shared by the reconcilers that do not run on their own thread.
+ * <p>
+ * A single timer thread waits for the delays of the reconcilers and hands them over to a bounded
+ * pool of worker threads once they are due. If more reconcilers are due than there are workers,
+ * the ones with the lower priority value run first. Idle threads terminate after a while.
+ * </p>
+ */
+final class ReconcilerScheduler {
+
+	/** Priority of a reconciler whose viewer has the focus. */
+	static final int PRIORITY_FOCUSED= 0;
+	/** Priority of a reconciler whose viewer is visible. */
+	static final int PRIORITY_VISIBLE= 1;
+	/** Priority of a reconciler whose viewer is not visible. */
+	static final int PRIORITY_HIDDEN= 2;
+
+	private static final long KEEP_ALIVE_SECONDS= 30;
+
+	private static ReconcilerScheduler fgDefault;
+
+	/**
+	 * A task for the worker queue, ordered by priority and then by submission.
+	 */
+	private static final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+		private final Runnable fTask;
+		private final int fPriority;
+		private final long fSequence;
+
+		PrioritizedTask(Runnable task, int priority, long sequence) {
+			fTask= task;
+			fPriority= priority;
+			fSequence= sequence;
+		}
+
+		@Override
+		public void run() {
+			fTask.run();
+		}
+
+		@Override
+		public int compareTo(PrioritizedTask other) {
+			if (fPriority != other.fPriority)
+				return Integer.compare(fPriority, other.fPriority);
+			return Long.compare(fSequence, other.fSequence);
+		}
+	}
+
+	private final ScheduledThreadPoolExecutor fTimer;
+	private final ThreadPoolExecutor fWorkers;
+	private final AtomicLong fSequence= new AtomicLong();
+
+	/**
+	 * Creates a scheduler.
+	 *
+	 * @param workerCount the maximal number of worker threads
+	 */
+	ReconcilerScheduler(int workerCount) {
+		fTimer= new ScheduledThreadPoolExecutor(1, createThreadFactory("Reconciler Timer")); //$NON-NLS-1$
+		fTimer.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+		fTimer.allowCoreThreadTimeOut(true);
+		fTimer.setRemoveOnCancelPolicy(true);
+		fWorkers= new ThreadPoolExecutor(workerCount, workerCount, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), createThreadFactory("Reconciler Worker")); //$NON-NLS-1$
+		fWorkers.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Returns the scheduler shared by all reconcilers.
+	 *
+	 * @return the shared scheduler
+	 */
+	static synchronized ReconcilerScheduler getDefault() {
+		if (fgDefault == null) {
+			// more than one, so that a long running strategy does not hold up all other reconcilers
+			int workerCount= Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+			fgDefault= new ReconcilerScheduler(workerCount);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Runs a task on the timer thread after a delay. The task must not block.
+	 *
+	 * @param task the task
+	 * @param delay the delay in milliseconds
+	 */
+	void schedule(Runnable task, long delay) {
+		fTimer.schedule(task, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Runs a task on a worker thread as soon as one is available.
+	 *
+	 * @param task the task
+	 * @param priority the priority of the task, one of the <code>PRIORITY_*</code> constants
+	 */
+	void submit(Runnable task, int priority) {
+		fWorkers.execute(new PrioritizedTask(task, priority, fSequence.getAndIncrement()));
+	}
+
+	/**
+	 * Returns the number of tasks that wait for a worker thread.
+	 *
+	 * @return the number of waiting tasks
+	 */
+	int getQueueSize() {
+		return fWorkers.getQueue().size();
+	}
+
+	private static ThreadFactory createThreadFactory(String name) {
+		AtomicInteger count= new AtomicInteger();
+		return runnable -> {
+			Thread thread= new Thread(runnable, name + '-' + count.incrementAndGet());
+			thread.setPriority(Thread.MIN_PRIORITY);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
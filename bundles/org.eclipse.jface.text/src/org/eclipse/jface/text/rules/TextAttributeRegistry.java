@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.rules;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.jface.resource.ColorRegistry;
+import org.eclipse.jface.resource.FontRegistry;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.util.IPropertyChangeListener;
+
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.TextAttribute;
+
+
+/**
+ * A registry of shared text attributes and tokens whose colors and fonts are given by the symbolic
+ * names of a {@link ColorRegistry} and a {@link FontRegistry}.
+ * <p>
+ * Scanners of all viewers of a language can share the tokens of this registry instead of each
+ * creating their own text attributes. When the colors or fonts change, e.g. on a theme switch,
+ * the registry updates the data of its tokens once and then invalidates the presentation of each
+ * added viewer once, no matter how many colors and fonts changed.
+ * </p>
+ * <p>
+ * The registry is opt-in: the source viewer and the default viewer configurations do not use it,
+ * only scanners which take their tokens from it share them.
+ * </p>
+ * <p>
+ * This class must be used from the display thread. Clients may instantiate this class; the
+ * registry for the JFace color and font registries is available through {@link #getDefault()}.
+ * </p>
+ *
+ * @since 3.27
+ */
+public class TextAttributeRegistry {
+
+	/** The key of a shared text attribute. */
+	private record Key(String foreground, String background, int style, String font) {
+	}
+
+	/** The registry for the JFace color and font registries. */
+	private static TextAttributeRegistry fgDefault;
+
+	private final ColorRegistry fColorRegistry;
+	private final FontRegistry fFontRegistry;
+	private final Display fDisplay;
+	/** The shared tokens, whose data is the text attribute for their key. */
+	private final Map<Key, Token> fTokens= new HashMap<>();
+	/**
+	 * The interned text attributes. They are only weakly referenced, so that the attributes which
+	 * are no longer used by the clients are dropped.
+	 */
+	private final Map<TextAttribute, WeakReference<TextAttribute>> fAttributes= new WeakHashMap<>();
+	/** The viewers whose presentation is invalidated when the text attributes change. */
+	private final Set<ITextViewer> fViewers= new LinkedHashSet<>();
+	private final IPropertyChangeListener fListener= event -> scheduleUpdate();
+	/** Whether an update of the tokens is already scheduled. */
+	private boolean fUpdatePending;
+
+	/**
+	 * Creates a registry for the given color and font registries.
+	 *
+	 * @param colorRegistry the color registry
+	 * @param fontRegistry the font registry
+	 */
+	public TextAttributeRegistry(ColorRegistry colorRegistry, FontRegistry fontRegistry) {
+		fColorRegistry= colorRegistry;
+		fFontRegistry= fontRegistry;
+		Display display= Display.getCurrent();
+		fDisplay= display != null ? display : Display.getDefault();
+		fColorRegistry.addListener(fListener);
+		fFontRegistry.addListener(fListener);
+	}
+
+	/**
+	 * Returns the registry for the color and font registries of {@link JFaceResources}.
+	 *
+	 * @return the default registry
+	 */
+	public static synchronized TextAttributeRegistry getDefault() {
+		if (fgDefault == null)
+			fgDefault= new TextAttributeRegistry(JFaceResources.getColorRegistry(), JFaceResources.getFontRegistry());
+		return fgDefault;
+	}
+
+	/**
+	 * Returns the shared token for the given symbolic names and style. The data of the token is the
+	 * text attribute returned by {@link #getTextAttribute(String, String, int, String)}, and it is
+	 * updated when the colors or fonts change.
+	 *
+	 * @param foreground the symbolic name of the foreground color, <code>null</code> if none
+	 * @param background the symbolic name of the background color, <code>null</code> if none
+	 * @param style the style
+	 * @param font the symbolic name of the font, <code>null</code> if none
+	 * @return the shared token
+	 */
+	public IToken getToken(String foreground, String background, int style, String font) {
+		return fTokens.computeIfAbsent(new Key(foreground, background, style, font), key -> new Token(resolve(key)));
+	}
+
+	/**
+	 * Returns the shared text attribute for the given symbolic names and style. Names without a
+	 * value in the registries resolve to <code>null</code>.
+	 *
+	 * @param foreground the symbolic name of the foreground color, <code>null</code> if none
+	 * @param background the symbolic name of the background color, <code>null</code> if none
+	 * @param style the style
+	 * @param font the symbolic name of the font, <code>null</code> if none
+	 * @return the shared text attribute
+	 */
+	public TextAttribute getTextAttribute(String foreground, String background, int style, String font) {
+		return (TextAttribute) getToken(foreground, background, style, font).getData();
+	}
+
+	/**
+	 * Returns the shared text attribute which is equal to the given one. The registry does not keep
+	 * the shared text attributes which are no longer referenced elsewhere.
+	 *
+	 * @param attribute the text attribute
+	 * @return the shared text attribute equal to the given one
+	 */
+	public TextAttribute intern(TextAttribute attribute) {
+		WeakReference<TextAttribute> reference= fAttributes.get(attribute);
+		TextAttribute shared= reference != null ? reference.get() : null;
+		if (shared == null) {
+			shared= attribute;
+			fAttributes.put(shared, new WeakReference<>(shared));
+		}
+		return shared;
+	}
+
+	/**
+	 * Adds the given viewer, whose presentation is invalidated when the text attributes of this
+	 * registry change. The viewer is removed when its text widget is disposed.
+	 *
+	 * @param viewer the viewer
+	 */
+	public void addTextViewer(ITextViewer viewer) {
+		StyledText textWidget= viewer.getTextWidget();
+		if (textWidget != null && !textWidget.isDisposed() && fViewers.add(viewer))
+			textWidget.addDisposeListener(e -> removeTextViewer(viewer));
+	}
+
+	/**
+	 * Removes the given viewer.
+	 *
+	 * @param viewer the viewer
+	 */
+	public void removeTextViewer(ITextViewer viewer) {
+		fViewers.remove(viewer);
+	}
+
+	/**
+	 * Disposes this registry. The tokens keep their current data.
+	 */
+	public void dispose() {
+		fColorRegistry.removeListener(fListener);
+		fFontRegistry.removeListener(fListener);
+		fViewers.clear();
+		synchronized (TextAttributeRegistry.class) {
+			if (fgDefault == this)
+				fgDefault= null;
+		}
+	}
+
+	/**
+	 * Schedules an update of the tokens. A theme switch changes many colors and fonts, which are
+	 * all handled by the same update.
+	 */
+	private void scheduleUpdate() {
+		if (fUpdatePending || fDisplay.isDisposed())
+			return;
+		fUpdatePending= true;
+		fDisplay.asyncExec(this::update);
+	}
+
+	/**
+	 * Updates the data of the tokens whose text attribute changed and, if there are any, invalidates
+	 * the presentation of the viewers.
+	 */
+	private void update() {
+		fUpdatePending= false;
+		// drop the attributes with the old colors and fonts
+		fAttributes.clear();
+		boolean changed= false;
+		for (Map.Entry<Key, Token> entry : fTokens.entrySet()) {
+			Token token= entry.getValue();
+			TextAttribute attribute= resolve(entry.getKey());
+			if (!attribute.equals(token.getData())) {
+				token.setData(attribute);
+				changed= true;
+			}
+		}
+		if (!changed)
+			return;
+
+		List<ITextViewer> viewers= new ArrayList<>(fViewers);
+		for (ITextViewer viewer : viewers) {
+			StyledText textWidget= viewer.getTextWidget();
+			if (textWidget == null || textWidget.isDisposed())
+				fViewers.remove(viewer);
+			else
+				viewer.invalidateTextPresentation();
+		}
+	}
+
+	private TextAttribute resolve(Key key) {
+		Color foreground= key.foreground() != null ? fColorRegistry.get(key.foreground()) : null;
+		Color background= key.background() != null ? fColorRegistry.get(key.background()) : null;
+		Font font= key.font() != null && fFontRegistry.hasValueFor(key.font()) ? fFontRegistry.get(key.font()) : null;
+		return intern(new TextAttribute(foreground, background, key.style(), font));
+	}
+}
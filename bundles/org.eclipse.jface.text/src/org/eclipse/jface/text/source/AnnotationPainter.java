@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,16 +14,16 @@
  *******************************************************************************/
 package org.eclipse.jface.text.source;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -316,6 +316,12 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 	 * @since 3.4
 	 */
 	private static final Object HIGHLIGHTING= new Object();
+	/**
+	 * The number of decorations from which on painting asks the annotation model for the
+	 * annotations in the painted region instead of looking at all decorations.
+	 * @since 3.27
+	 */
+	private static final int MIN_DECORATIONS_FOR_REGION_QUERY= 64;
 
 	/**
 	 * The presentation information (decoration) for an annotation.  Each such
@@ -561,78 +567,137 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		int drawRangeStart= Integer.MAX_VALUE;
 		int drawRangeEnd= -1;
 
-		Map<Annotation, Decoration> decorationsMap;
-		Map<Annotation, Decoration> highlightedDecorationsMap;
-
-		// Clone decoration maps
-		synchronized (fDecorationMapLock) {
-			decorationsMap= new HashMap<>(fDecorationsMap);
-		}
-		synchronized (fHighlightedDecorationsMapLock) {
-			highlightedDecorationsMap= new HashMap<>(fHighlightedDecorationsMap);
-		}
-
-		boolean isWorldChange= false;
-
-		Iterator<Annotation> e;
 		if (event == null || event.isWorldChange()) {
-			isWorldChange= true;
 
 			if (DEBUG && event == null)
 				System.out.println("AP: INTERNAL CHANGE"); //$NON-NLS-1$
 
-			Iterator<Entry<Annotation, Decoration>> iter= decorationsMap.entrySet().iterator();
-			while (iter.hasNext()) {
-				Entry<Annotation, Decoration> entry= iter.next();
-				Annotation annotation= entry.getKey();
-				Decoration decoration= entry.getValue();
-				drawDecoration(decoration, null, annotation, clippingRegion, document);
+			/*
+			 * A world change builds new maps outside of the locks and swaps them in, so that
+			 * readers are not blocked while the whole model is read.
+			 */
+			Map<Annotation, Decoration> oldDecorationsMap;
+			synchronized (fDecorationMapLock) {
+				oldDecorationsMap= new HashMap<>(fDecorationsMap);
+			}
+			for (Entry<Annotation, Decoration> entry : oldDecorationsMap.entrySet()) {
+				drawDecoration(entry.getValue(), null, entry.getKey(), clippingRegion, document);
 			}
 
-			decorationsMap.clear();
+			Map<Annotation, Decoration> decorationsMap= new HashMap<>();
+			Map<Annotation, Decoration> highlightedDecorationsMap= new HashMap<>();
+
+			Iterator<Annotation> e= fModel.getAnnotationIterator();
+			while (e.hasNext()) {
+				Annotation annotation= e.next();
+				Decoration pp= getDecoration(annotation, null);
+				if (pp != null) {
+					if (pp.fPaintingStrategy instanceof IDrawingStrategy) {
+						decorationsMap.put(annotation, pp);
+						drawRangeStart= Math.min(drawRangeStart, pp.fPosition.offset);
+						drawRangeEnd= Math.max(drawRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+					} else if (pp.fPaintingStrategy instanceof ITextStyleStrategy) {
+						highlightedDecorationsMap.put(annotation, pp);
+						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, pp.fPosition.offset);
+						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+					}
+				}
+			}
 
-			highlightedDecorationsMap.clear();
+			synchronized (fDecorationMapLock) {
+				fDecorationsMap= decorationsMap;
+				updateDrawRanges(drawRangeStart, drawRangeEnd, true);
+			}
 
-			e= fModel.getAnnotationIterator();
+			synchronized (fHighlightedDecorationsMapLock) {
+				fHighlightedDecorationsMap= highlightedDecorationsMap;
+				updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, true);
+			}
+			return;
+		}
 
+		/*
+		 * Other events are applied to the current maps, so that the work is proportional to the
+		 * size of the event. The decorations to erase are collected and drawn after the locks
+		 * have been released.
+		 */
+		List<Entry<Annotation, Decoration>> erased= new ArrayList<>();
 
-		} else {
+		Annotation[] removedAnnotations= event.getRemovedAnnotations();
+		Annotation[] changedAnnotations= event.getChangedAnnotations();
+		Annotation[] addedAnnotations= event.getAddedAnnotations();
 
-			// Remove annotations
-			Annotation[] removedAnnotations= event.getRemovedAnnotations();
-			for (Annotation annotation : removedAnnotations) {
-				Decoration decoration= highlightedDecorationsMap.remove(annotation);
-				if (decoration != null) {
-					Position position= decoration.fPosition;
-					if (position != null) {
-						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, position.offset);
-						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, position.offset + position.length);
+		synchronized (fDecorationMapLock) {
+			synchronized (fHighlightedDecorationsMapLock) {
+				Map<Annotation, Decoration> decorationsMap= fDecorationsMap;
+				Map<Annotation, Decoration> highlightedDecorationsMap= fHighlightedDecorationsMap;
+
+				// Remove annotations
+				for (Annotation annotation : removedAnnotations) {
+					Decoration decoration= highlightedDecorationsMap.remove(annotation);
+					if (decoration != null) {
+						Position position= decoration.fPosition;
+						if (position != null) {
+							highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, position.offset);
+							highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, position.offset + position.length);
+						}
 					}
-				}
-				decoration= decorationsMap.remove(annotation);
-				if (decoration != null) {
-					drawDecoration(decoration, null, annotation, clippingRegion, document);
-					Position position= decoration.fPosition;
-					if (position != null) {
-						drawRangeStart= Math.min(drawRangeStart, position.offset);
-						drawRangeEnd= Math.max(drawRangeEnd, position.offset + position.length);
+					decoration= decorationsMap.remove(annotation);
+					if (decoration != null) {
+						erased.add(new SimpleImmutableEntry<>(annotation, decoration));
+						Position position= decoration.fPosition;
+						if (position != null) {
+							drawRangeStart= Math.min(drawRangeStart, position.offset);
+							drawRangeEnd= Math.max(drawRangeEnd, position.offset + position.length);
+						}
 					}
+
 				}
 
-			}
+				// Update existing annotations
+				for (Annotation annotation : changedAnnotations) {
+					boolean isHighlighting= false;
+
+					Decoration decoration= highlightedDecorationsMap.get(annotation);
 
-			// Update existing annotations
-			Annotation[] changedAnnotations= event.getChangedAnnotations();
-			for (Annotation annotation : changedAnnotations) {
-				boolean isHighlighting= false;
+					if (decoration != null) {
+						isHighlighting= true;
+						// The call below updates the decoration - no need to create new decoration
+						decoration= getDecoration(annotation, decoration);
+						if (decoration == null) {
+							Decoration removedDecoration= highlightedDecorationsMap.remove(annotation);
+							if (removedDecoration != null) {
+								highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, removedDecoration.fPosition.offset);
+								highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, removedDecoration.fPosition.offset + removedDecoration.fPosition.length);
+							}
+						}
+
+					} else {
+						decoration= getDecoration(annotation, decoration);
+						if (decoration != null && decoration.fPaintingStrategy instanceof ITextStyleStrategy) {
+							highlightedDecorationsMap.put(annotation, decoration);
+							isHighlighting= true;
+						}
+					}
 
-				Decoration decoration= highlightedDecorationsMap.get(annotation);
+					boolean usesDrawingStrategy= !isHighlighting && decoration != null;
 
-				if (decoration != null) {
-					isHighlighting= true;
-					// The call below updates the decoration - no need to create new decoration
-					decoration= getDecoration(annotation, decoration);
-					if (decoration == null) {
+					Position position= null;
+					if (decoration == null)
+						position= fModel.getPosition(annotation);
+					else
+						position= decoration.fPosition;
+
+					if (position != null && !position.isDeleted()) {
+						if (isHighlighting) {
+							highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, position.offset);
+							highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, position.offset + position.length);
+						}
+						if (usesDrawingStrategy) {
+							drawRangeStart= Math.min(drawRangeStart, position.offset);
+							drawRangeEnd= Math.max(drawRangeEnd, position.offset + position.length);
+						}
+					} else {
 						Decoration removedDecoration= highlightedDecorationsMap.remove(annotation);
 						if (removedDecoration != null) {
 							highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, removedDecoration.fPosition.offset);
@@ -640,80 +705,42 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 						}
 					}
 
-				} else {
-					decoration= getDecoration(annotation, decoration);
-					if (decoration != null && decoration.fPaintingStrategy instanceof ITextStyleStrategy) {
-						highlightedDecorationsMap.put(annotation, decoration);
-						isHighlighting= true;
-					}
-				}
-
-				boolean usesDrawingStrategy= !isHighlighting && decoration != null;
-
-				Position position= null;
-				if (decoration == null)
-					position= fModel.getPosition(annotation);
-				else
-					position= decoration.fPosition;
-
-				if (position != null && !position.isDeleted()) {
-					if (isHighlighting) {
-						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, position.offset);
-						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, position.offset + position.length);
-					}
 					if (usesDrawingStrategy) {
-						drawRangeStart= Math.min(drawRangeStart, position.offset);
-						drawRangeEnd= Math.max(drawRangeEnd, position.offset + position.length);
-					}
-				} else {
-					Decoration removedDecoration= highlightedDecorationsMap.remove(annotation);
-					if (removedDecoration != null) {
-						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, removedDecoration.fPosition.offset);
-						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, removedDecoration.fPosition.offset + removedDecoration.fPosition.length);
-					}
-				}
-
-				if (usesDrawingStrategy) {
-					Decoration oldDecoration= decorationsMap.get(annotation);
-					if (oldDecoration != null) {
-						drawDecoration(oldDecoration, null, annotation, clippingRegion, document);
-						if (decoration != null)
-							decorationsMap.put(annotation, decoration);
-						else
-							decorationsMap.remove(annotation);
+						Decoration oldDecoration= decorationsMap.get(annotation);
+						if (oldDecoration != null) {
+							erased.add(new SimpleImmutableEntry<>(annotation, oldDecoration));
+							if (decoration != null)
+								decorationsMap.put(annotation, decoration);
+							else
+								decorationsMap.remove(annotation);
+						}
 					}
 				}
-			}
 
-			e= Arrays.asList(event.getAddedAnnotations()).iterator();
-		}
+				// Add new annotations
+				for (Annotation annotation : addedAnnotations) {
+					Decoration pp= getDecoration(annotation, null);
+					if (pp != null) {
+						if (pp.fPaintingStrategy instanceof IDrawingStrategy) {
+							decorationsMap.put(annotation, pp);
+							drawRangeStart= Math.min(drawRangeStart, pp.fPosition.offset);
+							drawRangeEnd= Math.max(drawRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+						} else if (pp.fPaintingStrategy instanceof ITextStyleStrategy) {
+							highlightedDecorationsMap.put(annotation, pp);
+							highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, pp.fPosition.offset);
+							highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+						}
 
-		// Add new annotations
-		while (e.hasNext()) {
-			Annotation annotation= e.next();
-			Decoration pp= getDecoration(annotation, null);
-			if (pp != null) {
-				if (pp.fPaintingStrategy instanceof IDrawingStrategy) {
-					decorationsMap.put(annotation, pp);
-					drawRangeStart= Math.min(drawRangeStart, pp.fPosition.offset);
-					drawRangeEnd= Math.max(drawRangeEnd, pp.fPosition.offset + pp.fPosition.length);
-				} else if (pp.fPaintingStrategy instanceof ITextStyleStrategy) {
-					highlightedDecorationsMap.put(annotation, pp);
-					highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, pp.fPosition.offset);
-					highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+					}
 				}
 
+				updateDrawRanges(drawRangeStart, drawRangeEnd, false);
+				updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, false);
 			}
 		}
 
-		synchronized (fDecorationMapLock) {
-			fDecorationsMap= decorationsMap;
-			updateDrawRanges(drawRangeStart, drawRangeEnd, isWorldChange);
-		}
-
-		synchronized (fHighlightedDecorationsMapLock) {
-			fHighlightedDecorationsMap= highlightedDecorationsMap;
-			updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, isWorldChange);
+		for (Entry<Annotation, Decoration> entry : erased) {
+			drawDecoration(entry.getValue(), null, entry.getKey(), clippingRegion, document);
 		}
 	}
 
@@ -982,16 +1009,24 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 	@Override
 	public void applyTextPresentation(TextPresentation tp) {
-		Set<Entry<Annotation, Decoration>> decorations;
+		Collection<Entry<Annotation, Decoration>> decorations= null;
+		IRegion region= tp.getExtent();
 
 		synchronized (fHighlightedDecorationsMapLock) {
 			if (fHighlightedDecorationsMap == null || fHighlightedDecorationsMap.isEmpty())
 				return;
 
-			decorations= new HashSet<>(fHighlightedDecorationsMap.entrySet());
+			if (fHighlightedDecorationsMap.size() < MIN_DECORATIONS_FOR_REGION_QUERY)
+				decorations= new ArrayList<>(fHighlightedDecorationsMap.entrySet());
+		}
+		if (decorations == null) {
+			Iterator<Annotation> e= getAnnotationIterator(region.getOffset(), region.getLength());
+			synchronized (fHighlightedDecorationsMapLock) {
+				if (fHighlightedDecorationsMap == null)
+					return;
+				decorations= getDecorations(fHighlightedDecorationsMap, e);
+			}
 		}
-
-		IRegion region= tp.getExtent();
 
 		if (DEBUG)
 			System.out.println("AP: applying text presentation offset: " + region.getOffset() + ", length= " + region.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -1363,10 +1398,16 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		final GC gc= event != null ? event.gc : null;
 
 		// Clone decorations
-		Collection<Entry<Annotation, Decoration>> decorations;
+		Collection<Entry<Annotation, Decoration>> decorations= null;
 		synchronized (fDecorationMapLock) {
-			decorations= new ArrayList<>(fDecorationsMap.size());
-			decorations.addAll(fDecorationsMap.entrySet());
+			if (fDecorationsMap.size() < MIN_DECORATIONS_FOR_REGION_QUERY)
+				decorations= new ArrayList<>(fDecorationsMap.entrySet());
+		}
+		if (decorations == null) {
+			Iterator<Annotation> e= getAnnotationIterator(vOffset, vLength);
+			synchronized (fDecorationMapLock) {
+				decorations= getDecorations(fDecorationsMap, e);
+			}
 		}
 
 		/*
@@ -1395,6 +1436,47 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		}
 	}
 
+	/**
+	 * Returns an iterator over the annotations of the model that are in or touch the given region,
+	 * or <code>null</code> if the model does not support region queries.
+	 *
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @return the annotations in the region or <code>null</code>
+	 * @since 3.27
+	 */
+	private Iterator<Annotation> getAnnotationIterator(int offset, int length) {
+		IAnnotationModel model= fModel;
+		if (model instanceof IAnnotationModelExtension2 extension) {
+			int start= Math.max(0, offset - 1);
+			return extension.getAnnotationIterator(start, offset + length + 1 - start, true, true);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the entries of the given decoration map, restricted to the given annotations if
+	 * not <code>null</code>. Must be called while holding the lock of the map.
+	 *
+	 * @param decorationsMap the decorations
+	 * @param annotations the annotations to restrict the result to, or <code>null</code>
+	 * @return the decorations
+	 * @since 3.27
+	 */
+	private static List<Entry<Annotation, Decoration>> getDecorations(Map<Annotation, Decoration> decorationsMap, Iterator<Annotation> annotations) {
+		if (annotations == null)
+			return new ArrayList<>(decorationsMap.entrySet());
+
+		List<Entry<Annotation, Decoration>> decorations= new ArrayList<>();
+		while (annotations.hasNext()) {
+			Annotation annotation= annotations.next();
+			Decoration decoration= decorationsMap.get(annotation);
+			if (decoration != null)
+				decorations.add(new SimpleImmutableEntry<>(annotation, decoration));
+		}
+		return decorations;
+	}
+
 	private void drawDecoration(Decoration pp, GC gc, Annotation annotation, IRegion clippingRegion, IDocument document) {
 		if (clippingRegion == null)
 			return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -89,11 +91,14 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 		@Override
 		public void modelChanged(IAnnotationModel model) {
+			invalidateCachedAnnotations();
 			update();
 		}
 
 		@Override
 		public void modelChanged(AnnotationModelEvent event) {
+			recordAnnotationChanges(event);
+
 			if (!event.isValid())
 				return;
 
@@ -462,10 +467,23 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	 */
 	private Map<Object, Boolean> fAllowedHeaderAnnotationTypes= new HashMap<>();
 	/**
-	 * The cached annotations.
+	 * The cached annotations, grouped by their annotation type. Only accessed in the UI thread.
 	 * @since 3.0
 	 */
-	private List<Annotation> fCachedAnnotations= new ArrayList<>();
+	private Map<Object, Set<Annotation>> fCachedAnnotations= new LinkedHashMap<>();
+	/**
+	 * The annotation changes that have not yet been applied to the cached annotations. An
+	 * annotation maps to <code>true</code> if it has been added or changed and to
+	 * <code>false</code> if it has been removed. Guarded by itself.
+	 * @since 3.27
+	 */
+	private final Map<Annotation, Boolean> fPendingAnnotationChanges= new LinkedHashMap<>();
+	/**
+	 * Tells whether the cached annotations have to be recomputed from the model. Guarded by
+	 * {@link #fPendingAnnotationChanges}.
+	 * @since 3.27
+	 */
+	private boolean fCachedAnnotationsInvalid= true;
 
 	/**
 	 * Redraw runnable lock
@@ -555,6 +573,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 				fModel.removeAnnotationModelListener(fInternalListener);
 
 			fModel= model;
+			invalidateCachedAnnotations();
 
 			if (fModel != null)
 				fModel.addAnnotationModelListener(fInternalListener);
@@ -659,6 +678,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredHeaderAnnotationTypes.clear();
 			fAllowedHeaderAnnotationTypes.clear();
 		}
+		invalidateCachedAnnotations();
 		fAnnotationTypes2Colors.clear();
 		fAnnotationsSortedByLayer.clear();
 		fLayersSortedByLayer.clear();
@@ -706,24 +726,154 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		doPaint(gc);
 	}
 
+	/**
+	 * Brings the cached annotations up to date. Unless the cache has been invalidated, only the
+	 * changes reported by the model since the last call are applied.
+	 */
 	private void cacheAnnotations() {
-		fCachedAnnotations.clear();
-		if (fModel != null) {
-			Iterator<Annotation> iter= fModel.getAnnotationIterator();
-			while (iter.hasNext()) {
-				Annotation annotation= iter.next();
+		Map<Annotation, Boolean> changes;
+		synchronized (fPendingAnnotationChanges) {
+			if (fCachedAnnotationsInvalid) {
+				fCachedAnnotationsInvalid= false;
+				fPendingAnnotationChanges.clear();
+				changes= null;
+			} else if (fPendingAnnotationChanges.isEmpty()) {
+				return;
+			} else {
+				changes= new LinkedHashMap<>(fPendingAnnotationChanges);
+				fPendingAnnotationChanges.clear();
+			}
+		}
 
-				if (annotation.isMarkedDeleted())
-					continue;
+		if (changes == null) {
+			fCachedAnnotations.clear();
+			if (fModel != null) {
+				Iterator<Annotation> iter= fModel.getAnnotationIterator();
+				while (iter.hasNext())
+					addCachedAnnotation(iter.next());
+			}
+			return;
+		}
 
-				if (skip(annotation.getType()))
-					continue;
+		for (Map.Entry<Annotation, Boolean> change : changes.entrySet()) {
+			Annotation annotation= change.getKey();
+			removeCachedAnnotation(annotation);
+			if (change.getValue().booleanValue())
+				addCachedAnnotation(annotation);
+		}
+	}
+
+	/**
+	 * Adds the given annotation to the cached annotations unless annotations of its type are not
+	 * shown in this ruler. Annotations that are marked as deleted are filtered when painting.
+	 *
+	 * @param annotation the annotation
+	 * @since 3.27
+	 */
+	private void addCachedAnnotation(Annotation annotation) {
+		Object type= annotation.getType();
+		if (skip(type))
+			return;
+
+		fCachedAnnotations.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(annotation);
+	}
+
+	/**
+	 * Removes the given annotation from the cached annotations. The annotation is looked up under
+	 * its current type first, as its type may have changed since it has been cached.
+	 *
+	 * @param annotation the annotation
+	 * @since 3.27
+	 */
+	private void removeCachedAnnotation(Annotation annotation) {
+		Set<Annotation> annotations= fCachedAnnotations.get(annotation.getType());
+		if (annotations != null && annotations.remove(annotation)) {
+			if (annotations.isEmpty())
+				fCachedAnnotations.remove(annotation.getType());
+			return;
+		}
 
-				fCachedAnnotations.add(annotation);
+		Iterator<Set<Annotation>> iter= fCachedAnnotations.values().iterator();
+		while (iter.hasNext()) {
+			annotations= iter.next();
+			if (annotations.remove(annotation)) {
+				if (annotations.isEmpty())
+					iter.remove();
+				return;
 			}
 		}
 	}
 
+	/**
+	 * Records the annotations that the given event reports as changed, so that the next
+	 * {@link #cacheAnnotations()} only needs to apply these changes.
+	 *
+	 * @param event the annotation model event
+	 * @since 3.27
+	 */
+	private void recordAnnotationChanges(AnnotationModelEvent event) {
+		if (event.isWorldChange()) {
+			invalidateCachedAnnotations();
+			return;
+		}
+
+		synchronized (fPendingAnnotationChanges) {
+			if (fCachedAnnotationsInvalid)
+				return;
+			for (Annotation annotation : event.getRemovedAnnotations())
+				fPendingAnnotationChanges.put(annotation, Boolean.FALSE);
+			for (Annotation annotation : event.getAddedAnnotations())
+				fPendingAnnotationChanges.put(annotation, Boolean.TRUE);
+			for (Annotation annotation : event.getChangedAnnotations())
+				fPendingAnnotationChanges.put(annotation, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Forces the next {@link #cacheAnnotations()} to recompute the cached annotations from the
+	 * model.
+	 *
+	 * @since 3.27
+	 */
+	private void invalidateCachedAnnotations() {
+		synchronized (fPendingAnnotationChanges) {
+			fCachedAnnotationsInvalid= true;
+			fPendingAnnotationChanges.clear();
+		}
+	}
+
+	/**
+	 * Returns the cached annotations that may match the given annotation type, i.e. the ones
+	 * whose type is the given type or one of its subtypes that is not configured on its own.
+	 *
+	 * @param annotationType the annotation type
+	 * @return an iterator over the candidate annotations
+	 * @since 3.27
+	 */
+	private Iterator<Annotation> getCachedAnnotations(Object annotationType) {
+		List<Set<Annotation>> candidates= new ArrayList<>();
+		for (Map.Entry<Object, Set<Annotation>> entry : fCachedAnnotations.entrySet()) {
+			Object type= entry.getKey();
+			if (annotationType.equals(type) || !fConfiguredAnnotationTypes.contains(type) && isSubtype(type, annotationType))
+				candidates.add(entry.getValue());
+		}
+		return candidates.stream().flatMap(Set::stream).iterator();
+	}
+
+	/**
+	 * Returns whether the given annotation type is a subtype of the given super type.
+	 *
+	 * @param annotationType the annotation type
+	 * @param superType the super type
+	 * @return <code>true</code> if the annotation type is a subtype of the super type
+	 * @since 3.27
+	 */
+	private boolean isSubtype(Object annotationType, Object superType) {
+		if (fAnnotationAccess instanceof IAnnotationAccessExtension extension)
+			return extension.isSubtype(annotationType, superType);
+		return superType.equals(annotationType);
+	}
+
 	/**
 	 * Draws this overview ruler.
 	 *
@@ -755,7 +905,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 				Color fill= null;
 				Color stroke= null;
 
-				Iterator<Annotation> e= new FilterIterator(annotationType, element, fCachedAnnotations.iterator());
+				Iterator<Annotation> e= new FilterIterator(annotationType, element, getCachedAnnotations(annotationType));
 				while (e.hasNext()) {
 					Annotation a= e.next();
 					Position p= fModel.getPosition(a);
@@ -1173,6 +1323,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.add(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		invalidateCachedAnnotations();
 	}
 
 	@Override
@@ -1181,6 +1332,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.remove(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		invalidateCachedAnnotations();
 	}
 
 	@Override
@@ -1460,13 +1612,15 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 		fHeader.setToolTipText(null);
 
+		cacheAnnotations();
+
 		Object colorType= null;
 		outer: for (int i= fAnnotationsSortedByLayer.size() -1; i >= 0; i--) {
 			Object annotationType= fAnnotationsSortedByLayer.get(i);
 			if (skipInHeader(annotationType) || skip(annotationType))
 				continue;
 
-			Iterator<Annotation> e= new FilterIterator(annotationType, FilterIterator.PERSISTENT | FilterIterator.TEMPORARY | FilterIterator.IGNORE_BAGS, fCachedAnnotations.iterator());
+			Iterator<Annotation> e= new FilterIterator(annotationType, FilterIterator.PERSISTENT | FilterIterator.TEMPORARY | FilterIterator.IGNORE_BAGS, getCachedAnnotations(annotationType));
 			while (e.hasNext()) {
 				if (e.next() != null) {
 					colorType= annotationType;
@@ -1516,7 +1670,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			int count= 0;
 			String annotationTypeLabel= null;
 
-			Iterator<Annotation> e= new FilterIterator(annotationType, FilterIterator.PERSISTENT | FilterIterator.TEMPORARY | FilterIterator.IGNORE_BAGS, fCachedAnnotations.iterator());
+			Iterator<Annotation> e= new FilterIterator(annotationType, FilterIterator.PERSISTENT | FilterIterator.TEMPORARY | FilterIterator.IGNORE_BAGS, getCachedAnnotations(annotationType));
 			while (e.hasNext()) {
 				Annotation annotation= e.next();
 				if (annotation != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,10 @@ package org.eclipse.jface.resource;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import org.eclipse.swt.SWTException;
@@ -246,6 +250,35 @@ public abstract class ImageDescriptor extends DeviceResourceDescriptor<Image> {
 		return createFromURI(uriIconPath);
 	}
 
+	/**
+	 * Starts loading the image data of the given image descriptors for the given
+	 * zoom level in the background. Creating their images later, typically in the
+	 * UI thread, then uses the loaded image data instead of decoding the image
+	 * files again.
+	 * <p>
+	 * Only the image data of descriptors created from URLs is loaded in advance.
+	 * Image data which is not requested within a short time is dropped, so clients
+	 * should only pass descriptors whose images are about to be created.
+	 * </p>
+	 *
+	 * @param descriptors the image descriptors whose images are about to be
+	 *                    created
+	 * @param zoom        the zoom level in % of the standard resolution, typically
+	 *                    the zoom of the primary monitor
+	 * @return a future which completes when loading the image data has finished
+	 * @since 3.36
+	 */
+	public static CompletableFuture<Void> prefetch(Collection<? extends ImageDescriptor> descriptors, int zoom) {
+		List<CompletableFuture<ImageData>> futures = new ArrayList<>();
+		for (ImageDescriptor descriptor : descriptors) {
+			if (descriptor instanceof URLImageDescriptor urlDescriptor) {
+				futures.add(urlDescriptor.prefetch(zoom));
+			}
+		}
+		// image data which cannot be loaded or expires is loaded again when used
+		return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null);
+	}
+
 	@Override
 	public Object createResource(Device device) throws DeviceResourceException {
 		Image result = createImage(false, device);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -202,6 +202,12 @@ public class JFaceResources {
 	 */
 	private static final int CACHE_SIZE = Integer.getInteger("org.eclipse.jface.resource.cacheSize", 300).intValue(); //$NON-NLS-1$
 
+	/**
+	 * The maximum estimated size in bytes of the images that are no longer
+	 * referenced but are kept in the cache. Not limited by default.
+	 */
+	private static final long CACHE_BYTES = Long.getLong("org.eclipse.jface.resource.cacheBytes", Long.MAX_VALUE).longValue(); //$NON-NLS-1$
+
 	/**
 	 * Returns the global resource manager for the given display
 	 *
@@ -218,7 +224,7 @@ public class JFaceResources {
 			if (CACHE_SIZE == 0) {
 				reg = new DeviceResourceManager(toQuery);
 			} else {
-				reg = new LazyResourceManager(CACHE_SIZE, new DeviceResourceManager(toQuery));
+				reg = new LazyResourceManager(CACHE_SIZE, CACHE_BYTES, new DeviceResourceManager(toQuery));
 			}
 			registries.put(toQuery, reg);
 			final ResourceManager mgr = reg;
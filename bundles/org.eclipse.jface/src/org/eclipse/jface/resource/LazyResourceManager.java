@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021, 2023 Joerg Kubitz and others.
+ * Copyright (c) 2021, 2026 Joerg Kubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,12 +14,14 @@
 package org.eclipse.jface.resource;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.eclipse.pde.api.tools.annotations.NoReference;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Rectangle;
 
 /**
  * A LRU based ResourceManager Wrapper. Not to be used by clients.
@@ -28,39 +30,47 @@ import org.eclipse.swt.graphics.Image;
 public class LazyResourceManager extends ResourceManager {
 	/**
 	 * This LRU Map only holds the DeviceResourceDescriptors which are not
-	 * referenced otherwise anymore. The Resources itself are only cached by the
-	 * parent ResourceManager.
+	 * referenced otherwise anymore, with the estimated size of their resource in
+	 * bytes. The Resources itself are only cached by the parent ResourceManager.
 	 */
-	private static class LruMap extends LinkedHashMap<DeviceResourceDescriptor<?>, ResourceManager> {
+	private static class LruMap extends LinkedHashMap<DeviceResourceDescriptor<?>, Long> {
 		private static final long serialVersionUID = 1L;
-		int cacheSize;
 
 		LruMap(int cacheSize) {
 			super(cacheSize, 0.75f, true); // last access-order
-			this.cacheSize = cacheSize;
-		}
-
-		@Override
-		protected boolean removeEldestEntry(java.util.Map.Entry<DeviceResourceDescriptor<?>, ResourceManager> eldest) {
-			boolean remove = size() > cacheSize;
-			if (remove) {
-				// destroy resource which was not used recently:
-				eldest.getValue().destroy(eldest.getKey());
-			}
-			return remove;
 		}
 	}
 
 	private final ResourceManager parent;
+	private final int cacheSize;
+	private final long maxBytes;
 	private final LruMap unreferenced;
 	private final Map<DeviceResourceDescriptor<?>, Integer> refCount;
+	/** The estimated size of the unreferenced resources in bytes. */
+	private long unreferencedBytes;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
 
 	/**
 	 * @param cacheSize the lru cache size
 	 * @param parent    ResourceManager
 	 */
 	public LazyResourceManager(int cacheSize, ResourceManager parent) {
+		this(cacheSize, Long.MAX_VALUE, parent);
+	}
+
+	/**
+	 * @param cacheSize the lru cache size
+	 * @param maxBytes  the maximum estimated size in bytes of the images in the
+	 *                  lru cache
+	 * @param parent    ResourceManager
+	 * @since 3.36
+	 */
+	public LazyResourceManager(int cacheSize, long maxBytes, ResourceManager parent) {
 		this.parent = parent;
+		this.cacheSize = cacheSize;
+		this.maxBytes = maxBytes;
 		this.unreferenced = new LruMap(cacheSize);
 		this.refCount = new HashMap<>();
 	}
@@ -90,11 +100,14 @@ public class LazyResourceManager extends ResourceManager {
 		@SuppressWarnings("boxing")
 		int updatedRefs = refCount.compute(descriptor, (k, refs) -> refs == null ? 1 : refs + 1);
 		if (updatedRefs == 1) {
-			ResourceManager cached = unreferenced.remove(descriptor);
-			if (cached == null) {
+			Long cachedBytes = unreferenced.remove(descriptor);
+			if (cachedBytes == null) {
+				missCount++;
 				return parent.create(descriptor);
 			}
 			// referenced again
+			hitCount++;
+			unreferencedBytes -= cachedBytes.longValue();
 		} else {
 			assert !unreferenced.containsKey(descriptor);
 		}
@@ -111,11 +124,78 @@ public class LazyResourceManager extends ResourceManager {
 		Integer refsLeft = refCount.computeIfPresent(descriptor, (k, refs) -> refs == 1 ? null : (refs - 1));
 		if (refsLeft == null) {
 			// defer destroy:
-			ResourceManager old = unreferenced.put(descriptor, parent);
+			long bytes = getSize(parent.find(descriptor));
+			Long old = unreferenced.put(descriptor, Long.valueOf(bytes));
 			assert old == null;
+			unreferencedBytes += bytes;
+			evict();
 		}
 	}
 
+	/**
+	 * Destroys the resources which were not used recently until the lru cache
+	 * is within its limits.
+	 */
+	private void evict() {
+		Iterator<Map.Entry<DeviceResourceDescriptor<?>, Long>> iterator = unreferenced.entrySet().iterator();
+		while ((unreferenced.size() > cacheSize || unreferencedBytes > maxBytes) && iterator.hasNext()) {
+			Map.Entry<DeviceResourceDescriptor<?>, Long> eldest = iterator.next();
+			iterator.remove();
+			unreferencedBytes -= eldest.getValue().longValue();
+			evictionCount++;
+			parent.destroy(eldest.getKey());
+		}
+	}
+
+	/**
+	 * @return the estimated size of the given resource in bytes, which is 0 for
+	 *         resources other than images. The bounds of an image are in points, so
+	 *         they are scaled by the zoom of its device.
+	 */
+	private static long getSize(Object resource) {
+		if (resource instanceof Image image && !image.isDisposed()) {
+			Rectangle bounds = image.getBounds();
+			long zoom = URLImageDescriptor.getZoom(image.getDevice());
+			return 4L * bounds.width * bounds.height * zoom * zoom / 10000;
+		}
+		return 0;
+	}
+
+	/**
+	 * @return the number of resources which were created again while they were
+	 *         still in the lru cache.
+	 * @since 3.36
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return the number of resources which were neither referenced nor in the
+	 *         lru cache when they were created.
+	 * @since 3.36
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return the number of resources which were destroyed to keep the lru cache
+	 *         within its limits.
+	 * @since 3.36
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return the estimated size in bytes of the images in the lru cache.
+	 * @since 3.36
+	 */
+	public long getCachedBytes() {
+		return unreferencedBytes;
+	}
+
 	@Override
 	public <R> R find(DeviceResourceDescriptor<R> descriptor) {
 		if (!shouldBeCached(descriptor)) {
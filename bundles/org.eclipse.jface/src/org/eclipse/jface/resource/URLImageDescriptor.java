@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,13 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IAdaptable;
@@ -39,6 +46,7 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageDataProvider;
 import org.eclipse.swt.graphics.ImageFileNameProvider;
+import org.eclipse.swt.widgets.Display;
 
 /**
  * An ImageDescriptor that gets its information from a URL. This class is not
@@ -100,6 +108,42 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 
 	private static long cumulativeTime;
 
+	/**
+	 * The maximum number of image data which are loaded in advance and not yet
+	 * used.
+	 */
+	private static final int MAX_PREFETCHED = 1000;
+
+	/**
+	 * The time in nanoseconds after which image data loaded in advance and not yet
+	 * used is dropped.
+	 */
+	private static final long PREFETCH_EXPIRY = TimeUnit.SECONDS.toNanos(30);
+
+	/**
+	 * Image data loaded in advance, with the time when loading it started.
+	 */
+	private record PrefetchedImageData(CompletableFuture<ImageData> data, long time) {
+	}
+
+	/**
+	 * The image data loaded in advance by {@link #prefetch(int)}, by URL and zoom.
+	 * Each image data is removed when it is used or when it expires. Guarded by
+	 * itself.
+	 */
+	private static final Map<String, Map<Integer, PrefetchedImageData>> prefetched = new HashMap<>();
+
+	/**
+	 * The number of image data in {@link #prefetched}, to skip the lookup if there
+	 * are none.
+	 */
+	private static volatile int prefetchedCount;
+
+	/**
+	 * The time when expired image data has been dropped the last time.
+	 */
+	private static long lastExpiry = System.nanoTime();
+
 	/**
 	 * Constant for the file protocol for optimized loading
 	 */
@@ -128,7 +172,7 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 	@Deprecated
 	@Override
 	public ImageData getImageData() {
-		return getImageData(getURL(url));
+		return getImageData(url, 100);
 	}
 
 	@Override
@@ -136,7 +180,128 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		return getImageData(url, zoom);
 	}
 
+	/**
+	 * Starts loading the image data for the given zoom in the background, unless
+	 * it is already loaded or too many image data are loaded and not yet used.
+	 *
+	 * @return the future of the image data, or a completed future if it is not
+	 *         loaded in advance
+	 */
+	CompletableFuture<ImageData> prefetch(int zoom) {
+		synchronized (prefetched) {
+			long now = System.nanoTime();
+			expirePrefetched(now, prefetchedCount >= MAX_PREFETCHED);
+			if (prefetchedCount >= MAX_PREFETCHED) {
+				return CompletableFuture.completedFuture(null);
+			}
+			Map<Integer, PrefetchedImageData> zooms = prefetched.computeIfAbsent(url, u -> new HashMap<>());
+			PrefetchedImageData data = zooms.get(Integer.valueOf(zoom));
+			if (data == null) {
+				data = new PrefetchedImageData(CompletableFuture.supplyAsync(() -> loadImageData(url, zoom)), now);
+				zooms.put(Integer.valueOf(zoom), data);
+				prefetchedCount++;
+			}
+			return data.data();
+		}
+	}
+
+	/**
+	 * Drops the image data which has been loaded in advance too long ago. Must be
+	 * called while holding the lock of {@link #prefetched}.
+	 *
+	 * @param now   the current time
+	 * @param force whether to check all image data, even if it has been checked
+	 *              recently
+	 */
+	private static void expirePrefetched(long now, boolean force) {
+		if (!force && now - lastExpiry < PREFETCH_EXPIRY) {
+			return;
+		}
+		lastExpiry = now;
+		int count = prefetchedCount;
+		for (Iterator<Map<Integer, PrefetchedImageData>> iter = prefetched.values().iterator(); iter.hasNext();) {
+			Map<Integer, PrefetchedImageData> zooms = iter.next();
+			for (Iterator<PrefetchedImageData> zoomIter = zooms.values().iterator(); zoomIter.hasNext();) {
+				PrefetchedImageData data = zoomIter.next();
+				if (now - data.time() >= PREFETCH_EXPIRY) {
+					data.data().cancel(false);
+					zoomIter.remove();
+					count--;
+				}
+			}
+			if (zooms.isEmpty()) {
+				iter.remove();
+			}
+		}
+		prefetchedCount = count;
+	}
+
+	/**
+	 * Returns whether image data of this descriptor's URL is loaded in advance for
+	 * the zoom at which the given device creates images, and not yet used.
+	 */
+	private boolean isPrefetched(Device device) {
+		if (prefetchedCount == 0) {
+			return false;
+		}
+		Integer zoom = Integer.valueOf(getZoom(device));
+		synchronized (prefetched) {
+			Map<Integer, PrefetchedImageData> zooms = prefetched.get(url);
+			return zooms != null && zooms.containsKey(zoom);
+		}
+	}
+
+	/**
+	 * Returns the zoom at which the given device creates images. This is the zoom
+	 * of the primary monitor, which can only be queried in the display thread; 100
+	 * is returned otherwise.
+	 */
+	static int getZoom(Device device) {
+		if (device instanceof Display display && display.getThread() == Thread.currentThread()) {
+			return display.getPrimaryMonitor().getZoom();
+		}
+		return 100;
+	}
+
+	/**
+	 * Removes and returns the image data of the given URL and zoom loaded in
+	 * advance.
+	 *
+	 * @return the image data, or <code>null</code> if it has not been loaded in
+	 *         advance
+	 */
+	private static CompletableFuture<ImageData> takePrefetched(String url, int zoom) {
+		if (prefetchedCount == 0) {
+			return null;
+		}
+		synchronized (prefetched) {
+			expirePrefetched(System.nanoTime(), false);
+			Map<Integer, PrefetchedImageData> zooms = prefetched.get(url);
+			PrefetchedImageData data = zooms != null ? zooms.remove(Integer.valueOf(zoom)) : null;
+			if (data == null) {
+				return null;
+			}
+			if (zooms.isEmpty()) {
+				prefetched.remove(url);
+			}
+			prefetchedCount--;
+			return data.data();
+		}
+	}
+
 	private static ImageData getImageData(String url, int zoom) {
+		CompletableFuture<ImageData> data = takePrefetched(url, zoom);
+		if (data != null) {
+			try {
+				return data.join();
+			} catch (CompletionException | CancellationException e) {
+				// load it again to report the failure in this thread
+			}
+		}
+		return loadImageData(url, zoom);
+	}
+
+	private static ImageData loadImageData(String url, int zoom) {
 		URL tempURL = getURL(url);
 		if (tempURL != null) {
 			if (zoom == 100) {
@@ -298,7 +463,8 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		}
 		try {
 			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
-				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+				// SWT would decode the file again, so use the prefetched image data instead
+				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY && !isPrefetched(device)) {
 					try {
 						// We really want a fresh ImageFileNameProvider instance to make
 						// sure the code that uses created images can use equals(),
@@ -336,7 +502,7 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 			}
 
 			// Try to see if we can optimize using SWTs file based image support.
-			URL pathURL = getURL(url);
+			URL pathURL = isPrefetched(device) ? null : getURL(url);
 			if (pathURL != null) {
 				String path = getFilePath(pathURL, true);
 				if (path != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,8 +26,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
@@ -1965,6 +1967,64 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Refreshes this viewer starting with each of the given elements, like
+	 * {@link #refresh(Object, boolean)} does for a single element. Elements
+	 * shown inside the subtree of another given element are refreshed only once,
+	 * as part of that subtree, and the selection is preserved once for all
+	 * elements.
+	 *
+	 * @param elements     the elements, <code>null</code> elements stand for the
+	 *                     root
+	 * @param updateLabels <code>true</code> to update labels for existing
+	 *                     elements, <code>false</code> to only update labels as
+	 *                     needed, assuming that labels for existing elements are
+	 *                     unchanged.
+	 * @since 3.36
+	 */
+	public void refreshElements(final Object[] elements, final boolean updateLabels) {
+		Assert.isNotNull(elements);
+		if (elements.length == 0) {
+			return;
+		}
+		preservingSelection(() -> {
+			Map<Widget, Object> widgets = new LinkedHashMap<>();
+			for (Object element : elements) {
+				if (element == null) {
+					widgets.put(getControl(), getRoot());
+				} else {
+					for (Widget item : findItems(element)) {
+						widgets.put(item, element);
+					}
+				}
+			}
+			for (Map.Entry<Widget, Object> entry : widgets.entrySet()) {
+				Widget widget = entry.getKey();
+				if (!widget.isDisposed() && !isInRefreshedSubtree(widget, widgets)) {
+					internalRefresh(widget, entry.getValue(), true, updateLabels);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns whether one of the ancestors of the given widget is one of the
+	 * given widgets.
+	 */
+	private boolean isInRefreshedSubtree(Widget widget, Map<Widget, Object> widgets) {
+		if (widget instanceof Item item) {
+			if (widgets.containsKey(getControl())) {
+				return true;
+			}
+			for (Item parent = getParentItem(item); parent != null; parent = getParentItem(parent)) {
+				if (widgets.containsKey(parent)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Refreshes the tree starting at the given widget.
 	 * <p>
@@ -2931,6 +2991,10 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 			}
 		}
 
+		if (updateMovedChildren(widget, items, elementChildren, expanded, updateLabels)) {
+			return;
+		}
+
 		int min = Math.min(elementChildren.length, items.length);
 
 		// dispose of surplus items, optimizing for the case where elements have
@@ -3066,6 +3130,161 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Updates the tree items of the given widget by keeping the items of the
+	 * longest sequence of child elements which kept their order, and by disposing
+	 * and creating items only for the other elements. Unlike matching items and
+	 * elements by position, this keeps the items of elements which were moved by
+	 * inserting, removing or reordering other elements, together with their
+	 * subtrees and expanded states.
+	 * <p>
+	 * Does nothing if matching by position keeps as many items, or if the child
+	 * elements contain duplicates.
+	 * </p>
+	 *
+	 * @param widget          the widget
+	 * @param items           the current child items of the widget
+	 * @param elementChildren the new child elements
+	 * @param expanded        the elements of the expanded items
+	 * @param updateLabels    <code>true</code> to update labels for existing
+	 *                        elements
+	 * @return <code>true</code> if the items were updated
+	 */
+	private boolean updateMovedChildren(Widget widget, Item[] items, Object[] elementChildren,
+			CustomHashtable expanded, boolean updateLabels) {
+		int min = Math.min(elementChildren.length, items.length);
+		if (min < 2) {
+			return false;
+		}
+		CustomHashtable newIndices = newHashtable(elementChildren.length * 2 + 1);
+		for (int i = 0; i < elementChildren.length; i++) {
+			if (newIndices.put(elementChildren[i], Integer.valueOf(i)) != null) {
+				return false;
+			}
+		}
+
+		// the new index of the element of each item, or -1
+		int[] itemIndices = new int[items.length];
+		for (int i = 0; i < items.length; i++) {
+			Object data = items[i].getData();
+			Integer index = data == null ? null : (Integer) newIndices.get(data);
+			itemIndices[i] = index == null ? -1 : index.intValue();
+		}
+
+		// the number of items kept when matching by position, after disposing the
+		// surplus items as updateChildren does
+		int numItemsToDispose = items.length - min;
+		int keptByPosition = 0;
+		int position = 0;
+		for (int itemIndex : itemIndices) {
+			if (itemIndex == -1 && numItemsToDispose > 0) {
+				numItemsToDispose--;
+				continue;
+			}
+			if (itemIndex == position) {
+				keptByPosition++;
+			}
+			position++;
+		}
+
+		boolean[] keep = new boolean[items.length];
+		int kept = longestIncreasingSubsequence(itemIndices, keep);
+		if (kept <= keptByPosition) {
+			return false;
+		}
+
+		// first disassociate all dropped items, so that associating the new items
+		// cannot be undone by a later disassociate
+		Item[] newItems = new Item[elementChildren.length];
+		for (int i = 0; i < items.length; i++) {
+			if (keep[i]) {
+				newItems[itemIndices[i]] = items[i];
+			} else {
+				if (items[i].getData() != null) {
+					disassociate(items[i]);
+				}
+				items[i].dispose();
+			}
+		}
+
+		boolean restoreExpanded = false;
+		for (int i = 0; i < elementChildren.length; i++) {
+			Object newElement = elementChildren[i];
+			Item item = newItems[i];
+			if (item == null) {
+				createTreeItem(widget, newElement, i);
+				restoreExpanded |= expanded.containsKey(newElement);
+				continue;
+			}
+			Object oldElement = item.getData();
+			if (oldElement != newElement) {
+				// the elements are equal, but may still have different labels or children
+				unmapElement(oldElement, item);
+				item.setData(newElement);
+				mapElement(newElement, item);
+			}
+			updatePlus(item, newElement);
+			if (updateLabels) {
+				updateItem(item, newElement);
+			} else {
+				associate(newElement, item);
+			}
+		}
+
+		if (restoreExpanded) {
+			// new items are initially collapsed, and createTreeItem does not return them
+			items = getChildren(widget);
+			for (int i = 0; i < elementChildren.length; i++) {
+				if (newItems[i] == null && expanded.containsKey(elementChildren[i])) {
+					setExpanded(items[i], true);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Marks the longest strictly increasing subsequence of the non-negative
+	 * values.
+	 *
+	 * @param values the values, negative values are never part of the
+	 *               subsequence
+	 * @param marks  set to <code>true</code> for the values of the subsequence
+	 * @return the length of the subsequence
+	 */
+	private static int longestIncreasingSubsequence(int[] values, boolean[] marks) {
+		// tails[k]: index of the smallest last value of an increasing subsequence
+		// of length k + 1
+		int[] tails = new int[values.length];
+		int[] previous = new int[values.length];
+		int length = 0;
+		for (int i = 0; i < values.length; i++) {
+			int value = values[i];
+			if (value < 0) {
+				continue;
+			}
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (values[tails[mid]] < value) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			previous[i] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = i;
+			if (low == length) {
+				length++;
+			}
+		}
+		for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+			marks[i] = true;
+		}
+		return length;
+	}
+
 	/** Returns true if children were pruned */
 	/*package*/ boolean optionallyPruneChildren(Item item, Object element) {
 		// need a dummy node if element is expandable;
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import java.util.Arrays;
+
+/**
+ * ElementMap associates the elements of a viewer with their widgets. Keys and
+ * values cannot be null.
+ * <p>
+ * Unlike {@link CustomHashtable}, the map does not allocate an entry object per
+ * key. Keys, values and hash codes are kept in parallel arrays which are probed
+ * linearly, so a viewer with many elements needs less memory and looks up its
+ * items with fewer indirections. The hash codes are kept so that growing the
+ * map and removing keys never call the element comparer again.
+ * </p>
+ * <p>
+ * ElementMap allows a custom comparator and hash code provider.
+ * </p>
+ */
+/* package */final class ElementMap {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private final IElementComparer comparer;
+
+	/** The keys, <code>null</code> for free slots. */
+	private Object[] keys;
+
+	private Object[] values;
+
+	/** The spread hash codes of the keys. */
+	private int[] hashes;
+
+	private int size;
+
+	/** The size at which the arrays are grown. */
+	private int threshold;
+
+	/**
+	 * Constructs a new map with the given element comparer.
+	 *
+	 * @param comparer the element comparer to use to compare keys and obtain
+	 *   hash codes for keys, or <code>null</code> to use the normal
+	 *   <code>equals</code> and <code>hashCode</code> methods
+	 */
+	public ElementMap(IElementComparer comparer) {
+		this.comparer = comparer;
+		allocate(MIN_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new map with the key/value pairs of the given map, using the
+	 * given element comparer.
+	 *
+	 * @param map the original map to copy from
+	 * @param comparer the element comparer to use to compare keys and obtain
+	 *   hash codes for keys, or <code>null</code> to use the normal
+	 *   <code>equals</code> and <code>hashCode</code> methods
+	 */
+	public ElementMap(ElementMap map, IElementComparer comparer) {
+		this(comparer);
+		for (int i = 0; i < map.keys.length; i++) {
+			if (map.keys[i] != null) {
+				put(map.keys[i], map.values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the element comparer used to compare keys and to obtain hash codes
+	 * for keys, or <code>null</code> if no comparer has been provided.
+	 *
+	 * @return the element comparer or <code>null</code>
+	 */
+	public IElementComparer getComparer() {
+		return comparer;
+	}
+
+	/**
+	 * Answers the value associated with the specified key in this map.
+	 *
+	 * @param key the key of the value returned
+	 * @return the value associated with the specified key, null if the specified
+	 *         key does not exist
+	 */
+	public Object get(Object key) {
+		int index = indexOf(key, hash(key));
+		return index < 0 ? null : values[index];
+	}
+
+	/**
+	 * Associate the specified value with the specified key in this map. If the key
+	 * already exists, the old value is replaced. The key and value cannot be null.
+	 *
+	 * @param key the key to add
+	 * @param value the value to add
+	 * @return the old value associated with the specified key, null if the key did
+	 *         not exist
+	 */
+	public Object put(Object key, Object value) {
+		if (key == null || value == null) {
+			throw new NullPointerException();
+		}
+		int hash = hash(key);
+		int mask = keys.length - 1;
+		int index = hash & mask;
+		for (Object k; (k = keys[index]) != null; index = (index + 1) & mask) {
+			if (hashes[index] == hash && keyEquals(key, k)) {
+				Object result = values[index];
+				keys[index] = key; // important to avoid hanging onto keys that are equal but "old" -- see bug 30607
+				values[index] = value;
+				return result;
+			}
+		}
+		keys[index] = key;
+		values[index] = value;
+		hashes[index] = hash;
+		if (++size > threshold) {
+			resize(keys.length << 1);
+		}
+		return null;
+	}
+
+	/**
+	 * Remove the key/value pair with the specified key from this map.
+	 *
+	 * @param key the key to remove
+	 * @return the value associated with the specified key, null if the specified
+	 *         key did not exist
+	 */
+	public Object remove(Object key) {
+		int index = indexOf(key, hash(key));
+		if (index < 0) {
+			return null;
+		}
+		Object result = values[index];
+		size--;
+
+		// move the following keys of the probe sequence into the free slot, so that
+		// lookups need no markers for removed keys
+		int mask = keys.length - 1;
+		int free = index;
+		for (int i = (free + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+			int home = hashes[i] & mask;
+			// the key at i can move if its home slot is not cyclically in (free, i]
+			if (((i - home) & mask) >= ((i - free) & mask)) {
+				keys[free] = keys[i];
+				values[free] = values[i];
+				hashes[free] = hashes[i];
+				free = i;
+			}
+		}
+		keys[free] = null;
+		values[free] = null;
+		if (size < keys.length >> 3 && keys.length > MIN_CAPACITY) {
+			resize(keys.length >> 1);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all key/value pairs. The capacity is reduced to the one needed for
+	 * the number of pairs that were removed, as the map is usually filled again
+	 * with a similar number of pairs, e.g. when the input of a viewer is
+	 * refreshed.
+	 */
+	public void clear() {
+		int capacity = MIN_CAPACITY;
+		while (size > capacity / 4 * 3) {
+			capacity <<= 1;
+		}
+		if (capacity < keys.length) {
+			allocate(capacity);
+		} else if (size > 0) {
+			Arrays.fill(keys, null);
+			Arrays.fill(values, null);
+		}
+		size = 0;
+	}
+
+	/**
+	 * Answers the number of key/value pairs in this map.
+	 *
+	 * @return the number of key/value pairs in this map
+	 */
+	public int size() {
+		return size;
+	}
+
+	private int indexOf(Object key, int hash) {
+		int mask = keys.length - 1;
+		for (int index = hash & mask;; index = (index + 1) & mask) {
+			Object k = keys[index];
+			if (k == null) {
+				return -1;
+			}
+			if (hashes[index] == hash && keyEquals(key, k)) {
+				return index;
+			}
+		}
+	}
+
+	/**
+	 * Answers the spread hash code for the given key, so that keys with hash
+	 * codes differing only in their high bits use different slots.
+	 */
+	private int hash(Object key) {
+		int h = comparer == null ? key.hashCode() : comparer.hashCode(key);
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Compares two keys for equality.
+	 */
+	private boolean keyEquals(Object a, Object b) {
+		if (comparer == null) {
+			return a.equals(b);
+		}
+		return comparer.equals(a, b);
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		hashes = new int[capacity];
+		threshold = capacity / 4 * 3;
+	}
+
+	/**
+	 * Changes the capacity of this map. This method is sent when the size of this
+	 * map exceeds the load factor or falls below an eighth of the capacity.
+	 */
+	private void resize(int capacity) {
+		Object[] oldKeys = keys;
+		Object[] oldValues = values;
+		int[] oldHashes = hashes;
+		allocate(capacity);
+		int mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				int index = oldHashes[i] & mask;
+				while (keys[index] != null) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+				hashes[index] = oldHashes[i];
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append('{');
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != null) {
+				if (buffer.length() > 1) {
+					buffer.append(", "); //$NON-NLS-1$
+				}
+				buffer.append(keys[i]);
+				buffer.append('=');
+				buffer.append(values[i]);
+			}
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+}
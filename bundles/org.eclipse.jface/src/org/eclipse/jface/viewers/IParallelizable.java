@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+/**
+ * A marker interface for a {@link ViewerFilter} or a {@link ViewerComparator}
+ * which may be applied to the elements of a large input from several threads
+ * at once.
+ * <p>
+ * A viewer filter implementing this interface declares that its
+ * <code>select</code> method is thread-safe. The default
+ * {@link ViewerFilter#filter(Viewer, Object, Object[])} then selects the
+ * elements of large inputs in parallel.
+ * </p>
+ * <p>
+ * A viewer comparator implementing this interface declares that its
+ * <code>category</code> method, its string comparator and the
+ * <code>getText</code> method of the viewer's label provider are thread-safe.
+ * The default {@link ViewerComparator#sort(Viewer, Object[])} then computes the
+ * sort keys of large inputs in parallel and sorts them in parallel.
+ * </p>
+ * <p>
+ * Parallel work runs in the common {@link java.util.concurrent.ForkJoinPool}.
+ * The result is the same as the one of the sequential implementation.
+ * </p>
+ *
+ * @since 3.36
+ */
+public interface IParallelizable {
+	// marker interface
+}
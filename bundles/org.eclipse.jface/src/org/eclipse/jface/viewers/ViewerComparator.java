@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,11 @@
 
 package org.eclipse.jface.viewers;
 
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.stream.IntStream;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -48,6 +51,42 @@ import org.eclipse.jface.util.Policy;
  */
 public class ViewerComparator {
 
+	/**
+	 * The number of elements from which a comparator implementing
+	 * {@link IParallelizable} sorts the elements in parallel.
+	 */
+	static final int PARALLEL_THRESHOLD = 10000;
+
+	/**
+	 * Whether a class uses the default
+	 * {@link #compare(Viewer, Object, Object)}, which allows to sort precomputed
+	 * keys instead of computing the labels on each comparison.
+	 */
+	private static final ClassValue<Boolean> DEFAULT_COMPARE = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				return type.getMethod("compare", Viewer.class, Object.class, Object.class) //$NON-NLS-1$
+						.getDeclaringClass() == ViewerComparator.class;
+			} catch (NoSuchMethodException e) {
+				return Boolean.FALSE;
+			}
+		}
+	};
+
+	/**
+	 * The sort key of an element, with the values used by the default
+	 * {@link ViewerComparator#compare(Viewer, Object, Object)}.
+	 *
+	 * @param element      the element
+	 * @param category     the category of the element
+	 * @param label        the label of the element
+	 * @param collationKey the collation key of the label, or <code>null</code>
+	 *                     if the strings are not compared by a collator
+	 */
+	private record SortKey(Object element, int category, String label, CollationKey collationKey) {
+	}
+
 	/**
 	 * The comparator to use to sort a viewer's contents.
 	 */
@@ -191,7 +230,10 @@ public class ViewerComparator {
 	 * The default implementation of this method uses the
 	 * {@link java.util.Arrays#sort(Object[], Comparator)} algorithm on the
 	 * given array, calling {@link #compare(Viewer, Object, Object)} to compare
-	 * elements.
+	 * elements. If <code>compare</code> is not overridden, the category and the
+	 * label of each element are computed only once and the elements are sorted
+	 * by these keys. If this comparator implements {@link IParallelizable}, large
+	 * arrays are sorted in parallel.
 	 * </p>
 	 * <p>
 	 * Subclasses may reimplement this method to provide a more optimized implementation.
@@ -201,8 +243,15 @@ public class ViewerComparator {
 	 * @param elements the elements to sort
 	 */
 	public void sort(final Viewer viewer, Object[] elements) {
+		boolean parallel = elements.length >= PARALLEL_THRESHOLD && this instanceof IParallelizable;
 		try {
-			Arrays.sort(elements, (a, b) -> ViewerComparator.this.compare(viewer, a, b));
+			if (elements.length > 1 && DEFAULT_COMPARE.get(getClass()).booleanValue()) {
+				sortByKeys(viewer, elements, parallel);
+			} else if (parallel) {
+				Arrays.parallelSort(elements, (a, b) -> ViewerComparator.this.compare(viewer, a, b));
+			} else {
+				Arrays.sort(elements, (a, b) -> ViewerComparator.this.compare(viewer, a, b));
+			}
 		} catch (IllegalArgumentException e) {
 			String msg = e
 					+ "\nWorkaround for comparator violation:\n\tSet system property -Djava.util.Arrays.useLegacyMergeSort=true" //$NON-NLS-1$
@@ -227,4 +276,48 @@ public class ViewerComparator {
 			throw e;
 		}
 	}
+
+	/**
+	 * Sorts the given elements in-place like the default
+	 * {@link #compare(Viewer, Object, Object)}, but computes the category, the
+	 * label and, if the strings are compared by a collator, the collation key of
+	 * each element only once.
+	 */
+	private void sortByKeys(Viewer viewer, Object[] elements, boolean parallel) {
+		Comparator<? super String> stringComparator = getComparator();
+		Collator collator = stringComparator instanceof Collator c ? c : null;
+		SortKey[] keys = new SortKey[elements.length];
+		IntStream indices = IntStream.range(0, elements.length);
+		if (parallel) {
+			if (viewer instanceof ContentViewer contentViewer) {
+				// creates the default label provider on this thread
+				contentViewer.getLabelProvider();
+			}
+			indices = indices.parallel();
+		}
+		indices.forEach(i -> {
+			Object element = elements[i];
+			String label = getLabel(viewer, element);
+			keys[i] = new SortKey(element, category(element), label,
+					collator != null ? collator.getCollationKey(label) : null);
+		});
+
+		Comparator<SortKey> keyComparator = (k1, k2) -> {
+			if (k1.category() != k2.category()) {
+				return k1.category() - k2.category();
+			}
+			if (collator != null) {
+				return k1.collationKey().compareTo(k2.collationKey());
+			}
+			return stringComparator.compare(k1.label(), k2.label());
+		};
+		if (parallel) {
+			Arrays.parallelSort(keys, keyComparator);
+		} else {
+			Arrays.sort(keys, keyComparator);
+		}
+		for (int i = 0; i < keys.length; i++) {
+			elements[i] = keys[i].element();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jface.viewers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * A viewer filter is used by a structured viewer to extract a subset of
@@ -28,6 +29,13 @@ import java.util.ArrayList;
  * @see StructuredViewer
  */
 public abstract class ViewerFilter {
+
+	/**
+	 * The number of elements from which a filter implementing
+	 * {@link IParallelizable} selects the elements in parallel.
+	 */
+	static final int PARALLEL_THRESHOLD = 10000;
+
 	/**
 	 * Creates a new viewer filter.
 	 */
@@ -40,7 +48,9 @@ public abstract class ViewerFilter {
 	 * <p>
 	 * The default implementation of this method calls <code>select</code> on
 	 * each element in the array, and returns only those elements for which
-	 * <code>select</code> returns <code>true</code>.
+	 * <code>select</code> returns <code>true</code>. If this filter implements
+	 * {@link IParallelizable}, the elements of large arrays are selected in
+	 * parallel.
 	 * </p>
 	 *
 	 * @param viewer
@@ -56,6 +66,9 @@ public abstract class ViewerFilter {
 		if (size == 0) {
 			return elements;
 		}
+		if (size >= PARALLEL_THRESHOLD && this instanceof IParallelizable) {
+			return Arrays.stream(elements).parallel().filter(element -> select(viewer, parent, element)).toArray();
+		}
 		ArrayList<Object> out = new ArrayList<>(size);
 		for (int i = 0; i < size; ++i) {
 			Object element = elements[i];
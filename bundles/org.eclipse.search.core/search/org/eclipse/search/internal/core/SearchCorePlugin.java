@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Red Hat Inc and others.
+ * Copyright (c) 2023, 2026 Red Hat Inc and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TrigramIndex;
 
 public class SearchCorePlugin extends Plugin {
 	/**
@@ -31,11 +32,14 @@ public class SearchCorePlugin extends Plugin {
 	/** Status code describing an internal error */
 	public static final int INTERNAL_ERROR = 1;
 
+	private static final String TRIGRAM_INDEX_DIRECTORY = "trigrams"; //$NON-NLS-1$
+
 	private static SearchCorePlugin fgSearchPlugin;
 
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private TrigramIndex fTrigramIndex;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -58,7 +62,12 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		synchronized (this) {
+			if (fTrigramIndex != null) {
+				fTrigramIndex.shutdown();
+				fTrigramIndex = null;
+			}
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -68,6 +77,21 @@ public class SearchCorePlugin extends Plugin {
 		return fTextSearchEngineRegistry;
 	}
 
+	/**
+	 * Returns the trigram index of the workspace. The index is only created on request, when the
+	 * indexed text search engine is used.
+	 *
+	 * @param create whether to create the index if it does not exist yet
+	 * @return the index, or <code>null</code> if it does not exist and was not created
+	 */
+	public synchronized TrigramIndex getTrigramIndex(boolean create) {
+		if (fTrigramIndex == null && create) {
+			fTrigramIndex = new TrigramIndex(getStateLocation().append(TRIGRAM_INDEX_DIRECTORY).toFile().toPath());
+			fTrigramIndex.startup();
+		}
+		return fTrigramIndex;
+	}
+
 	public DirtyFileProvider getDirtyFileDiscovery() {
 		if (fDirtyFileSearchParticipant == null) {
 			this.fDirtyFileSearchParticipantTracker.open();
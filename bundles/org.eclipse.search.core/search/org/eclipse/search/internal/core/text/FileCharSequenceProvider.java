@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,9 +39,32 @@ public class FileCharSequenceProvider {
 	private FileCharSequence fReused= null;
 
 	public CharSequence newCharSequence(IFile file) throws CoreException, IOException {
-		String string = toShortString(file);
-		if (string != null) {
-			return string;
+		return newCharSequence(file, null);
+	}
+
+	/**
+	 * Returns the content of the given file, unless the raw content of the file is rejected by the
+	 * given filter.
+	 *
+	 * @param file the file
+	 * @param filter the filter to check the raw content with before it is decoded, or
+	 *            <code>null</code>
+	 * @return the content, or <code>null</code> if the file cannot contain a match
+	 * @throws CoreException if the file cannot be accessed
+	 * @throws IOException if reading the file fails
+	 */
+	public CharSequence newCharSequence(IFile file, LiteralPatternFilter filter) throws CoreException, IOException {
+		byte[] content = readShortContent(file);
+		if (content != null) {
+			if (filter != null && !filter.mayMatch(content, content.length, file.getCharset())) {
+				return null;
+			}
+			String string = toShortString(file, content);
+			if (string != null) {
+				return string;
+			}
+		} else if (filter != null && !filter.mayMatch(file)) {
+			return null;
 		}
 		FileCharSequence charSequence = getCharSequence(file);
 		// File too large for String
@@ -487,16 +510,24 @@ public class FileCharSequenceProvider {
 	}
 
 	/*
-	 * Try to get a content as String. Avoids to scanning whole InputStream to
-	 * get length
+	 * Try to get the raw content of a file that is small enough to be held as
+	 * String. Avoids to scanning whole InputStream to get length
 	 */
-	private static String toShortString(IFile file) {
+	private static byte[] readShortContent(IFile file) {
 		try {
 			byte[] content = file.readNBytes(MAX_BUFFER_LENGTH);
-			int length = content.length;
-			if (length >= MAX_BUFFER_LENGTH) {
+			if (content.length >= MAX_BUFFER_LENGTH) {
 				return null;
 			}
+			return content;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static String toShortString(IFile file, byte[] content) {
+		try {
+			int length = content.length;
 			String charset = file.getCharset();
 			int offset = 0;
 			if (StandardCharsets.UTF_8.name().equals(charset)) {
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * A text search engine that skips the files that the {@link TrigramIndex} of the workspace rules
+ * out. Patterns the index cannot be used for are searched like with the default engine.
+ */
+public class IndexedTextSearchEngine extends TextSearchEngine {
+
+	@Override
+	public IStatus search(TextSearchScope scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		return createVisitor(requestor, searchPattern).search(scope, monitor);
+	}
+
+	@Override
+	public IStatus search(IFile[] scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		return createVisitor(requestor, searchPattern).search(scope, monitor);
+	}
+
+	private static TextSearchVisitor createVisitor(TextSearchRequestor requestor, Pattern searchPattern) {
+		SearchCorePlugin plugin= SearchCorePlugin.getDefault();
+		TrigramIndex.Query query= plugin.getTrigramIndex(true).createQuery(LiteralPatternFilter.create(searchPattern));
+		return new TextSearchVisitor(requestor, searchPattern, plugin.getDirtyFileDiscovery(), query != null ? query::mayMatch : null);
+	}
+}
@@ -0,0 +1,454 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jface.text.MultiStringMatcher;
+
+/**
+ * Rejects files that cannot contain a match of a search pattern without decoding them.
+ * <p>
+ * The filter is derived from patterns that consist of literal text, wildcards and alternatives,
+ * as created by {@link PatternConstructor} for non-regex searches and by the quick search. For
+ * every alternative of the pattern, the longest piece of literal text that any match must contain
+ * is taken. A file can only contain a match if its raw bytes contain the encoded form of one of
+ * these literals, which is checked with a {@link MultiStringMatcher} over the bytes.
+ * </p>
+ * <p>
+ * The check is only done for charsets in which this is exact, namely UTF-8 and single byte
+ * charsets that agree with ASCII. For all other charsets, files are never rejected.
+ * </p>
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ */
+public final class LiteralPatternFilter {
+
+	private static final int BUFFER_SIZE= 1 << 16;
+
+	private static final int SUPPORTED_FLAGS= Pattern.MULTILINE | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+
+	/** Characters that start a construct the literal parser does not understand. */
+	private static final String UNSUPPORTED_CHARS= "()[]"; //$NON-NLS-1$
+
+	/** Characters that match a single arbitrary character or nothing at all. */
+	private static final String SKIPPED_CHARS= ".^$"; //$NON-NLS-1$
+
+	/** Characters that quantify the preceding character. */
+	private static final String QUANTIFIER_CHARS= "?*+{"; //$NON-NLS-1$
+
+	/** Whether charsets can be filtered, by charset name. */
+	private static final Map<String, Boolean> SUPPORTED_CHARSETS= new ConcurrentHashMap<>();
+
+	private final String[] fLiterals;
+	private final boolean fCaseInsensitive;
+	private final int fMaxLiteralLength;
+
+	/** The matchers for the encoded literals, by charset name. Empty if the charset is not supported. */
+	private final Map<String, Optional<MultiStringMatcher>> fMatchers= new ConcurrentHashMap<>();
+
+	private LiteralPatternFilter(String[] literals, boolean caseInsensitive) {
+		fLiterals= literals;
+		fCaseInsensitive= caseInsensitive;
+		int max= 0;
+		for (String literal : literals) {
+			max= Math.max(max, literal.length());
+		}
+		fMaxLiteralLength= max;
+	}
+
+	/**
+	 * Creates a filter for the given pattern.
+	 *
+	 * @param pattern the search pattern
+	 * @return the filter, or <code>null</code> if the pattern is not understood or if it does not
+	 *         require any literal text
+	 */
+	public static LiteralPatternFilter create(Pattern pattern) {
+		int flags= pattern.flags();
+		if ((flags & ~SUPPORTED_FLAGS) != 0) {
+			return null;
+		}
+		boolean caseInsensitive= (flags & Pattern.CASE_INSENSITIVE) != 0;
+		boolean unicodeCase= caseInsensitive && (flags & Pattern.UNICODE_CASE) != 0;
+
+		List<List<String>> alternatives= parse(pattern.pattern());
+		if (alternatives == null) {
+			return null;
+		}
+		String[] literals= new String[alternatives.size()];
+		for (int i= 0; i < literals.length; i++) {
+			String literal= null;
+			for (String run : alternatives.get(i)) {
+				for (String segment : splitUnsafe(run, unicodeCase)) {
+					if (literal == null || segment.length() > literal.length()) {
+						literal= segment;
+					}
+				}
+			}
+			if (literal == null) {
+				// this alternative can match without any literal text
+				return null;
+			}
+			literals[i]= caseInsensitive ? toLowerCaseAscii(literal) : literal;
+		}
+		return new LiteralPatternFilter(literals, caseInsensitive);
+	}
+
+	/**
+	 * Returns the literals of which every match contains at least one.
+	 *
+	 * @return the literals, lower case if the search is case insensitive
+	 */
+	public String[] getLiterals() {
+		return fLiterals.clone();
+	}
+
+	/**
+	 * Tells whether the given file may contain a match. The file is read, but not decoded.
+	 *
+	 * @param file the file
+	 * @return <code>false</code> if the file cannot contain a match
+	 * @throws CoreException if the file cannot be accessed
+	 * @throws IOException if reading the file fails
+	 */
+	public boolean mayMatch(IFile file) throws CoreException, IOException {
+		MultiStringMatcher matcher= getMatcher(file.getCharset());
+		if (matcher == null) {
+			return true;
+		}
+		try (InputStream stream= file.getContents(true)) {
+			return mayMatch(stream, matcher);
+		}
+	}
+
+	/**
+	 * Tells whether the given stream may contain a match.
+	 *
+	 * @param stream the stream, which is not closed
+	 * @param charset the name of the charset of the stream
+	 * @return <code>false</code> if the stream cannot contain a match
+	 * @throws IOException if reading the stream fails
+	 */
+	public boolean mayMatch(InputStream stream, String charset) throws IOException {
+		MultiStringMatcher matcher= getMatcher(charset);
+		return matcher == null || mayMatch(stream, matcher);
+	}
+
+	/**
+	 * Tells whether the given content may contain a match.
+	 *
+	 * @param content the raw content
+	 * @param length the number of valid bytes in <code>content</code>
+	 * @param charset the name of the charset of the content
+	 * @return <code>false</code> if the content cannot contain a match
+	 */
+	public boolean mayMatch(byte[] content, int length, String charset) {
+		MultiStringMatcher matcher= getMatcher(charset);
+		return matcher == null || matcher.indexOf(new ByteSequence(content, length, fCaseInsensitive), 0) != null;
+	}
+
+	private boolean mayMatch(InputStream stream, MultiStringMatcher matcher) throws IOException {
+		// the encoded literals take at most 4 bytes per char, the window keeps the tail of the
+		// previous read so that literals crossing a read boundary are found
+		int overlap= 4 * fMaxLiteralLength - 1;
+		byte[] buffer= new byte[Math.max(BUFFER_SIZE, 2 * overlap)];
+		int kept= 0;
+		int read;
+		while ((read= stream.read(buffer, kept, buffer.length - kept)) != -1) {
+			int length= kept + read;
+			if (matcher.indexOf(new ByteSequence(buffer, length, fCaseInsensitive), 0) != null) {
+				return true;
+			}
+			kept= Math.min(overlap, length);
+			System.arraycopy(buffer, length - kept, buffer, 0, kept);
+		}
+		return false;
+	}
+
+	private MultiStringMatcher getMatcher(String charsetName) {
+		if (charsetName == null) {
+			return null;
+		}
+		return fMatchers.computeIfAbsent(charsetName, this::createMatcher).orElse(null);
+	}
+
+	private Optional<MultiStringMatcher> createMatcher(String charsetName) {
+		try {
+			Charset charset= Charset.forName(charsetName);
+			if (!isSupported(charset)) {
+				return Optional.empty();
+			}
+			CharsetEncoder encoder= charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPORT)
+					.onUnmappableCharacter(CodingErrorAction.REPORT);
+			MultiStringMatcher.Builder builder= MultiStringMatcher.builder();
+			for (String literal : fLiterals) {
+				ByteBuffer bytes= encoder.encode(CharBuffer.wrap(literal));
+				StringBuilder encoded= new StringBuilder(bytes.remaining());
+				while (bytes.hasRemaining()) {
+					encoded.append((char) (bytes.get() & 0xff));
+				}
+				builder.add(encoded.toString());
+			}
+			return Optional.of(builder.build());
+		} catch (CharacterCodingException | IllegalArgumentException e) {
+			// a literal that cannot be encoded, or an unknown charset: don't filter
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Tells whether a byte search for an encoded literal finds exactly the occurrences of the
+	 * literal in the decoded text, and whether the bytes of ASCII letters can be case folded.
+	 *
+	 * @param charset the charset
+	 * @return <code>true</code> if files in this charset can be filtered
+	 */
+	private static boolean isSupported(Charset charset) {
+		return SUPPORTED_CHARSETS.computeIfAbsent(charset.name(), name -> {
+			if (StandardCharsets.UTF_8.equals(charset)) {
+				return Boolean.TRUE;
+			}
+			CharsetEncoder encoder= charset.newEncoder();
+			if (encoder.maxBytesPerChar() != 1) {
+				return Boolean.FALSE;
+			}
+			// every byte must decode to a char that encodes back to the same byte
+			byte[] bytes= new byte[256];
+			for (int i= 0; i < bytes.length; i++) {
+				bytes[i]= (byte) i;
+			}
+			String decoded= new String(bytes, charset);
+			if (decoded.length() != bytes.length) {
+				return Boolean.FALSE;
+			}
+			for (int i= 0; i < bytes.length; i++) {
+				char c= decoded.charAt(i);
+				if (i < 0x80 && c != i) {
+					return Boolean.FALSE;
+				}
+				if (c != '\uFFFD') {
+					byte[] encoded= String.valueOf(c).getBytes(charset);
+					if (encoded.length != 1 || encoded[0] != bytes[i]) {
+						return Boolean.FALSE;
+					}
+				}
+			}
+			return Boolean.TRUE;
+		}).booleanValue();
+	}
+
+	/**
+	 * Parses a pattern into its alternatives, each given by the runs of literal text that every
+	 * match of the alternative contains.
+	 *
+	 * @param pattern the pattern
+	 * @return the literal runs of each alternative, or <code>null</code> if the pattern is not
+	 *         understood
+	 */
+	private static List<List<String>> parse(String pattern) {
+		List<List<String>> alternatives= new ArrayList<>();
+		List<String> runs= new ArrayList<>();
+		StringBuilder run= new StringBuilder();
+		int length= pattern.length();
+		int i= 0;
+		while (i < length) {
+			char c= pattern.charAt(i++);
+			if (c == '\\') {
+				if (i == length) {
+					return null;
+				}
+				char next= pattern.charAt(i++);
+				if (next == 'Q') {
+					int end= pattern.indexOf("\\E", i); //$NON-NLS-1$
+					if (end == -1) {
+						end= length;
+					}
+					run.append(pattern, i, end);
+					i= Math.min(end + 2, length);
+				} else if ("bBAGZz".indexOf(next) != -1) { //$NON-NLS-1$
+					// boundary matchers don't consume text
+				} else if ("dDwWsShHvV".indexOf(next) != -1) { //$NON-NLS-1$
+					endRun(run, runs);
+				} else if (next == 't') {
+					run.append('\t');
+				} else if (next == 'n') {
+					run.append('\n');
+				} else if (next == 'r') {
+					run.append('\r');
+				} else if (next == 'f') {
+					run.append('\f');
+				} else if (!Character.isLetterOrDigit(next)) {
+					run.append(next);
+				} else {
+					return null;
+				}
+			} else if (c == '|') {
+				endRun(run, runs);
+				alternatives.add(runs);
+				runs= new ArrayList<>();
+				continue;
+			} else if (UNSUPPORTED_CHARS.indexOf(c) != -1) {
+				return null;
+			} else if (SKIPPED_CHARS.indexOf(c) != -1) {
+				endRun(run, runs);
+			} else if (QUANTIFIER_CHARS.indexOf(c) != -1) {
+				// a quantifier that does not follow a character
+				return null;
+			} else {
+				run.append(c);
+			}
+
+			if (i < length && QUANTIFIER_CHARS.indexOf(pattern.charAt(i)) != -1) {
+				// the preceding character is optional or repeated
+				if (run.length() > 0) {
+					run.setLength(run.length() - 1);
+				}
+				endRun(run, runs);
+				if (pattern.charAt(i) == '{') {
+					int end= pattern.indexOf('}', i);
+					if (end == -1) {
+						return null;
+					}
+					i= end;
+				}
+				i++;
+				if (i < length && (pattern.charAt(i) == '?' || pattern.charAt(i) == '+')) {
+					// reluctant or possessive quantifier
+					i++;
+				}
+			}
+		}
+		endRun(run, runs);
+		alternatives.add(runs);
+		return alternatives;
+	}
+
+	private static void endRun(StringBuilder run, List<String> runs) {
+		if (run.length() > 0) {
+			runs.add(run.toString());
+			run.setLength(0);
+		}
+	}
+
+	/**
+	 * Splits a literal run at the characters that cannot be searched for in the raw bytes. A case
+	 * insensitive search without Unicode case folding only folds ASCII letters, like the filter does
+	 * on the byte level, and matches all other characters exactly. With Unicode case folding,
+	 * non-ASCII characters and some ASCII letters, like 'k' which also matches the Kelvin sign,
+	 * match other characters, so they cannot be searched for.
+	 *
+	 * @param run the literal run
+	 * @param unicodeCase whether the search uses Unicode case folding
+	 * @return the segments of the run that can be searched for
+	 */
+	private static List<String> splitUnsafe(String run, boolean unicodeCase) {
+		List<String> segments= new ArrayList<>();
+		int start= 0;
+		for (int i= 0; i <= run.length(); i++) {
+			if (i == run.length() || !isSafe(run.charAt(i), unicodeCase)) {
+				if (i > start) {
+					segments.add(run.substring(start, i));
+				}
+				start= i + 1;
+			}
+		}
+		return segments;
+	}
+
+	private static boolean isSafe(char c, boolean unicodeCase) {
+		if (c == '\uFFFD') {
+			// also produced when decoding malformed input
+			return false;
+		}
+		if (unicodeCase) {
+			return c < 0x80 && "iIkKsS".indexOf(c) == -1; //$NON-NLS-1$
+		}
+		return true;
+	}
+
+	private static String toLowerCaseAscii(String literal) {
+		char[] chars= literal.toCharArray();
+		for (int i= 0; i < chars.length; i++) {
+			chars[i]= toLowerCaseAscii(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	private static char toLowerCaseAscii(char c) {
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	/**
+	 * Presents raw bytes as the chars with the same values, optionally folding ASCII letters to
+	 * lower case.
+	 */
+	private static final class ByteSequence implements CharSequence {
+
+		private final byte[] fBytes;
+		private final int fLength;
+		private final boolean fFoldCase;
+
+		ByteSequence(byte[] bytes, int length, boolean foldCase) {
+			fBytes= bytes;
+			fLength= length;
+			fFoldCase= foldCase;
+		}
+
+		@Override
+		public int length() {
+			return fLength;
+		}
+
+		@Override
+		public char charAt(int index) {
+			char c= (char) (fBytes[index] & 0xff);
+			return fFoldCase ? toLowerCaseAscii(c) : c;
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			StringBuilder buffer= new StringBuilder(end - start);
+			for (int i= start; i < end; i++) {
+				buffer.append(charAt(i));
+			}
+			return buffer.toString();
+		}
+
+		@Override
+		public String toString() {
+			return subSequence(0, fLength).toString();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -204,12 +205,19 @@ public class TextSearchVisitor {
 					occurences = locateMatches(file, charsequence, matcher, monitor);
 				} else {
 					try {
+						if (fFileFilter != null && !fFileFilter.test(file)) {
+							return Status.OK_STATUS;
+						}
 						boolean reportTextOnly = !fCollector.reportBinaryFile(file);
 						if (reportTextOnly && hasBinaryContentType(file)) {
 							// fail fast for binary file types without opening the file
 							return Status.OK_STATUS;
 						}
-						charsequence = fileCharSequenceProvider.newCharSequence(file);
+						charsequence = fileCharSequenceProvider.newCharSequence(file, fLiteralFilter);
+						if (charsequence == null) {
+							// the raw content contains none of the literals a match requires
+							return Status.OK_STATUS;
+						}
 						if (reportTextOnly && hasBinaryContent(charsequence)) {
 							return Status.OK_STATUS;
 						}
@@ -288,6 +296,8 @@ public class TextSearchVisitor {
 
 	private final TextSearchRequestor fCollector;
 	private final Pattern fSearchPattern;
+	private final LiteralPatternFilter fLiteralFilter;
+	private final Predicate<IFile> fFileFilter;
 
 	private volatile IProgressMonitor fProgressMonitor;
 
@@ -302,12 +312,27 @@ public class TextSearchVisitor {
 	private DirtyFileProvider fDirtyDiscovery;
 
 	public TextSearchVisitor(TextSearchRequestor collector, Pattern searchPattern, DirtyFileProvider dirtyDiscovery) {
+		this(collector, searchPattern, dirtyDiscovery, null);
+	}
+
+	/**
+	 * Creates a visitor that only reads the files accepted by a filter. Files open in dirty
+	 * editors are searched regardless of the filter.
+	 *
+	 * @param collector the requestor to report to
+	 * @param searchPattern the pattern to search for
+	 * @param dirtyDiscovery the provider of the dirty editors, can be <code>null</code>
+	 * @param fileFilter rejects files that cannot contain a match, can be <code>null</code>
+	 */
+	public TextSearchVisitor(TextSearchRequestor collector, Pattern searchPattern, DirtyFileProvider dirtyDiscovery, Predicate<IFile> fileFilter) {
 		fCollector= collector;
 		fDirtyDiscovery = dirtyDiscovery;
 		fStatus = new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK,
 				SearchCoreMessages.TextSearchEngine_statusMessage, null);
 
 		fSearchPattern= searchPattern;
+		fLiteralFilter= LiteralPatternFilter.create(searchPattern);
+		fFileFilter= fileFilter;
 
 		fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 		fileBatches = new ConcurrentLinkedQueue<>();
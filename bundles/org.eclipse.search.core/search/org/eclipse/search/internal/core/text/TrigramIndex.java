@@ -0,0 +1,468 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * A persistent trigram index of the files in the workspace, used to skip files that cannot
+ * contain a match of a search pattern.
+ * <p>
+ * The index consists of one {@link TrigramSegment} on disk and the trigrams of recently changed
+ * files in memory. It is kept up to date from resource deltas by a background job, which merges
+ * the changed files into a new segment once they hold too many trigrams. Only files in UTF-8 or
+ * US-ASCII are indexed.
+ * </p>
+ * <p>
+ * The index never rejects a file it does not know the current content of: files that are not
+ * indexed, whose modification stamp differs from the indexed one, or that are out of sync with
+ * the file system are always searched.
+ * </p>
+ */
+public final class TrigramIndex {
+
+	/** Files larger than this are not indexed. */
+	private static final int MAX_FILE_LENGTH= 1 << 22;
+
+	/** The number of pending trigrams after which they are merged into a new segment. */
+	private static final int MAX_PENDING_TRIGRAMS= 1 << 21;
+
+	private static final long UPDATE_DELAY= 1000;
+
+	private static final String SEGMENT_PREFIX= "trigram-"; //$NON-NLS-1$
+	private static final String SEGMENT_SUFFIX= ".index"; //$NON-NLS-1$
+
+	/**
+	 * The state of the index for one file. A file is either in a segment, or pending with its
+	 * trigrams in memory, or not indexed at all.
+	 */
+	private static final class FileEntry {
+		final TrigramSegment fSegment;
+		final int fId;
+		final long fStamp;
+		final int[] fTrigrams;
+
+		FileEntry(TrigramSegment segment, int id, long stamp, int[] trigrams) {
+			fSegment= segment;
+			fId= id;
+			fStamp= stamp;
+			fTrigrams= trigrams;
+		}
+	}
+
+	/**
+	 * The files that can contain a match of a search pattern, as known when the query was created.
+	 * <p>
+	 * The posting lists of the segment are only read when the first file of the segment is tested,
+	 * in the thread that searches the files.
+	 * </p>
+	 */
+	public final class Query {
+		private final int[][] fPlan;
+		private final TrigramSegment fQuerySegment;
+		private BitSet fCandidates; // Protected by this
+		private boolean fQueried; // Protected by this
+
+		Query(int[][] plan, TrigramSegment segment) {
+			fPlan= plan;
+			fQuerySegment= segment;
+		}
+
+		/**
+		 * Tests whether a file can contain a match.
+		 *
+		 * @param file the file
+		 * @return <code>false</code> if the indexed content of the file cannot contain a match
+		 */
+		public boolean mayMatch(IFile file) {
+			FileEntry entry= fEntries.get(file.getFullPath().toString());
+			if (entry == null || entry.fStamp != file.getModificationStamp()) {
+				return true;
+			}
+			if (entry.fTrigrams != null) {
+				if (Trigrams.matchesAny(entry.fTrigrams, fPlan)) {
+					return true;
+				}
+			} else if (entry.fSegment == null || entry.fSegment != fQuerySegment) {
+				// not indexed, or merged into a segment after the query was created
+				return true;
+			} else {
+				BitSet candidates= getCandidates();
+				if (candidates == null || candidates.get(entry.fId)) {
+					return true;
+				}
+			}
+			// the search reads files that changed on disk to report them as out of sync
+			return !file.isSynchronized(IResource.DEPTH_ZERO);
+		}
+
+		private synchronized BitSet getCandidates() {
+			if (!fQueried) {
+				fQueried= true;
+				if (fQuerySegment.acquire()) {
+					try {
+						try {
+							fCandidates= fQuerySegment.getCandidates(fPlan);
+						} finally {
+							fQuerySegment.release();
+						}
+					} catch (IOException e) {
+						SearchCorePlugin.log(e);
+					}
+				}
+			}
+			return fCandidates;
+		}
+	}
+
+	private final Path fDirectory;
+
+	/** The index entries, by full path. Only modified by the job. */
+	private final Map<String, FileEntry> fEntries= new ConcurrentHashMap<>();
+
+	private volatile TrigramSegment fSegment;
+	private long fGeneration;
+	private int fPendingTrigrams;
+	private boolean fLoaded;
+
+	private final Set<IFile> fChangedFiles= ConcurrentHashMap.newKeySet();
+	private volatile boolean fRescan= true;
+
+	private final Trigrams fTrigrams= new Trigrams();
+
+	private final IResourceChangeListener fListener= this::resourceChanged;
+
+	private final Job fJob;
+
+	/**
+	 * Creates an index.
+	 *
+	 * @param directory the directory to store the index in
+	 */
+	public TrigramIndex(Path directory) {
+		fDirectory= directory;
+		fJob= new Job(SearchCoreMessages.TrigramIndex_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					update(monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (CoreException e) {
+					return e.getStatus();
+				} catch (IOException e) {
+					SearchCorePlugin.log(e);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fJob.setSystem(true);
+		fJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Starts to index the workspace and to track changes.
+	 */
+	public void startup() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(fListener, IResourceChangeEvent.POST_CHANGE);
+		fJob.schedule();
+	}
+
+	/**
+	 * Stops tracking changes and closes the index.
+	 */
+	public void shutdown() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(fListener);
+		fJob.cancel();
+		try {
+			fJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		TrigramSegment segment= fSegment;
+		fSegment= null;
+		closeSegment(segment, false);
+	}
+
+	/**
+	 * Creates a query for a search pattern. The index is not read before the query is used.
+	 *
+	 * @param filter the filter of the search pattern, can be <code>null</code>
+	 * @return the query, or <code>null</code> if the index cannot be used for the pattern
+	 */
+	public Query createQuery(LiteralPatternFilter filter) {
+		if (filter == null) {
+			return null;
+		}
+		int[][] plan= Trigrams.plan(filter);
+		if (plan == null) {
+			return null;
+		}
+		return new Query(plan, fSegment);
+	}
+
+	private void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				switch (resource.getType()) {
+					case IResource.FILE:
+						if (child.getKind() != IResourceDelta.CHANGED
+								|| (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.ENCODING | IResourceDelta.REPLACED)) != 0) {
+							fChangedFiles.add((IFile) resource);
+						}
+						return false;
+					case IResource.PROJECT:
+						if (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & IResourceDelta.OPEN) != 0) {
+							fRescan= true;
+							return false;
+						}
+						return true;
+					default:
+						return true;
+				}
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+		if (fRescan || !fChangedFiles.isEmpty()) {
+			fJob.schedule(UPDATE_DELAY);
+		}
+	}
+
+	private void update(IProgressMonitor monitor) throws CoreException, IOException {
+		if (!fLoaded) {
+			fLoaded= true;
+			load();
+		}
+		if (fRescan) {
+			fRescan= false;
+			rescan(monitor);
+			if (fPendingTrigrams > 0) {
+				merge();
+			}
+		}
+		List<IFile> changed= new ArrayList<>(fChangedFiles);
+		fChangedFiles.removeAll(changed);
+		for (IFile file : changed) {
+			checkCanceled(monitor);
+			if (file.exists()) {
+				index(file);
+			} else {
+				remove(file.getFullPath().toString());
+			}
+		}
+	}
+
+	/**
+	 * Loads the last segment and deletes all others.
+	 */
+	private void load() throws IOException {
+		Files.createDirectories(fDirectory);
+		List<Path> files= new ArrayList<>();
+		try (DirectoryStream<Path> stream= Files.newDirectoryStream(fDirectory, SEGMENT_PREFIX + '*')) {
+			stream.forEach(files::add);
+		}
+		files.sort((p1, p2) -> Long.compare(getGeneration(p2), getGeneration(p1)));
+		for (Path file : files) {
+			long generation= getGeneration(file);
+			fGeneration= Math.max(fGeneration, generation);
+			if (fSegment == null && generation >= 0) {
+				try {
+					TrigramSegment segment= TrigramSegment.open(file);
+					for (int id= 0; id < segment.getFileCount(); id++) {
+						fEntries.put(segment.getPath(id), new FileEntry(segment, id, segment.getStamp(id), null));
+					}
+					fSegment= segment;
+					continue;
+				} catch (IOException e) {
+					// corrupt, rebuilt by the rescan
+				}
+			}
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Indexes all files whose content changed since they were indexed, and removes the entries
+	 * of files that no longer exist.
+	 */
+	private void rescan(IProgressMonitor monitor) throws CoreException, IOException {
+		Set<String> paths= new HashSet<>();
+		List<IFile> changed= new ArrayList<>();
+		ResourcesPlugin.getWorkspace().getRoot().accept(proxy -> {
+			if (proxy.getType() == IResource.FILE) {
+				String path= proxy.requestFullPath().toString();
+				paths.add(path);
+				FileEntry entry= fEntries.get(path);
+				if (entry == null || entry.fStamp != proxy.getModificationStamp()) {
+					changed.add((IFile) proxy.requestResource());
+				}
+			}
+			return true;
+		}, IResource.NONE);
+		for (String path : new ArrayList<>(fEntries.keySet())) {
+			if (!paths.contains(path)) {
+				remove(path);
+			}
+		}
+
+		for (IFile file : changed) {
+			checkCanceled(monitor);
+			index(file);
+		}
+	}
+
+	private void index(IFile file) throws IOException {
+		String path= file.getFullPath().toString();
+		long stamp= file.getModificationStamp();
+		int[] trigrams= null;
+		try {
+			String charset= file.getCharset();
+			if (StandardCharsets.UTF_8.name().equalsIgnoreCase(charset) || StandardCharsets.US_ASCII.name().equalsIgnoreCase(charset)) {
+				// out of sync files fail and are not indexed until they are refreshed
+				try (InputStream in= file.getContents(false)) {
+					byte[] content= in.readNBytes(MAX_FILE_LENGTH + 1);
+					if (content.length <= MAX_FILE_LENGTH) {
+						trigrams= fTrigrams.extract(content, content.length);
+					}
+				}
+			}
+		} catch (CoreException | IOException e) {
+			// not indexed, searched every time
+		}
+		if (trigrams != null && trigrams.length == 0) {
+			trigrams= null;
+		}
+		removePending(fEntries.put(path, new FileEntry(null, -1, stamp, trigrams)));
+		if (trigrams != null) {
+			fPendingTrigrams+= trigrams.length;
+			if (fPendingTrigrams > MAX_PENDING_TRIGRAMS) {
+				merge();
+			}
+		}
+	}
+
+	private void remove(String path) {
+		removePending(fEntries.remove(path));
+	}
+
+	private void removePending(FileEntry entry) {
+		if (entry != null && entry.fTrigrams != null) {
+			fPendingTrigrams-= entry.fTrigrams.length;
+		}
+	}
+
+	/**
+	 * Writes a new segment with the files of the current segment that did not change and all
+	 * pending files, and replaces the current segment with it.
+	 */
+	private void merge() throws IOException {
+		TrigramSegment base= fSegment;
+		BitSet retained= new BitSet();
+		List<String> pendingPaths= new ArrayList<>();
+		List<TrigramSegment.PendingFile> pending= new ArrayList<>();
+		fEntries.forEach((path, entry) -> {
+			if (entry.fTrigrams != null) {
+				pendingPaths.add(path);
+				pending.add(new TrigramSegment.PendingFile(path, entry.fStamp, entry.fTrigrams));
+			} else if (base != null && entry.fSegment == base) {
+				retained.set(entry.fId);
+			}
+		});
+
+		Path file= fDirectory.resolve(SEGMENT_PREFIX + (fGeneration + 1) + SEGMENT_SUFFIX);
+		TrigramSegment.write(file, base, retained, pending);
+		TrigramSegment segment= TrigramSegment.open(file);
+		fGeneration++;
+
+		int id= 0;
+		if (base != null) {
+			for (int old= retained.nextSetBit(0); old >= 0; old= retained.nextSetBit(old + 1)) {
+				fEntries.put(base.getPath(old), new FileEntry(segment, id++, base.getStamp(old), null));
+			}
+		}
+		for (int i= 0; i < pending.size(); i++) {
+			String path= pendingPaths.get(i);
+			fEntries.put(path, new FileEntry(segment, id++, pending.get(i).fStamp, null));
+		}
+		fPendingTrigrams= 0;
+
+		fSegment= segment;
+		// deleted once the queries that read it are done
+		closeSegment(base, true);
+	}
+
+	private static void closeSegment(TrigramSegment segment, boolean delete) {
+		if (segment == null) {
+			return;
+		}
+		try {
+			segment.close(delete);
+		} catch (IOException e) {
+			SearchCorePlugin.log(e);
+		}
+	}
+
+	private static long getGeneration(Path file) {
+		String name= file.getFileName().toString();
+		if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+			try {
+				return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+			} catch (NumberFormatException e) {
+				// not a segment
+			}
+		}
+		return -1;
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+}
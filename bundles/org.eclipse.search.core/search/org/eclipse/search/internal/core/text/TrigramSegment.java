@@ -0,0 +1,470 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * An immutable file of the trigram index, mapping every trigram to the files that contain it.
+ * <p>
+ * The file starts with a table of the indexed files, followed by the posting lists of all
+ * trigrams and a directory of the trigrams. The ids of the files in a posting list are delta
+ * encoded as variable length integers. The file table and the directory are held in memory while
+ * the segment is open, the posting lists are read on demand.
+ * </p>
+ * <p>
+ * Instances are thread-safe. Readers that may race with {@link #close()} acquire the segment
+ * first, closing it is deferred until they released it.
+ * </p>
+ */
+public final class TrigramSegment implements Closeable {
+
+	private static final int MAGIC= 0x54524947; // "TRIG"
+	private static final int VERSION= 2;
+
+	/** The length of the trailer: start of the postings, start of the directory and magic. */
+	private static final int TRAILER_LENGTH= 2 * Long.BYTES + Integer.BYTES;
+
+	/**
+	 * A file that is added to a segment.
+	 */
+	public static final class PendingFile {
+		final String fPath;
+		final long fStamp;
+		final int[] fTrigrams;
+
+		/**
+		 * Creates a pending file.
+		 *
+		 * @param path the full path of the file
+		 * @param stamp the modification stamp of the indexed content
+		 * @param trigrams the sorted trigrams of the content
+		 */
+		public PendingFile(String path, long stamp, int[] trigrams) {
+			fPath= path;
+			fStamp= stamp;
+			fTrigrams= trigrams;
+		}
+	}
+
+	private final FileChannel fChannel;
+	private final Path fFile;
+	private final String[] fPaths;
+	private final long[] fStamps;
+	private final long fPostingsStart;
+	private final int[] fKeys;
+	/** The offsets of the posting lists, relative to the postings start, with the end as last element. */
+	private final long[] fOffsets;
+
+	private int fReaders; // Protected by this
+	private boolean fClosed; // Protected by this
+	private boolean fDelete; // Protected by this
+
+	private TrigramSegment(Path file, FileChannel channel, String[] paths, long[] stamps, long postingsStart, int[] keys, long[] offsets) {
+		fFile= file;
+		fChannel= channel;
+		fPaths= paths;
+		fStamps= stamps;
+		fPostingsStart= postingsStart;
+		fKeys= keys;
+		fOffsets= offsets;
+	}
+
+	/**
+	 * Opens a segment.
+	 *
+	 * @param file the segment file
+	 * @return the segment
+	 * @throws IOException if the file cannot be read or is not a valid segment
+	 */
+	@SuppressWarnings("resource") // the channel is closed by the segment
+	public static TrigramSegment open(Path file) throws IOException {
+		FileChannel channel= FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			long size= channel.size();
+			if (size < 2 * Integer.BYTES + TRAILER_LENGTH) {
+				throw new EOFException(file.toString());
+			}
+			ByteBuffer trailer= read(channel, size - TRAILER_LENGTH, TRAILER_LENGTH);
+			long postingsStart= trailer.getLong();
+			long directoryStart= trailer.getLong();
+			if (trailer.getInt() != MAGIC || postingsStart > directoryStart || directoryStart > size - TRAILER_LENGTH) {
+				throw new IOException("Invalid trigram index: " + file); //$NON-NLS-1$
+			}
+
+			// the stream is not closed, it would close the channel
+			DataInputStream in= new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Invalid trigram index: " + file); //$NON-NLS-1$
+			}
+			int fileCount= in.readInt();
+			String[] paths= new String[fileCount];
+			long[] stamps= new long[fileCount];
+			for (int i= 0; i < fileCount; i++) {
+				paths[i]= in.readUTF();
+				stamps[i]= in.readLong();
+			}
+
+			ByteBuffer directory= read(channel, directoryStart, (int) (size - TRAILER_LENGTH - directoryStart));
+			int keyCount= directory.getInt();
+			int[] keys= new int[keyCount];
+			long[] offsets= new long[keyCount + 1];
+			directory.asIntBuffer().get(keys);
+			directory.position(directory.position() + keyCount * Integer.BYTES).asLongBuffer().get(offsets);
+			return new TrigramSegment(file, channel, paths, stamps, postingsStart, keys, offsets);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e instanceof IOException ioe ? ioe : new IOException(e);
+		}
+	}
+
+	/**
+	 * Writes a segment that contains the retained files of a base segment and the given pending
+	 * files.
+	 * <p>
+	 * The retained files keep their order and come first, the pending files follow in the given
+	 * order. The posting lists of the base segment are merged with the pending trigrams one
+	 * trigram at a time, so only the pending trigrams are held in memory.
+	 * </p>
+	 *
+	 * @param target the file to write
+	 * @param base the base segment, or <code>null</code>
+	 * @param retained the ids of the files of the base segment to keep
+	 * @param pending the files to add
+	 * @throws IOException if writing fails
+	 */
+	public static void write(Path target, TrigramSegment base, BitSet retained, List<PendingFile> pending) throws IOException {
+		int[] remap= null;
+		int retainedCount= 0;
+		if (base != null) {
+			remap= new int[base.getFileCount()];
+			for (int id= 0; id < remap.length; id++) {
+				remap[id]= retained.get(id) ? retainedCount++ : -1;
+			}
+		}
+
+		// (trigram, id) pairs of the pending files, in the order of the posting lists
+		int pairCount= 0;
+		for (PendingFile file : pending) {
+			pairCount+= file.fTrigrams.length;
+		}
+		long[] pairs= new long[pairCount];
+		int p= 0;
+		for (int i= 0; i < pending.size(); i++) {
+			for (int key : pending.get(i).fTrigrams) {
+				pairs[p++]= (long) key << 32 | (retainedCount + i);
+			}
+		}
+		Arrays.sort(pairs);
+
+		Path temp= target.resolveSibling(target.getFileName() + ".tmp"); //$NON-NLS-1$
+		try (CountingOutputStream counter= new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+				DataOutputStream out= new DataOutputStream(counter)) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(retainedCount + pending.size());
+			if (base != null) {
+				for (int id= retained.nextSetBit(0); id >= 0 && id < remap.length; id= retained.nextSetBit(id + 1)) {
+					out.writeUTF(base.fPaths[id]);
+					out.writeLong(base.fStamps[id]);
+				}
+			}
+			for (PendingFile file : pending) {
+				out.writeUTF(file.fPath);
+				out.writeLong(file.fStamp);
+			}
+
+			// DataOutputStream does not buffer, but its size() stops counting at 2GB
+			long postingsStart= counter.fCount;
+			int[] baseKeys= base != null ? base.fKeys : new int[0];
+			int[] keys= new int[baseKeys.length + pairCount];
+			long[] offsets= new long[keys.length + 1];
+			int keyCount= 0;
+			int[] ids= new int[16];
+			int b= 0;
+			p= 0;
+			while (b < baseKeys.length || p < pairCount) {
+				int key;
+				if (p == pairCount || b < baseKeys.length && baseKeys[b] <= (int) (pairs[p] >>> 32)) {
+					key= baseKeys[b];
+				} else {
+					key= (int) (pairs[p] >>> 32);
+				}
+				int count= 0;
+				if (b < baseKeys.length && baseKeys[b] == key) {
+					for (int id : base.readPostings(b++)) {
+						if (remap[id] >= 0) {
+							if (count == ids.length) {
+								ids= Arrays.copyOf(ids, count * 2);
+							}
+							ids[count++]= remap[id];
+						}
+					}
+				}
+				while (p < pairCount && (int) (pairs[p] >>> 32) == key) {
+					if (count == ids.length) {
+						ids= Arrays.copyOf(ids, count * 2);
+					}
+					ids[count++]= (int) pairs[p++];
+				}
+				if (count > 0) {
+					keys[keyCount]= key;
+					offsets[keyCount++]= counter.fCount - postingsStart;
+					int previous= 0;
+					for (int i= 0; i < count; i++) {
+						writeVarInt(out, ids[i] - previous);
+						previous= ids[i];
+					}
+				}
+			}
+			offsets[keyCount]= counter.fCount - postingsStart;
+
+			long directoryStart= counter.fCount;
+			out.writeInt(keyCount);
+			for (int i= 0; i < keyCount; i++) {
+				out.writeInt(keys[i]);
+			}
+			for (int i= 0; i <= keyCount; i++) {
+				out.writeLong(offsets[i]);
+			}
+			out.writeLong(postingsStart);
+			out.writeLong(directoryStart);
+			out.writeInt(MAGIC);
+		}
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Returns the files that contain all trigrams of at least one alternative of a search pattern.
+	 *
+	 * @param plan the trigrams required by the search pattern, as computed by
+	 *            {@link Trigrams#plan}
+	 * @return the ids of the candidate files
+	 * @throws IOException if reading the posting lists fails
+	 */
+	public BitSet getCandidates(int[][] plan) throws IOException {
+		BitSet candidates= new BitSet(fPaths.length);
+		alternatives: for (int[] required : plan) {
+			Integer[] indices= new Integer[required.length];
+			for (int i= 0; i < required.length; i++) {
+				int index= Arrays.binarySearch(fKeys, required[i]);
+				if (index < 0) {
+					continue alternatives;
+				}
+				indices[i]= Integer.valueOf(index);
+			}
+			// intersect the shortest posting lists first
+			Arrays.sort(indices, (i1, i2) -> Long.compare(getPostingsLength(i1.intValue()), getPostingsLength(i2.intValue())));
+			BitSet files= null;
+			for (Integer index : indices) {
+				BitSet postings= new BitSet(fPaths.length);
+				for (int id : readPostings(index.intValue())) {
+					postings.set(id);
+				}
+				if (files == null) {
+					files= postings;
+				} else {
+					files.and(postings);
+				}
+				if (files.isEmpty()) {
+					continue alternatives;
+				}
+			}
+			candidates.or(files);
+		}
+		return candidates;
+	}
+
+	/**
+	 * @return the number of files in this segment
+	 */
+	public int getFileCount() {
+		return fPaths.length;
+	}
+
+	/**
+	 * @param id the id of a file
+	 * @return the full path of the file
+	 */
+	public String getPath(int id) {
+		return fPaths[id];
+	}
+
+	/**
+	 * @param id the id of a file
+	 * @return the modification stamp of the indexed content of the file
+	 */
+	public long getStamp(int id) {
+		return fStamps[id];
+	}
+
+	/**
+	 * @return the segment file
+	 */
+	public Path getFile() {
+		return fFile;
+	}
+
+	/**
+	 * Acquires the segment for reading. The segment is not closed before it is released again.
+	 *
+	 * @return <code>false</code> if the segment is already closed
+	 * @see #release()
+	 */
+	public synchronized boolean acquire() {
+		if (fClosed) {
+			return false;
+		}
+		fReaders++;
+		return true;
+	}
+
+	/**
+	 * Releases the segment after it was acquired.
+	 *
+	 * @throws IOException if closing the segment fails
+	 * @see #acquire()
+	 */
+	public void release() throws IOException {
+		boolean dispose;
+		synchronized (this) {
+			fReaders--;
+			dispose= fClosed && fReaders == 0;
+		}
+		if (dispose) {
+			dispose();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		close(false);
+	}
+
+	/**
+	 * Closes the segment once it is no longer acquired.
+	 *
+	 * @param delete whether to delete the segment file once it is closed
+	 * @throws IOException if closing the segment fails
+	 */
+	public void close(boolean delete) throws IOException {
+		boolean dispose;
+		synchronized (this) {
+			if (fClosed) {
+				return;
+			}
+			fClosed= true;
+			fDelete= delete;
+			dispose= fReaders == 0;
+		}
+		if (dispose) {
+			dispose();
+		}
+	}
+
+	private void dispose() throws IOException {
+		fChannel.close();
+		if (fDelete) {
+			Files.deleteIfExists(fFile);
+		}
+	}
+
+	private long getPostingsLength(int index) {
+		return fOffsets[index + 1] - fOffsets[index];
+	}
+
+	private int[] readPostings(int index) throws IOException {
+		// a posting list has at most 5 bytes per file
+		ByteBuffer buffer= read(fChannel, fPostingsStart + fOffsets[index], (int) getPostingsLength(index));
+		// every id takes at least one byte
+		int[] ids= new int[buffer.remaining()];
+		int count= 0;
+		int id= 0;
+		while (buffer.hasRemaining()) {
+			id+= readVarInt(buffer);
+			ids[count++]= id;
+		}
+		return count == ids.length ? ids : Arrays.copyOf(ids, count);
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer= ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+		return buffer.flip();
+	}
+
+	/**
+	 * Counts the bytes written, beyond the 2GB that {@link DataOutputStream#size()} can count.
+	 */
+	private static final class CountingOutputStream extends FilterOutputStream {
+		long fCount;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			fCount++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			fCount+= len;
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write(value & 0x7F | 0x80);
+			value>>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarInt(ByteBuffer buffer) {
+		int value= 0;
+		for (int shift= 0;; shift+= 7) {
+			byte b= buffer.get();
+			value|= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+	}
+}
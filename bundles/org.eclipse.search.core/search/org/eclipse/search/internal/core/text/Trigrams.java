@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Extracts the trigrams of UTF-8 content and of the literals of a {@link LiteralPatternFilter}.
+ * <p>
+ * A trigram is a sequence of three bytes, with ASCII letters folded to lower case, packed into an
+ * int. Folding makes the trigrams usable for case sensitive and case insensitive searches alike.
+ * </p>
+ * <p>
+ * An extractor reuses its buffers and must only be used by one thread at a time.
+ * </p>
+ */
+public final class Trigrams {
+
+	/** One bit per possible trigram, used to skip duplicates while extracting. */
+	private final long[] fSeen= new long[(1 << 24) / Long.SIZE];
+
+	private int[] fBuffer= new int[1024];
+
+	/**
+	 * Returns the distinct trigrams of the given content.
+	 *
+	 * @param content the content
+	 * @param length the number of bytes of the content to use
+	 * @return the sorted trigrams
+	 */
+	public int[] extract(byte[] content, int length) {
+		int count= 0;
+		if (length >= 3) {
+			int key= fold(content[0]) << 8 | fold(content[1]);
+			for (int i= 2; i < length; i++) {
+				key= (key << 8 | fold(content[i])) & 0xFFFFFF;
+				long bit= 1L << key;
+				if ((fSeen[key >>> 6] & bit) == 0) {
+					fSeen[key >>> 6]|= bit;
+					if (count == fBuffer.length) {
+						fBuffer= Arrays.copyOf(fBuffer, count * 2);
+					}
+					fBuffer[count++]= key;
+				}
+			}
+		}
+		for (int i= 0; i < count; i++) {
+			fSeen[fBuffer[i] >>> 6]= 0;
+		}
+		int[] trigrams= Arrays.copyOf(fBuffer, count);
+		Arrays.sort(trigrams);
+		return trigrams;
+	}
+
+	/**
+	 * Returns the trigrams that a file must contain to match a search pattern.
+	 *
+	 * @param filter the filter of the search pattern
+	 * @return the sorted trigrams of every alternative of the pattern, or <code>null</code> if an
+	 *         alternative is too short to have trigrams
+	 */
+	public static int[][] plan(LiteralPatternFilter filter) {
+		String[] literals= filter.getLiterals();
+		int[][] plan= new int[literals.length][];
+		for (int i= 0; i < literals.length; i++) {
+			byte[] bytes= literals[i].getBytes(StandardCharsets.UTF_8);
+			if (bytes.length < 3) {
+				return null;
+			}
+			int[] trigrams= new int[bytes.length - 2];
+			for (int j= 0; j < trigrams.length; j++) {
+				trigrams[j]= fold(bytes[j]) << 16 | fold(bytes[j + 1]) << 8 | fold(bytes[j + 2]);
+			}
+			plan[i]= Arrays.stream(trigrams).sorted().distinct().toArray();
+		}
+		return plan;
+	}
+
+	/**
+	 * Tests whether content with the given trigrams can contain a match.
+	 *
+	 * @param trigrams the sorted trigrams of the content
+	 * @param plan the trigrams required by the search pattern, as computed by {@link #plan}
+	 * @return <code>true</code> if the trigrams contain all trigrams of one alternative
+	 */
+	public static boolean matchesAny(int[] trigrams, int[][] plan) {
+		for (int[] required : plan) {
+			if (containsAll(trigrams, required)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsAll(int[] trigrams, int[] required) {
+		int from= 0;
+		for (int key : required) {
+			int index= Arrays.binarySearch(trigrams, from, trigrams.length, key);
+			if (index < 0) {
+				return false;
+			}
+			from= index + 1;
+		}
+		return true;
+	}
+
+	private static int fold(byte b) {
+		return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b & 0xFF;
+	}
+}
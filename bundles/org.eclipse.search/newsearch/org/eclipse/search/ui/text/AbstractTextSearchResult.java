@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,8 +21,7 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -42,7 +41,145 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 
 	private static final Match[] EMPTY_ARRAY= new Match[0];
 
-	private final ConcurrentMap<Object, Set<Match>> fElementsToMatches;
+	/**
+	 * The matches of one element, in an open addressing hash table. A search can report millions of
+	 * matches, and this takes a few bytes per match where a concurrent set takes a node object each.
+	 * <p>
+	 * Removed matches leave a marker in their slot until the table is rebuilt, so that no match
+	 * moves to another slot while an enumeration of the table is in progress.
+	 * </p>
+	 */
+	private static final class MatchSet {
+		private static final Match REMOVED= new Match(MatchSet.class, 0, 0);
+
+		private Match[] fTable= new Match[4];
+		private int fSize;
+		/** The number of slots that hold a match or the removed marker. */
+		private int fUsed;
+
+		synchronized boolean add(Match match) {
+			int index= indexOf(match);
+			Match curr= fTable[index];
+			if (curr != null && curr != REMOVED) {
+				return false;
+			}
+			fTable[index]= match;
+			fSize++;
+			if (curr == null && ++fUsed * 2 > fTable.length) {
+				rebuild();
+			}
+			return true;
+		}
+
+		synchronized boolean remove(Match match) {
+			int index= indexOf(match);
+			Match curr= fTable[index];
+			if (curr == null || curr == REMOVED) {
+				return false;
+			}
+			fTable[index]= REMOVED;
+			fSize--;
+			return true;
+		}
+
+		synchronized int size() {
+			return fSize;
+		}
+
+		synchronized Match[] toArray() {
+			Match[] matches= new Match[fSize];
+			int i= 0;
+			for (Match curr : fTable) {
+				if (curr != null && curr != REMOVED) {
+					matches[i++]= curr;
+				}
+			}
+			return matches;
+		}
+
+		/*
+		 * Returns a weakly consistent enumeration of the matches: it returns every match that is in
+		 * the set during the whole enumeration exactly once, without copying the set.
+		 */
+		synchronized Enumeration<Match> elements() {
+			// a rebuild replaces the table, the enumeration continues on the old one
+			Match[] table= fTable;
+			return new Enumeration<>() {
+				private int fIndex= -1;
+				private Match fNext= advance();
+
+				@Override
+				public boolean hasMoreElements() {
+					return fNext != null;
+				}
+
+				@Override
+				public Match nextElement() {
+					Match next= fNext;
+					if (next == null) {
+						throw new NoSuchElementException();
+					}
+					fNext= advance();
+					return next;
+				}
+
+				private Match advance() {
+					synchronized (MatchSet.this) {
+						while (++fIndex < table.length) {
+							Match curr= table[fIndex];
+							if (curr != null && curr != REMOVED) {
+								return curr;
+							}
+						}
+						return null;
+					}
+				}
+			};
+		}
+
+		/*
+		 * Moves the matches into a new table without removed markers, with a load of at most a
+		 * quarter.
+		 */
+		private void rebuild() {
+			int length= 4;
+			while (length < fSize * 4) {
+				length<<= 1;
+			}
+			Match[] old= fTable;
+			fTable= new Match[length];
+			for (Match curr : old) {
+				if (curr != null && curr != REMOVED) {
+					fTable[indexOf(curr)]= curr;
+				}
+			}
+			fUsed= fSize;
+		}
+
+		/*
+		 * Returns the slot of the given match, or the slot to insert it into.
+		 */
+		private int indexOf(Match match) {
+			int mask= fTable.length - 1;
+			int h= match.hashCode();
+			int index= (h ^ (h >>> 16)) & mask;
+			int free= -1;
+			Match curr;
+			while ((curr= fTable[index]) != null) {
+				if (curr == REMOVED) {
+					if (free < 0) {
+						free= index;
+					}
+				} else if (curr.equals(match)) {
+					return index;
+				}
+				index= (index + 1) & mask;
+			}
+			return free >= 0 ? free : index;
+		}
+	}
+
+	private final ConcurrentMap<Object, MatchSet> fElementsToMatches;
 	private final List<ISearchResultListener> fListeners;
 	private final MatchEvent fMatchEvent;
 	private final AtomicInteger matchCount;
@@ -79,9 +216,9 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return EMPTY_ARRAY;
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		MatchSet matches = fElementsToMatches.get(element);
 		if (matches != null) {
-			Match[] sortingCopy = matches.toArray(new Match[matches.size()]);
+			Match[] sortingCopy = matches.toArray();
 			Arrays.sort(sortingCopy, AbstractTextSearchResult::compare);
 			return sortingCopy;
 		}
@@ -92,7 +229,8 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	 * Returns an Enumeration of all matches reported against the given element.
 	 * Note that all matches of the given element are returned. The filter state
 	 * of the matches is not relevant. Like {@link #getMatches(Object)} but
-	 * unordered result.
+	 * unordered result. The matches are not copied: matches that are added or
+	 * removed while the enumeration is in progress may or may not be returned.
 	 *
 	 * @param element
 	 *            the element to report matches for
@@ -104,9 +242,9 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return Collections.emptyEnumeration();
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		MatchSet matches = fElementsToMatches.get(element);
 		if (matches != null) {
-			return Collections.enumeration(matches);
+			return matches.elements();
 		}
 		return Collections.emptyEnumeration();
 	}
@@ -160,7 +298,15 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	private boolean didAddMatch(Match match) {
 		matchCount.set(0);
 		updateFilterState(match);
-		return fElementsToMatches.computeIfAbsent(match.getElement(), k -> ConcurrentHashMap.newKeySet()).add(match);
+		boolean[] added = new boolean[1];
+		fElementsToMatches.compute(match.getElement(), (e, matches) -> {
+			if (matches == null) {
+				matches = new MatchSet();
+			}
+			added[0] = matches.add(match);
+			return matches;
+		});
+		return added[0];
 	}
 
 	private static int compare(Match match2, Match match1) {
@@ -223,7 +369,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		boolean[] existed = new boolean[1];
 		fElementsToMatches.computeIfPresent(match.getElement(), (f, matches) -> {
 			existed[0] = matches.remove(match);
-			if (matches.isEmpty()) {
+			if (matches.size() == 0) {
 				return null; // remove
 			}
 			return matches;
@@ -313,7 +459,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		}
 		// The oldCount is zero here => we have to calculate again
 		int newCount = 0;
-		for (Set<Match> element : fElementsToMatches.values()) {
+		for (MatchSet element : fElementsToMatches.values()) {
 			newCount += element.size();
 		}
 		if (matchCount.compareAndSet(0, newCount)) {
@@ -329,8 +475,8 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 	 * @since 3.17
 	 */
 	public boolean hasMatches() {
-		for (Entry<Object, Set<Match>> entry : fElementsToMatches.entrySet()) {
-			if (!entry.getValue().isEmpty()) {
+		for (MatchSet matches : fElementsToMatches.values()) {
+			if (matches.size() != 0) {
 				return true;
 			}
 		}
@@ -349,7 +495,7 @@ public abstract class AbstractTextSearchResult implements ISearchResult {
 		if (element == null) {
 			return 0;
 		}
-		Set<Match> matches = fElementsToMatches.get(element);
+		MatchSet matches = fElementsToMatches.get(element);
 		if (matches != null)
 			return matches.size();
 		return 0;
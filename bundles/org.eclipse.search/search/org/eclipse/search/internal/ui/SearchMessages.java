@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -170,6 +170,7 @@ public final class SearchMessages extends NLS {
 	public static String FileLabelProvider_count_format;
 	public static String FileLabelProvider_line_number;
 	public static String FileLabelProvider_removed_resource_label;
+	public static String FileLabelProvider_restore_job_name;
 	public static String FileSearchPage_sort_name_label;
 	public static String FileSearchPage_sort_path_label;
 	public static String FileSearchPage_error_marker;
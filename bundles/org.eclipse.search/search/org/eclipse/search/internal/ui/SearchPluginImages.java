@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,12 @@
 package org.eclipse.search.internal.ui;
 
 import java.net.URL;
+import java.util.List;
 
 import org.osgi.framework.Bundle;
 
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IPath;
@@ -85,6 +87,17 @@ public class SearchPluginImages {
 		return PLUGIN_REGISTRY.get(key);
 	}
 
+	/**
+	 * Starts loading the images of the matches in the background, as the search view shows them
+	 * right after it has been created.
+	 *
+	 * @param display the display of the search view
+	 */
+	public static void prefetchMatchImages(Display display) {
+		ImageDescriptor.prefetch(List.of(DESC_OBJ_TSEARCH_DPDN, DESC_OBJ_SEARCHMARKER, DESC_OBJ_TEXT_SEARCH_LINE),
+				display.getPrimaryMonitor().getZoom());
+	}
+
 	private static ImageDescriptor createManaged(String prefix, String name) {
 		ImageDescriptor result= create(prefix, name.substring(NAME_PREFIX_LENGTH), true);
 		PLUGIN_REGISTRY.put(name, result);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,10 +16,20 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Control;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IResource;
 
@@ -27,6 +37,7 @@ import org.eclipse.jface.util.Util;
 import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider.IStyledLabelProvider;
 import org.eclipse.jface.viewers.ILabelProviderListener;
 import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
 import org.eclipse.jface.viewers.StyledCellLabelProvider;
 import org.eclipse.jface.viewers.StyledString;
 
@@ -57,12 +68,23 @@ public class FileLabelProvider extends LabelProvider implements IStyledLabelProv
 
 	private int fOrder;
 
+	/** The lines whose collected contents are read again from their files by {@link #fRestoreJob}. */
+	private final Set<LineElement> fLinesToRestore= ConcurrentHashMap.newKeySet();
+	private final Job fRestoreJob;
+
 	public FileLabelProvider(AbstractTextSearchViewPage page, int orderFlag) {
 		fLabelProvider= new WorkbenchLabelProvider();
 		fOrder= orderFlag;
 		fPage= page;
 		fLineMatchImage= SearchPluginImages.get(SearchPluginImages.IMG_OBJ_TEXT_SEARCH_LINE);
 		fMatchComparator= (o1, o2) -> o1.getOriginalOffset() - o2.getOriginalOffset();
+		fRestoreJob= new Job(SearchMessages.FileLabelProvider_restore_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return restoreLines(monitor);
+			}
+		};
+		fRestoreJob.setSystem(true);
 	}
 
 	public void setOrder(int orderFlag) {
@@ -80,8 +102,17 @@ public class FileLabelProvider extends LabelProvider implements IStyledLabelProv
 
 	@Override
 	public StyledString getStyledText(Object element) {
-		if (element instanceof LineElement)
-			return getLineElementLabel((LineElement) element);
+		if (element instanceof LineElement lineElement) {
+			String content= lineElement.getContentsIfAvailable();
+			if (content == null) {
+				// the file is read by a job, which updates the label once it is done
+				if (fLinesToRestore.add(lineElement)) {
+					fRestoreJob.schedule();
+				}
+				content= " ".repeat(lineElement.getLength()); //$NON-NLS-1$
+			}
+			return getLineElementLabel(lineElement, content);
+		}
 
 		if (!(element instanceof IResource))
 			return new StyledString();
@@ -110,7 +141,7 @@ public class FileLabelProvider extends LabelProvider implements IStyledLabelProv
 		return getColoredLabelWithCounts(resource, str);
 	}
 
-	private StyledString getLineElementLabel(LineElement lineElement) {
+	private StyledString getLineElementLabel(LineElement lineElement, String content) {
 		int lineNumber= lineElement.getLine();
 		String lineNumberString= Messages.format(SearchMessages.FileLabelProvider_line_number, Integer.valueOf(lineNumber));
 
@@ -119,8 +150,6 @@ public class FileLabelProvider extends LabelProvider implements IStyledLabelProv
 		FileMatch[] matches= lineElement.getMatches(fPage.getInput());
 		Arrays.sort(matches, fMatchComparator);
 
-		String content= lineElement.getContents();
-
 		int pos= evaluateLineStart(matches, content, lineElement.getOffset());
 
 		int length= content.length();
@@ -238,9 +267,28 @@ public class FileLabelProvider extends LabelProvider implements IStyledLabelProv
 		return image;
 	}
 
+	private IStatus restoreLines(IProgressMonitor monitor) {
+		List<LineElement> lines= new ArrayList<>(fLinesToRestore);
+		fLinesToRestore.removeAll(lines);
+		if (!LineElement.restoreContents(lines, monitor)) {
+			return Status.CANCEL_STATUS;
+		}
+		Control control= fPage.getControl();
+		if (control != null && !control.isDisposed()) {
+			control.getDisplay().asyncExec(() -> {
+				if (!control.isDisposed()) {
+					fireLabelProviderChanged(new LabelProviderChangedEvent(this, lines.toArray()));
+				}
+			});
+		}
+		return Status.OK_STATUS;
+	}
+
 	@Override
 	public void dispose() {
 		super.dispose();
+		fRestoreJob.cancel();
+		fLinesToRestore.clear();
 		fLabelProvider.dispose();
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,11 +25,12 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
 
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Item;
-import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.Tree;
 
 import org.eclipse.core.runtime.IAdaptable;
@@ -49,6 +50,7 @@ import org.eclipse.jface.dialogs.ErrorDialog;
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionProvider;
+import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.ITreeViewerListener;
@@ -168,6 +170,12 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 		viewer.addDragSupport(ops, transfers, new NavigatorDragAdapter(viewer));
 	}
 
+	@Override
+	protected TableViewer createTableViewer(Composite parent) {
+		// only the labels of the visible rows are computed
+		return new TableViewer(parent, SWT.VIRTUAL | SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+	}
+
 	@Override
 	protected void configureTableViewer(TableViewer viewer) {
 		viewer.setUseHashlookup(true);
@@ -492,13 +500,9 @@ public class FileSearchPage extends AbstractTextSearchViewPage implements IAdapt
 	}
 
 	private Object[] getRootElements(TableViewer viewer) {
-		Table t = viewer.getTable();
-		Item[] roots = t.getItems();
-		Object[] elements = new Object[roots.length];
-		for (int i = 0; i < elements.length; i++) {
-			elements[i] = roots[i].getData();
-		}
-		return elements;
+		// the items of the virtual table are only associated with elements once they are shown
+		IStructuredContentProvider cp = (IStructuredContentProvider) viewer.getContentProvider();
+		return cp.getElements(viewer.getInput());
 	}
 
 	private int getMatchCount(ITreeContentProvider cp, Object[] elements) {
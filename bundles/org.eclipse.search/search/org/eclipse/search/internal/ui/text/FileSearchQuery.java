@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,10 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
 import org.eclipse.search.core.text.TextSearchEngine;
 import org.eclipse.search.core.text.TextSearchMatchAccess;
 import org.eclipse.search.core.text.TextSearchRequestor;
@@ -112,6 +116,7 @@ public class FileSearchQuery implements ISearchQuery {
 		private LineElement getLineElement(int offset, TextSearchMatchAccess matchRequestor, ArrayList<FileMatch> matches) {
 			int lineNumber= 1;
 			int lineStart= 0;
+			long stamp;
 
 			if (matches != null) {
 				// match on same line as last?
@@ -123,6 +128,9 @@ public class FileSearchQuery implements ISearchQuery {
 				// start with the offset and line information from the last match
 				lineStart= lineElement.getOffset() + lineElement.getLength();
 				lineNumber= lineElement.getLine() + 1;
+				stamp= lineElement.getStamp();
+			} else {
+				stamp= getDiskStamp(matchRequestor.getFile());
 			}
 			if (offset < lineStart) {
 				return null; // offset before the last line
@@ -138,7 +146,7 @@ public class FileSearchQuery implements ISearchQuery {
 					}
 					if (offset < i) {
 						String lineContent= getContents(matchRequestor, lineStart, i); // include line delimiter
-						return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent);
+						return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent, stamp);
 					}
 					lineNumber++;
 					lineStart= i;
@@ -146,11 +154,23 @@ public class FileSearchQuery implements ISearchQuery {
 			}
 			if (offset < i) {
 				String lineContent= getContents(matchRequestor, lineStart, i); // until end of file
-				return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent);
+				return new LineElement(matchRequestor.getFile(), lineNumber, lineStart, lineContent, stamp);
 			}
 			return null; // offset outside of range
 		}
 
+		/*
+		 * Returns the modification stamp of the file, or NULL_STAMP if the file was searched in a
+		 * dirty editor and the line contents cannot be read again from disk.
+		 */
+		private static long getDiskStamp(IFile file) {
+			ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+			if (buffer != null && buffer.isDirty()) {
+				return IResource.NULL_STAMP;
+			}
+			return file.getModificationStamp();
+		}
+
 		private static String getContents(TextSearchMatchAccess matchRequestor, int start, int end) {
 			StringBuilder buf= new StringBuilder();
 			for (int i= start; i < end; i++) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.search.internal.ui.text;
 
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.StringTokenizer;
 
@@ -59,6 +60,60 @@ public class FileSearchResult extends AbstractTextSearchResult implements IEdito
 		return getLabel();
 	}
 
+	@Override
+	public void addMatch(Match match) {
+		addLineMatch(match);
+		super.addMatch(match);
+	}
+
+	@Override
+	public void addMatches(Match[] matches) {
+		for (Match match : matches) {
+			addLineMatch(match);
+		}
+		super.addMatches(matches);
+	}
+
+	@Override
+	public void removeMatch(Match match) {
+		removeLineMatch(match);
+		super.removeMatch(match);
+	}
+
+	@Override
+	public void removeMatches(Match[] matches) {
+		for (Match match : matches) {
+			removeLineMatch(match);
+		}
+		super.removeMatches(matches);
+	}
+
+	@Override
+	public void removeAll() {
+		for (Object element : getElements()) {
+			for (Enumeration<Match> matches= getMatchSet(element); matches.hasMoreElements();) {
+				removeLineMatch(matches.nextElement());
+			}
+		}
+		super.removeAll();
+	}
+
+	/*
+	 * The lines know their matches, so that the label of a line does not have to go through all
+	 * matches of its file. They are updated before the listeners of the result are notified.
+	 */
+	private static void addLineMatch(Match match) {
+		if (match instanceof FileMatch fileMatch && fileMatch.getLineElement() != null) {
+			fileMatch.getLineElement().addMatch(fileMatch);
+		}
+	}
+
+	private static void removeLineMatch(Match match) {
+		if (match instanceof FileMatch fileMatch && fileMatch.getLineElement() != null) {
+			fileMatch.getLineElement().removeMatch(fileMatch);
+		}
+	}
+
 	private static MatchFilter INNERMOST_PROJECT = new OuterProjectFileFilter();
 	private static MatchFilter[] ALL_MATCH_FILTERS = new MatchFilter[] { INNERMOST_PROJECT };
 	private static final String SETTINGS_LAST_USED_FILTERS = "filters_last_used"; //$NON-NLS-1$
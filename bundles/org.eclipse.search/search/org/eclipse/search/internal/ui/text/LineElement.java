@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2008 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,9 +14,26 @@
 
 package org.eclipse.search.internal.ui.text;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.ref.SoftReference;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
@@ -24,20 +41,55 @@ import org.eclipse.search.ui.text.Match;
 
 /**
  * Element representing a line in a file
+ * <p>
+ * If the line was read from the file on disk, its contents are only softly referenced, and read
+ * again from the file when they were collected and the file did not change since. A search with
+ * millions of matches thereby does not need to keep the text of all their lines in memory. The
+ * contents are restored by {@link #restoreContents(Collection, IProgressMonitor)}, which reads each
+ * file once for all of its lines.
+ * </p>
+ * <p>
+ * The matches of a line in a {@link FileSearchResult} are kept by the line, so that they are found
+ * without going through all matches of the file.
+ * </p>
  */
 public class LineElement {
 
+	private static final FileMatch[] NO_MATCHES= new FileMatch[0];
+
 	private final IResource fParent;
 
 	private final int fLineNumber;
 	private final int fLineStartOffset;
-	private final String fLineContents;
+	private final int fLineLength;
+	/** The modification stamp of the file the line was read from, or {@link IResource#NULL_STAMP}. */
+	private final long fStamp;
+	/** The line contents, a <code>String</code> or a soft reference to one if they can be restored. */
+	private volatile Object fLineContents;
+	/** The matches of this line, maintained by the {@link FileSearchResult} of the line. */
+	private FileMatch[] fMatches= NO_MATCHES; // Protected by this
 
 	public LineElement(IResource parent, int lineNumber, int lineStartOffset, String lineContents) {
+		this(parent, lineNumber, lineStartOffset, lineContents, IResource.NULL_STAMP);
+	}
+
+	/**
+	 * Creates a line element.
+	 *
+	 * @param parent the file of the line
+	 * @param lineNumber the line number
+	 * @param lineStartOffset the offset of the line in the file
+	 * @param lineContents the contents of the line, with white space replaced by blanks
+	 * @param stamp the modification stamp of the file if the contents were read from the file on
+	 *            disk, {@link IResource#NULL_STAMP} otherwise
+	 */
+	public LineElement(IResource parent, int lineNumber, int lineStartOffset, String lineContents, long stamp) {
 		fParent= parent;
 		fLineNumber= lineNumber;
 		fLineStartOffset= lineStartOffset;
-		fLineContents= lineContents;
+		fLineLength= lineContents.length();
+		fStamp= stamp;
+		fLineContents= stamp != IResource.NULL_STAMP && parent instanceof IFile ? new SoftReference<>(lineContents) : lineContents;
 	}
 
 	public IResource getParent() {
@@ -48,8 +100,39 @@ public class LineElement {
 		return fLineNumber;
 	}
 
+	/**
+	 * Returns the line contents. If they were collected, they are read again from the file, which
+	 * must not be done in the UI thread.
+	 *
+	 * @return the line contents
+	 * @see #getContentsIfAvailable()
+	 */
 	public String getContents() {
-		return fLineContents;
+		String string= getContentsIfAvailable();
+		if (string == null) {
+			string= readContents((IFile) fParent, Collections.singletonList(this))[0];
+			fLineContents= new SoftReference<>(string);
+		}
+		return string;
+	}
+
+	/**
+	 * Returns the line contents if they do not have to be read again from the file.
+	 *
+	 * @return the line contents, or <code>null</code> if {@link #getContents()} reads the file
+	 */
+	public String getContentsIfAvailable() {
+		Object contents= fLineContents;
+		if (contents instanceof String string) {
+			return string;
+		}
+		@SuppressWarnings("unchecked")
+		String string= ((SoftReference<String>) contents).get();
+		return string;
+	}
+
+	long getStamp() {
+		return fStamp;
 	}
 
 	public int getOffset() {
@@ -57,14 +140,19 @@ public class LineElement {
 	}
 
 	public boolean contains(int offset) {
-		return fLineStartOffset <= offset && offset < fLineStartOffset + fLineContents.length();
+		return fLineStartOffset <= offset && offset < fLineStartOffset + fLineLength;
 	}
 
 	public int getLength() {
-		return fLineContents.length();
+		return fLineLength;
 	}
 
 	public FileMatch[] getMatches(AbstractTextSearchResult result) {
+		if (result instanceof FileSearchResult) {
+			synchronized (this) {
+				return fMatches.clone();
+			}
+		}
 		ArrayList<FileMatch> res= new ArrayList<>();
 		Enumeration<Match> matches = result.getMatchSet(fParent);
 		while (matches.hasMoreElements()) {
@@ -77,6 +165,11 @@ public class LineElement {
 	}
 
 	public int getNumberOfMatches(AbstractTextSearchResult result) {
+		if (result instanceof FileSearchResult) {
+			synchronized (this) {
+				return fMatches.length;
+			}
+		}
 		int count= 0;
 		Enumeration<Match> matches = result.getMatchSet(fParent);
 		while (matches.hasMoreElements()) {
@@ -89,6 +182,11 @@ public class LineElement {
 	}
 
 	public boolean hasMatches(AbstractTextSearchResult result) {
+		if (result instanceof FileSearchResult) {
+			synchronized (this) {
+				return fMatches.length > 0;
+			}
+		}
 		Enumeration<Match> matches = result.getMatchSet(fParent);
 		while (matches.hasMoreElements()) {
 			FileMatch curr = (FileMatch) matches.nextElement();
@@ -98,4 +196,131 @@ public class LineElement {
 		}
 		return false;
 	}
+
+	synchronized void addMatch(FileMatch match) {
+		for (FileMatch curr : fMatches) {
+			if (curr == match) {
+				return;
+			}
+		}
+		FileMatch[] matches= Arrays.copyOf(fMatches, fMatches.length + 1);
+		matches[fMatches.length]= match;
+		fMatches= matches;
+	}
+
+	synchronized void removeMatch(FileMatch match) {
+		for (int i= 0; i < fMatches.length; i++) {
+			if (fMatches[i] == match) {
+				FileMatch[] matches= new FileMatch[fMatches.length - 1];
+				System.arraycopy(fMatches, 0, matches, 0, i);
+				System.arraycopy(fMatches, i + 1, matches, i, matches.length - i);
+				fMatches= matches;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Drops the line contents if they can be read again from the file, as the garbage collector
+	 * does when memory gets low.
+	 */
+	public void releaseContents() {
+		if (fLineContents instanceof SoftReference<?> reference) {
+			reference.clear();
+		}
+	}
+
+	/**
+	 * Reads the contents of the given lines again from their files, if they were collected. Each
+	 * file is read once for all of its lines.
+	 *
+	 * @param lines the lines to restore
+	 * @param monitor the progress monitor, checked between files
+	 * @return <code>false</code> if the monitor was canceled before all lines were restored
+	 */
+	public static boolean restoreContents(Collection<LineElement> lines, IProgressMonitor monitor) {
+		Map<IResource, List<LineElement>> linesByFile= new HashMap<>();
+		for (LineElement line : lines) {
+			if (line.getContentsIfAvailable() == null) {
+				linesByFile.computeIfAbsent(line.fParent, file -> new ArrayList<>()).add(line);
+			}
+		}
+		for (Map.Entry<IResource, List<LineElement>> entry : linesByFile.entrySet()) {
+			if (monitor.isCanceled()) {
+				return false;
+			}
+			List<LineElement> fileLines= entry.getValue();
+			fileLines.sort(Comparator.comparingInt(LineElement::getOffset));
+			String[] contents= readContents((IFile) entry.getKey(), fileLines);
+			for (int i= 0; i < contents.length; i++) {
+				fileLines.get(i).fLineContents= new SoftReference<>(contents[i]);
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Reads the contents of lines of the given file, which are sorted by their offsets. The file is
+	 * decoded up to the last line, but only the contents of the lines are kept. If the file changed
+	 * since a line was searched, its contents are blanks, so that the offsets of its matches still
+	 * fit.
+	 */
+	private static String[] readContents(IFile file, List<LineElement> lines) {
+		char[][] contents= new char[lines.size()][];
+		for (int i= 0; i < contents.length; i++) {
+			contents[i]= new char[lines.get(i).fLineLength];
+			Arrays.fill(contents[i], ' ');
+		}
+
+		long stamp= file.getModificationStamp();
+		try {
+			Charset charset= Charset.forName(file.getCharset());
+			try (Reader reader= new BufferedReader(new InputStreamReader(file.getContents(true), charset))) {
+				if ("UTF-8".equals(charset.name())) { //$NON-NLS-1$
+					// the search skipped the byte order mark
+					reader.mark(1);
+					if (reader.read() != '\uFEFF') {
+						reader.reset();
+					}
+				}
+				long position= 0;
+				for (int i= 0; i < contents.length; i++) {
+					LineElement line= lines.get(i);
+					if (line.fStamp != stamp || line.fLineStartOffset < position) {
+						continue;
+					}
+					if (reader.skip(line.fLineStartOffset - position) != line.fLineStartOffset - position) {
+						break;
+					}
+					char[] buffer= new char[line.fLineLength];
+					int length= reader.read(buffer, 0, buffer.length);
+					while (length >= 0 && length < buffer.length) {
+						int read= reader.read(buffer, length, buffer.length - length);
+						if (read < 0) {
+							break;
+						}
+						length+= read;
+					}
+					if (length < buffer.length) {
+						break;
+					}
+					position= line.fLineStartOffset + line.fLineLength;
+					for (int j= 0; j < buffer.length; j++) {
+						char ch= buffer[j];
+						if (!Character.isWhitespace(ch) && !Character.isISOControl(ch)) {
+							contents[i][j]= ch;
+						}
+					}
+				}
+			}
+		} catch (CoreException | IOException | IllegalArgumentException e) {
+			// the lines that could not be read are left blank
+		}
+
+		String[] result= new String[contents.length];
+		for (int i= 0; i < contents.length; i++) {
+			result[i]= new String(contents[i]);
+		}
+		return result;
+	}
 }
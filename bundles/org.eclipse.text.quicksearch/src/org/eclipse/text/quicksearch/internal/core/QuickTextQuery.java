@@ -20,6 +20,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+import org.eclipse.search.internal.core.text.LiteralPatternFilter;
+import org.eclipse.search.internal.core.text.TrigramIndex;
 
 /**
  * Represents something you can search for with a 'quick search' text searcher.
@@ -49,6 +52,15 @@ public class QuickTextQuery {
 	private boolean caseInsensitive;
 	private String orgPattern; //Original pattern case preserved even if search is case insensitive.
 	final Pattern pattern;
+	/**
+	 * Rejects files by their raw content, or null if the pattern does not require any literal text.
+	 */
+	final LiteralPatternFilter filter;
+	/**
+	 * Rejects files by the trigram index of the text search, or null if there is no index or
+	 * it cannot be used for the pattern.
+	 */
+	final TrigramIndex.Query indexQuery;
 
 	/**
 	 * A query that matches anything.
@@ -62,6 +74,14 @@ public class QuickTextQuery {
 		this.caseInsensitive = caseInsensitive;
 		String regex = createRegEx(substring);
 		pattern = Pattern.compile(regex, caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
+		filter = LiteralPatternFilter.create(pattern);
+		indexQuery = createIndexQuery(filter);
+	}
+
+	private static TrigramIndex.Query createIndexQuery(LiteralPatternFilter filter) {
+		SearchCorePlugin plugin = SearchCorePlugin.getDefault();
+		TrigramIndex index = plugin == null ? null : plugin.getTrigramIndex(false);
+		return index == null ? null : index.createQuery(filter);
 	}
 
 	private String createRegEx(String patString) {
@@ -12,10 +12,10 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.io.UnsupportedEncodingException;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,6 +32,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.search.internal.core.text.LiteralPatternFilter;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatcher;
 import org.eclipse.text.quicksearch.internal.core.pathmatch.ResourceMatchers;
 import org.eclipse.text.quicksearch.internal.core.priority.PriorityFunction;
@@ -152,31 +153,41 @@ public class QuickTextSearcher {
 		@Override
 		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
 			currentFile = f;
-			return search(f, canceled, MAX_LINE_LEN, query.pattern, QuickTextSearcher.this::add);
+			if (query.indexQuery != null && !query.indexQuery.mayMatch(f)) {
+				// the index shows that the file contains none of the literals a match requires
+				return true;
+			}
+			return search(f, canceled, MAX_LINE_LEN, query.pattern, query.filter, QuickTextSearcher.this::add);
 		}
 
 		private static boolean search(IFile f, BooleanSupplier canceled,
-				int maxLineLength, Pattern pattern, Consumer<LineItem> add) {
+				int maxLineLength, Pattern pattern, LiteralPatternFilter filter, Consumer<LineItem> add) {
 			if (canceled.getAsBoolean()) {
 				return false;
 			}
-			try (LineReader lr = new LineReader(getReader(f),
-					maxLineLength)) {
-				String line;
-				int lineIndex = 1;
-				while ((line = lr.readLine()) != null) {
-					int offset = lr.getLastLineOffset();
-					if (canceled.getAsBoolean()) {
-						return false;
-					}
-
-					Matcher matcher = pattern.matcher(line);
-					if (matcher.find()) {
-						LineItem lineItem = new LineItem(f, line, lineIndex, offset);
-						add.accept(lineItem);
+			try {
+				Reader reader = getReader(f, filter);
+				if (reader == null) {
+					// the raw content contains none of the literals a match requires
+					return true;
+				}
+				try (LineReader lr = new LineReader(reader, maxLineLength)) {
+					String line;
+					int lineIndex = 1;
+					while ((line = lr.readLine()) != null) {
+						int offset = lr.getLastLineOffset();
+						if (canceled.getAsBoolean()) {
+							return false;
+						}
+
+						Matcher matcher = pattern.matcher(line);
+						if (matcher.find()) {
+							LineItem lineItem = new LineItem(f, line, lineIndex, offset);
+							add.accept(lineItem);
+						}
+
+						lineIndex++;
 					}
-
-					lineIndex++;
 				}
 			} catch (Exception e) {
 				// ignored
@@ -184,13 +195,24 @@ public class QuickTextSearcher {
 			return true;
 		}
 
-		private static Reader getReader(IFile f) throws UnsupportedEncodingException, CoreException {
-			String shortString = toShortString(f);
-			if (shortString != null) {
-				return new StringReader(shortString);
-			} else {
-				return new InputStreamReader(f.getContents(true), f.getCharset());
+		/**
+		 * Returns a reader for the content of the file, or null if the filter rejects the
+		 * raw content of the file.
+		 */
+		private static Reader getReader(IFile f, LiteralPatternFilter filter) throws CoreException, IOException {
+			byte[] content = readShortContent(f);
+			if (content != null) {
+				if (filter != null && !filter.mayMatch(content, content.length, f.getCharset())) {
+					return null;
+				}
+				String shortString = toShortString(f, content);
+				if (shortString != null) {
+					return new StringReader(shortString);
+				}
+			} else if (filter != null && !filter.mayMatch(f)) {
+				return null;
 			}
+			return new InputStreamReader(f.getContents(true), f.getCharset());
 		}
 
 		@Override
@@ -203,19 +225,27 @@ public class QuickTextSearcher {
 
 	}
 	/**
-	 * Try to get a content as String. Avoids Streaming.
+	 * Try to get the raw content of a file that is small enough to be held as String.
+	 * Avoids Streaming.
 	 */
-	private static String toShortString(IFile file) {
+	private static byte[] readShortContent(IFile file) {
 		/**
 		 * Just any number such that the most source files will fit in. And not too
 		 * big to avoid out of memory.
 		 **/
 		try {
 			byte[] content = file.readNBytes(MAX_BUFFER_LENGTH);
-			int length = content.length;
-			if (length >= MAX_BUFFER_LENGTH) {
+			if (content.length >= MAX_BUFFER_LENGTH) {
 				return null;
 			}
+			return content;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static String toShortString(IFile file, byte[] content) {
+		try {
 			String charset = file.getCharset();
 			return new String(content, charset);
 		} catch (Exception e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -105,6 +105,12 @@ public class ProjectionDocument extends AbstractDocument {
 	private FragmentUpdater fFragmentsUpdater;
 	/** The projection mapping */
 	private ProjectionMapping fMapping;
+	/**
+	 * The fragments replacing the current fragmentation while the master document ranges are
+	 * replaced, <code>null</code> otherwise
+	 * @since 3.15
+	 */
+	private List<Fragment> fReplacingFragments;
 
 	/**
 	 * Creates a projection document for the given master document.
@@ -775,7 +781,10 @@ public class ProjectionDocument extends AbstractDocument {
 	@Override
 	protected void updateDocumentStructures(DocumentEvent event) {
 		super.updateDocumentStructures(event);
-		ensureWellFormedSegmentation(computeAnchor(event));
+		if (fReplacingFragments != null)
+			addFragments(fReplacingFragments);
+		else
+			ensureWellFormedSegmentation(computeAnchor(event));
 		fMapping.projectionChanged();
 	}
 
@@ -889,4 +898,95 @@ public class ProjectionDocument extends AbstractDocument {
 			internalError();
 		}
 	}
+
+	/**
+	 * Replaces all master document ranges with the given master document ranges. Unlike a
+	 * sequence of calls to {@link #addMasterDocumentRange(int, int)} and
+	 * {@link #removeMasterDocumentRange(int, int)}, the fragments and segments are rebuilt in one
+	 * pass and a single document event is sent, which replaces the whole content of this document.
+	 *
+	 * @param masterRanges the ranges of the master document, sorted by offset and not overlapping;
+	 *            adjacent ranges are joined
+	 * @throws BadLocationException if a range is not valid in the master document
+	 * @throws IllegalArgumentException if the ranges are not sorted or overlap
+	 * @since 3.15
+	 */
+	public void replaceMasterDocumentRanges(IRegion[] masterRanges) throws BadLocationException {
+		List<Fragment> fragments= new ArrayList<>(masterRanges.length);
+		StringBuilder text= new StringBuilder();
+		Fragment last= null;
+		for (IRegion range : masterRanges) {
+			int offset= range.getOffset();
+			int length= range.getLength();
+			if (offset < 0 || length < 0 || offset + length > fMasterDocument.getLength())
+				throw new BadLocationException();
+			if (last != null && offset < last.getOffset() + last.getLength())
+				throw new IllegalArgumentException("overlaps with previous range"); //$NON-NLS-1$
+			if (length == 0)
+				continue;
+			if (last != null && last.getOffset() + last.getLength() == offset)
+				last.setLength(last.getLength() + length);
+			else {
+				last= new Fragment(offset, length);
+				fragments.add(last);
+			}
+			text.append(fMasterDocument.get(offset, length));
+		}
+
+		int masterOffset= fragments.isEmpty() ? 0 : fragments.get(0).getOffset();
+		int masterLength= last == null ? 0 : last.getOffset() + last.getLength() - masterOffset;
+		if (fragments.isEmpty())
+			fragments.add(new Fragment(0, 0));
+
+		try {
+
+			ProjectionDocumentEvent event= new ProjectionDocumentEvent(this, 0, fMapping.getImageLength(), text.toString(), masterOffset, masterLength);
+			super.fireDocumentAboutToBeChanged(event);
+
+			// dropping the categories avoids removing the positions one by one, the new positions
+			// are added once the remaining positions of this document have been updated
+			fMasterDocument.removePositionCategory(fFragmentsCategory);
+			fMasterDocument.addPositionCategory(fFragmentsCategory);
+			removePositionCategory(fSegmentsCategory);
+			addPositionCategory(fSegmentsCategory);
+			fReplacingFragments= fragments;
+
+			getTracker().set(event.getText());
+			super.fireDocumentChanged(event);
+
+		} catch (BadPositionCategoryException x) {
+			internalError();
+		} finally {
+			fReplacingFragments= null;
+		}
+	}
+
+	/**
+	 * Adds the given fragments and their segments to the empty fragmentation.
+	 *
+	 * @param fragments the fragments, sorted by offset
+	 * @since 3.15
+	 */
+	private void addFragments(List<Fragment> fragments) {
+		Segment[] segments= new Segment[fragments.size()];
+		int offsetInSlave= 0;
+		for (int i= 0; i < segments.length; i++) {
+			Fragment fragment= fragments.get(i);
+			segments[i]= new Segment(offsetInSlave, fragment.getLength());
+			segments[i].fragment= fragment;
+			fragment.segment= segments[i];
+			offsetInSlave+= fragment.getLength();
+		}
+
+		// the length of this document is computed from the segments, let it see the new ones
+		fMapping.projectionChanged(segments, fragments.toArray(new Position[fragments.size()]));
+		try {
+			for (Segment segment : segments) {
+				fMasterDocument.addPosition(fFragmentsCategory, segment.fragment);
+				addPosition(fSegmentsCategory, segment);
+			}
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			internalError();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -78,6 +78,19 @@ public class ProjectionMapping implements IDocumentInformationMapping , IDocumen
 		fCachedFragments= null;
 	}
 
+	/**
+	 * Notifies this projection mapping that the projection is replaced by the given segments and
+	 * fragments, which are about to be added to the slave and the master document.
+	 *
+	 * @param segments the new segments, sorted by offset
+	 * @param fragments the new fragments, sorted by offset
+	 * @since 3.15
+	 */
+	void projectionChanged(Position[] segments, Position[] fragments) {
+		fCachedSegments= segments;
+		fCachedFragments= fragments;
+	}
+
 	private Position[] getSegments() {
 		if (fCachedSegments == null) {
 			try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,11 +15,19 @@
  *******************************************************************************/
 package org.eclipse.jface.text;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 
 
 /**
@@ -54,6 +62,25 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 	private static final int RC_LOWER= 2;
 	private static final int RC_FIRSTUPPER= 3;
 
+	/**
+	 * The minimal length of a range for which a literal search of
+	 * {@link #findAll(int, int, String, boolean, boolean, boolean, Consumer, IProgressMonitor)}
+	 * is split into chunks that are searched in parallel.
+	 * @since 3.15
+	 */
+	private static final int PARALLEL_SEARCH_THRESHOLD= 1 << 20;
+
+	/**
+	 * The length of the chunks that are searched in parallel.
+	 * @since 3.15
+	 */
+	private static final int SEARCH_CHUNK_LENGTH= 1 << 18;
+
+	/**
+	 * The number of characters a sequential search reads between two checks for cancellation.
+	 * @since 3.15
+	 */
+	private static final int CANCELLATION_CHECK_LENGTH= 1 << 16;
 
 	/**
 	 * The adapted document.
@@ -159,21 +186,8 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 			if (startOffset < 0 || startOffset > length())
 				throw new BadLocationException();
 
-			int patternFlags= 0;
-
-			if (regExSearch) {
-				patternFlags |= Pattern.MULTILINE;
-				findString= substituteLinebreak(findString);
-			}
-
-			if (!caseSensitive)
-				patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
-
-			if (!regExSearch)
-				findString= asRegPattern(findString);
-
-			if (wholeWord)
-				findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+			int patternFlags= getPatternFlags(caseSensitive, regExSearch);
+			findString= getPatternString(findString, wholeWord, regExSearch);
 
 			fFindReplaceMatchOffset= startOffset;
 			if (fFindReplaceMatcher != null && fFindReplaceMatcher.pattern().pattern().equals(findString) && fFindReplaceMatcher.pattern().flags() == patternFlags) {
@@ -189,29 +203,13 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		}
 
 		if (operationCode == REPLACE || operationCode == REPLACE_FIND_NEXT) {
-			if (regExSearch) {
-				Pattern pattern= fFindReplaceMatcher.pattern();
-				String prevMatch= fFindReplaceMatcher.group();
-				try {
-					replaceText= interpretReplaceEscapes(replaceText, prevMatch);
-					Matcher replaceTextMatcher= pattern.matcher(prevMatch);
-					replaceText= replaceTextMatcher.replaceFirst(replaceText);
-				} catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
-					// These exceptions are thrown by Matcher#replaceFirst(), capturing information about
-					// invalid regular expression patterns, such as unfinished character escape sequences
-					// at the end of the pattern
-					throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
-				}
-			}
+			if (regExSearch)
+				replaceText= interpretRegExReplace(fFindReplaceMatcher.pattern(), fFindReplaceMatcher.group(), replaceText);
 
 			int offset= fFindReplaceMatcher.start();
 			int length= fFindReplaceMatcher.group().length();
 
-			if (fDocument instanceof IRepairableDocumentExtension
-					&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(offset, length, replaceText)) {
-				String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
-				throw new PatternSyntaxException(message, replaceText, offset);
-			}
+			checkLineInformationRepair(offset, length, replaceText);
 
 			fDocument.replace(offset, length, replaceText);
 			fFindReplaceState= operationCode;
@@ -267,6 +265,86 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return null;
 	}
 
+	/**
+	 * Returns the flags of the pattern used to search for a find string.
+	 *
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param regExSearch if <code>true</code> the find string represents a regular expression
+	 * @return the pattern flags
+	 * @since 3.15
+	 */
+	private static int getPatternFlags(boolean caseSensitive, boolean regExSearch) {
+		int patternFlags= 0;
+		if (regExSearch)
+			patternFlags |= Pattern.MULTILINE;
+		if (!caseSensitive)
+			patternFlags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+		return patternFlags;
+	}
+
+	/**
+	 * Converts a find string into the regular expression used to search for it.
+	 *
+	 * @param findString the string to find
+	 * @param wholeWord indicates whether the find string should only match whole words
+	 * @param regExSearch if <code>true</code> the find string represents a regular expression
+	 * @return the regular expression
+	 * @throws PatternSyntaxException if \R is used at an illegal position
+	 * @since 3.15
+	 */
+	private String getPatternString(String findString, boolean wholeWord, boolean regExSearch) {
+		if (regExSearch)
+			findString= substituteLinebreak(findString);
+		else
+			findString= asRegPattern(findString);
+
+		if (wholeWord)
+			findString= "\\b" + findString + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+		return findString;
+	}
+
+	/**
+	 * Computes the text that replaces a regular expression match.
+	 *
+	 * @param pattern the pattern that produced the match
+	 * @param foundText the matched text
+	 * @param replaceText the replace pattern
+	 * @return the replacement text
+	 * @throws PatternSyntaxException if the replace pattern is invalid
+	 * @since 3.15
+	 */
+	private String interpretRegExReplace(Pattern pattern, String foundText, String replaceText) {
+		try {
+			replaceText= interpretReplaceEscapes(replaceText, foundText);
+			Matcher replaceTextMatcher= pattern.matcher(foundText);
+			return replaceTextMatcher.replaceFirst(replaceText);
+		} catch (IndexOutOfBoundsException | IllegalArgumentException ex) {
+			// These exceptions are thrown by Matcher#replaceFirst(), capturing information about
+			// invalid regular expression patterns, such as unfinished character escape sequences
+			// at the end of the pattern
+			throw new PatternSyntaxException(ex.getLocalizedMessage(), replaceText, -1);
+		}
+	}
+
+	/**
+	 * Makes sure that replacing the given range with the given text does not require
+	 * the line information of the document to be repaired.
+	 *
+	 * @param offset the offset of the replaced range
+	 * @param length the length of the replaced range
+	 * @param replaceText the replacement text
+	 * @throws BadLocationException if the range is not a valid range of the document
+	 * @throws PatternSyntaxException if the replacement would corrupt the line information
+	 * @since 3.15
+	 */
+	private void checkLineInformationRepair(int offset, int length, String replaceText) throws BadLocationException {
+		if (fDocument instanceof IRepairableDocumentExtension
+				&& ((IRepairableDocumentExtension)fDocument).isLineInformationRepairNeeded(offset, length, replaceText)) {
+			String message= TextMessages.getString("FindReplaceDocumentAdapter.incompatibleLineDelimiter"); //$NON-NLS-1$
+			throw new PatternSyntaxException(message, replaceText, offset);
+		}
+	}
+
 	/**
 	 * Substitutes \R in a regex find pattern with {@code (?>\r\n?|\n)}
 	 *
@@ -612,6 +690,248 @@ public class FindReplaceDocumentAdapter implements CharSequence {
 		return findReplace(REPLACE, -1, null, text, false, false, false, regExReplace);
 	}
 
+	/**
+	 * Reports the locations of all matches of a given string in the given range of this adapter's
+	 * document. The matches are the ones that repeated forward searches starting at
+	 * <code>offset</code> find. They are passed to the collector in ascending order while the
+	 * search proceeds. Matches do not overlap and empty matches are not reported.
+	 * <p>
+	 * The search runs on a copy of the document content taken when this method is called. A literal
+	 * search in a large range is split into chunks that overlap by the length of the find string
+	 * and that are searched in parallel. A regular expression can match across any chunk boundary
+	 * and is always searched sequentially. The monitor is checked whenever a number of characters
+	 * has been scanned, independent of the number of matches.
+	 * </p>
+	 *
+	 * @param offset the offset of the range to search
+	 * @param length the length of the range to search
+	 * @param findString the string to find
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @param collector the consumer the matches are passed to
+	 * @param monitor the progress monitor to use for reporting progress and checking for cancellation,
+	 * 			or <code>null</code>
+	 * @throws BadLocationException if the range is not a valid range of the document
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @since 3.15
+	 */
+	public void findAll(int offset, int length, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, Consumer<? super IRegion> collector, IProgressMonitor monitor) throws BadLocationException {
+		Assert.isTrue(!(regExSearch && wholeWord));
+
+		if (offset < 0 || length < 0 || offset + length > length())
+			throw new BadLocationException();
+
+		if (findString == null || findString.isEmpty())
+			return;
+
+		Pattern pattern= Pattern.compile(getPatternString(findString, wholeWord, regExSearch), getPatternFlags(caseSensitive, regExSearch));
+		String text= fDocument.get();
+		int end= offset + length;
+
+		if (regExSearch || length < PARALLEL_SEARCH_THRESHOLD) {
+			SubMonitor progress= SubMonitor.convert(monitor, length);
+			try {
+				findMatches(pattern, text, offset, end, end, collector, progress);
+			} catch (StackOverflowError e) {
+				String message= TextMessages.getString("FindReplaceDocumentAdapter.patternTooComplex"); //$NON-NLS-1$
+				throw new PatternSyntaxException(message, findString, -1);
+			}
+		} else {
+			findMatchesInParallel(pattern, text, offset, end, findString.length(), collector, monitor);
+		}
+	}
+
+	/**
+	 * Searches a literal pattern in chunks that are searched in parallel. The chunks overlap by
+	 * the length of a match, so that every match is found by the chunk in which it starts. If the
+	 * last match of a chunk extends into the next chunk, the next chunk is searched again behind
+	 * that match. The matches of a chunk are reported as soon as all preceding chunks are done.
+	 *
+	 * @param pattern the literal pattern
+	 * @param text the text to search
+	 * @param offset the offset of the range to search
+	 * @param end the end offset of the range to search
+	 * @param matchLength the length of a match
+	 * @param collector the consumer the matches are passed to
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @since 3.15
+	 */
+	private static void findMatchesInParallel(Pattern pattern, String text, int offset, int end, int matchLength, Consumer<? super IRegion> collector, IProgressMonitor monitor) {
+		int chunks= (end - offset + SEARCH_CHUNK_LENGTH - 1) / SEARCH_CHUNK_LENGTH;
+		SubMonitor progress= SubMonitor.convert(monitor, chunks);
+
+		List<ForkJoinTask<List<IRegion>>> tasks= new ArrayList<>(chunks);
+		for (int i= 0; i < chunks; i++) {
+			int chunkStart= offset + i * SEARCH_CHUNK_LENGTH;
+			int chunkEnd= Math.min(chunkStart + SEARCH_CHUNK_LENGTH, end);
+			tasks.add(ForkJoinPool.commonPool().submit(() -> {
+				List<IRegion> chunkMatches= new ArrayList<>();
+				if (!progress.isCanceled())
+					findMatches(pattern, text, chunkStart, Math.min(chunkEnd + matchLength, end), chunkEnd, chunkMatches::add, null);
+				return chunkMatches;
+			}));
+		}
+
+		try {
+			int lastEnd= offset;
+			for (int i= 0; i < chunks; i++) {
+				List<IRegion> chunkMatches= tasks.get(i).join();
+				if (progress.isCanceled())
+					throw new OperationCanceledException();
+
+				if (!chunkMatches.isEmpty() && chunkMatches.get(0).getOffset() < lastEnd) {
+					int chunkEnd= Math.min(offset + (i + 1) * SEARCH_CHUNK_LENGTH, end);
+					chunkMatches.clear();
+					findMatches(pattern, text, lastEnd, Math.min(chunkEnd + matchLength, end), chunkEnd, chunkMatches::add, null);
+				}
+				if (!chunkMatches.isEmpty()) {
+					IRegion last= chunkMatches.get(chunkMatches.size() - 1);
+					lastEnd= last.getOffset() + last.getLength();
+					chunkMatches.forEach(collector);
+				}
+				progress.worked(1);
+			}
+		} finally {
+			for (ForkJoinTask<List<IRegion>> task : tasks)
+				task.cancel(false);
+		}
+	}
+
+	/**
+	 * Reports the non-empty matches of a pattern that start in the given range.
+	 *
+	 * @param pattern the pattern
+	 * @param text the text to search
+	 * @param from the offset at which the search starts
+	 * @param to the end offset of the region the matches must lie in
+	 * @param limit the offset at or behind which matches are no longer reported
+	 * @param collector the consumer the matches are passed to
+	 * @param monitor the progress monitor which is checked and advanced regularly, or <code>null</code>
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @since 3.15
+	 */
+	private static void findMatches(Pattern pattern, String text, int from, int to, int limit, Consumer<? super IRegion> collector, SubMonitor monitor) {
+		Matcher matcher= pattern.matcher(monitor != null ? new CancelableCharSequence(text, monitor) : text);
+		matcher.region(from, to);
+		matcher.useTransparentBounds(true);
+		matcher.useAnchoringBounds(false);
+
+		int reported= from;
+		while (matcher.find() && matcher.start() < limit) {
+			if (matcher.end() > matcher.start())
+				collector.accept(new Region(matcher.start(), matcher.end() - matcher.start()));
+
+			if (monitor != null) {
+				monitor.worked(matcher.end() - reported);
+				reported= matcher.end();
+			}
+		}
+	}
+
+	/**
+	 * A character sequence that checks a progress monitor for cancellation whenever
+	 * {@link #CANCELLATION_CHECK_LENGTH} characters have been read from it, so that a search can
+	 * be canceled even while it does not find any matches.
+	 *
+	 * @since 3.15
+	 */
+	private static final class CancelableCharSequence implements CharSequence {
+
+		private final String fText;
+		private final IProgressMonitor fMonitor;
+		private int fCountdown= CANCELLATION_CHECK_LENGTH;
+
+		CancelableCharSequence(String text, IProgressMonitor monitor) {
+			fText= text;
+			fMonitor= monitor;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (--fCountdown == 0) {
+				fCountdown= CANCELLATION_CHECK_LENGTH;
+				if (fMonitor.isCanceled())
+					throw new OperationCanceledException();
+			}
+			return fText.charAt(index);
+		}
+
+		@Override
+		public int length() {
+			return fText.length();
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return fText.subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return fText;
+		}
+	}
+
+	/**
+	 * Replaces all matches of a given string in the given range of this adapter's document. The
+	 * matches are the ones reported by
+	 * {@link #findAll(int, int, String, boolean, boolean, boolean, Consumer, IProgressMonitor)}.
+	 * <p>
+	 * The matches are replaced one after the other, starting with the last one. The monitor is only
+	 * checked while searching; the document is either not modified at all or all matches are
+	 * replaced.
+	 * </p>
+	 *
+	 * @param offset the offset of the range to search
+	 * @param length the length of the range to search
+	 * @param findString the string to find
+	 * @param replaceText the substitution text
+	 * @param caseSensitive indicates whether lower and upper case should be distinguished
+	 * @param wholeWord indicates whether the findString should be limited by white spaces as
+	 * 			defined by Character.isWhiteSpace. Must not be used in combination with <code>regExSearch</code>.
+	 * @param regExSearch if <code>true</code> findString represents a regular expression and
+	 * 			<code>replaceText</code> a regular expression replace pattern.
+	 * 			Must not be used in combination with <code>wholeWord</code>.
+	 * @param monitor the progress monitor to use for reporting progress and checking for cancellation,
+	 * 			or <code>null</code>
+	 * @return the number of replaced matches
+	 * @throws BadLocationException if the range is not a valid range of the document
+	 * @throws PatternSyntaxException if a regular expression has invalid syntax
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 * @since 3.15
+	 */
+	public int replaceAll(int offset, int length, String findString, String replaceText, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) throws BadLocationException {
+		List<IRegion> matches= new ArrayList<>();
+		findAll(offset, length, findString, caseSensitive, wholeWord, regExSearch, matches::add, monitor);
+		if (matches.isEmpty())
+			return 0;
+
+		Pattern pattern= regExSearch ? Pattern.compile(getPatternString(findString, false, true), getPatternFlags(caseSensitive, true)) : null;
+		String[] texts= new String[matches.size()];
+		for (int i= 0; i < texts.length; i++) {
+			IRegion match= matches.get(i);
+			String text= replaceText;
+			if (regExSearch)
+				text= interpretRegExReplace(pattern, fDocument.get(match.getOffset(), match.getLength()), replaceText);
+			checkLineInformationRepair(match.getOffset(), match.getLength(), text);
+			texts[i]= text;
+		}
+
+		// the document changes, so a pending find cannot be replaced any longer
+		fFindReplaceState= null;
+
+		for (int i= texts.length - 1; i >= 0; i--) {
+			IRegion match= matches.get(i);
+			fDocument.replace(match.getOffset(), match.getLength(), texts[i]);
+		}
+		return texts.length;
+	}
+
 	// ---------- CharSequence implementation ----------
 
 	@Override
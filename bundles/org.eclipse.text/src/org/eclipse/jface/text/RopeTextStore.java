@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.core.runtime.Assert;
+
+
+/**
+ * Implements a text store based on a balanced rope. The content is kept in immutable chunks of
+ * bounded size which form the leaves of a height balanced binary tree. Inner nodes store the
+ * length of their subtree, so locating an offset only requires a descent from the root.
+ * <p>
+ * <strong>Performance:</strong> Let <var>n</var> be the number of chunks. {@link #get(int)},
+ * {@link #replace(int, int, String) replace(int, int, <var>text</var>)} and
+ * {@linkplain #get(int, int) get(int, <var>length</var>)} perform in <i>O(log n)</i> plus the
+ * cost of copying <var>text</var> respectively <var>length</var> characters. Unlike
+ * {@link GapTextStore}, the cost of a change does not depend on its distance to the previous
+ * change, and the content is never re-allocated as a whole. {@link #set(String)} performs in
+ * <i>O(length)</i>.
+ * </p>
+ * <p>
+ * Since the tree is never modified in place, {@link #snapshot()} returns an independent copy of
+ * the store in constant time.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see GapTextStore
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class RopeTextStore implements ITextStore {
+
+	/** The default maximum number of characters stored in one chunk. */
+	private static final int DEFAULT_CHUNK_SIZE= 2048;
+
+	/**
+	 * A node of the rope. Nodes are immutable, which allows sharing them between snapshots.
+	 */
+	private static abstract class Node {
+
+		/** The number of characters in the subtree rooted at this node. */
+		final int length;
+
+		/** The height of the subtree rooted at this node, leaves have height 0. */
+		final int height;
+
+		Node(int length, int height) {
+			this.length= length;
+			this.height= height;
+		}
+	}
+
+	/** A leaf holding one chunk of text. */
+	private static final class Leaf extends Node {
+
+		final String text;
+
+		Leaf(String text) {
+			super(text.length(), 0);
+			this.text= text;
+		}
+	}
+
+	/** An inner node concatenating its two children. */
+	private static final class Branch extends Node {
+
+		final Node left;
+		final Node right;
+
+		Branch(Node left, Node right) {
+			super(left.length + right.length, Math.max(left.height, right.height) + 1);
+			this.left= left;
+			this.right= right;
+		}
+	}
+
+	/** The empty rope. */
+	private static final Node EMPTY= new Leaf(""); //$NON-NLS-1$
+
+	/** The maximum number of characters per chunk. */
+	private final int fChunkSize;
+
+	/** The root of the rope. */
+	private Node fRoot= EMPTY;
+
+	/** The leaf of the most recent single character access, or <code>null</code>. */
+	private Leaf fCachedLeaf;
+
+	/** The document offset of {@link #fCachedLeaf}. */
+	private int fCachedLeafOffset;
+
+	/**
+	 * Creates a new empty rope text store using the default chunk size.
+	 */
+	public RopeTextStore() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a new empty rope text store.
+	 *
+	 * @param chunkSize the maximum number of characters stored in one chunk of the rope
+	 *            (&gt;&nbsp;0). Small chunks make changes cheaper, large chunks reduce the memory
+	 *            overhead of the tree.
+	 */
+	public RopeTextStore(int chunkSize) {
+		Assert.isLegal(chunkSize > 0);
+		fChunkSize= chunkSize;
+	}
+
+	/**
+	 * Creates a rope text store sharing the given root.
+	 *
+	 * @param chunkSize the chunk size
+	 * @param root the root node
+	 */
+	private RopeTextStore(int chunkSize, Node root) {
+		fChunkSize= chunkSize;
+		fRoot= root;
+	}
+
+	/**
+	 * Returns a snapshot of the current content of this text store. The snapshot shares all
+	 * content with this store and is created in constant time. Subsequent changes of either store
+	 * do not affect the other one.
+	 *
+	 * @return an independent copy of this text store
+	 */
+	public RopeTextStore snapshot() {
+		return new RopeTextStore(fChunkSize, fRoot);
+	}
+
+	@Override
+	public char get(int offset) {
+		Leaf leaf= fCachedLeaf;
+		int leafOffset= fCachedLeafOffset;
+		if (leaf == null || offset < leafOffset || offset >= leafOffset + leaf.length) {
+			if (offset < 0 || offset >= fRoot.length)
+				throw new IndexOutOfBoundsException(offset);
+
+			Node node= fRoot;
+			leafOffset= 0;
+			while (node instanceof Branch) {
+				Branch branch= (Branch) node;
+				if (offset - leafOffset < branch.left.length) {
+					node= branch.left;
+				} else {
+					leafOffset+= branch.left.length;
+					node= branch.right;
+				}
+			}
+			leaf= (Leaf) node;
+			fCachedLeaf= leaf;
+			fCachedLeafOffset= leafOffset;
+		}
+		return leaf.text.charAt(offset - leafOffset);
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > fRoot.length)
+			throw new IndexOutOfBoundsException();
+
+		if (fRoot instanceof Leaf)
+			return ((Leaf) fRoot).text.substring(offset, offset + length);
+
+		StringBuilder buffer= new StringBuilder(length);
+		append(fRoot, offset, offset + length, buffer);
+		return buffer.toString();
+	}
+
+	/**
+	 * Appends the characters of <code>node</code> in <code>[start, end)</code> to the buffer.
+	 *
+	 * @param node the node
+	 * @param start the start offset relative to the node
+	 * @param end the exclusive end offset relative to the node
+	 * @param buffer the buffer to append to
+	 */
+	private static void append(Node node, int start, int end, StringBuilder buffer) {
+		while (start < end) {
+			if (node instanceof Leaf) {
+				buffer.append(((Leaf) node).text, start, end);
+				return;
+			}
+			Branch branch= (Branch) node;
+			int leftLength= branch.left.length;
+			if (start < leftLength) {
+				if (end <= leftLength) {
+					node= branch.left;
+					continue;
+				}
+				append(branch.left, start, leftLength, buffer);
+			}
+			start= Math.max(start - leftLength, 0);
+			end-= leftLength;
+			node= branch.right;
+		}
+	}
+
+	@Override
+	public int getLength() {
+		return fRoot.length;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (offset < 0 || length < 0 || offset + length > fRoot.length)
+			throw new IndexOutOfBoundsException();
+
+		if (text == null)
+			text= ""; //$NON-NLS-1$
+		if (length == 0 && text.isEmpty())
+			return;
+
+		fCachedLeaf= null;
+
+		// fast path: the change is confined to one chunk which does not overflow
+		Node root= replaceInLeaf(fRoot, offset, length, text);
+		if (root != null) {
+			fRoot= root;
+			return;
+		}
+
+		Node left= split(fRoot, offset, true);
+		Node right= split(fRoot, offset + length, false);
+		fRoot= join(join(left, build(text, 0, text.length())), right);
+	}
+
+	@Override
+	public void set(String text) {
+		fCachedLeaf= null;
+		fRoot= text == null ? EMPTY : build(text, 0, text.length());
+	}
+
+	/**
+	 * Replaces a range inside a single leaf by copying the path to that leaf. Returns
+	 * <code>null</code> if the range spans more than one leaf, or if the leaf would become empty
+	 * or exceed the chunk size.
+	 *
+	 * @param node the root of the subtree
+	 * @param offset the offset relative to the subtree
+	 * @param length the number of replaced characters
+	 * @param text the replacement text
+	 * @return the new root of the subtree, or <code>null</code> if the fast path does not apply
+	 */
+	private Node replaceInLeaf(Node node, int offset, int length, String text) {
+		if (node instanceof Leaf) {
+			String leafText= ((Leaf) node).text;
+			int newLength= leafText.length() - length + text.length();
+			if (newLength == 0 || newLength > fChunkSize)
+				return null;
+			StringBuilder buffer= new StringBuilder(newLength);
+			buffer.append(leafText, 0, offset);
+			buffer.append(text);
+			buffer.append(leafText, offset + length, leafText.length());
+			return new Leaf(buffer.toString());
+		}
+
+		Branch branch= (Branch) node;
+		int leftLength= branch.left.length;
+		if (offset + length <= leftLength) {
+			Node left= replaceInLeaf(branch.left, offset, length, text);
+			return left == null ? null : new Branch(left, branch.right);
+		}
+		if (offset >= leftLength) {
+			Node right= replaceInLeaf(branch.right, offset - leftLength, length, text);
+			return right == null ? null : new Branch(branch.left, right);
+		}
+		return null;
+	}
+
+	/**
+	 * Builds a balanced rope from a range of the given text.
+	 *
+	 * @param text the text
+	 * @param start the start of the range
+	 * @param end the exclusive end of the range
+	 * @return the root of the new rope
+	 */
+	private Node build(String text, int start, int end) {
+		int length= end - start;
+		if (length == 0)
+			return EMPTY;
+		if (length <= fChunkSize)
+			return new Leaf(text.substring(start, end));
+
+		int chunks= (length + fChunkSize - 1) / fChunkSize;
+		int middle= start + (chunks / 2) * fChunkSize;
+		return new Branch(build(text, start, middle), build(text, middle, end));
+	}
+
+	/**
+	 * Returns the part of the rope before or after the given offset.
+	 *
+	 * @param node the root of the rope
+	 * @param offset the offset to split at
+	 * @param head <code>true</code> to return the part before <code>offset</code>,
+	 *            <code>false</code> to return the part after it
+	 * @return the requested part of the rope
+	 */
+	private static Node split(Node node, int offset, boolean head) {
+		if (offset <= 0)
+			return head ? EMPTY : node;
+		if (offset >= node.length)
+			return head ? node : EMPTY;
+
+		if (node instanceof Leaf) {
+			String text= ((Leaf) node).text;
+			return new Leaf(head ? text.substring(0, offset) : text.substring(offset));
+		}
+
+		Branch branch= (Branch) node;
+		int leftLength= branch.left.length;
+		if (offset < leftLength) {
+			Node part= split(branch.left, offset, head);
+			return head ? part : join(part, branch.right);
+		}
+		Node part= split(branch.right, offset - leftLength, head);
+		return head ? join(branch.left, part) : part;
+	}
+
+	/**
+	 * Concatenates two ropes, keeping the result balanced.
+	 *
+	 * @param left the left rope
+	 * @param right the right rope
+	 * @return the concatenation of both ropes
+	 */
+	private static Node join(Node left, Node right) {
+		if (left.length == 0)
+			return right;
+		if (right.length == 0)
+			return left;
+
+		if (left.height > right.height + 1) {
+			Branch branch= (Branch) left;
+			return balance(branch.left, join(branch.right, right));
+		}
+		if (right.height > left.height + 1) {
+			Branch branch= (Branch) right;
+			return balance(join(left, branch.left), branch.right);
+		}
+		return new Branch(left, right);
+	}
+
+	/**
+	 * Creates a branch from two balanced subtrees whose heights differ by at most two, rotating
+	 * as necessary to restore the balance.
+	 *
+	 * @param left the left subtree
+	 * @param right the right subtree
+	 * @return the balanced branch
+	 */
+	private static Node balance(Node left, Node right) {
+		if (left.height > right.height + 1) {
+			Branch l= (Branch) left;
+			if (l.left.height >= l.right.height)
+				return new Branch(l.left, new Branch(l.right, right));
+			Branch lr= (Branch) l.right;
+			return new Branch(new Branch(l.left, lr.left), new Branch(lr.right, right));
+		}
+		if (right.height > left.height + 1) {
+			Branch r= (Branch) right;
+			if (r.right.height >= r.left.height)
+				return new Branch(new Branch(left, r.left), r.right);
+			Branch rl= (Branch) r.left;
+			return new Branch(new Branch(left, rl.left), new Branch(rl.right, r.right));
+		}
+		return new Branch(left, right);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.jface.text.IDocumentPartitionerExtension;
 import org.eclipse.jface.text.IDocumentPartitionerExtension2;
 import org.eclipse.jface.text.IDocumentPartitionerExtension3;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
@@ -54,6 +55,11 @@ import org.eclipse.jface.text.TypedRegion;
  * {@link #clearPositionCache()} after modifying the partitioner's positions.
  * The cached positions may be accessed through {@link #getPositions()}.
  * </p>
+ * <p>
+ * For large documents, {@link #setRescanLimit(int)} bounds the work done for a single
+ * document change. Partitions beyond the limit are then updated by the following document
+ * changes, or as soon as they are queried.
+ * </p>
  *
  * Originally since 3.1, but moved to org.eclipse.text in 3.14
  *
@@ -99,6 +105,31 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 * someone requests partition information.
 	 */
 	private Position[] fCachedPositions= null;
+	/**
+	 * The maximal number of characters rescanned synchronously after a document change, or
+	 * <code>0</code> if the partitioning is always updated completely.
+	 * @since 3.15
+	 */
+	private int fRescanLimit= 0;
+	/**
+	 * The offset from which on the partitioning has not been updated yet, or <code>-1</code> if
+	 * the partitioning is up to date. The offset is the end of a partition, so scanning may
+	 * continue at this offset without any partition context.
+	 * @since 3.15
+	 */
+	private int fResumeOffset= -1;
+	/**
+	 * The offset behind the last change which happened after the partitioning has been
+	 * suspended. Only partitions starting at or after this offset may be reused when scanning
+	 * continues.
+	 * @since 3.15
+	 */
+	private int fDirtyEndOffset= -1;
+	/**
+	 * The number of characters rescanned for the last document change.
+	 * @since 3.15
+	 */
+	private int fRescanLength= 0;
 	/** Debug option for cache consistency checking. */
 	private static final boolean CHECK_CACHE_CONSISTENCY= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/FastPartitioner/PositionCache"));  //$NON-NLS-1$//$NON-NLS-2$;
 
@@ -161,6 +192,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	protected void initialize() {
 		fIsInitialized= true;
+		fResumeOffset= -1;
+		fDirtyEndOffset= -1;
 		clearPositionCache();
 		fScanner.setRange(fDocument, 0, fDocument.getLength());
 
@@ -295,15 +328,46 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		if (!fIsInitialized)
 			return null;
 
+		boolean suspended= fResumeOffset != -1;
+		IRegion region= updatePartitioning(e);
+		if (suspended && fResumeOffset != -1 && fActiveRewriteSession == null) {
+			resumePartitioning();
+			region= createRegion();
+		}
+		return region;
+	}
+
+	/**
+	 * Updates the partitioning for the given document change.
+	 *
+	 * @param e the document event describing the document change
+	 * @return the region of the document in which the partition type changed or <code>null</code>
+	 * @since 3.15
+	 */
+	private IRegion updatePartitioning(DocumentEvent e) {
 		try {
 			Assert.isTrue(e.getDocument() == fDocument);
 
+			int newLength= e.getText() == null ? 0 : e.getText().length();
+			fRescanLength= 0;
+			if (fResumeOffset != -1) {
+				int endOffset= e.getOffset() + e.getLength();
+				fDirtyEndOffset= fDirtyEndOffset >= endOffset ? fDirtyEndOffset + newLength - e.getLength() : e.getOffset() + newLength;
+				if (e.getOffset() > fResumeOffset) {
+					// the change happened in the part which has not been partitioned yet
+					fPositionUpdater.update(e);
+					clearPositionCache();
+					rememberRegion(fResumeOffset, fDocument.getLength() - fResumeOffset);
+					return createRegion();
+				}
+				fResumeOffset= fResumeOffset >= endOffset ? fResumeOffset + newLength - e.getLength() : e.getOffset();
+			}
+
 			Position[] category= getPositions();
 			IRegion line= fDocument.getLineInformationOfOffset(e.getOffset());
 			int reparseStart= line.getOffset();
 			int partitionStart= -1;
 			String contentType= null;
-			int newLength= e.getText() == null ? 0 : e.getText().length();
 
 			int first= fDocument.computeIndexInCategory(fPositionCategory, reparseStart);
 			if (first > 0)	{
@@ -346,6 +410,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			while (!token.isEOF()) {
 
 				contentType= getTokenContentType(token);
+				fRescanLength= fScanner.getTokenOffset() + fScanner.getTokenLength() - reparseStart;
 
 				if (!isSupportedContentType(contentType)) {
 					token= fScanner.nextToken();
@@ -377,7 +442,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 				// if position already exists and we have scanned at least the
 				// area covered by the event, we are done
 				if (fDocument.containsPosition(fPositionCategory, start, length)) {
-					if (lastScannedPosition >= e.getOffset() + newLength)
+					if (lastScannedPosition >= e.getOffset() + newLength && isUpToDate(start, length))
 						return createRegion();
 					++ first;
 				} else {
@@ -390,9 +455,18 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 					}
 				}
 
+				// leave the remainder to be partitioned by the following changes
+				if (fRescanLimit > 0 && behindLastScannedPosition - reparseStart >= fRescanLimit && lastScannedPosition >= e.getOffset() + newLength) {
+					suspendPartitioning(category, first, behindLastScannedPosition);
+					rememberRegion(behindLastScannedPosition, fDocument.getLength() - behindLastScannedPosition);
+					return createRegion();
+				}
+
 				token= fScanner.nextToken();
 			}
 
+			fResumeOffset= -1;
+
 			first= fDocument.computeIndexInCategory(fPositionCategory, behindLastScannedPosition);
 
 			clearPositionCache();
@@ -414,6 +488,181 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		return createRegion();
 	}
 
+	/**
+	 * Tells whether the partitioning following the given existing partition is known to be up to
+	 * date, so that scanning may stop at it. If the partition lies beyond the area which has
+	 * not been partitioned yet, the partitioning is marked as being up to date again.
+	 *
+	 * @param offset the offset of the partition
+	 * @param length the length of the partition
+	 * @return <code>true</code> if the following partitions are up to date
+	 * @since 3.15
+	 */
+	private boolean isUpToDate(int offset, int length) {
+		if (fResumeOffset == -1 || offset + length <= fResumeOffset)
+			return true;
+		if (offset >= fDirtyEndOffset) {
+			fResumeOffset= -1;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Stops updating the partitioning behind the given offset. The remaining partitions are kept
+	 * as hints and are verified when scanning continues.
+	 *
+	 * @param category the partitioner's positions as they were before scanning started
+	 * @param first the index of the first position in <code>category</code> which has not
+	 *            been verified yet
+	 * @param offset the offset behind the last scanned partition
+	 * @throws BadPositionCategoryException if the partitioner's category is not registered
+	 * @since 3.15
+	 */
+	private void suspendPartitioning(Position[] category, int first, int offset) throws BadPositionCategoryException {
+		// positions starting in the scanned area have not been confirmed by the scanner
+		while (first < category.length && category[first].offset < offset) {
+			Position p= category[first++];
+			fDocument.removePosition(fPositionCategory, p);
+			rememberRegion(p.offset, p.length);
+		}
+		fDirtyEndOffset= fResumeOffset == -1 ? offset : Math.max(fDirtyEndOffset, offset);
+		fResumeOffset= offset;
+	}
+
+	/**
+	 * Completes a suspended partitioning up to the given offset, so that queries at the offset
+	 * return the partitions matching the current document content. If the document is
+	 * {@link ISynchronizable}, this is done while holding its lock object, which it also holds
+	 * while it is changed.
+	 *
+	 * @param offset the queried offset
+	 * @since 3.15
+	 */
+	private void completePartitioning(int offset) {
+		if (fResumeOffset == -1 || offset < fResumeOffset)
+			return;
+
+		Object lockObject= fDocument instanceof ISynchronizable ? ((ISynchronizable) fDocument).getLockObject() : null;
+		if (lockObject == null)
+			lockObject= this;
+		synchronized (lockObject) {
+			while (fResumeOffset != -1 && offset >= fResumeOffset) {
+				int resumeOffset= fResumeOffset;
+				resumePartitioning();
+				if (fResumeOffset == resumeOffset)
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Continues updating a suspended partitioning for at most the rescan limit.
+	 *
+	 * @since 3.15
+	 */
+	private void resumePartitioning() {
+		try {
+			int resumeOffset= fResumeOffset;
+			clearPositionCache();
+			Position[] category= getPositions();
+			int first= fDocument.computeIndexInCategory(fPositionCategory, resumeOffset);
+			fScanner.setPartialRange(fDocument, resumeOffset, fDocument.getLength() - resumeOffset, null, resumeOffset);
+
+			IToken token= fScanner.nextToken();
+			while (!token.isEOF()) {
+
+				String contentType= getTokenContentType(token);
+				if (!isSupportedContentType(contentType)) {
+					token= fScanner.nextToken();
+					continue;
+				}
+
+				int start= fScanner.getTokenOffset();
+				int length= fScanner.getTokenLength();
+				int behindLastScannedPosition= start + length;
+				fRescanLength+= length;
+
+				// remove all positions which have not been confirmed
+				while (first < category.length) {
+					TypedPosition p= (TypedPosition) category[first];
+					if (p.offset < start || p.offset == start && (p.length != length || !contentType.equals(p.getType()))) {
+						fDocument.removePosition(fPositionCategory, p);
+						rememberRegion(p.offset, p.length);
+						++ first;
+					} else
+						break;
+				}
+
+				if (first < category.length && category[first].offset == start) {
+					if (isUpToDate(start, length))
+						return;
+					++ first;
+				} else {
+					try {
+						fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
+						rememberRegion(start, length);
+					} catch (BadLocationException x) {
+					}
+				}
+
+				if (behindLastScannedPosition - resumeOffset >= fRescanLimit) {
+					suspendPartitioning(category, first, behindLastScannedPosition);
+					return;
+				}
+
+				token= fScanner.nextToken();
+			}
+
+			while (first < category.length) {
+				Position p= category[first++];
+				fDocument.removePosition(fPositionCategory, p);
+				rememberRegion(p.offset, p.length);
+			}
+			fResumeOffset= -1;
+
+		} catch (BadPositionCategoryException x) {
+			// should never happen on connected documents
+		} catch (BadLocationException x) {
+		} finally {
+			clearPositionCache();
+		}
+	}
+
+	/**
+	 * Limits the number of characters which are rescanned synchronously when the document
+	 * changes. If a change affects the partitioning beyond this limit, for example because the
+	 * start of a multi-line comment has been inserted, the partitioning is reported as changed up
+	 * to the end of the document, and each following document change continues to update the
+	 * remaining partitioning for at most the limit. Queries beyond the updated part first
+	 * complete the partitioning up to the queried offset. If the document is
+	 * {@link ISynchronizable}, they do so while holding the document's lock object.
+	 * <p>
+	 * By default, the partitioning is always updated completely.
+	 * </p>
+	 *
+	 * @param limit the maximal number of characters to rescan for a document change, or
+	 *            <code>0</code> to always update the partitioning completely
+	 * @since 3.15
+	 */
+	public void setRescanLimit(int limit) {
+		Assert.isLegal(limit >= 0);
+		fRescanLimit= limit;
+	}
+
+	/**
+	 * Returns the number of characters which have been rescanned for the last document change,
+	 * including the characters of a suspended partitioning which have been rescanned
+	 * afterwards.
+	 *
+	 * @return the number of rescanned characters
+	 * @see #setRescanLimit(int)
+	 * @since 3.15
+	 */
+	public int getRescanLength() {
+		return fRescanLength;
+	}
+
 	/**
 	 * Returns the position in the partitoner's position category which is
 	 * close to the given offset. This is, the position has either an offset which
@@ -463,6 +712,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public String getContentType(int offset) {
 		checkInitialization();
+		completePartitioning(offset);
 
 		TypedPosition p= findClosestPosition(offset);
 		if (p != null && p.includes(offset))
@@ -480,6 +730,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public ITypedRegion getPartition(int offset) {
 		checkInitialization();
+		completePartitioning(offset);
 
 		try {
 
@@ -620,6 +871,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public ITypedRegion[] computePartitioning(int offset, int length, boolean includeZeroLengthPartitions) {
 		checkInitialization();
+		completePartitioning(offset + length);
 		List<TypedRegion> list= new ArrayList<>();
 
 		try {
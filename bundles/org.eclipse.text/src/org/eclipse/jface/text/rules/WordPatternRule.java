@@ -108,8 +108,8 @@ public class WordPatternRule extends SingleLineRule {
 	 * @param scanner the scanner to be used
 	 */
 	protected void unreadBuffer(ICharacterScanner scanner) {
-		fBuffer.insert(0, fStartSequence);
-		for (int i= fBuffer.length() - 1; i > 0; i--)
+		// the first character of the start sequence is not unread
+		for (int i= fBuffer.length() + fStartSequence.length - 1; i > 0; i--)
 			scanner.unread();
 	}
 }
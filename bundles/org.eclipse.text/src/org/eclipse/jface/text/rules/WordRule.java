@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jface.text.rules;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.eclipse.core.runtime.Assert;
@@ -51,6 +52,11 @@ public class WordRule implements IRule {
 	 * @since 3.3
 	 */
 	private boolean fIgnoreCase= false;
+	/**
+	 * Key used to look up the buffered word without creating a string.
+	 * @since 3.15
+	 */
+	private final BufferKey fKey= new BufferKey(fBuffer);
 
 
 	/**
@@ -144,12 +150,7 @@ public class WordRule implements IRule {
 				} while (c != ICharacterScanner.EOF && fDetector.isWordPart((char) c));
 				scanner.unread();
 
-				String buffer= fBuffer.toString();
-				// If case-insensitive, convert to lower case before accessing the map
-				if (fIgnoreCase)
-					buffer= buffer.toLowerCase();
-
-				IToken token= fWords.get(buffer);
+				IToken token= getWordToken();
 
 				if (token != null)
 					return token;
@@ -165,6 +166,33 @@ public class WordRule implements IRule {
 		return Token.UNDEFINED;
 	}
 
+	/**
+	 * Returns the token associated with the word in the buffer.
+	 *
+	 * @return the token of the word, or <code>null</code> if no token is associated with it
+	 * @since 3.15
+	 */
+	private IToken getWordToken() {
+		if (fWords.isEmpty())
+			return null;
+
+		// hash maps compare the given key with the stored strings, so no string needs to be created
+		Class<?> mapClass= fWords.getClass();
+		if ((mapClass == HashMap.class || mapClass == LinkedHashMap.class) && (!fIgnoreCase || BufferKey.hasLocaleIndependentLowerCase(fBuffer))) {
+			fKey.fIgnoreCase= fIgnoreCase;
+			// HashMap calls fKey.equals(storedString), which BufferKey implements for strings
+			@SuppressWarnings("unlikely-arg-type")
+			IToken token= fWords.get(fKey);
+			return token;
+		}
+
+		String buffer= fBuffer.toString();
+		// If case-insensitive, convert to lower case before accessing the map
+		if (fIgnoreCase)
+			buffer= buffer.toLowerCase();
+		return fWords.get(buffer);
+	}
+
 	/**
 	 * Returns the characters in the buffer to the scanner.
 	 *
@@ -175,4 +203,67 @@ public class WordRule implements IRule {
 			scanner.unread();
 	}
 
+
+	/**
+	 * A view on the word buffer which is equal to the strings with the same characters. Its hash
+	 * code is computed like {@link String#hashCode()}.
+	 *
+	 * @since 3.15
+	 */
+	private static final class BufferKey {
+
+		/** The buffer holding the word. */
+		private final StringBuilder fChars;
+		/** Tells whether the word is compared in lower case. */
+		boolean fIgnoreCase;
+
+		BufferKey(StringBuilder chars) {
+			fChars= chars;
+		}
+
+		/**
+		 * Tells whether {@link String#toLowerCase()} converts the given characters the same way
+		 * in every locale, which is the case for ASCII characters except <code>'I'</code>.
+		 *
+		 * @param chars the characters
+		 * @return <code>true</code> if the lower case conversion does not depend on the locale
+		 */
+		static boolean hasLocaleIndependentLowerCase(CharSequence chars) {
+			for (int i= 0; i < chars.length(); i++) {
+				char c= chars.charAt(i);
+				if (c > 127 || c == 'I')
+					return false;
+			}
+			return true;
+		}
+
+		private char charAt(int index) {
+			char c= fChars.charAt(index);
+			if (fIgnoreCase && c >= 'A' && c <= 'Z')
+				c+= 'a' - 'A';
+			return c;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash= 0;
+			for (int i= 0; i < fChars.length(); i++)
+				hash= 31 * hash + charAt(i);
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof String))
+				return false;
+			String word= (String) obj;
+			if (word.length() != fChars.length())
+				return false;
+			for (int i= 0; i < word.length(); i++) {
+				if (word.charAt(i) != charAt(i))
+					return false;
+			}
+			return true;
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,9 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -24,12 +26,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
 
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
-import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentListener;
@@ -238,6 +240,538 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		}
 	}
 
+	/**
+	 * The positions of the annotations of this model sorted by offset, in blocks of at most
+	 * {@link #MAX_BLOCK_SIZE} positions, together with a binary tree over the blocks that holds the
+	 * greatest end offset of the positions below each node. Answers region queries in O(log n + k)
+	 * for k positions found.
+	 * <p>
+	 * The index is updated when annotations are added, removed or moved, and when the document
+	 * changes. The end offsets in the tree are relative to the offset of the last position below
+	 * the node. The {@link org.eclipse.jface.text.DefaultPositionUpdater} shifts all positions
+	 * after a change by the same amount, and these end after the unchanged positions before the
+	 * change. Only the positions starting inside the change may change their order. So a document
+	 * change only sorts these again and updates the blocks of the positions touching the change
+	 * and the nodes above them. When the index cannot follow the changes, it is rebuilt from the
+	 * annotation map on the next query.
+	 * </p>
+	 *
+	 * @since 3.15
+	 */
+	private final class PositionIndex {
+
+		/** The maximal number of positions of a block. */
+		private static final int MAX_BLOCK_SIZE= 64;
+		/** The value of tree nodes without positions. */
+		private static final int NONE= Integer.MIN_VALUE / 2;
+
+		/**
+		 * Positions sorted by offset.
+		 */
+		private static final class Block {
+
+			/** The positions of this block sorted by offset. */
+			private final Position[] fPositions= new Position[MAX_BLOCK_SIZE];
+			/** The number of positions of this block. */
+			private int fSize;
+			/** The greatest end offset of the positions relative to the offset of the last position. */
+			private int fReach;
+
+			int getFirstOffset() {
+				return fPositions[0].offset;
+			}
+
+			int getLastOffset() {
+				return fPositions[fSize - 1].offset;
+			}
+
+			int indexOf(Position position) {
+				for (int i= 0; i < fSize; i++) {
+					if (fPositions[i] == position)
+						return i;
+				}
+				return -1;
+			}
+
+			void insert(int index, Position position) {
+				System.arraycopy(fPositions, index, fPositions, index + 1, fSize - index);
+				fPositions[index]= position;
+				fSize++;
+			}
+
+			void remove(int index) {
+				System.arraycopy(fPositions, index + 1, fPositions, index, fSize - index - 1);
+				fPositions[--fSize]= null;
+			}
+
+			void removeDeleted() {
+				int size= 0;
+				for (int i= 0; i < fSize; i++) {
+					if (!fPositions[i].isDeleted())
+						fPositions[size++]= fPositions[i];
+				}
+				Arrays.fill(fPositions, size, fSize, null);
+				fSize= size;
+			}
+
+			void computeReach() {
+				int last= getLastOffset();
+				int reach= NONE;
+				for (int i= 0; i < fSize; i++)
+					reach= Math.max(reach, fPositions[i].offset + fPositions[i].length - last);
+				fReach= reach;
+			}
+		}
+
+		/** The blocks sorted by offset, none of them is empty. */
+		private final List<Block> fBlocks= new ArrayList<>();
+		/** The tree of relative end offsets, node <code>i</code> has the children <code>2i</code> and <code>2i+1</code>. */
+		private int[] fTree= new int[2];
+		/** The number of leaves of the tree, a power of two. */
+		private int fLeaves= 1;
+		/** Tells whether the index is in sync with the annotation map and the document. */
+		private boolean fValid;
+		/** The document event which is about to be applied, or <code>null</code>. */
+		private DocumentEvent fEvent;
+		/** The indices of the blocks which have to be updated after {@link #fEvent} has been applied. */
+		private BitSet fTouchedBlocks;
+		/** The index of the first block with positions starting inside {@link #fEvent}. */
+		private int fFirstMovedBlock;
+		/** The index of the last block with positions starting inside {@link #fEvent}. */
+		private int fLastMovedBlock;
+
+		/**
+		 * Tells the index that it has to be rebuilt from the annotation map on the next query.
+		 */
+		synchronized void invalidate() {
+			fValid= false;
+			fEvent= null;
+			fTouchedBlocks= null;
+			fBlocks.clear();
+		}
+
+		/**
+		 * Tells the index that all annotations have been removed.
+		 */
+		synchronized void clear() {
+			if (fEvent != null) {
+				invalidate();
+			} else {
+				fBlocks.clear();
+				buildTree();
+			}
+		}
+
+		/**
+		 * Adds the position of an annotation which has been added to the model.
+		 *
+		 * @param position the position
+		 */
+		synchronized void add(Position position) {
+			if (!fValid)
+				return;
+			if (fEvent != null) {
+				invalidate();
+				return;
+			}
+			if (fBlocks.isEmpty()) {
+				Block block= new Block();
+				block.insert(0, position);
+				block.computeReach();
+				fBlocks.add(block);
+				buildTree();
+				return;
+			}
+			if (findBlockContaining(position) >= 0)
+				return;
+
+			int index= findBlock(position.offset);
+			Block block= fBlocks.get(index);
+			int i= block.fSize;
+			while (i > 0 && block.fPositions[i - 1].offset > position.offset)
+				i--;
+
+			if (block.fSize < MAX_BLOCK_SIZE) {
+				block.insert(i, position);
+				block.computeReach();
+				updatePath(index);
+				return;
+			}
+
+			int half= MAX_BLOCK_SIZE / 2;
+			Block next= new Block();
+			System.arraycopy(block.fPositions, half, next.fPositions, 0, half);
+			Arrays.fill(block.fPositions, half, MAX_BLOCK_SIZE, null);
+			block.fSize= half;
+			next.fSize= half;
+			if (i <= half)
+				block.insert(i, position);
+			else
+				next.insert(i - half, position);
+			block.computeReach();
+			next.computeReach();
+			fBlocks.add(index + 1, next);
+			buildTree();
+		}
+
+		/**
+		 * Removes the position of an annotation which has been removed from the model. Must be
+		 * called before the position is modified.
+		 *
+		 * @param position the position
+		 */
+		synchronized void remove(Position position) {
+			if (!fValid)
+				return;
+			if (fEvent != null) {
+				invalidate();
+				return;
+			}
+			int index= findBlockContaining(position);
+			if (index < 0) {
+				// deleted positions have already been removed when the document changed
+				if (!position.isDeleted())
+					invalidate();
+				return;
+			}
+
+			Block block= fBlocks.get(index);
+			block.remove(block.indexOf(position));
+			if (block.fSize == 0) {
+				fBlocks.remove(index);
+				buildTree();
+			} else if (index + 1 < fBlocks.size() && block.fSize + fBlocks.get(index + 1).fSize <= MAX_BLOCK_SIZE / 2) {
+				merge(index);
+			} else if (index > 0 && block.fSize + fBlocks.get(index - 1).fSize <= MAX_BLOCK_SIZE / 2) {
+				merge(index - 1);
+			} else {
+				block.computeReach();
+				updatePath(index);
+			}
+		}
+
+		/**
+		 * Remembers the blocks which are touched by the given document change.
+		 *
+		 * @param event the document event
+		 */
+		synchronized void documentAboutToBeChanged(DocumentEvent event) {
+			if (!fValid)
+				return;
+			if (fEvent != null) {
+				// the change of the previous event has not been reported
+				invalidate();
+				return;
+			}
+			BitSet touched= new BitSet();
+			if (!fBlocks.isEmpty()) {
+				int offset= event.getOffset();
+				int end= offset + event.getLength();
+				forEachBlock(1, fLeaves, offset, end, touched::set);
+				int low= 0;
+				int high= fBlocks.size();
+				while (low < high) {
+					int mid= (low + high) >>> 1;
+					if (fBlocks.get(mid).getLastOffset() < offset)
+						low= mid + 1;
+					else
+						high= mid;
+				}
+				fFirstMovedBlock= low;
+				fLastMovedBlock= findBlock(end);
+			} else {
+				fFirstMovedBlock= 0;
+				fLastMovedBlock= -1;
+			}
+			fEvent= event;
+			fTouchedBlocks= touched;
+		}
+
+		/**
+		 * Updates the blocks which have been touched by the given document change.
+		 *
+		 * @param event the document event
+		 */
+		synchronized void documentChanged(DocumentEvent event) {
+			if (!fValid)
+				return;
+			if (event != fEvent) {
+				invalidate();
+				return;
+			}
+			BitSet touched= fTouchedBlocks;
+			fEvent= null;
+			fTouchedBlocks= null;
+
+			for (int index= touched.nextSetBit(0); index >= 0; index= touched.nextSetBit(index + 1))
+				fBlocks.get(index).removeDeleted();
+			if (fFirstMovedBlock <= fLastMovedBlock) {
+				sort(fFirstMovedBlock, fLastMovedBlock);
+				touched.set(fFirstMovedBlock, fLastMovedBlock + 1);
+			}
+
+			boolean removedBlocks= false;
+			for (int index= touched.nextSetBit(0); index >= 0; index= touched.nextSetBit(index + 1)) {
+				Block block= fBlocks.get(index);
+				if (block.fSize == 0)
+					removedBlocks= true;
+				else
+					block.computeReach();
+			}
+
+			if (removedBlocks) {
+				fBlocks.removeIf(block -> block.fSize == 0);
+				buildTree();
+			} else {
+				for (int index= touched.nextSetBit(0); index >= 0; index= touched.nextSetBit(index + 1))
+					updatePath(index);
+			}
+		}
+
+		/**
+		 * Returns the positions inside the given region as specified by
+		 * {@link IAnnotationModelExtension2#getAnnotationIterator(int, int, boolean, boolean)},
+		 * sorted by offset.
+		 *
+		 * @param offset region offset
+		 * @param length region length
+		 * @param canStartBefore position can start before region
+		 * @param canEndAfter position can end after region
+		 * @return the positions in the region
+		 */
+		synchronized Position[] getPositions(int offset, int length, boolean canStartBefore, boolean canEndAfter) {
+			if (!fValid || fEvent != null)
+				rebuild();
+
+			// the positions in the region start before its end and end after its start
+			int end= offset + length;
+			List<Position> result= new ArrayList<>();
+			Position region= new Position(offset, length);
+			forEachBlock(1, fLeaves, offset, end, index -> {
+				Block block= fBlocks.get(index);
+				for (int i= 0; i < block.fSize; i++) {
+					Position position= block.fPositions[i];
+					if (position.offset > end)
+						break;
+					if (!position.isDeleted() && isWithinRegion(region, position, canStartBefore, canEndAfter))
+						result.add(position);
+				}
+			});
+			return result.toArray(new Position[result.size()]);
+		}
+
+		/**
+		 * Calls the action with the indices of the blocks which may contain positions that start
+		 * at or before <code>to</code> and end at or after <code>from</code>.
+		 *
+		 * @param node the tree node
+		 * @param span the number of leaves below the node
+		 * @param from the smallest end offset
+		 * @param to the greatest offset
+		 * @param action the action
+		 */
+		private void forEachBlock(int node, int span, int from, int to, IntConsumer action) {
+			int start= node * span - fLeaves;
+			if (start >= fBlocks.size() || fBlocks.get(start).getFirstOffset() > to)
+				return;
+			int last= fBlocks.get(Math.min(start + span, fBlocks.size()) - 1).getLastOffset();
+			if (last + fTree[node] < from)
+				return;
+			if (span == 1) {
+				action.accept(start);
+			} else {
+				forEachBlock(2 * node, span / 2, from, to, action);
+				forEachBlock(2 * node + 1, span / 2, from, to, action);
+			}
+		}
+
+		/**
+		 * Returns the index of the last block starting at or before the given offset, or
+		 * <code>0</code> if there is none.
+		 *
+		 * @param offset the offset
+		 * @return the index of the block
+		 */
+		private int findBlock(int offset) {
+			int low= 0;
+			int high= fBlocks.size();
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fBlocks.get(mid).getFirstOffset() <= offset)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return Math.max(0, low - 1);
+		}
+
+		/**
+		 * Returns the index of the block which contains the given position.
+		 *
+		 * @param position the position
+		 * @return the index of the block or <code>-1</code> if the index does not contain the
+		 *         position
+		 */
+		private int findBlockContaining(Position position) {
+			if (fBlocks.isEmpty())
+				return -1;
+			// positions with the same offset can be spread over several blocks
+			for (int index= findBlock(position.offset); index >= 0; index--) {
+				Block block= fBlocks.get(index);
+				if (block.indexOf(position) >= 0)
+					return index;
+				if (block.getFirstOffset() < position.offset)
+					break;
+			}
+			return -1;
+		}
+
+		/**
+		 * Sorts the positions of the given blocks, keeping the sizes of the blocks.
+		 *
+		 * @param from the index of the first block
+		 * @param to the index of the last block
+		 */
+		private void sort(int from, int to) {
+			List<Position> positions= new ArrayList<>();
+			for (int index= from; index <= to; index++) {
+				Block block= fBlocks.get(index);
+				positions.addAll(Arrays.asList(block.fPositions).subList(0, block.fSize));
+			}
+			positions.sort(Comparator.comparingInt(Position::getOffset));
+			int i= 0;
+			for (int index= from; index <= to; index++) {
+				Block block= fBlocks.get(index);
+				for (int j= 0; j < block.fSize; j++)
+					block.fPositions[j]= positions.get(i++);
+			}
+		}
+
+		/**
+		 * Merges the block at the given index with the next one.
+		 *
+		 * @param index the index of the block
+		 */
+		private void merge(int index) {
+			Block block= fBlocks.get(index);
+			Block next= fBlocks.remove(index + 1);
+			System.arraycopy(next.fPositions, 0, block.fPositions, block.fSize, next.fSize);
+			block.fSize+= next.fSize;
+			block.computeReach();
+			buildTree();
+		}
+
+		/**
+		 * Rebuilds the index from the annotation map.
+		 */
+		private void rebuild() {
+			IAnnotationMap annotations= getAnnotationMap();
+			List<Position> positions= new ArrayList<>();
+			Object mapLock= annotations.getLockObject();
+			if (mapLock == null) {
+				Iterator<Position> e= annotations.valuesIterator();
+				while (e.hasNext())
+					positions.add(e.next());
+			} else {
+				synchronized (mapLock) {
+					annotations.forEach((a, p) -> positions.add(p));
+				}
+			}
+			positions.removeIf(p -> p == null || p.isDeleted());
+			positions.sort(Comparator.comparingInt(Position::getOffset));
+
+			fBlocks.clear();
+			int size= MAX_BLOCK_SIZE / 2;
+			for (int start= 0; start < positions.size(); start+= size) {
+				Block block= new Block();
+				block.fSize= Math.min(size, positions.size() - start);
+				for (int i= 0; i < block.fSize; i++)
+					block.fPositions[i]= positions.get(start + i);
+				block.computeReach();
+				fBlocks.add(block);
+			}
+			buildTree();
+			fValid= true;
+			fEvent= null;
+			fTouchedBlocks= null;
+		}
+
+		private void buildTree() {
+			int leaves= 1;
+			while (leaves < fBlocks.size())
+				leaves<<= 1;
+			fLeaves= leaves;
+			if (fTree.length != 2 * fLeaves)
+				fTree= new int[2 * fLeaves];
+			for (int i= 0; i < fLeaves; i++)
+				fTree[fLeaves + i]= i < fBlocks.size() ? fBlocks.get(i).fReach : NONE;
+			for (int node= fLeaves - 1; node > 0; node--)
+				combine(node, fLeaves >> (31 - Integer.numberOfLeadingZeros(node)));
+		}
+
+		private void updatePath(int index) {
+			int node= fLeaves + index;
+			fTree[node]= fBlocks.get(index).fReach;
+			for (int span= 2; (node>>= 1) > 0; span<<= 1)
+				combine(node, span);
+		}
+
+		/**
+		 * Computes the value of a node from the values of its children, which are relative to the
+		 * offsets of their last positions.
+		 *
+		 * @param node the tree node
+		 * @param span the number of leaves below the node
+		 */
+		private void combine(int node, int span) {
+			int start= node * span - fLeaves;
+			int mid= start + span / 2;
+			if (mid >= fBlocks.size()) {
+				fTree[node]= fTree[2 * node];
+				return;
+			}
+			int leftLast= fBlocks.get(mid - 1).getLastOffset();
+			int rightLast= fBlocks.get(Math.min(start + span, fBlocks.size()) - 1).getLastOffset();
+			fTree[node]= Math.max(fTree[2 * node] + leftLast - rightLast, fTree[2 * node + 1]);
+		}
+
+		/**
+		 * Returns the last offset of the position, as used by {@link AbstractDocument} to sort
+		 * positions by their end.
+		 *
+		 * @param position the position
+		 * @return the last offset
+		 */
+		private static int getLastOffset(Position position) {
+			if (position.length == 0)
+				return position.offset;
+			return position.offset + position.length - 1;
+		}
+
+		/**
+		 * Tells whether the position is inside the region, with the same semantics as
+		 * {@link AbstractDocument#getPositions(String, int, int, boolean, boolean)}.
+		 *
+		 * @param region the region
+		 * @param position the position
+		 * @param canStartBefore position can start before region
+		 * @param canEndAfter position can end after region
+		 * @return <code>true</code> if the position is inside the region
+		 */
+		private static boolean isWithinRegion(Position region, Position position, boolean canStartBefore, boolean canEndAfter) {
+			if (canStartBefore && canEndAfter) {
+				return region.overlapsWith(position.getOffset(), position.getLength());
+			} else if (canStartBefore) {
+				return region.includes(getLastOffset(position));
+			} else if (canEndAfter) {
+				return region.includes(position.getOffset());
+			} else {
+				int start= position.getOffset();
+				return region.includes(start) && region.includes(start + position.getLength() - 1);
+			}
+		}
+	}
+
 	/**
 	 * Internal annotation model listener for forwarding annotation model changes from the attached models to the
 	 * registered listeners of the outer most annotation model.
@@ -298,6 +832,11 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.0
 	 */
 	private Object fModificationStamp= new Object();
+	/**
+	 * The index for region queries.
+	 * @since 3.15
+	 */
+	private final PositionIndex fPositionIndex= new PositionIndex();
 
 	/**
 	 * Creates a new annotation model. The annotation is empty, i.e. does not
@@ -312,10 +851,12 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			@Override
 			public void documentAboutToBeChanged(DocumentEvent event) {
+				fPositionIndex.documentAboutToBeChanged(event);
 			}
 
 			@Override
 			public void documentChanged(DocumentEvent event) {
+				fPositionIndex.documentChanged(event);
 				fDocumentChanged= true;
 			}
 		};
@@ -427,6 +968,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			addPosition(fDocument, position);
 			annotations.put(annotation, position);
 			fPositions.put(position, annotation);
+			fPositionIndex.add(position);
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationAdded(annotation);
 			}
@@ -483,6 +1025,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 		if (fDocument == null) {
 			fDocument= document;
+			fPositionIndex.invalidate();
 			Iterator<Position> e= getAnnotationMap().valuesIterator();
 			while (e.hasNext())
 				try {
@@ -538,6 +1081,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 				removePosition(document, p);
 			}
 			fDocument= null;
+			fPositionIndex.invalidate();
 		}
 	}
 
@@ -723,16 +1267,10 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		if (!(fDocument instanceof AbstractDocument))
 			return new RegionIterator(getAnnotationIterator(true), this, offset, length, canStartBefore, canEndAfter);
 
-		AbstractDocument document= (AbstractDocument) fDocument;
 		cleanup(true);
 
-		try {
-			Position[] positions= document.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, canStartBefore, canEndAfter);
-			return new AnnotationsInterator(positions, fPositions);
-		} catch (BadPositionCategoryException e) {
-			// can happen if e.g. the document doesn't contain such a category, or when removed in a different thread
-			return Collections.<Annotation>emptyList().iterator();
-		}
+		Position[] positions= fPositionIndex.getPositions(offset, length, canStartBefore, canEndAfter);
+		return new AnnotationsInterator(positions, fPositions);
 	}
 
 	/**
@@ -815,6 +1353,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 		annotations.clear();
 		fPositions.clear();
+		fPositionIndex.clear();
 
 		if (fireModelChanged)
 			fireModelChanged();
@@ -845,6 +1384,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			annotations.remove(annotation);
 			fPositions.remove(p);
+			fPositionIndex.remove(p);
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationRemoved(annotation, p);
 			}
@@ -884,10 +1424,12 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 				if (position.getOffset() != p.getOffset() || position.getLength() != p.getLength()) {
 					fDocument.removePosition(p);
+					fPositionIndex.remove(p);
 					p.setOffset(position.getOffset());
 					p.setLength(position.getLength());
 					try {
 						fDocument.addPosition(p);
+						fPositionIndex.add(p);
 					} catch (BadLocationException e) {
 						// ignore invalid position
 					}
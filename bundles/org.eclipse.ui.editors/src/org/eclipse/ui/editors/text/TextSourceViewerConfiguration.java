@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -392,11 +392,25 @@ public class TextSourceViewerConfiguration extends SourceViewerConfiguration {
 			return null;
 
 		IReconcilingStrategy strategy= new SpellingReconcileStrategy(sourceViewer, spellingService);
-		MonoReconciler reconciler= new MonoReconciler(strategy, false);
+		MonoReconciler reconciler= new MonoReconciler(strategy, isIncrementalSpellingReconciler(sourceViewer));
 		reconciler.setDelay(500);
 		return reconciler;
 	}
 
+	/**
+	 * Tells whether the spelling reconciler returned by {@link #getReconciler(ISourceViewer)}
+	 * checks only the changed lines instead of the whole document after each change.
+	 * <p>
+	 * This implementation returns <code>false</code>. Subclasses may override.</p>
+	 *
+	 * @param sourceViewer the source viewer to be configured by this configuration
+	 * @return <code>true</code> if the spelling reconciler is incremental
+	 * @since 3.20
+	 */
+	protected boolean isIncrementalSpellingReconciler(ISourceViewer sourceViewer) {
+		return false;
+	}
+
 	@Override
 	public IQuickAssistAssistant getQuickAssistAssistant(ISourceViewer sourceViewer) {
 		if (fPreferenceStore == null || !fPreferenceStore.getBoolean(SpellingService.PREFERENCE_SPELLING_ENABLED))
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Vector Informatik GmbH and others.
+ * Copyright (c) 2023, 2026 Vector Informatik GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -355,6 +356,18 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 			return 0;
 		}
 
+		if (target instanceof IFindReplaceTargetExtension5 replaceAllTarget) {
+			int[] replaceCount = new int[1];
+			executeWithReplaceAllEnabled(() -> {
+				replaceCount[0] = replaceAllTarget.replaceAll(findString, replaceString,
+						isAvailableAndActive(SearchOptions.CASE_SENSITIVE), isAvailableAndActive(SearchOptions.WHOLE_WORD),
+						isAvailableAndActive(SearchOptions.REGEX), null);
+			});
+			if (replaceCount[0] != -1) {
+				return replaceCount[0];
+			}
+		}
+
 		List<Point> replacements = new ArrayList<>();
 		executeInForwardMode(() -> {
 			executeWithReplaceAllEnabled(() -> {
@@ -398,6 +411,15 @@ public class FindReplaceLogic implements IFindReplaceLogic {
 	 * @return the number of selected elements
 	 */
 	private int selectAll() {
+		if (target instanceof IFindReplaceTargetExtension5 selectAllTarget) {
+			int selectCount = selectAllTarget.findAndSelectAll(findString,
+					isAvailableAndActive(SearchOptions.CASE_SENSITIVE), isAvailableAndActive(SearchOptions.WHOLE_WORD),
+					isAvailableAndActive(SearchOptions.REGEX), null);
+			if (selectCount != -1) {
+				return selectCount;
+			}
+		}
+
 		List<Point> selections = new ArrayList<>();
 		executeInForwardMode(() -> {
 			Point currentSeletion = new Point(0, 0);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -170,6 +170,15 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	 * @since 3.2
 	 */
 	private DocumentEquivalenceClass fRightEquivalent;
+	/**
+	 * The reference document of the last initialization, whose line hashes are reused by the next
+	 * initialization if it has not been modified since.
+	 */
+	private IDocument fLastReference;
+	/** The modification stamp of <code>fLastReference</code> when its hashes were computed. */
+	private long fLastReferenceStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	/** The equivalence class of <code>fLastReference</code>. */
+	private DocumentEquivalenceClass fLastReferenceEquivalent;
 	/**
 	 * Flag to indicate whether a change has been made to the line table and any clients should
 	 * update their presentation.
@@ -582,6 +591,9 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				// to be able to deal with this.
 				left.addDocumentListener(DocumentLineDiffer.this);
 
+				// read the stamp before copying, so a concurrent change is never attributed to the copy
+				long referenceStamp= getModificationStamp(left);
+
 				// create the reference copy - note that any changes on the
 				// reference will trigger re-initialization anyway
 				reference= createCopy(left);
@@ -640,14 +652,18 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				}
 
 				IHashFunction hash= new DJBHashFunction();
-				DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(reference, hash);
+				DocumentEquivalenceClass leftEquivalent;
+				DocumentEquivalenceClass lastReferenceEquivalent= fLastReferenceEquivalent;
+				if (left == fLastReference && referenceStamp == fLastReferenceStamp && referenceStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+						&& lastReferenceEquivalent != null && lastReferenceEquivalent.getCount() == reference.getNumberOfLines())
+					leftEquivalent= new DocumentEquivalenceClass(reference, lastReferenceEquivalent);
+				else
+					leftEquivalent= new DocumentEquivalenceClass(reference, hash);
 				fLeftEquivalent= leftEquivalent;
-				IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
 
 				DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(actual, hash);
 				fRightEquivalent= rightEquivalent;
-				IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
-				ArrayList<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+				ArrayList<QuickDiffRangeDifference> diffs= computeDifferences(leftEquivalent, rightEquivalent, monitor);
 				// 7:	Reset the model to the just gotten differences
 				// 		re-inject stored events to get up to date.
 				synchronized (DocumentLineDiffer.this) {
@@ -656,6 +672,11 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 					// set the new differences so we can operate on them
 					fDifferences= diffs;
+
+					// the hashes of the reference are still valid if it is not modified until the next initialization
+					fLastReference= left;
+					fLastReferenceStamp= referenceStamp;
+					fLastReferenceEquivalent= leftEquivalent;
 				}
 
 				// re-inject events accumulated in the meantime.
@@ -756,6 +777,12 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			private IDocument createUnprotectedCopy(IDocument document) {
 				return new Document(document.get());
 			}
+
+			private long getModificationStamp(IDocument document) {
+				if (document instanceof IDocumentExtension4)
+					return ((IDocumentExtension4) document).getModificationStamp();
+				return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			}
 		};
 
 		fInitializationJob.setSystem(true);
@@ -1142,6 +1169,59 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		fLastDifference= null;
 	}
 
+	/**
+	 * Computes the differences between two documents. The unchanged lines at the start and at the
+	 * end of the documents are matched up front, so that only the lines in between, which are
+	 * usually few compared to the size of the documents, are passed to the range differencer.
+	 *
+	 * @param leftEquivalent the equivalence class of the left document
+	 * @param rightEquivalent the equivalence class of the right document
+	 * @param monitor the progress monitor, may be <code>null</code>
+	 * @return the differences, covering both documents
+	 */
+	private ArrayList<QuickDiffRangeDifference> computeDifferences(DocumentEquivalenceClass leftEquivalent, DocumentEquivalenceClass rightEquivalent, IProgressMonitor monitor) {
+		int leftCount= leftEquivalent.getCount();
+		int rightCount= rightEquivalent.getCount();
+		int max= Math.min(leftCount, rightCount);
+
+		int prefix= 0;
+		while (prefix < max && leftEquivalent.getHash(prefix) == rightEquivalent.getHash(prefix))
+			prefix++;
+		int suffix= 0;
+		while (suffix < max - prefix && leftEquivalent.getHash(leftCount - 1 - suffix) == rightEquivalent.getHash(rightCount - 1 - suffix))
+			suffix++;
+
+		ArrayList<QuickDiffRangeDifference> diffs;
+		ILineRange leftRange= new LineRange(prefix, leftCount - prefix - suffix);
+		ILineRange rightRange= new LineRange(prefix, rightCount - prefix - suffix);
+		if (leftRange.getNumberOfLines() == 0 && rightRange.getNumberOfLines() == 0) {
+			diffs= new ArrayList<>();
+		} else {
+			IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, leftRange);
+			IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, rightRange);
+			diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+			for (QuickDiffRangeDifference d : diffs) {
+				d.shiftLeft(prefix);
+				d.shiftRight(prefix);
+			}
+		}
+
+		if (prefix > 0) {
+			if (!diffs.isEmpty() && diffs.get(0).kind() == RangeDifference.NOCHANGE)
+				diffs.get(0).extendStart(-prefix);
+			else
+				diffs.add(0, new QuickDiffRangeDifference(RangeDifference.NOCHANGE, 0, prefix, 0, prefix));
+		}
+		if (suffix > 0) {
+			QuickDiffRangeDifference last= diffs.isEmpty() ? null : diffs.get(diffs.size() - 1);
+			if (last != null && last.kind() == RangeDifference.NOCHANGE)
+				last.extendEnd(suffix);
+			else
+				diffs.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, rightCount - suffix, suffix, leftCount - suffix, suffix));
+		}
+		return diffs;
+	}
+
 	/**
 	 * Converts a {@code RangeDifference[]} into an {@code ArrayList<QuickDiffRangeDifference>}.
 	 * This is unsafe in general, but OK if used carefully.
@@ -1457,6 +1537,9 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			fRightDocument= null;
 			fRightEquivalent= null;
 
+			fLastReference= null;
+			fLastReferenceEquivalent= null;
+
 			fDifferences.clear();
 		}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -77,9 +77,7 @@ public final class DocEquivalenceComparator implements IRangeComparator {
 		if (other instanceof DocEquivalenceComparator) {
 			DocEquivalenceComparator dec= (DocEquivalenceComparator) other;
 			try {
-				Hash ourHash= getHash(thisIndex);
-				Hash otherHash= dec.getHash(otherIndex);
-				return ourHash.equals(otherHash);
+				return getHash(thisIndex) == dec.getHash(otherIndex);
 			} catch (ConcurrentModificationException e) {
 				fSkip= true;
 			} catch (IndexOutOfBoundsException e) {
@@ -89,7 +87,7 @@ public final class DocEquivalenceComparator implements IRangeComparator {
 		return false;
 	}
 
-	Hash getHash(int index) {
+	int getHash(int index) {
 		return fEquivalenceClass.getHash(fLineOffset + index);
 	}
 
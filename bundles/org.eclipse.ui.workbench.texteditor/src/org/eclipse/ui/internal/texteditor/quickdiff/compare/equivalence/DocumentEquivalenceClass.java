@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,7 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.ConcurrentModificationException;
 
 import org.eclipse.core.runtime.Assert;
@@ -26,13 +24,20 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 
 /**
+ * The line hashes of a document. Two lines are equivalent if the hash codes of their
+ * {@link Hash}es are equal. The hash codes are kept in a primitive array and are computed lazily.
+ *
  * @since 3.2
  */
 public final class DocumentEquivalenceClass {
 
 	private static final boolean DEBUG= false;
 
-	private final ArrayList<Hash> fHashes;
+	/** Marks a line whose hash has not been computed yet, hash codes are stored as unsigned ints. */
+	private static final long UNKNOWN= -1;
+
+	private long[] fHashes;
+	private int fCount;
 	private IDocument fDocument;
 	private final IHashFunction fHashFunction;
 
@@ -42,26 +47,43 @@ public final class DocumentEquivalenceClass {
 
 	public DocumentEquivalenceClass(IDocument document, IHashFunction hashFunction) {
 		fDocument= document;
-		Hash[] nulls= new Hash[fDocument.getNumberOfLines()];
-		fHashes= new ArrayList<>(Arrays.asList(nulls));
+		fCount= fDocument.getNumberOfLines();
+		fHashes= new long[fCount];
+		Arrays.fill(fHashes, UNKNOWN);
 
 		if (hashFunction == null)
 			throw new NullPointerException("hashFunction"); //$NON-NLS-1$
 		fHashFunction= hashFunction;
 	}
 
+	/**
+	 * Creates an equivalence class for a document with the same content as the document of the
+	 * given equivalence class, reusing the hashes computed so far.
+	 *
+	 * @param document the document, must have the same content as the document of
+	 *            <code>equivalenceClass</code>
+	 * @param equivalenceClass the equivalence class to copy the hashes from
+	 */
+	public DocumentEquivalenceClass(IDocument document, DocumentEquivalenceClass equivalenceClass) {
+		Assert.isLegal(document.getNumberOfLines() == equivalenceClass.fCount);
+		fDocument= document;
+		fCount= equivalenceClass.fCount;
+		fHashes= Arrays.copyOf(equivalenceClass.fHashes, fCount);
+		fHashFunction= equivalenceClass.fHashFunction;
+	}
+
 	/**
 	 * Returns the equivalence hash for line <code>line</code>.
 	 *
 	 * @param line the line for which to get the equivalent hash
-	 * @return the hash in the equivalence class defined by the hash
+	 * @return the hash code of the hash in the equivalence class defined by the hash
 	 *         function
 	 * @throws IndexOutOfBoundsException if <code>line</code> is not a
 	 *         legal document line
 	 * @throws ConcurrentModificationException if the document is
 	 *         modified concurrently to this method call
 	 */
-	public Hash getHash(int line) {
+	public int getHash(int line) {
 		try {
 			return internalGetHash(line);
 		} catch (BadLocationException x) {
@@ -69,19 +91,22 @@ public final class DocumentEquivalenceClass {
 		}
 	}
 
-	private Hash internalGetHash(int line) throws BadLocationException {
-		Hash hash= fHashes.get(line);
-		if (hash == null) {
+	private int internalGetHash(int line) throws BadLocationException {
+		if (line < 0 || line >= fCount)
+			throw new IndexOutOfBoundsException(line);
+
+		long hash= fHashes[line];
+		if (hash == UNKNOWN) {
 			if (fDocument == null)
 				throw new AssertionError("hash cannot be null after loadAndForget"); //$NON-NLS-1$
 
 			IRegion lineRegion= fDocument.getLineInformation(line);
 			String lineContents= fDocument.get(lineRegion.getOffset(), lineRegion.getLength());
-			hash= fHashFunction.computeHash(lineContents);
-			fHashes.set(line, hash);
+			hash= Integer.toUnsignedLong(fHashFunction.computeHash(lineContents).hashCode());
+			fHashes[line]= hash;
 		}
 
-		return hash;
+		return (int) hash;
 	}
 
 	/**
@@ -111,19 +136,22 @@ public final class DocumentEquivalenceClass {
 		int changed= Math.min(linesAfter, linesBefore);
 
 		if (delta > 0) {
-			Hash[] nulls= new Hash[delta];
-			fHashes.addAll(firstLine + changed, Arrays.asList(nulls));
+			if (fCount + delta > fHashes.length)
+				fHashes= Arrays.copyOf(fHashes, Math.max(fCount + delta, fHashes.length * 3 / 2));
+			System.arraycopy(fHashes, firstLine + changed, fHashes, firstLine + changed + delta, fCount - firstLine - changed);
+			Arrays.fill(fHashes, firstLine + changed, firstLine + changed + delta, UNKNOWN);
 		} else if (delta < 0) {
-			fHashes.subList(firstLine, firstLine - delta).clear();
+			System.arraycopy(fHashes, firstLine - delta, fHashes, firstLine, fCount - firstLine + delta);
 		}
-		Collections.fill(fHashes.subList(firstLine, firstLine + changed), null);
+		fCount+= delta;
+		Arrays.fill(fHashes, firstLine, firstLine + changed, UNKNOWN);
 	}
 
 	/**
 	 * @return the number of items
 	 */
 	public int getCount() {
-		return fHashes.size();
+		return fCount;
 	}
 
 	public void setDocument(IDocument document) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,10 +16,13 @@ package org.eclipse.ui.texteditor;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Point;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.text.IFindReplaceTarget;
 import org.eclipse.jface.text.IFindReplaceTargetExtension;
 import org.eclipse.jface.text.IFindReplaceTargetExtension3;
 import org.eclipse.jface.text.IFindReplaceTargetExtension4;
+import org.eclipse.jface.text.IFindReplaceTargetExtension5;
 import org.eclipse.jface.text.IRegion;
 
 
@@ -28,7 +31,7 @@ import org.eclipse.jface.text.IRegion;
  * @since 2.1
  */
 class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtension, IFindReplaceTargetExtension2,
-		IFindReplaceTargetExtension3, IFindReplaceTargetExtension4 {
+		IFindReplaceTargetExtension3, IFindReplaceTargetExtension4, IFindReplaceTargetExtension5 {
 
 	/** The editor */
 	private AbstractTextEditor fEditor;
@@ -179,6 +182,20 @@ class FindReplaceTarget implements IFindReplaceTarget, IFindReplaceTargetExtensi
 		}
 	}
 
+	@Override
+	public int findAndSelectAll(String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+		if (fTarget instanceof IFindReplaceTargetExtension5)
+			return ((IFindReplaceTargetExtension5) fTarget).findAndSelectAll(findString, caseSensitive, wholeWord, regExSearch, monitor);
+		return -1;
+	}
+
+	@Override
+	public int replaceAll(String findString, String replaceString, boolean caseSensitive, boolean wholeWord, boolean regExSearch, IProgressMonitor monitor) {
+		if (fTarget instanceof IFindReplaceTargetExtension5)
+			return ((IFindReplaceTargetExtension5) fTarget).replaceAll(findString, replaceString, caseSensitive, wholeWord, regExSearch, monitor);
+		return -1;
+	}
+
 	@Override
 	public void setScopeHighlightColor(Color color) {
 		if (getExtension() != null)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2008 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -63,6 +64,9 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 		/** Lock object for modifying the annotations. */
 		private Object fLockObject;
 
+		/** The checked regions, or <code>null</code> if the whole document is checked. */
+		private IRegion[] fRegions;
+
 		/**
 		 * Initializes this collector with the given annotation model.
 		 *
@@ -77,6 +81,17 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 				fLockObject= fAnnotationModel;
 		}
 
+		/**
+		 * Sets the regions checked in the next collecting pass. Only spelling annotations
+		 * overlapping these regions are replaced.
+		 *
+		 * @param regions the checked regions, or <code>null</code> if the whole document is
+		 *            checked
+		 */
+		void setRegions(IRegion[] regions) {
+			fRegions= regions;
+		}
+
 		@Override
 		public void accept(SpellingProblem problem) {
 			fAddAnnotations.put(new SpellingAnnotation(problem), new Position(problem.getOffset(), problem.getLength()));
@@ -92,28 +107,80 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 
 			List<Annotation> toRemove= new ArrayList<>();
 
+			// index the new problems by position, to keep the annotations which are found again
+			Map<Position, Annotation> added= new HashMap<>();
+			for (Entry<Annotation, Position> entry : fAddAnnotations.entrySet())
+				added.put(entry.getValue(), entry.getKey());
+
 			synchronized (fLockObject) {
 				Iterator<Annotation> iter= fAnnotationModel.getAnnotationIterator();
 				while (iter.hasNext()) {
 					Annotation annotation= iter.next();
-					if (SpellingAnnotation.TYPE.equals(annotation.getType()))
-						toRemove.add(annotation);
+					if (SpellingAnnotation.TYPE.equals(annotation.getType())) {
+						Position position= fAnnotationModel.getPosition(annotation);
+						if (!isChecked(position))
+							continue;
+						Annotation found= position != null ? added.get(position) : null;
+						if (found != null && isSameProblem(annotation, found, position)) {
+							added.remove(position);
+							fAddAnnotations.remove(found);
+						} else {
+							toRemove.add(annotation);
+						}
+					}
 				}
 				Annotation[] annotationsToRemove= toRemove.toArray(new Annotation[toRemove.size()]);
 
-				if (fAnnotationModel instanceof IAnnotationModelExtension)
-					((IAnnotationModelExtension)fAnnotationModel).replaceAnnotations(annotationsToRemove, fAddAnnotations);
-				else {
-					for (Annotation element : annotationsToRemove) {
-						fAnnotationModel.removeAnnotation(element);
-					}
-					for (Entry<Annotation, Position> entry : fAddAnnotations.entrySet()) {
-						fAnnotationModel.addAnnotation(entry.getKey(), entry.getValue());
+				if (annotationsToRemove.length > 0 || !fAddAnnotations.isEmpty()) {
+					if (fAnnotationModel instanceof IAnnotationModelExtension)
+						((IAnnotationModelExtension)fAnnotationModel).replaceAnnotations(annotationsToRemove, fAddAnnotations);
+					else {
+						for (Annotation element : annotationsToRemove) {
+							fAnnotationModel.removeAnnotation(element);
+						}
+						for (Entry<Annotation, Position> entry : fAddAnnotations.entrySet()) {
+							fAnnotationModel.addAnnotation(entry.getKey(), entry.getValue());
+						}
 					}
 				}
 			}
 
 			fAddAnnotations= null;
+			fRegions= null;
+		}
+
+		/**
+		 * Tells whether the annotation at the given position has been checked in this pass.
+		 *
+		 * @param position the position of the annotation, may be <code>null</code>
+		 * @return <code>true</code> if the annotation has been checked
+		 */
+		private boolean isChecked(Position position) {
+			if (fRegions == null || position == null)
+				return true;
+			for (IRegion region : fRegions) {
+				if (position.overlapsWith(region.getOffset(), region.getLength()))
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Tells whether an existing annotation reports the same problem as a new one, i.e. the new
+		 * problem is at the current position of the existing annotation and has the same message.
+		 *
+		 * @param existing the existing annotation
+		 * @param found the new annotation
+		 * @param position the current position of the existing annotation
+		 * @return <code>true</code> if the existing annotation can be kept
+		 */
+		private static boolean isSameProblem(Annotation existing, Annotation found, Position position) {
+			if (!(existing instanceof SpellingAnnotation) || !(found instanceof SpellingAnnotation))
+				return false;
+			SpellingProblem problem= ((SpellingAnnotation) existing).getSpellingProblem();
+			SpellingProblem foundProblem= ((SpellingAnnotation) found).getSpellingProblem();
+			return foundProblem.getOffset() == position.getOffset() && foundProblem.getLength() == position.getLength()
+					&& Objects.equals(problem.getMessage(), foundProblem.getMessage());
 		}
 	}
 
@@ -168,6 +235,8 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 	@Override
 	public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
 		try {
+			if (DirtyRegion.REMOVE.equals(dirtyRegion.getType()))
+				subRegion= new Region(subRegion.getOffset(), 0); // the removed text is gone
 			IRegion startLineInfo= fDocument.getLineInformationOfOffset(subRegion.getOffset());
 			IRegion endLineInfo= fDocument.getLineInformationOfOffset(subRegion.getOffset() + Math.max(0, subRegion.getLength() - 1));
 			if (startLineInfo.getOffset() == endLineInfo.getOffset())
@@ -178,6 +247,7 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 		} catch (BadLocationException e) {
 			subRegion= new Region(0, fDocument.getLength());
 		}
+
 		reconcile(subRegion);
 	}
 
@@ -187,6 +257,11 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 			return;
 
 		fRegions[0]= region;
+		if (fSpellingProblemCollector instanceof SpellingProblemCollector) {
+			// only the spelling annotations of the words in the checked region are replaced
+			boolean wholeDocument= region.getOffset() == 0 && region.getLength() == fDocument.getLength();
+			((SpellingProblemCollector) fSpellingProblemCollector).setRegions(wholeDocument ? null : fRegions);
+		}
 		fSpellingService.check(fDocument, fRegions, fSpellingContext, fSpellingProblemCollector, fProgressMonitor);
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,23 +13,43 @@
  *******************************************************************************/
 package org.eclipse.ui.examples.templateeditor.editors;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.RGB;
-import org.eclipse.swt.widgets.Display;
 
-public class ColorManager {
+import org.eclipse.jface.resource.ColorRegistry;
+import org.eclipse.jface.resource.JFaceResources;
+
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.TextAttributeRegistry;
 
-	protected Map<RGB, Color> fColorTable = new HashMap<>(10);
+/**
+ * Hands out the shared tokens of the editor's colors. The colors are registered with the JFace
+ * color registry, so the tokens follow color changes, e.g. on a theme switch.
+ */
+public class ColorManager {
 
-	public Color getColor(RGB rgb) {
-		Color color = fColorTable.get(rgb);
-		if (color == null) {
-			color = new Color(Display.getCurrent(), rgb);
-			fColorTable.put(rgb, color);
+	/**
+	 * Returns the shared token for the given color.
+	 *
+	 * @param key the symbolic name of the color
+	 * @param rgb the default value of the color
+	 * @return the shared token
+	 */
+	public IToken getToken(String key, RGB rgb) {
+		ColorRegistry registry = JFaceResources.getColorRegistry();
+		if (!registry.hasValueFor(key)) {
+			registry.put(key, rgb);
 		}
-		return color;
+		return TextAttributeRegistry.getDefault().getToken(key, null, SWT.NORMAL, null);
+	}
+
+	/**
+	 * Adds a viewer whose presentation is invalidated when the colors change.
+	 *
+	 * @param viewer the viewer
+	 */
+	public void addTextViewer(ITextViewer viewer) {
+		TextAttributeRegistry.getDefault().addTextViewer(viewer);
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2005 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,4 +21,10 @@ public interface IXMLColorConstants {
 	RGB STRING = new RGB(0, 128, 0);
 	RGB DEFAULT = new RGB(0, 0, 0);
 	RGB TAG = new RGB(0, 0, 128);
+
+	String XML_COMMENT_KEY = "org.eclipse.ui.examples.templateeditor.xmlComment"; //$NON-NLS-1$
+	String PROC_INSTR_KEY = "org.eclipse.ui.examples.templateeditor.procInstr"; //$NON-NLS-1$
+	String STRING_KEY = "org.eclipse.ui.examples.templateeditor.string"; //$NON-NLS-1$
+	String DEFAULT_KEY = "org.eclipse.ui.examples.templateeditor.default"; //$NON-NLS-1$
+	String TAG_KEY = "org.eclipse.ui.examples.templateeditor.tag"; //$NON-NLS-1$
 }
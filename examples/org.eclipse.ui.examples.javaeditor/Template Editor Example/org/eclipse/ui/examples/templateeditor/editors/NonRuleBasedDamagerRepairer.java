@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.jface.text.TextAttribute;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.presentation.IPresentationDamager;
 import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.rules.IToken;
 
 public class NonRuleBasedDamagerRepairer implements IPresentationDamager, IPresentationRepairer {
 
@@ -34,6 +35,8 @@ public class NonRuleBasedDamagerRepairer implements IPresentationDamager, IPrese
 	protected IDocument fDocument;
 	/** The default text attribute if non is returned as data by the current token */
 	protected TextAttribute fDefaultTextAttribute;
+	/** The token whose data is the text attribute, <code>null</code> if none */
+	private IToken fToken;
 
 	/**
 	 * Creates a new damager/repairer.
@@ -45,6 +48,17 @@ public class NonRuleBasedDamagerRepairer implements IPresentationDamager, IPrese
 		fDefaultTextAttribute= defaultTextAttribute;
 	}
 
+	/**
+	 * Creates a new damager/repairer which uses the text attribute of the given token. The text
+	 * attribute is read on each repair, so changes of the token's data are picked up.
+	 *
+	 * @param token the token whose data is the text attribute for all detected regions
+	 */
+	public NonRuleBasedDamagerRepairer(IToken token) {
+		Assert.isNotNull(token);
+		fToken= token;
+	}
+
 	@Override
 	public void setDocument(IDocument document) {
 		fDocument= document;
@@ -101,7 +115,8 @@ public class NonRuleBasedDamagerRepairer implements IPresentationDamager, IPrese
 
 	@Override
 	public void createPresentation(TextPresentation presentation, ITypedRegion region) {
-		addRange(presentation, region.getOffset(), region.getLength(), fDefaultTextAttribute);
+		TextAttribute attribute= fToken != null ? (TextAttribute) fToken.getData() : fDefaultTextAttribute;
+		addRange(presentation, region.getOffset(), region.getLength(), attribute);
 	}
 
 	/**
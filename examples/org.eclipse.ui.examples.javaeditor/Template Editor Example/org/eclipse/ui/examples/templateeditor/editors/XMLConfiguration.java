@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,14 +15,12 @@ package org.eclipse.ui.examples.templateeditor.editors;
 
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextDoubleClickStrategy;
-import org.eclipse.jface.text.TextAttribute;
 import org.eclipse.jface.text.contentassist.ContentAssistant;
 import org.eclipse.jface.text.contentassist.IContentAssistProcessor;
 import org.eclipse.jface.text.contentassist.IContentAssistant;
 import org.eclipse.jface.text.presentation.IPresentationReconciler;
 import org.eclipse.jface.text.presentation.PresentationReconciler;
 import org.eclipse.jface.text.rules.DefaultDamagerRepairer;
-import org.eclipse.jface.text.rules.Token;
 import org.eclipse.jface.text.source.ISourceViewer;
 
 import org.eclipse.ui.examples.templateeditor.template.XMLCompletionProcessor;
@@ -56,8 +54,7 @@ public class XMLConfiguration extends TextSourceViewerConfiguration {
 	protected XMLScanner getXMLScanner() {
 		if (scanner == null) {
 			scanner= new XMLScanner(colorManager);
-			scanner.setDefaultReturnToken(new Token(
-					new TextAttribute(colorManager.getColor(IXMLColorConstants.DEFAULT))));
+			scanner.setDefaultReturnToken(colorManager.getToken(IXMLColorConstants.DEFAULT_KEY, IXMLColorConstants.DEFAULT));
 		}
 		return scanner;
 	}
@@ -65,8 +62,7 @@ public class XMLConfiguration extends TextSourceViewerConfiguration {
 	protected XMLTagScanner getXMLTagScanner() {
 		if (tagScanner == null) {
 			tagScanner= new XMLTagScanner(colorManager);
-			tagScanner
-					.setDefaultReturnToken(new Token(new TextAttribute(colorManager.getColor(IXMLColorConstants.TAG))));
+			tagScanner.setDefaultReturnToken(colorManager.getToken(IXMLColorConstants.TAG_KEY, IXMLColorConstants.TAG));
 		}
 		return tagScanner;
 	}
@@ -74,6 +70,7 @@ public class XMLConfiguration extends TextSourceViewerConfiguration {
 	@Override
 	public IPresentationReconciler getPresentationReconciler(ISourceViewer sourceViewer) {
 		PresentationReconciler reconciler= new PresentationReconciler();
+		colorManager.addTextViewer(sourceViewer);
 
 		DefaultDamagerRepairer dr= new DefaultDamagerRepairer(getXMLTagScanner());
 		reconciler.setDamager(dr, XMLPartitionScanner.XML_TAG);
@@ -83,8 +80,8 @@ public class XMLConfiguration extends TextSourceViewerConfiguration {
 		reconciler.setDamager(dr, IDocument.DEFAULT_CONTENT_TYPE);
 		reconciler.setRepairer(dr, IDocument.DEFAULT_CONTENT_TYPE);
 
-		NonRuleBasedDamagerRepairer ndr= new NonRuleBasedDamagerRepairer(new TextAttribute(colorManager
-				.getColor(IXMLColorConstants.XML_COMMENT)));
+		NonRuleBasedDamagerRepairer ndr= new NonRuleBasedDamagerRepairer(colorManager.getToken(IXMLColorConstants.XML_COMMENT_KEY,
+				IXMLColorConstants.XML_COMMENT));
 		reconciler.setDamager(ndr, XMLPartitionScanner.XML_COMMENT);
 		reconciler.setRepairer(ndr, XMLPartitionScanner.XML_COMMENT);
 
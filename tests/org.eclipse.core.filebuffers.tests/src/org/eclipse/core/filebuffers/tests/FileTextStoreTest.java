@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.filebuffers.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.content.IContentDescription;
+
+import org.eclipse.core.internal.filebuffers.FileTextStore;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Tests for the {@link FileTextStore} and the file buffers whose content is read lazily.
+ */
+public class FileTextStoreTest {
+
+	/** The number of characters per page of the store. */
+	private static final int PAGE_SIZE= 16 * 1024;
+
+	private static final String LAZY_LOADING_THRESHOLD= "org.eclipse.core.filebuffers.lazyLoadingThreshold";
+
+	@Rule
+	public TemporaryFolder fFolder= new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		System.setProperty(LAZY_LOADING_THRESHOLD, "0");
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(LAZY_LOADING_THRESHOLD);
+	}
+
+	@Test
+	public void testGetAcrossPageBoundaries() throws Exception {
+		String content= createContent(3 * PAGE_SIZE + 100, "abc\n");
+		ILineTracker tracker= new DefaultLineTracker();
+		FileTextStore store= new FileTextStore(write(content, StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0, tracker);
+
+		assertEquals(content.length(), store.getLength());
+		assertEquals(content, store.get(0, store.getLength()));
+		for (int page= 1; page <= 3; page++) {
+			int boundary= page * PAGE_SIZE;
+			assertEquals(content.charAt(boundary - 1), store.get(boundary - 1));
+			assertEquals(content.charAt(boundary), store.get(boundary));
+			assertEquals(content.substring(boundary - 10, boundary + 10), store.get(boundary - 10, 20));
+		}
+		assertEquals(content.split("\n", -1).length, store.getLineTracker().getNumberOfLines());
+	}
+
+	@Test
+	public void testLineTrackerWithCRLFAcrossPageBoundary() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		while (buffer.length() < PAGE_SIZE - 1)
+			buffer.append('x');
+		buffer.append("\r\nnext line");
+		FileTextStore store= new FileTextStore(write(buffer.toString(), StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0, new DefaultLineTracker());
+		ILineTracker tracker= store.getLineTracker();
+
+		assertEquals(2, tracker.getNumberOfLines());
+		assertEquals(PAGE_SIZE + 1, tracker.getLineOffset(1));
+	}
+
+	@Test
+	public void testReplace() throws Exception {
+		String content= createContent(4 * PAGE_SIZE, "line\n");
+		FileTextStore store= new FileTextStore(write(content, StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0, null);
+		StringBuilder expected= new StringBuilder(content);
+
+		Random random= new Random(42);
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(3) == 0 ? random.nextInt(Math.min(2 * PAGE_SIZE, expected.length() - offset) + 1) : 0;
+			String text= random.nextInt(4) == 0 ? "" : "ins" + i;
+			store.replace(offset, length, text);
+			expected.replace(offset, offset + length, text);
+			if (i % 100 == 0)
+				assertEquals(expected.toString(), store.get(0, store.getLength()));
+		}
+		assertEquals(expected.length(), store.getLength());
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		for (int i= 0; i < 1000; i++) {
+			int offset= random.nextInt(expected.length());
+			assertEquals(expected.charAt(offset), store.get(offset));
+		}
+	}
+
+	@Test
+	public void testTyping() throws Exception {
+		String content= createContent(2 * PAGE_SIZE, "text\n");
+		FileTextStore store= new FileTextStore(write(content, StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0, null);
+		StringBuilder expected= new StringBuilder(content);
+
+		int offset= PAGE_SIZE - 2;
+		for (char c : "typed across the page boundary".toCharArray()) {
+			store.replace(offset, 0, String.valueOf(c));
+			expected.insert(offset++, c);
+		}
+		// backspace
+		store.replace(--offset, 1, "");
+		expected.deleteCharAt(offset);
+
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testMultiByteCharactersAcrossPages() throws Exception {
+		// two, three and four byte characters, the latter with surrogate pairs
+		String content= createContent(5 * PAGE_SIZE, "a\u00e4\u20ac\ud83d\ude00\n");
+		Path file= write(content, StandardCharsets.UTF_8);
+		FileTextStore store= new FileTextStore(file, StandardCharsets.UTF_8, 0, null);
+
+		assertEquals(content.length(), store.getLength());
+		assertEquals(content, store.get(0, store.getLength()));
+		for (int offset= 0; offset < content.length(); offset+= 997)
+			assertEquals(content.charAt(offset), store.get(offset));
+	}
+
+	@Test
+	public void testSingleByteCharset() throws Exception {
+		String content= createContent(2 * PAGE_SIZE, "\u00e4\u00f6\u00fc\n");
+		FileTextStore store= new FileTextStore(write(content, StandardCharsets.ISO_8859_1), StandardCharsets.ISO_8859_1, 0, null);
+
+		assertEquals(content, store.get(0, store.getLength()));
+		assertTrue(FileTextStore.isSupported(StandardCharsets.ISO_8859_1));
+		assertFalse(FileTextStore.isSupported(StandardCharsets.UTF_16));
+	}
+
+	@Test
+	public void testBOM() throws Exception {
+		String content= createContent(PAGE_SIZE + 10, "bom\n");
+		Path file= fFolder.newFile().toPath();
+		byte[] bytes= content.getBytes(StandardCharsets.UTF_8);
+		byte[] withBOM= new byte[IContentDescription.BOM_UTF_8.length + bytes.length];
+		System.arraycopy(IContentDescription.BOM_UTF_8, 0, withBOM, 0, IContentDescription.BOM_UTF_8.length);
+		System.arraycopy(bytes, 0, withBOM, IContentDescription.BOM_UTF_8.length, bytes.length);
+		Files.write(file, withBOM);
+
+		FileTextStore store= new FileTextStore(file, StandardCharsets.UTF_8, IContentDescription.BOM_UTF_8.length, null);
+
+		assertEquals(content, store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testIndexOnDemand() throws Exception {
+		String content= createContent(40 * PAGE_SIZE, "on demand\n");
+		DefaultLineTracker tracker= new DefaultLineTracker();
+		FileTextStore store= new FileTextStore(write(content, StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0, tracker);
+		Document expected= new Document(content);
+
+		assertEquals(content.substring(0, 100), store.get(0, 100));
+		assertEquals(expected.getLineOffset(10), store.getLineTracker().getLineOffset(10));
+		// only the first pages are indexed
+		assertTrue(tracker.getNumberOfLines() < expected.getNumberOfLines() / 10);
+
+		assertEquals(expected.getNumberOfLines(), store.getLineTracker().getNumberOfLines());
+		assertEquals(content.length(), store.getLength());
+	}
+
+	@Test
+	public void testLineQueriesWhileIndexing() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		String[] delimiters= { "\n", "\r", "\r\n" };
+		Random random= new Random(42);
+		while (buffer.length() < 5 * PAGE_SIZE)
+			buffer.append("x".repeat(random.nextInt(100))).append(delimiters[random.nextInt(delimiters.length)]);
+		String content= buffer.toString();
+		Path file= write(content, StandardCharsets.UTF_8);
+		Document expected= new Document(content);
+
+		for (int i= 0; i < 50; i++) {
+			// a new store for every query, so that it is answered from a partial index
+			int offset= random.nextInt(content.length() + 1);
+			int line= expected.getLineOfOffset(offset);
+			assertEquals(line, newTracker(file).getLineNumberOfOffset(offset));
+			IRegion region= newTracker(file).getLineInformationOfOffset(offset);
+			assertEquals(expected.getLineOffset(line), region.getOffset());
+			assertEquals(expected.getLineInformation(line).getLength(), region.getLength());
+			region= newTracker(file).getLineInformation(line);
+			assertEquals(expected.getLineOffset(line), region.getOffset());
+			assertEquals(expected.getLineInformation(line).getLength(), region.getLength());
+			assertEquals(expected.getLineDelimiter(line), newTracker(file).getLineDelimiter(line));
+			assertEquals(expected.getLineLength(line), newTracker(file).getLineLength(line));
+			int length= random.nextInt(content.length() - offset + 1);
+			assertEquals(expected.getNumberOfLines(offset, length), newTracker(file).getNumberOfLines(offset, length));
+		}
+	}
+
+	@Test
+	public void testBackgroundIndexing() throws Exception {
+		String content= createContent(40 * PAGE_SIZE, "background\r\n");
+		FileTextStore store= new FileTextStore(write(content, StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0, new DefaultLineTracker());
+		ILineTracker tracker= store.getLineTracker();
+
+		store.scheduleIndexing();
+		for (int offset= 0; offset < content.length(); offset+= 7919)
+			assertEquals(content.charAt(offset), store.get(offset));
+		assertEquals(new Document(content).getNumberOfLines(), tracker.getNumberOfLines());
+		assertEquals(content, store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testExternalModification() throws Exception {
+		// more pages than the store caches, so that pages have to be read again
+		String content= createContent(40 * PAGE_SIZE, "original\n");
+		Path file= write(content, StandardCharsets.UTF_8);
+		FileTextStore store= new FileTextStore(file, StandardCharsets.UTF_8, 0, null);
+		store.replace(10, 0, "dirty");
+		String expected= content.substring(0, 10) + "dirty" + content.substring(10);
+
+		Files.writeString(file, "shorter");
+		assertEquals(expected, store.get(0, store.getLength()));
+
+		Files.delete(file);
+		assertEquals(expected, store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testExternalModificationOfUnmodifiedContent() throws Exception {
+		String content= createContent(40 * PAGE_SIZE, "original\n");
+		Path file= write(content, StandardCharsets.UTF_8);
+		FileTextStore store= new FileTextStore(file, StandardCharsets.UTF_8, 0, null);
+		assertEquals(content.length(), store.getLength());
+		int last= content.length() - 1;
+		assertEquals(content.charAt(last), store.get(last));
+
+		Files.writeString(file, "shorter");
+		// cached pages can still be read, other pages are not decoded from the changed file
+		assertEquals(content.charAt(last), store.get(last));
+		assertEquals('\uFFFD', store.get(0));
+		assertEquals(content.length(), store.getLength());
+	}
+
+	@Test
+	public void testExternalModificationWhileIndexing() throws Exception {
+		String content= createContent(40 * PAGE_SIZE, "original\n");
+		Path file= write(content, StandardCharsets.UTF_8);
+		ILineTracker tracker= new DefaultLineTracker();
+		FileTextStore store= new FileTextStore(file, StandardCharsets.UTF_8, 0, tracker);
+		assertEquals(content.substring(0, 100), store.get(0, 100));
+
+		Files.writeString(file, "shorter");
+		// the content ends with the pages decoded from the bytes read before the change
+		int length= store.getLength();
+		assertTrue(length < content.length());
+		assertEquals(0, length % PAGE_SIZE);
+		assertEquals(content.substring(0, 100), store.get(0, 100));
+		assertEquals(new Document(content.substring(0, length)).getNumberOfLines(), store.getLineTracker().getNumberOfLines());
+	}
+
+	@Test
+	public void testDetach() throws Exception {
+		String content= createContent(2 * PAGE_SIZE, "detach\n");
+		FileTextStore store= new FileTextStore(write(content, StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0, null);
+		store.replace(0, 0, "x");
+
+		store.detach();
+		store.replace(1, 0, "y");
+
+		assertEquals("xy" + content, store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		FileTextStore store= new FileTextStore(write("", StandardCharsets.UTF_8), StandardCharsets.UTF_8, 0, null);
+
+		assertEquals(0, store.getLength());
+		store.replace(0, 0, "text");
+		assertEquals("text", store.get(0, 4));
+	}
+
+	@Test
+	public void testFileBuffer() throws Exception {
+		String content= createContent(2 * PAGE_SIZE, "lazy\r\n");
+		IFileStore fileStore= EFS.getLocalFileSystem().fromLocalFile(write(content, StandardCharsets.UTF_8).toFile());
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connectFileStore(fileStore, null);
+		try {
+			ITextFileBuffer buffer= manager.getFileStoreTextFileBuffer(fileStore);
+			IDocument document= buffer.getDocument();
+			assertEquals(content, document.get());
+			assertEquals(new Document(content).getNumberOfLines(), document.getNumberOfLines());
+
+			document.replace(document.getLineOffset(1), 0, "edited");
+			assertEquals("edited", document.get(document.getLineOffset(1), 6));
+			String expected= document.get();
+			// the buffer overwrites the file its content is read from
+			buffer.commit(null, true);
+			assertEquals(expected, document.get());
+			assertEquals(expected, Files.readString(fileStore.toLocalFile(EFS.NONE, null).toPath()));
+		} finally {
+			manager.disconnectFileStore(fileStore, null);
+		}
+	}
+
+	@Test
+	public void testFileBufferRevert() throws Exception {
+		String content= createContent(2 * PAGE_SIZE, "lazy\n");
+		File file= write(content, StandardCharsets.UTF_8).toFile();
+		IFileStore fileStore= EFS.getLocalFileSystem().fromLocalFile(file);
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connectFileStore(fileStore, null);
+		try {
+			ITextFileBuffer buffer= manager.getFileStoreTextFileBuffer(fileStore);
+			IDocument document= buffer.getDocument();
+			assertEquals(content.substring(0, 20), document.get(0, 20));
+
+			String changed= createContent(3 * PAGE_SIZE, "changed\n");
+			Files.writeString(file.toPath(), changed);
+			buffer.revert(null);
+			assertEquals(changed, document.get());
+			assertEquals(new Document(changed).getNumberOfLines(), document.getNumberOfLines());
+		} finally {
+			manager.disconnectFileStore(fileStore, null);
+		}
+	}
+
+	private static ILineTracker newTracker(Path file) throws IOException {
+		return new FileTextStore(file, StandardCharsets.UTF_8, 0, new DefaultLineTracker()).getLineTracker();
+	}
+
+	private Path write(String content, Charset charset) throws IOException {
+		Path file= fFolder.newFile().toPath();
+		Files.writeString(file, content, charset);
+		return file;
+	}
+
+	private static String createContent(int length, String line) {
+		StringBuilder buffer= new StringBuilder(length + line.length());
+		for (int i= 0; buffer.length() < length; i++)
+			buffer.append(i).append(line);
+		return buffer.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2016 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jface.tests.images;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
@@ -25,6 +26,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.resource.DeviceResourceDescriptor;
+import org.eclipse.jface.resource.DeviceResourceManager;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.jface.resource.JFaceResources;
@@ -32,6 +34,7 @@ import org.eclipse.jface.resource.LazyResourceManager;
 import org.eclipse.jface.resource.ResourceManager;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.junit.Test;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -387,4 +390,68 @@ public class LazyResourceManagerTest {
 		assertNotNull(created);
 		mgr.destroy(nullDescriptor);
 	}
+
+	@Test
+	public void testCounters() {
+		TestResourceManager tst = new TestResourceManager();
+		LazyResourceManager mgr = new LazyResourceManager(1, tst);
+		DeviceResourceDescriptor descriptor1 = new CachableTestDescriptor();
+		DeviceResourceDescriptor descriptor2 = new CachableTestDescriptor();
+
+		mgr.create(descriptor1); // miss
+		mgr.create(descriptor1); // still referenced
+		mgr.destroy(descriptor1);
+		mgr.destroy(descriptor1);
+		mgr.create(descriptor1); // hit
+		mgr.destroy(descriptor1);
+		mgr.create(descriptor2); // miss
+		mgr.destroy(descriptor2); // evicts descriptor1
+
+		assertEquals(1, mgr.getHitCount());
+		assertEquals(2, mgr.getMissCount());
+		assertEquals(1, mgr.getEvictionCount());
+		assertEquals(0, mgr.getCachedBytes());
+	}
+
+	@Test
+	public void testMaxBytes() {
+		DeviceResourceManager real = new DeviceResourceManager(Display.getDefault());
+		ImageDescriptor descriptor1 = ImageDescriptor
+				.createFromURL(FileImageDescriptorTest.class.getResource("/icons/imagetests/anything.gif"));
+		ImageDescriptor descriptor2 = ImageDescriptor
+				.createFromURL(FileImageDescriptorTest.class.getResource("/icons/imagetests/zoomIn.png"));
+		try {
+			Image image1 = real.create(descriptor1);
+			Image image2 = real.create(descriptor2);
+			long bytes1 = getSizeInBytes(image1);
+			long bytes2 = getSizeInBytes(image2);
+
+			// room for either image, but not for both
+			LazyResourceManager mgr = new LazyResourceManager(10, Math.max(bytes1, bytes2), real);
+			mgr.create(descriptor1);
+			mgr.destroy(descriptor1);
+			assertEquals(bytes1, mgr.getCachedBytes());
+			mgr.create(descriptor2);
+			mgr.destroy(descriptor2);
+			assertEquals(bytes2, mgr.getCachedBytes());
+			assertEquals(1, mgr.getEvictionCount());
+
+			// only the references of the test are left
+			real.destroy(descriptor1);
+			assertNull(real.find(descriptor1));
+			real.destroy(descriptor2);
+			assertNotNull(real.find(descriptor2));
+		} finally {
+			real.dispose();
+		}
+	}
+
+	/**
+	 * @return the size of the given image in bytes, for 4 bytes per pixel at the
+	 *         zoom of the primary monitor
+	 */
+	private static long getSizeInBytes(Image image) {
+		long zoom = Display.getDefault().getPrimaryMonitor().getZoom();
+		return 4L * image.getBounds().width * image.getBounds().height * zoom * zoom / 10000;
+	}
 }
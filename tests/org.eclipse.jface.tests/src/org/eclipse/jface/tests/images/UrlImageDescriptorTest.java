@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2022 Christoph Läubrich and others.
+ * Copyright (c) 2020, 2026 Christoph Läubrich and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,9 +20,15 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.IPath;
@@ -30,6 +36,7 @@ import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageFileNameProvider;
+import org.eclipse.swt.widgets.Display;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -56,6 +63,53 @@ public class UrlImageDescriptorTest {
 		image2.dispose();
 	}
 
+	@Test
+	public void testPrefetchedImageData() throws IOException {
+		URL imageFileURL = copyToTempFolder("zoomIn.png").toUri().toURL();
+		copyToTempFolder("zoomIn@2x.png");
+		ImageDescriptor descriptor = ImageDescriptor.createFromURL(imageFileURL);
+		int width = descriptor.getImageData(100).width;
+		ImageDescriptor.prefetch(List.of(descriptor), 200).join();
+		deleteTempFolderContents();
+
+		ImageData imageDataZoomed = descriptor.getImageData(200);
+		assertNotNull("Prefetched image data is not used", imageDataZoomed);
+		assertEquals(width * 2, imageDataZoomed.width);
+		assertNull("Prefetched image data is used twice", descriptor.getImageData(200));
+	}
+
+	@Test
+	public void testCreateImageFromPrefetchedImageData() throws IOException {
+		int zoom = Display.getDefault().getPrimaryMonitor().getZoom();
+		assumeTrue("No image file for zoom " + zoom, zoom == 100 || zoom == 200);
+		URL imageFileURL = copyToTempFolder("zoomIn.png").toUri().toURL();
+		copyToTempFolder("zoomIn@2x.png");
+		ImageDescriptor descriptor = ImageDescriptor.createFromURL(imageFileURL);
+		int width = descriptor.getImageData(100).width;
+		ImageDescriptor.prefetch(List.of(descriptor), zoom).join();
+		deleteTempFolderContents();
+
+		Image image = descriptor.createImage(false);
+		assertNotNull("Image is not created from prefetched image data", image);
+		assertEquals(width, image.getBounds().width);
+		image.dispose();
+		assertNull("Prefetched image data is used twice", descriptor.getImageData(zoom));
+	}
+
+	private Path copyToTempFolder(String name) throws IOException {
+		Path path = tempFolder.getRoot().toPath().resolve(name);
+		try (InputStream stream = FileImageDescriptorTest.class.getResourceAsStream("/icons/imagetests/" + name)) {
+			Files.copy(stream, path);
+		}
+		return path;
+	}
+
+	private void deleteTempFolderContents() throws IOException {
+		for (File file : tempFolder.getRoot().listFiles()) {
+			Files.delete(file.toPath());
+		}
+	}
+
 	@Test
 	public void testGetxName() {
 		ImageDescriptor descriptor = ImageDescriptor
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -391,6 +392,44 @@ public abstract class AbstractTreeViewerTest extends StructuredItemViewerTest {
 		// assertFalse(expandedAfter.contains(ab));
 	}
 
+	@Test
+	public void testRefreshKeepsItemsOfMovedElements() {
+		fViewer.setComparator(new TestLabelComparator());
+		// sorted by descending label, so the last child is shown first
+		TestElement moved = fRootElement.getLastChild();
+		TestElement next = fRootElement.getChildAt(fRootElement.getChildCount() - 2);
+		fTreeViewer.setExpandedState(next, true);
+		Widget nextItem = fViewer.testFindItem(next);
+
+		// moves the first item to the end, which shifts all other items
+		moved.setLabel("a");
+		fTreeViewer.refresh();
+
+		assertSame("item of shifted element is kept", nextItem, fViewer.testFindItem(next));
+		assertTrue("shifted element is still expanded", fTreeViewer.getExpandedState(next));
+		Item[] items = ((Tree) fTreeViewer.getControl()).getItems();
+		assertEquals(fRootElement.getChildCount(), items.length);
+		assertSame(moved, items[items.length - 1].getData());
+	}
+
+	@Test
+	public void testRefreshElements() {
+		TestElement first = fRootElement.getFirstChild();
+		TestElement first2 = first.getFirstChild();
+		fTreeViewer.expandToLevel(first2, 1);
+		TestElement last = fRootElement.getLastChild();
+		fTreeViewer.setExpandedState(last, true);
+		TestElement added = first.basicAddChild();
+		TestElement added2 = first2.basicAddChild();
+		TestElement addedToLast = last.basicAddChild();
+
+		fTreeViewer.refreshElements(new Object[] { first2, first, last }, false);
+
+		assertNotNull("new child is visible", fViewer.testFindItem(added));
+		assertNotNull("new child of refreshed child is visible", fViewer.testFindItem(added2));
+		assertNotNull("new child of other element is visible", fViewer.testFindItem(addedToLast));
+	}
+
 	@Test
 	public void testRenameChildElement() {
 		TestElement first = fRootElement.getFirstChild();
@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jface.viewers.IElementComparer;
+import org.junit.Test;
+
+/**
+ * Tests the map of elements to items used by structured viewers. The map is
+ * internal to the viewers package, so it is accessed reflectively.
+ */
+public class ElementMapTest {
+
+	/**
+	 * A key with the given hash code, which is less than 2^16 so that the map
+	 * uses it as it is.
+	 */
+	private record Key(int hash, String name) {
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && name.equals(other.name);
+		}
+	}
+
+	private static final IElementComparer IGNORE_CASE_COMPARER = new IElementComparer() {
+		@Override
+		public int hashCode(Object element) {
+			return ((String) element).toLowerCase().hashCode();
+		}
+
+		@Override
+		public boolean equals(Object a, Object b) {
+			return ((String) a).equalsIgnoreCase((String) b);
+		}
+	};
+
+	@Test
+	public void testRemoveAcrossWrapAround() throws Exception {
+		ElementMap map = new ElementMap(null);
+		// the probe chain of the keys wraps around from the end of the table of 16 slots to its start
+		Key[] keys = { new Key(14, "a"), new Key(15, "b"), new Key(30, "c"), new Key(31, "d"), new Key(46, "e"),
+				new Key(1, "f") };
+		for (Key key : keys) {
+			map.put(key, key.name());
+		}
+		assertEquals(16, map.getCapacity());
+
+		assertEquals("a", map.remove(keys[0]));
+		assertEquals("b", map.remove(keys[1]));
+		assertNull(map.remove(keys[1]));
+		assertEquals(4, map.size());
+		for (int i = 2; i < keys.length; i++) {
+			assertEquals(keys[i].name(), map.get(keys[i]));
+		}
+
+		assertEquals("c", map.remove(keys[2]));
+		assertEquals("d", map.get(keys[3]));
+		assertEquals("e", map.get(keys[4]));
+		assertEquals("f", map.get(keys[5]));
+	}
+
+	@Test
+	public void testGrowDuringProbeChains() throws Exception {
+		ElementMap map = new ElementMap(null);
+		List<Key> keys = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			// the keys share their home slot until the map has grown beyond 64 slots
+			Key key = new Key(i * 64 + 5, "k" + i);
+			keys.add(key);
+			map.put(key, key.name());
+		}
+		assertEquals(100, map.size());
+		assertEquals(256, map.getCapacity());
+		for (Key key : keys) {
+			assertEquals(key.name(), map.get(key));
+		}
+		for (int i = 0; i < keys.size(); i += 2) {
+			assertEquals(keys.get(i).name(), map.remove(keys.get(i)));
+		}
+		for (int i = 0; i < keys.size(); i++) {
+			assertEquals(i % 2 == 0 ? null : keys.get(i).name(), map.get(keys.get(i)));
+		}
+	}
+
+	@Test
+	public void testComparer() throws Exception {
+		ElementMap map = new ElementMap(IGNORE_CASE_COMPARER);
+		String key = "Element";
+		assertNull(map.put(key, "first"));
+		assertEquals("first", map.get("ELEMENT"));
+
+		String newKey = "element";
+		assertEquals("first", map.put(newKey, "second"));
+		assertEquals(1, map.size());
+		assertSame(newKey, map.getKeys().get(0));
+
+		assertEquals("second", map.remove("eLeMeNt"));
+		assertEquals(0, map.size());
+		assertNull(map.get(key));
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		ElementMap map = new ElementMap(null);
+		for (int i = 0; i < 1000; i++) {
+			map.put(Integer.valueOf(i), "v" + i);
+		}
+		assertEquals(2048, map.getCapacity());
+
+		// refreshing the viewer maps a similar number of elements again
+		map.clear();
+		assertEquals(0, map.size());
+		assertNull(map.get(Integer.valueOf(1)));
+		assertEquals(2048, map.getCapacity());
+
+		// a smaller input shrinks the map on the next clear
+		for (int i = 0; i < 10; i++) {
+			map.put(Integer.valueOf(i), "v" + i);
+		}
+		map.clear();
+		assertEquals(16, map.getCapacity());
+		map.put(Integer.valueOf(1), "one");
+		assertEquals("one", map.get(Integer.valueOf(1)));
+	}
+
+	@Test
+	public void testRemoveShrinks() throws Exception {
+		ElementMap map = new ElementMap(null);
+		for (int i = 0; i < 1000; i++) {
+			map.put(Integer.valueOf(i), "v" + i);
+		}
+		for (int i = 0; i < 998; i++) {
+			assertEquals("v" + i, map.remove(Integer.valueOf(i)));
+		}
+		assertEquals(16, map.getCapacity());
+		for (int i = 998; i < 1000; i++) {
+			assertEquals("v" + i, map.get(Integer.valueOf(i)));
+		}
+	}
+
+	@Test
+	public void testRandomOperations() throws Exception {
+		Random random = new Random(7);
+		ElementMap map = new ElementMap(null);
+		Map<Key, String> expected = new HashMap<>();
+		for (int i = 0; i < 20000; i++) {
+			// few distinct hash codes, so that the probe chains are long
+			int n = random.nextInt(300);
+			Key key = new Key(n % 40 * 8, "k" + n);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				String value = "v" + i;
+				assertEquals(expected.put(key, value), map.put(key, value));
+			}
+			assertEquals(expected.size(), map.size());
+			if (i % 100 == 0) {
+				for (Map.Entry<Key, String> entry : expected.entrySet()) {
+					assertEquals(entry.getValue(), map.get(entry.getKey()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Accesses an <code>org.eclipse.jface.viewers.ElementMap</code>.
+	 */
+	private static final class ElementMap {
+
+		private static final Class<?> TYPE;
+
+		static {
+			try {
+				TYPE = Class.forName("org.eclipse.jface.viewers.ElementMap");
+			} catch (ClassNotFoundException e) {
+				throw new ExceptionInInitializerError(e);
+			}
+		}
+
+		private final Object map;
+
+		ElementMap(IElementComparer comparer) throws ReflectiveOperationException {
+			Constructor<?> constructor = TYPE.getDeclaredConstructor(IElementComparer.class);
+			constructor.setAccessible(true);
+			map = constructor.newInstance(comparer);
+		}
+
+		Object get(Object key) throws ReflectiveOperationException {
+			return invoke("get", key);
+		}
+
+		Object put(Object key, Object value) throws ReflectiveOperationException {
+			return invoke("put", key, value);
+		}
+
+		Object remove(Object key) throws ReflectiveOperationException {
+			return invoke("remove", key);
+		}
+
+		void clear() throws ReflectiveOperationException {
+			invoke("clear");
+		}
+
+		int size() throws ReflectiveOperationException {
+			return ((Integer) invoke("size")).intValue();
+		}
+
+		int getCapacity() throws ReflectiveOperationException {
+			return getTable().length;
+		}
+
+		List<Object> getKeys() throws ReflectiveOperationException {
+			List<Object> keys = new ArrayList<>();
+			for (Object key : getTable()) {
+				if (key != null) {
+					keys.add(key);
+				}
+			}
+			return keys;
+		}
+
+		private Object[] getTable() throws ReflectiveOperationException {
+			Field field = TYPE.getDeclaredField("keys");
+			field.setAccessible(true);
+			return (Object[]) field.get(map);
+		}
+
+		private Object invoke(String name, Object... args) throws ReflectiveOperationException {
+			for (Method method : TYPE.getDeclaredMethods()) {
+				if (method.getName().equals(name) && method.getParameterCount() == args.length) {
+					method.setAccessible(true);
+					try {
+						return method.invoke(map, args);
+					} catch (InvocationTargetException e) {
+						if (e.getCause() instanceof RuntimeException runtimeException) {
+							throw runtimeException;
+						}
+						throw e;
+					}
+				}
+			}
+			throw new NoSuchMethodException(name);
+		}
+	}
+}
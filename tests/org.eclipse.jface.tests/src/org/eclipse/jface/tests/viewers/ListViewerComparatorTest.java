@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,18 @@
 
 package org.eclipse.jface.tests.viewers;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jface.viewers.IParallelizable;
 import org.eclipse.jface.viewers.ListViewer;
 import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.jface.viewers.ViewerSorter;
 import org.eclipse.swt.widgets.Composite;
 import org.junit.Test;
@@ -64,6 +71,50 @@ public class ListViewerComparatorTest extends ViewerComparatorTest {
 		assertSortedResult(TEAM1_SORTED_WITH_INSERT);
 	}
 
+	@Test
+	public void testViewerComparatorComputesLabelsOnce() {
+		AtomicInteger labels = new AtomicInteger();
+		fViewer.setLabelProvider(new TeamModelLabelProvider() {
+			@Override
+			public String getText(Object element) {
+				labels.incrementAndGet();
+				return super.getText(element);
+			}
+		});
+		Object[] members = team1.members.clone();
+		labels.set(0);
+
+		new ViewerComparator().sort(fViewer, members);
+
+		assertEquals(members.length, labels.get());
+		assertArrayEquals(TEAM1_SORTED, Arrays.stream(members).map(m -> ((TeamMember) m).name).toArray());
+	}
+
+	@Test
+	public void testParallelFilterAndComparator() {
+		String[] names = new String[20000];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = "Member" + (i * 7919 % names.length);
+		}
+		fViewer.setComparator(new ParallelComparator());
+		fViewer.addFilter(new ParallelFilter());
+		fViewer.setInput(new Team("Large", names));
+
+		String[] expected = Arrays.stream(names).filter(name -> !name.endsWith("0")).sorted()
+				.toArray(String[]::new);
+		assertArrayEquals(expected, getListViewer().getList().getItems());
+	}
+
+	private static class ParallelComparator extends ViewerComparator implements IParallelizable {
+	}
+
+	private static class ParallelFilter extends ViewerFilter implements IParallelizable {
+		@Override
+		public boolean select(Viewer viewer, Object parentElement, Object element) {
+			return !((TeamMember) element).name.endsWith("0");
+		}
+	}
+
 	private void assertSortedResult(String[] expected) {
 		String[] items = getListViewer().getList().getItems();
 		for (int i = 0; i < items.length; i++) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2024 Google, Inc and others.
+ * Copyright (c) 2014, 2026 Google, Inc and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,9 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeNotNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -34,12 +36,14 @@ import org.junit.rules.TestWatcher;
 import org.eclipse.test.Screenshots;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.custom.StyledTextContent;
 import org.eclipse.swt.dnd.Clipboard;
 import org.eclipse.swt.dnd.DND;
 import org.eclipse.swt.dnd.TextTransfer;
 import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -60,15 +64,19 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentAdapter;
 import org.eclipse.jface.text.IDocumentExtension3;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.ITextOperationTarget;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextSelection;
+import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.TextViewer;
 import org.eclipse.jface.text.hyperlink.IHyperlink;
 import org.eclipse.jface.text.hyperlink.URLHyperlink;
 import org.eclipse.jface.text.hyperlink.URLHyperlinkDetector;
+import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
 import org.eclipse.jface.text.source.SourceViewer;
 import org.eclipse.jface.text.source.SourceViewerConfiguration;
 import org.eclipse.jface.text.tests.util.DisplayHelper;
@@ -472,4 +480,76 @@ public class TextViewerTest {
 		assertEquals("Test sample to [surround] the selected text with brackets", text.getText());
 		assertEquals(24, text.getCaretOffset());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testLongLineIsRepairedAroundVisiblePart() {
+		fShell.setLayout(new FillLayout());
+		fShell.setSize(500, 200);
+		SourceViewer textViewer= new SourceViewer(fShell, null, SWT.H_SCROLL | SWT.V_SCROLL);
+		int lineLength= 10 * PresentationReconciler.DEFAULT_LONG_LINE_THRESHOLD;
+		textViewer.setDocument(new Document("short\n" + "x".repeat(lineLength) + "\nshort\n"));
+		fShell.open();
+
+		List<IRegion> repaired= new ArrayList<>();
+		PresentationReconciler reconciler= new PresentationReconciler();
+		reconciler.setRepairer(new IPresentationRepairer() {
+			@Override
+			public void setDocument(IDocument document) {
+			}
+
+			@Override
+			public void createPresentation(TextPresentation presentation, ITypedRegion region) {
+				repaired.add(region);
+			}
+		}, IDocument.DEFAULT_CONTENT_TYPE);
+		reconciler.install(textViewer);
+
+		int repairedLength= repaired.stream().mapToInt(IRegion::getLength).sum();
+		assertTrue("repaired " + repairedLength, repairedLength < PresentationReconciler.DEFAULT_LONG_LINE_THRESHOLD);
+		assertTrue(repaired.stream().anyMatch(r -> r.getOffset() <= 6 && 7 <= r.getOffset() + r.getLength()));
+
+		int endOffset= 6 + lineLength;
+		textViewer.setSelectedRange(endOffset, 0);
+		textViewer.revealRange(endOffset, 0);
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return repaired.stream().anyMatch(r -> r.getOffset() < endOffset && endOffset <= r.getOffset() + r.getLength());
+			}
+		}.waitForCondition(fShell.getDisplay(), 3000));
+		reconciler.uninstall();
+	}
+
+	@Test
+	public void testRepeatedPresentationReplacesOnlyChangedRanges() {
+		TextViewer textViewer= new TextViewer(fShell, SWT.NONE);
+		textViewer.setDocument(new Document("aaaa bbbb cccc dddd"));
+		Color red= fShell.getDisplay().getSystemColor(SWT.COLOR_RED);
+		Color blue= fShell.getDisplay().getSystemColor(SWT.COLOR_BLUE);
+
+		textViewer.changeTextPresentation(createPresentation(new StyleRange(0, 4, red, null), new StyleRange(5, 4, red, null),
+				new StyleRange(15, 4, red, null)), false);
+		textViewer.changeTextPresentation(createPresentation(new StyleRange(0, 4, red, null), new StyleRange(10, 4, blue, null),
+				new StyleRange(15, 4, red, null)), false);
+		assertStyleRanges(textViewer, new StyleRange(0, 4, red, null), new StyleRange(10, 4, blue, null), new StyleRange(15, 4, red, null));
+
+		textViewer.changeTextPresentation(createPresentation(new StyleRange(0, 4, red, null), new StyleRange(10, 4, blue, null),
+				new StyleRange(15, 4, red, null)), false);
+		assertStyleRanges(textViewer, new StyleRange(0, 4, red, null), new StyleRange(10, 4, blue, null), new StyleRange(15, 4, red, null));
+
+		textViewer.changeTextPresentation(createPresentation(new StyleRange(0, 4, red, null), new StyleRange(15, 3, red, null),
+				new StyleRange(18, 1, blue, null)), false);
+		assertStyleRanges(textViewer, new StyleRange(0, 4, red, null), new StyleRange(15, 3, red, null), new StyleRange(18, 1, blue, null));
+	}
+
+	private static TextPresentation createPresentation(StyleRange... ranges) {
+		TextPresentation presentation= new TextPresentation(new Region(0, 19), ranges.length);
+		for (StyleRange range : ranges)
+			presentation.addStyleRange(range);
+		return presentation;
+	}
+
+	private static void assertStyleRanges(TextViewer textViewer, StyleRange... expected) {
+		assertEquals(Arrays.asList(expected), Arrays.asList(textViewer.getTextWidget().getStyleRanges()));
+	}
+}
@@ -51,9 +51,11 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
@@ -413,6 +415,73 @@ public class CodeMiningTest {
 		}.waitForCondition(widget.getDisplay(), 1000));
 	}
 
+	@Test
+	public void testRegionCodeMiningProviderOnlyComputesVisibleLines() throws Exception {
+		StringBuilder source= new StringBuilder();
+		for (int i= 0; i < 1000; i++) {
+			source.append("line ").append(i).append('\n');
+		}
+		IDocument document= fViewer.getDocument();
+		document.set(source.toString());
+		int lastLineOffset= document.getLineOffset(999);
+		List<IRegion> requested= Collections.synchronizedList(new ArrayList<>());
+		class RegionProvider extends AbstractCodeMiningProvider implements ICodeMiningProviderExtension {
+			@Override
+			public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor) {
+				return provideCodeMinings(viewer, new Region(0, viewer.getDocument().getLength()), monitor);
+			}
+
+			@Override
+			public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor) {
+				requested.add(region);
+				List<ICodeMining> minings= new ArrayList<>();
+				try {
+					int first= document.getLineOfOffset(region.getOffset());
+					int last= document.getLineOfOffset(region.getOffset() + region.getLength());
+					for (int line= first; line <= last && line < 1000; line++) {
+						minings.add(new StaticContentLineCodeMining(new Position(document.getLineOffset(line), 1), "mining", this));
+					}
+				} catch (BadLocationException e) {
+					return CompletableFuture.failedFuture(e);
+				}
+				return CompletableFuture.completedFuture(minings);
+			}
+		}
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { new RegionProvider() });
+		StyledText widget= fViewer.getTextWidget();
+		Assert.assertTrue("Code mining is not visible in 1st line", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				try {
+					return hasCodeMiningPrintedAfterTextOnLine(fViewer, 0);
+				} catch (BadLocationException e) {
+					return false;
+				}
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+		synchronized (requested) {
+			Assert.assertFalse(requested.isEmpty());
+			for (IRegion region : requested) {
+				Assert.assertTrue("Code minings of last line computed before it is visible", region.getOffset() + region.getLength() <= lastLineOffset);
+			}
+		}
+
+		fViewer.setTopIndex(990);
+		Assert.assertTrue("Code minings of last line not computed after scrolling", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				synchronized (requested) {
+					for (IRegion region : requested) {
+						if (region.getOffset() <= lastLineOffset && region.getOffset() + region.getLength() > lastLineOffset) {
+							return true;
+						}
+					}
+				}
+				return false;
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+	}
+
 	private static boolean hasCodeMiningPrintedBelowLine(ITextViewer viewer, int line) throws BadLocationException {
 		StyledText widget= viewer.getTextWidget();
 		IDocument document= viewer.getDocument();
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertTrue;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Predicate;
@@ -359,6 +360,118 @@ public class FilteringAsyncContentAssistTests {
 
 	}
 
+	/**
+	 * CA with 1 immediate and 1 blocked CA processors. Empty text initially. Invoke CA, type 'x'
+	 * while the blocked processor computes, verify its proposals are filtered at the current offset
+	 * and merged with the shown ones once they arrive
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testLateProposalsFilteredAfterTyping() throws Exception {
+		IDocument document = viewer.getDocument();
+
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("xxxx"), IDocument.DEFAULT_CONTENT_TYPE);
+		BlockingProcessor processor = new BlockingProcessor("abcd", "xyz");
+		ca.addContentAssistProcessor(processor, IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		new InsertEdit(0, "x").apply(document);
+		viewer.setSelectedRange(1, 0);
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		List<ICompletionProposal> filteredProposals = getFilteredProposals(ca, p -> p instanceof CompletionProposal);
+		assertEquals(Arrays.asList("xxxx"), getDisplayStrings(filteredProposals));
+
+		processor.blocked.countDown();
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		filteredProposals = getFilteredProposals(ca, p -> p instanceof CompletionProposal);
+		assertEquals(Arrays.asList("xxxx", "xyz"), getDisplayStrings(filteredProposals).stream().sorted().toList());
+	}
+
+	/**
+	 * CA with more proposals than are sorted eagerly. Verify all proposals are shown in the order
+	 * of the sorter, also after filtering
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testSortManyProposals() throws Exception {
+		IDocument document = viewer.getDocument();
+
+		Comparator<ICompletionProposal> comparator = Comparator.comparing(ICompletionProposal::getDisplayString, Comparator.reverseOrder());
+		ca.setSorter(comparator::compare);
+		String[] templates = new String[250];
+		for (int i = 0; i < templates.length; i++) {
+			templates[i] = String.format("p%03d", Integer.valueOf(i * 7 % templates.length));
+		}
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor(templates), IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		List<String> expected = Arrays.stream(templates).sorted(Comparator.reverseOrder()).toList();
+		assertEquals(expected, getDisplayStrings(getFilteredProposals(ca)));
+
+		new InsertEdit(0, "p1").apply(document);
+		viewer.setSelectedRange(2, 0);
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		expected = expected.stream().filter(t -> t.indexOf('1') > 0).toList();
+		assertTrue(expected.size() > 0);
+		assertEquals(expected, getDisplayStrings(getFilteredProposals(ca)));
+	}
+
+	/**
+	 * Verify the time until the first proposals are shown and the time of filtering after a
+	 * keystroke are reported
+	 *
+	 * @throws Exception exception
+	 */
+	@Test
+	public void testMetrics() throws Exception {
+		IDocument document = viewer.getDocument();
+
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("xx"), IDocument.DEFAULT_CONTENT_TYPE);
+		ca.addContentAssistProcessor(new ImmediateContentAssistProcessor("yy"), IDocument.DEFAULT_CONTENT_TYPE);
+
+		ca.install(viewer);
+		assertEquals(-1, ca.getLastTimeToFirstProposal());
+		assertEquals(-1, ca.getLastFilterTime());
+
+		viewer.setSelectedRange(0, 0);
+
+		ca.showPossibleCompletions();
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		assertTrue(ca.getLastTimeToFirstProposal() >= 0);
+		assertEquals(-1, ca.getLastFilterTime());
+
+		new InsertEdit(0, "x").apply(document);
+		viewer.setSelectedRange(1, 0);
+
+		DisplayHelper.sleep(shell.getDisplay(), 300);
+
+		assertEquals(1, getFilteredProposals(ca).size());
+		assertTrue(ca.getLastFilterTime() >= 0);
+	}
+
 	static class ImmediateContentAssistProcessor implements IContentAssistProcessor {
 
 		final private List<String> templates;
@@ -514,6 +627,10 @@ public class FilteringAsyncContentAssistTests {
 		return filteredProposals == null ? null : filteredProposals.stream().filter(p).toList();
 	}
 
+	private static List<String> getDisplayStrings(List<ICompletionProposal> proposals) {
+		return proposals.stream().map(ICompletionProposal::getDisplayString).toList();
+	}
+
 	private static class IncompleteCompletionProposal implements ICompletionProposal {
 
 		/** The string to be displayed in the completion proposal popup. */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -182,6 +182,7 @@ public class AbstractReconcilerTest {
 				};
 		fReconciler.setIsIncrementalReconciler(false);
 		fReconciler.setDelay(getDelay());
+		fReconciler.setUseSharedThreadPool(useSharedThreadPool());
 
 		fProgressMonitor= new NullProgressMonitor();
 		fReconciler.setProgressMonitor(fProgressMonitor);
@@ -198,6 +199,10 @@ public class AbstractReconcilerTest {
 		return 50; // make tests run faster
 	}
 
+	boolean useSharedThreadPool() {
+		return false;
+	}
+
 	void aboutToWork(@SuppressWarnings("unused") AbstractReconciler reconciler) {
 		// nothing
 	}
@@ -252,6 +257,7 @@ public class AbstractReconcilerTest {
 		pollUntilClean();
 		assertFalse(isActive());
 		assertFalse(isDirty());
+		assertTrue(fReconciler.getLastReconcileLatency() >= 0);
 	}
 
 
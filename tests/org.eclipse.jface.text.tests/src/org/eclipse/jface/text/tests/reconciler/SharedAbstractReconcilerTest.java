@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.reconciler;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.reconciler.AbstractReconciler;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
+import org.eclipse.jface.text.tests.TestTextViewer;
+
+/**
+ * Runs the reconciler tests on the thread pool shared by the reconcilers.
+ */
+public class SharedAbstractReconcilerTest extends AbstractReconcilerTest {
+
+	private static final String SCHEDULER_CLASS= "org.eclipse.jface.text.reconciler.ReconcilerScheduler";
+
+	@Override
+	boolean useSharedThreadPool() {
+		return true;
+	}
+
+	@Test(timeout= 10000)
+	public void testReplacingDocumentWhileWorkersAreBlocked() throws Exception {
+		List<Thread> processThreads= Collections.synchronizedList(new ArrayList<>());
+		AbstractReconciler reconciler= new AbstractReconciler() {
+			@Override
+			protected void initialProcess() {
+				// nothing
+			}
+			@Override
+			protected void process(DirtyRegion dirtyRegion) {
+				processThreads.add(Thread.currentThread());
+			}
+			@Override
+			protected void reconcilerDocumentChanged(IDocument newDocument) {
+				// nothing
+			}
+			@Override
+			public IReconcilingStrategy getReconcilingStrategy(String contentType) {
+				return null;
+			}
+		};
+		reconciler.setDelay(getDelay());
+		reconciler.setUseSharedThreadPool(true);
+		ITextViewer viewer= new TestTextViewer();
+		reconciler.install(viewer);
+
+		// block all shared workers, like strategies that wait for the thread that replaces the document
+		CountDownLatch release= new CountDownLatch(1);
+		ClassLoader classLoader= AbstractReconciler.class.getClassLoader();
+		Object instance= new Accessor(SCHEDULER_CLASS, classLoader).invoke("getDefault", new Class<?>[0], new Object[0]);
+		Accessor scheduler= new Accessor(instance, SCHEDULER_CLASS, classLoader);
+		Runnable blocker= () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		for (int i= 0; i < 16; i++) {
+			scheduler.invoke("submit", new Class<?>[] { Runnable.class, int.class }, new Object[] { blocker, Integer.valueOf(0) });
+		}
+		try {
+			Document document= new Document("foo");
+			viewer.setDocument(document);
+			document.replace(0, 0, "bar");
+
+			// waits until the changes of the old document are processed
+			viewer.setDocument(new Document("baz"));
+			assertTrue(processThreads.contains(Thread.currentThread()));
+		} finally {
+			release.countDown();
+			reconciler.uninstall();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,9 @@
 package org.eclipse.jface.text.tests.rules;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -40,6 +43,7 @@ public class FastPartitionerTest {
 
 	protected static final String COMMENT= "comment";
 	protected static final String DEFAULT= IDocument.DEFAULT_CONTENT_TYPE;
+	private static final String STRING= "string";
 
 	private IDocument fDoc;
 	private IDocumentPartitioner fPartitioner;
@@ -321,6 +325,129 @@ public class FastPartitionerTest {
 
 	}
 
+	@Test
+	public void testRescanLimit() throws Exception {
+		String text= "a `b` c\n".repeat(1000);
+		IDocument expectedDocument= new Document(text);
+		FastPartitioner expected= createLimitedPartitioner(expectedDocument, 0);
+		IDocument document= new Document(text);
+		FastPartitioner partitioner= createLimitedPartitioner(document, 100);
+
+		// an unmatched delimiter swaps all following partitions
+		expectedDocument.replace(0, 0, "`");
+		document.replace(0, 0, "`");
+		assertTrue(expected.getRescanLength() > 7000);
+		assertTrue(partitioner.getRescanLength() < 200);
+		assertEquals(toString(expected.computePartitioning(0, 50)), toString(partitioner.computePartitioning(0, 50)));
+
+		// each following change updates the remaining partitioning a bit further
+		settle(expectedDocument, document, partitioner, 300);
+		assertEquals(toString(expected.computePartitioning(0, expectedDocument.getLength())),
+				toString(partitioner.computePartitioning(0, document.getLength())));
+
+		expectedDocument.replace(0, 1, "");
+		document.replace(0, 1, "");
+		assertTrue(partitioner.getRescanLength() < 200);
+		settle(expectedDocument, document, partitioner, 300);
+		assertEquals(toString(expected.computePartitioning(0, expectedDocument.getLength())),
+				toString(partitioner.computePartitioning(0, document.getLength())));
+	}
+
+	@Test
+	public void testRescanLimitQueries() throws Exception {
+		String text= "a `b` c\n".repeat(1000);
+		IDocument expectedDocument= new Document(text);
+		FastPartitioner expected= createLimitedPartitioner(expectedDocument, 0);
+		IDocument document= new Document(text);
+		FastPartitioner partitioner= createLimitedPartitioner(document, 100);
+
+		expectedDocument.replace(0, 0, "`");
+		document.replace(0, 0, "`");
+		assertTrue(partitioner.getRescanLength() < 200);
+
+		// queries beyond the updated part complete the partitioning up to the queried offset
+		int offset= document.getLength() / 2;
+		assertEquals(expected.getContentType(offset), partitioner.getContentType(offset));
+		assertEquals(toString(expected.getPartition(offset + 3)), toString(partitioner.getPartition(offset + 3)));
+		assertTrue(partitioner.getRescanLength() > 1000);
+		assertEquals(toString(expected.computePartitioning(0, expectedDocument.getLength())),
+				toString(partitioner.computePartitioning(0, document.getLength())));
+		assertEquals(toString(expected.computePartitioning(0, expectedDocument.getLength(), true)),
+				toString(partitioner.computePartitioning(0, document.getLength(), true)));
+	}
+
+	@Test
+	public void testRescanLimitRandomEdits() throws Exception {
+		Random random= new Random(1234);
+		String[] fragments= { "/*", "*/", "\"", "`", "a", "bc", "\n", " " };
+		StringBuilder initial= new StringBuilder();
+		for (int i= 0; i < 2000; i++)
+			initial.append(fragments[random.nextInt(fragments.length)]);
+
+		IDocument expectedDocument= new Document(initial.toString());
+		FastPartitioner expected= createLimitedPartitioner(expectedDocument, 0);
+		IDocument document= new Document(initial.toString());
+		FastPartitioner partitioner= createLimitedPartitioner(document, 50);
+
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= random.nextInt(Math.min(document.getLength() - offset, 5) + 1);
+			String text= fragments[random.nextInt(fragments.length)];
+			expectedDocument.replace(offset, length, text);
+			document.replace(offset, length, text);
+			assertTrue(partitioner.getRescanLength() < 300);
+
+			if (i % 50 == 0) {
+				settle(expectedDocument, document, partitioner, 150);
+				assertEquals(toString(expected.computePartitioning(0, expectedDocument.getLength())),
+						toString(partitioner.computePartitioning(0, document.getLength())));
+			}
+		}
+		settle(expectedDocument, document, partitioner, 150);
+		assertEquals(toString(expected.computePartitioning(0, expectedDocument.getLength())),
+				toString(partitioner.computePartitioning(0, document.getLength())));
+	}
+
+	/**
+	 * Types and removes a character at the end of both documents, so that the partitioner
+	 * continues its suspended partitioning.
+	 */
+	private static void settle(IDocument expectedDocument, IDocument document, FastPartitioner partitioner, int maxRescanLength) throws BadLocationException {
+		for (int i= 0; i < document.getLength(); i+= 50) {
+			expectedDocument.replace(expectedDocument.getLength(), 0, " ");
+			document.replace(document.getLength(), 0, " ");
+			assertTrue(partitioner.getRescanLength() < maxRescanLength);
+			expectedDocument.replace(expectedDocument.getLength() - 1, 1, "");
+			document.replace(document.getLength() - 1, 1, "");
+		}
+	}
+
+	private FastPartitioner createLimitedPartitioner(IDocument document, int limit) {
+		IPartitionTokenScanner scanner= new RuleBasedPartitionScanner() {
+			{
+				IToken comment= new Token(COMMENT);
+				IToken string= new Token(STRING);
+				IPredicateRule[] rules= new IPredicateRule[] {
+						new MultiLineRule("/*", "*/", comment),
+						new MultiLineRule("`", "`", string),
+						new SingleLineRule("\"", "\"", string) };
+				setPredicateRules(rules);
+			}
+		};
+		FastPartitioner partitioner= new FastPartitioner(scanner, new String[] { DEFAULT, COMMENT, STRING });
+		partitioner.setRescanLimit(limit);
+		document.setDocumentPartitioner(partitioner);
+		partitioner.connect(document);
+		return partitioner;
+	}
+
+	private static String toString(ITypedRegion... regions) {
+		StringBuilder buffer= new StringBuilder();
+		for (ITypedRegion region : regions)
+			buffer.append(region.getType()).append('[').append(region.getOffset()).append(',').append(region.getLength()).append("] ");
+		return buffer.toString();
+	}
+
 	private void assertComputePartitioning_InterleavingPartitions(int[] offsets) {
 		assertComputePartitioning_InterleavingPartitions(0, fDoc.getLength(), offsets, DEFAULT);
 	}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.resource.ColorRegistry;
+import org.eclipse.jface.resource.FontRegistry;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.TextAttribute;
+import org.eclipse.jface.text.TextViewer;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.TextAttributeRegistry;
+
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+public class TextAttributeRegistryTest {
+
+	private static final String KEYWORD= "keyword";
+	private static final String STRING= "string";
+
+	private Shell fShell;
+	private ColorRegistry fColorRegistry;
+	private TextAttributeRegistry fRegistry;
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fColorRegistry= new ColorRegistry(fShell.getDisplay());
+		fColorRegistry.put(KEYWORD, new RGB(127, 0, 85));
+		fColorRegistry.put(STRING, new RGB(42, 0, 255));
+		fRegistry= new TextAttributeRegistry(fColorRegistry, new FontRegistry(fShell.getDisplay()));
+	}
+
+	@After
+	public void tearDown() {
+		fRegistry.dispose();
+		fShell.dispose();
+	}
+
+	@Test
+	public void testTokensAndAttributesAreShared() {
+		IToken token= fRegistry.getToken(KEYWORD, null, SWT.BOLD, null);
+		assertSame(token, fRegistry.getToken(KEYWORD, null, SWT.BOLD, null));
+		assertSame(token.getData(), fRegistry.getTextAttribute(KEYWORD, null, SWT.BOLD, null));
+
+		TextAttribute attribute= (TextAttribute) token.getData();
+		assertEquals(new RGB(127, 0, 85), attribute.getForeground().getRGB());
+		assertNull(attribute.getBackground());
+		assertEquals(SWT.BOLD, attribute.getStyle());
+
+		assertSame(attribute, fRegistry.intern(new TextAttribute(attribute.getForeground(), null, SWT.BOLD)));
+	}
+
+	@Test
+	public void testColorChangeUpdatesTokensAndInvalidatesViewersOnce() {
+		IToken keyword= fRegistry.getToken(KEYWORD, null, SWT.NORMAL, null);
+		IToken string= fRegistry.getToken(STRING, null, SWT.NORMAL, null);
+		Object stringAttribute= string.getData();
+
+		int[] invalidations= new int[1];
+		TextViewer viewer= new TextViewer(fShell, SWT.NONE);
+		viewer.setDocument(new Document("keyword"));
+		// an invalidation of the presentation is sent to the text listeners without document event
+		viewer.addTextListener(event -> {
+			if (event.getDocumentEvent() == null)
+				invalidations[0]++;
+		});
+		fRegistry.addTextViewer(viewer);
+
+		// like a theme switch, which changes many colors at once
+		fColorRegistry.put(KEYWORD, new RGB(255, 0, 0));
+		fColorRegistry.put(KEYWORD, new RGB(0, 255, 0));
+		Display display= fShell.getDisplay();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return invalidations[0] > 0;
+			}
+		}.waitForCondition(display, 3000));
+		DisplayHelper.driveEventQueue(display);
+
+		assertEquals(1, invalidations[0]);
+		assertEquals(new RGB(0, 255, 0), ((TextAttribute) keyword.getData()).getForeground().getRGB());
+		assertSame(stringAttribute, string.getData());
+	}
+}
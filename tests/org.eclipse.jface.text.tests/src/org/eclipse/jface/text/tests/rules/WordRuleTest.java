@@ -17,6 +17,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.TreeMap;
+
 import org.junit.Test;
 
 import org.eclipse.swt.SWT;
@@ -213,4 +215,47 @@ public class WordRuleTest {
 	}
 
 
+
+	@Test
+	public void testKeywords() throws Exception {
+		assertKeywords(new WordRule(new SimpleWordDetector(), Token.UNDEFINED, false), false);
+		assertKeywords(new WordRule(new SimpleWordDetector(), Token.UNDEFINED, true), true);
+
+		// subclasses may use a different map
+		assertKeywords(new WordRule(new SimpleWordDetector(), Token.UNDEFINED, true) {
+			{
+				fWords= new TreeMap<>();
+			}
+		}, true);
+	}
+
+	private void assertKeywords(WordRule rule, boolean ignoreCase) {
+		String[] words= { "if", "else", "while", "Stra\u00dfe", "\u00c9T\u00c9", "Index" };
+		for (String word : words)
+			rule.addWord(word, new Token(word));
+
+		IToken defaultToken= new Token(this);
+		RuleBasedScanner scanner= new RuleBasedScanner();
+		scanner.setRules(rule);
+		scanner.setDefaultReturnToken(defaultToken);
+
+		String[] variants= { "if", "IF", "else", "elsewhere", "whil", "Stra\u00dfe", "STRASSE", "\u00e9t\u00e9", "\u00c9T\u00c9", "Index", "index", "INDEX" };
+		for (String variant : variants) {
+			scanner.setRange(new Document(variant), 0, variant.length());
+			IToken token= scanner.nextToken();
+			String expected= null;
+			for (String word : words) {
+				if (ignoreCase ? word.toLowerCase().equals(variant.toLowerCase()) : word.equals(variant))
+					expected= word;
+			}
+			if (expected != null) {
+				assertEquals(variant, expected, token.getData());
+				assertEquals(variant.length(), scanner.getTokenLength());
+			} else {
+				// the word is returned character by character
+				assertSame(variant, defaultToken, token);
+				assertEquals(1, scanner.getTokenLength());
+			}
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2005 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,16 @@
 package org.eclipse.search.core.tests;
 
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.Test;
 
 import org.eclipse.search.ui.ISearchQuery;
@@ -235,4 +240,63 @@ public class TestSearchResult {
 		result.removeMatches(new Match[] { match2 });
 		assertFalse(wasRemoved[0]);
 	}
+
+	@Test
+	public void testAddAndRemoveManyMatches() {
+		ISearchQuery query= new NullQuery();
+		AbstractTextSearchResult result= (AbstractTextSearchResult) query.getSearchResult();
+
+		String object= "object"; //$NON-NLS-1$
+
+		Match[] matches= new Match[1000];
+		for (int i= 0; i < matches.length; i++) {
+			matches[i]= new Match(object, i, 1);
+		}
+		result.addMatches(matches);
+		assertEquals(matches.length, result.getMatchCount());
+		assertArrayEquals(matches, result.getMatches(object));
+
+		for (int i= 0; i < matches.length; i+= 2) {
+			result.removeMatch(matches[i]);
+		}
+		assertEquals(matches.length / 2, result.getMatchCount(object));
+		Match[] remaining= result.getMatches(object);
+		for (int i= 0; i < remaining.length; i++) {
+			assertSame(matches[2 * i + 1], remaining[i]);
+		}
+
+		result.addMatches(matches);
+		assertEquals(matches.length, result.getMatchCount());
+		result.removeMatches(matches);
+		assertFalse(result.hasMatches());
+		assertEquals(0, result.getElementsCount());
+	}
+
+	@Test
+	public void testMatchSetWhileRemoving() {
+		ISearchQuery query= new NullQuery();
+		AbstractTextSearchResult result= (AbstractTextSearchResult) query.getSearchResult();
+
+		String object= "object"; //$NON-NLS-1$
+
+		Match[] matches= new Match[100];
+		for (int i= 0; i < matches.length; i++) {
+			matches[i]= new Match(object, i, 1);
+		}
+		result.addMatches(matches);
+
+		// the matches that stay in the set are enumerated exactly once
+		Set<Match> enumerated= new HashSet<>();
+		int i= 0;
+		for (Enumeration<Match> set= result.getMatchSet(object); set.hasMoreElements(); i++) {
+			assertTrue(enumerated.add(set.nextElement()));
+			if (i % 2 == 0) {
+				result.removeMatch(matches[matches.length - 1 - i]);
+			}
+		}
+		for (Match match : result.getMatches(object)) {
+			assertTrue(enumerated.contains(match));
+		}
+		assertFalse(result.getMatchSet(new Object()).hasMoreElements());
+	}
 }
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.internal.ui.text.FileMatch;
+import org.eclipse.search.internal.ui.text.FileSearchResult;
+import org.eclipse.search.internal.ui.text.LineElement;
+import org.eclipse.search.tests.ResourceHelper;
+import org.eclipse.search.ui.text.Match;
+
+public class LineElementTest {
+
+	private static final String PROJECT_NAME= "LineElementProject";
+
+	private static final String CONTENTS= "first line\nsecond line\nthird line\n";
+
+	private IFile fFile;
+
+	@Before
+	public void setUp() throws Exception {
+		IProject project= ResourceHelper.createProject(PROJECT_NAME);
+		IFolder folder= ResourceHelper.createFolder(project.getFolder("src"));
+		fFile= ResourceHelper.createFile(folder, "file.txt", CONTENTS);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject(PROJECT_NAME);
+	}
+
+	@Test
+	public void testMatchesOfLine() {
+		FileSearchResult result= new FileSearchResult(null);
+		LineElement first= createLine(1, 0, "first line\n");
+		LineElement second= createLine(2, 11, "second line\n");
+		FileMatch match1= new FileMatch(fFile, 0, 5, first);
+		FileMatch match2= new FileMatch(fFile, 6, 4, first);
+		FileMatch match3= new FileMatch(fFile, 11, 6, second);
+		result.addMatches(new Match[] { match1, match2 });
+		result.addMatch(match3);
+		// adding a match again does nothing
+		result.addMatch(match1);
+
+		assertArrayEquals(new FileMatch[] { match1, match2 }, sorted(first.getMatches(result)));
+		assertEquals(2, first.getNumberOfMatches(result));
+		assertTrue(first.hasMatches(result));
+		assertArrayEquals(new FileMatch[] { match3 }, second.getMatches(result));
+
+		result.removeMatch(match1);
+		assertArrayEquals(new FileMatch[] { match2 }, first.getMatches(result));
+		result.removeMatches(new Match[] { match2, match3 });
+		assertEquals(0, first.getNumberOfMatches(result));
+		assertFalse(first.hasMatches(result));
+		assertFalse(second.hasMatches(result));
+	}
+
+	@Test
+	public void testRemoveAll() {
+		FileSearchResult result= new FileSearchResult(null);
+		LineElement line= createLine(3, 23, "third line\n");
+		result.addMatch(new FileMatch(fFile, 23, 5, line));
+		result.addMatch(new FileMatch(fFile, 29, 4, line));
+		assertEquals(2, line.getNumberOfMatches(result));
+
+		result.removeAll();
+		assertEquals(0, line.getNumberOfMatches(result));
+		assertEquals(0, line.getMatches(result).length);
+	}
+
+	@Test
+	public void testManyMatchesOfFile() {
+		FileSearchResult result= new FileSearchResult(null);
+		LineElement[] lines= new LineElement[1000];
+		for (int i= 0; i < lines.length; i++) {
+			lines[i]= new LineElement(fFile, i + 1, i * 4, "abc\n");
+			result.addMatch(new FileMatch(fFile, i * 4, 1, lines[i]));
+			result.addMatch(new FileMatch(fFile, i * 4 + 2, 1, lines[i]));
+		}
+		for (LineElement line : lines) {
+			FileMatch[] matches= sorted(line.getMatches(result));
+			assertEquals(2, matches.length);
+			assertEquals(line.getOffset(), matches[0].getOffset());
+			assertEquals(line.getOffset() + 2, matches[1].getOffset());
+		}
+		int count= 0;
+		for (Enumeration<Match> matches= result.getMatchSet(fFile); matches.hasMoreElements(); matches.nextElement()) {
+			count++;
+		}
+		assertEquals(2 * lines.length, count);
+	}
+
+	@Test
+	public void testContents() {
+		LineElement line= createLine(2, 11, "second line\n");
+		assertEquals("second line\n", line.getContents());
+		assertEquals(11, line.getOffset());
+		assertEquals(12, line.getLength());
+		assertTrue(line.contains(11));
+		assertTrue(line.contains(22));
+		assertFalse(line.contains(23));
+
+		// lines that were not read from disk are kept as they are
+		LineElement dirty= new LineElement(fFile, 1, 0, "dirty line\n", IResource.NULL_STAMP);
+		assertEquals("dirty line\n", dirty.getContents());
+	}
+
+	@Test
+	public void testRestoreContents() {
+		LineElement first= createLine(1, 0, "first line ");
+		LineElement third= createLine(3, 23, "third line ");
+		first.releaseContents();
+		third.releaseContents();
+		assertNull(first.getContentsIfAvailable());
+		assertNull(third.getContentsIfAvailable());
+
+		assertTrue(LineElement.restoreContents(Arrays.asList(third, first), new NullProgressMonitor()));
+		assertEquals("first line ", first.getContentsIfAvailable());
+		assertEquals("third line ", third.getContentsIfAvailable());
+
+		third.releaseContents();
+		assertEquals("third line ", third.getContents());
+
+		// lines that were not read from disk cannot be restored, so they are kept
+		LineElement dirty= new LineElement(fFile, 1, 0, "dirty line ", IResource.NULL_STAMP);
+		dirty.releaseContents();
+		assertEquals("dirty line ", dirty.getContentsIfAvailable());
+	}
+
+	@Test
+	public void testRestoreContentsOfChangedFile() throws Exception {
+		LineElement first= createLine(1, 0, "first line ");
+		LineElement second= createLine(2, 11, "second line ");
+		fFile.setContents(new ByteArrayInputStream("changed\n".getBytes(StandardCharsets.UTF_8)), true, false, null);
+		first.releaseContents();
+		second.releaseContents();
+
+		// the offsets of the matches must still fit, so the contents are blanks
+		assertTrue(LineElement.restoreContents(Arrays.asList(first, second), new NullProgressMonitor()));
+		assertEquals("           ", first.getContentsIfAvailable());
+		assertEquals("            ", second.getContentsIfAvailable());
+	}
+
+	@Test
+	public void testRestoreContentsCanceled() {
+		LineElement first= createLine(1, 0, "first line ");
+		first.releaseContents();
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+
+		assertFalse(LineElement.restoreContents(Arrays.asList(first), monitor));
+		assertNull(first.getContentsIfAvailable());
+	}
+
+	private LineElement createLine(int lineNumber, int offset, String contents) {
+		return new LineElement(fFile, lineNumber, offset, contents, fFile.getModificationStamp());
+	}
+
+	private static FileMatch[] sorted(FileMatch[] matches) {
+		Arrays.sort(matches, Comparator.comparingInt(FileMatch::getOffset));
+		return matches;
+	}
+}
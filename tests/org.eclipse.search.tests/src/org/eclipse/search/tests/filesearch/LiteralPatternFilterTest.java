@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import org.eclipse.search.internal.core.text.LiteralPatternFilter;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+
+public class LiteralPatternFilterTest {
+
+	@Test
+	public void testLiterals() {
+		assertLiterals(new String[] { "hello" }, PatternConstructor.createPattern("hello", false, true, true, false));
+		assertLiterals(new String[] { "hello" }, PatternConstructor.createPattern("HeLLo", false, true, false, false));
+		assertLiterals(new String[] { "world" }, PatternConstructor.createPattern("he*world", false, true, true, false));
+		assertLiterals(new String[] { "a.b" }, PatternConstructor.createPattern("a.b?c", false, true, true, false));
+		assertLiterals(new String[] { "word" }, PatternConstructor.createPattern("word", false, true, true, true));
+		assertLiterals(new String[] { "foo", "bar" }, PatternConstructor.createPattern(new String[] { "foo", "*bar*" }, true));
+		assertLiterals(new String[] { "colo" }, PatternConstructor.createPattern("colou?r", true, true));
+		assertLiterals(new String[] { "abc", "x.y" }, PatternConstructor.createPattern("^abc$|x\\.y", true, true));
+
+		// with Unicode case folding, 'k' and 's' also match non-ASCII characters
+		assertLiterals(new String[] { "ta" }, PatternConstructor.createPattern("task", false, true, false, false));
+		// without, only ASCII letters are folded
+		assertLiterals(new String[] { "task" }, Pattern.compile(Pattern.quote("TASK"), Pattern.CASE_INSENSITIVE));
+
+		assertNull(LiteralPatternFilter.create(PatternConstructor.createPattern("*", false, true, true, false)));
+		assertNull(LiteralPatternFilter.create(PatternConstructor.createPattern("", false, true, true, false)));
+		assertNull(LiteralPatternFilter.create(PatternConstructor.createPattern("(a|b)c", true, true)));
+		assertNull(LiteralPatternFilter.create(PatternConstructor.createPattern("[abc]+", true, true)));
+		assertNull(LiteralPatternFilter.create(PatternConstructor.createPattern("a\\Rb", true, true)));
+		assertNull(LiteralPatternFilter.create(PatternConstructor.createPattern("foo|.*", true, true)));
+		assertNull(LiteralPatternFilter.create(Pattern.compile("foo", Pattern.DOTALL)));
+	}
+
+	@Test
+	public void testMayMatch() throws IOException {
+		LiteralPatternFilter filter= LiteralPatternFilter.create(PatternConstructor.createPattern("Gr\u00FC\u00DFe", false, true, true, false));
+		String utf8= StandardCharsets.UTF_8.name();
+		String latin1= StandardCharsets.ISO_8859_1.name();
+		String utf16= StandardCharsets.UTF_16.name();
+
+		assertTrue(mayMatch(filter, "viele Gr\u00FC\u00DFe", utf8));
+		assertTrue(mayMatch(filter, "viele Gr\u00FC\u00DFe", latin1));
+		assertFalse(mayMatch(filter, "viele Gr\u00FCsse", utf8));
+		assertFalse(mayMatch(filter, "viele Gr\u00FCsse", latin1));
+		// the literal is only searched for in the encoding of the file
+		assertFalse(filter.mayMatch(bytes("Gr\u00FC\u00DFe", latin1), bytes("Gr\u00FC\u00DFe", latin1).length, utf8));
+		// not supported, never rejected
+		assertTrue(mayMatch(filter, "nothing", utf16));
+
+		filter= LiteralPatternFilter.create(Pattern.compile(Pattern.quote("Hello"), Pattern.CASE_INSENSITIVE));
+		assertTrue(mayMatch(filter, "say HELLO", utf8));
+		assertFalse(mayMatch(filter, "say HELL0", utf8));
+	}
+
+	@Test
+	public void testMayMatchStream() throws IOException {
+		LiteralPatternFilter filter= LiteralPatternFilter.create(PatternConstructor.createPattern("needle", false, true, true, false));
+		StringBuilder text= new StringBuilder();
+		while (text.length() < (1 << 16) - 3) {
+			text.append('x');
+		}
+		String haystack= text.toString();
+		String utf8= StandardCharsets.UTF_8.name();
+
+		assertFalse(filter.mayMatch(new ByteArrayInputStream(bytes(haystack + haystack, utf8)), utf8));
+		// crosses the boundary of the first read
+		assertTrue(filter.mayMatch(new ByteArrayInputStream(bytes(haystack + "needle" + haystack, utf8)), utf8));
+		assertTrue(filter.mayMatch(new ByteArrayInputStream(bytes(haystack + haystack + "needle", utf8)), utf8));
+	}
+
+	@Test
+	public void testNoFalseRejections() throws IOException {
+		Random random= new Random(42);
+		String alphabet= "abkKsS\u212A\u017F\u00E4\u00C4 .*?|\\\n";
+		String[] charsets= { StandardCharsets.UTF_8.name(), StandardCharsets.ISO_8859_1.name(), "windows-1252" };
+		for (int i= 0; i < 2000; i++) {
+			String search= randomString(random, alphabet, 1 + random.nextInt(5));
+			boolean isRegex= random.nextBoolean();
+			Pattern pattern;
+			try {
+				pattern= PatternConstructor.createPattern(search, isRegex, true, random.nextBoolean(), false);
+			} catch (IllegalArgumentException e) {
+				continue;
+			}
+			LiteralPatternFilter filter= LiteralPatternFilter.create(pattern);
+			if (filter == null) {
+				continue;
+			}
+			for (int j= 0; j < 10; j++) {
+				String text= randomString(random, alphabet, random.nextInt(30));
+				for (String charset : charsets) {
+					byte[] content= bytes(text, charset);
+					String decoded= new String(content, charset);
+					if (pattern.matcher(decoded).find()) {
+						assertTrue(pattern + " in " + decoded, filter.mayMatch(content, content.length, charset));
+					}
+				}
+			}
+		}
+	}
+
+	private static void assertLiterals(String[] expected, Pattern pattern) {
+		LiteralPatternFilter filter= LiteralPatternFilter.create(pattern);
+		assertArrayEquals(pattern.pattern(), expected, filter.getLiterals());
+	}
+
+	private static boolean mayMatch(LiteralPatternFilter filter, String text, String charset) {
+		byte[] content= bytes(text, charset);
+		return filter.mayMatch(content, content.length, charset);
+	}
+
+	private static byte[] bytes(String text, String charset) {
+		return text.getBytes(Charset.forName(charset));
+	}
+
+	private static String randomString(Random random, String alphabet, int length) {
+		StringBuilder buffer= new StringBuilder(length);
+		for (int i= 0; i < length; i++) {
+			buffer.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return buffer.toString();
+	}
+}
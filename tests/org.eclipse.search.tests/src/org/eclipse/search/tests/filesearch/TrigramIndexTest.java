@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.search.internal.core.text.LiteralPatternFilter;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramSegment;
+import org.eclipse.search.internal.core.text.TrigramSegment.PendingFile;
+import org.eclipse.search.internal.core.text.Trigrams;
+
+public class TrigramIndexTest {
+
+	private Path fDirectory;
+
+	@Before
+	public void setUp() throws IOException {
+		fDirectory= Files.createTempDirectory("trigrams"); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		try (var files= Files.list(fDirectory)) {
+			for (Path file : files.toList()) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(fDirectory);
+	}
+
+	@Test
+	public void testExtract() {
+		Trigrams trigrams= new Trigrams();
+		assertArrayEquals(new int[] { key("abc"), key("bca"), key("cab") }, trigrams.extract(bytes("AbcAbcab"), 8));
+		assertArrayEquals(new int[0], trigrams.extract(bytes("ab"), 2));
+		// the buffers are reset between calls
+		assertArrayEquals(new int[] { key("abc") }, trigrams.extract(bytes("abcxyz"), 3));
+	}
+
+	@Test
+	public void testPlan() {
+		int[][] plan= Trigrams.plan(filter("Hello"));
+		assertEquals(1, plan.length);
+		assertArrayEquals(new int[] { key("ell"), key("hel"), key("llo") }, plan[0]);
+
+		plan= Trigrams.plan(LiteralPatternFilter.create(PatternConstructor.createPattern(new String[] { "foo", "*barx*" }, true)));
+		assertEquals(2, plan.length);
+		assertArrayEquals(new int[] { key("foo") }, plan[0]);
+		assertArrayEquals(new int[] { key("arx"), key("bar") }, plan[1]);
+
+		assertNull(Trigrams.plan(filter("ab")));
+		assertNull(Trigrams.plan(LiteralPatternFilter.create(PatternConstructor.createPattern("abc|d", true, true))));
+
+		int[] content= new Trigrams().extract(bytes("say hello"), 9);
+		assertTrue(Trigrams.matchesAny(content, Trigrams.plan(filter("HELLO"))));
+		assertFalse(Trigrams.matchesAny(content, Trigrams.plan(filter("yellow"))));
+	}
+
+	@Test
+	public void testSegment() throws IOException {
+		Trigrams trigrams= new Trigrams();
+		List<PendingFile> files= new ArrayList<>();
+		files.add(pending(trigrams, "/p/a.txt", 1, "hello world"));
+		files.add(pending(trigrams, "/p/b.txt", 2, "goodbye world"));
+		files.add(pending(trigrams, "/p/c.txt", 3, "Hello again"));
+
+		Path file1= fDirectory.resolve("trigram-1.index");
+		TrigramSegment.write(file1, null, null, files);
+		try (TrigramSegment segment= TrigramSegment.open(file1)) {
+			assertEquals(3, segment.getFileCount());
+			assertEquals("/p/b.txt", segment.getPath(1));
+			assertEquals(2, segment.getStamp(1));
+			assertEquals(bits(0, 2), segment.getCandidates(Trigrams.plan(filter("hello"))));
+			assertEquals(bits(0, 1), segment.getCandidates(Trigrams.plan(filter("world"))));
+			assertEquals(bits(), segment.getCandidates(Trigrams.plan(filter("worldx"))));
+			assertEquals(bits(1, 2), segment.getCandidates(Trigrams.plan(LiteralPatternFilter.create(PatternConstructor.createPattern(new String[] { "again", "bye" }, true)))));
+
+			// keep a.txt and c.txt, add d.txt
+			Path file2= fDirectory.resolve("trigram-2.index");
+			TrigramSegment.write(file2, segment, bits(0, 2), List.of(pending(trigrams, "/p/d.txt", 4, "world peace")));
+			try (TrigramSegment merged= TrigramSegment.open(file2)) {
+				assertEquals(3, merged.getFileCount());
+				assertEquals("/p/a.txt", merged.getPath(0));
+				assertEquals("/p/c.txt", merged.getPath(1));
+				assertEquals("/p/d.txt", merged.getPath(2));
+				assertEquals(4, merged.getStamp(2));
+				assertEquals(bits(0, 2), merged.getCandidates(Trigrams.plan(filter("world"))));
+				assertEquals(bits(), merged.getCandidates(Trigrams.plan(filter("goodbye"))));
+			}
+		}
+	}
+
+	@Test
+	public void testSegmentNoFalseRejections() throws IOException {
+		Random random= new Random(42);
+		Trigrams trigrams= new Trigrams();
+		String[] contents= new String[500];
+		List<PendingFile> files= new ArrayList<>();
+		for (int i= 0; i < contents.length; i++) {
+			contents[i]= randomString(random, 200);
+			files.add(pending(trigrams, "/p/" + i, i, contents[i]));
+		}
+		Path file= fDirectory.resolve("trigram-1.index");
+		TrigramSegment.write(file, null, null, files);
+		try (TrigramSegment segment= TrigramSegment.open(file)) {
+			for (int i= 0; i < 200; i++) {
+				String search= randomString(random, 3 + random.nextInt(2));
+				Pattern pattern= PatternConstructor.createPattern(search, false, true, random.nextBoolean(), false);
+				LiteralPatternFilter filter= LiteralPatternFilter.create(pattern);
+				int[][] plan= filter != null ? Trigrams.plan(filter) : null;
+				if (plan == null) {
+					continue;
+				}
+				BitSet candidates= segment.getCandidates(plan);
+				for (int id= 0; id < contents.length; id++) {
+					if (pattern.matcher(contents[id]).find()) {
+						assertTrue(search + " in " + contents[id], candidates.get(id));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCloseWhileAcquired() throws IOException {
+		Path file= fDirectory.resolve("trigram-1.index");
+		TrigramSegment.write(file, null, null, List.of(pending(new Trigrams(), "/p/a.txt", 1, "hello world")));
+		TrigramSegment segment= TrigramSegment.open(file);
+		assertTrue(segment.acquire());
+
+		segment.close(true);
+		assertFalse(segment.acquire());
+		assertTrue(Files.exists(file));
+		assertEquals(bits(0), segment.getCandidates(Trigrams.plan(filter("hello"))));
+
+		segment.release();
+		assertFalse(Files.exists(file));
+	}
+
+	@Test(expected= IOException.class)
+	public void testCorruptSegment() throws IOException {
+		Path file= fDirectory.resolve("trigram-1.index");
+		Files.write(file, new byte[100]);
+		TrigramSegment.open(file).close();
+	}
+
+	private static PendingFile pending(Trigrams trigrams, String path, long stamp, String content) {
+		byte[] bytes= bytes(content);
+		return new PendingFile(path, stamp, trigrams.extract(bytes, bytes.length));
+	}
+
+	private static LiteralPatternFilter filter(String text) {
+		return LiteralPatternFilter.create(PatternConstructor.createPattern(text, false, true, false, false));
+	}
+
+	private static int key(String trigram) {
+		return trigram.charAt(0) << 16 | trigram.charAt(1) << 8 | trigram.charAt(2);
+	}
+
+	private static BitSet bits(int... ids) {
+		BitSet bits= new BitSet();
+		for (int id : ids) {
+			bits.set(id);
+		}
+		return bits;
+	}
+
+	private static byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String randomString(Random random, int length) {
+		String alphabet= "abcABC \u00E4";
+		StringBuilder buffer= new StringBuilder(length);
+		for (int i= 0; i < length; i++) {
+			buffer.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return buffer.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -2652,4 +2652,99 @@ public class ProjectionDocumentTest {
 			assertTrue(false);
 		}
 	}
-}
+
+	@Test
+	public void test30a() {
+		// test replacing all master document ranges at once
+		createProjectionB();
+		final List<DocumentEvent> events= new ArrayList<>();
+		fSlaveDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events.add(event);
+			}
+		});
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] {
+				new Region(0, 20),
+				new Region(40, 20),
+				new Region(80, 20),
+				new Region(120, 20),
+				new Region(160, 20)
+			});
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		assertTrue(events.size() == 1);
+		assertSlaveContents(getProjectionASlaveContents());
+		Position[] expected= {
+			new Position(0, 20),
+			new Position(40, 20),
+			new Position(80, 20),
+			new Position(120, 20),
+			new Position(160, 20)
+		};
+		assertFragmentation(expected);
+	}
+
+	@Test
+	public void test30b() {
+		// test replacing the master document ranges with adjacent ranges
+		createProjectionA();
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] {
+				new Region(20, 20),
+				new Region(40, 30),
+				new Region(70, 10),
+				new Region(120, 20)
+			});
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		assertSlaveContents(fMasterDocument.get().substring(20, 80) + fMasterDocument.get().substring(120, 140));
+		Position[] expected= {
+			new Position(20, 60),
+			new Position(120, 20)
+		};
+		assertFragmentation(expected);
+	}
+
+	@Test
+	public void test30c() {
+		// test replacing the master document ranges with no range
+		createProjectionA();
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[0]);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		assertSlaveContents("");
+		assertWellFormedFragmentation();
+	}
+
+	@Test
+	public void test30d() {
+		// test replacing the master document ranges with overlapping ranges
+		createProjectionA();
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] {
+				new Region(20, 20),
+				new Region(30, 20)
+			});
+			assertTrue(false);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		assertSlaveContents(getProjectionASlaveContents());
+	}
+}
\ No newline at end of file
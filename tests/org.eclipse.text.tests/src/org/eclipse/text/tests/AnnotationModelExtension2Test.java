@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,11 +20,16 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
@@ -276,4 +281,114 @@ public class AnnotationModelExtension2Test {
 		assertPermutations(true, true, expected);
 	}
 
+	@Test
+	public void testRandomRegions() throws BadLocationException {
+		Random random= new Random(7);
+		Document document= new Document("x".repeat(500));
+		AnnotationModel model= new AnnotationModel();
+		model.connect(document);
+		try {
+			List<Annotation> annotations= new ArrayList<>();
+			for (int round= 0; round < 20; round++) {
+				for (int i= 0; i < 50; i++) {
+					int offset= random.nextInt(document.getLength());
+					int length= random.nextInt(4) == 0 ? 0 : random.nextInt(Math.min(random.nextBoolean() ? 10 : 300, document.getLength() - offset + 1));
+					Annotation annotation= new Annotation(false);
+					annotations.add(annotation);
+					model.addAnnotation(annotation, new Position(offset, length));
+				}
+				for (int i= 0; i < 10; i++) {
+					model.removeAnnotation(annotations.remove(random.nextInt(annotations.size())));
+				}
+				int offset= random.nextInt(document.getLength());
+				document.replace(offset, random.nextInt(Math.min(20, document.getLength() - offset + 1)), "y".repeat(random.nextInt(20)));
+
+				for (int i= 0; i < 50; i++) {
+					assertRandomRegion(random, document, model);
+				}
+			}
+		} finally {
+			model.disconnect(document);
+		}
+	}
+
+	@Test
+	public void testRandomChanges() throws BadLocationException {
+		Random random= new Random(11);
+		Document document= new Document("x".repeat(2000));
+		AnnotationModel model= new AnnotationModel();
+		model.connect(document);
+		try {
+			List<Annotation> annotations= new ArrayList<>();
+			for (int step= 0; step < 3000; step++) {
+				// annotations with deleted positions are removed by the queries
+				annotations.removeIf(a -> model.getPosition(a) == null);
+				int length= document.getLength();
+				int offset= random.nextInt(length + 1);
+				if (random.nextBoolean() && !annotations.isEmpty()) {
+					// many positions with the same offset
+					offset= Math.min(length, model.getPosition(annotations.get(random.nextInt(annotations.size()))).offset);
+				}
+				switch (random.nextInt(5)) {
+					case 0:
+					case 1:
+						Annotation annotation= new Annotation(false);
+						annotations.add(annotation);
+						model.addAnnotation(annotation, new Position(offset, random.nextInt(Math.min(random.nextBoolean() ? 5 : 200, length - offset) + 1)));
+						break;
+					case 2:
+						if (!annotations.isEmpty())
+							model.removeAnnotation(annotations.remove(random.nextInt(annotations.size())));
+						break;
+					case 3:
+						if (!annotations.isEmpty()) {
+							model.modifyAnnotationPosition(annotations.get(random.nextInt(annotations.size())), new Position(offset, random.nextInt(Math.min(50, length - offset) + 1)));
+						}
+						break;
+					default:
+						int replaced= random.nextInt(Math.min(random.nextInt(10) == 0 ? 300 : 5, length - offset) + 1);
+						document.replace(offset, replaced, "y".repeat(random.nextInt(random.nextBoolean() ? 3 : 100)));
+						break;
+				}
+					if (step % 3 == 0)
+					assertRandomRegion(random, document, model);
+			}
+		} finally {
+			model.disconnect(document);
+		}
+	}
+
+	private static void assertRandomRegion(Random random, IDocument document, AnnotationModel model) {
+		int regionOffset= random.nextInt(document.getLength() + 1);
+		int regionLength= random.nextInt(document.getLength() - regionOffset + 1);
+		boolean canStartBefore= random.nextBoolean();
+		boolean canEndAfter= random.nextBoolean();
+
+		Set<Annotation> actual= new HashSet<>();
+		Iterator<Annotation> iterator= model.getAnnotationIterator(regionOffset, regionLength, canStartBefore, canEndAfter);
+		while (iterator.hasNext())
+			actual.add(iterator.next());
+
+		Set<Annotation> expected= new HashSet<>();
+		Position region= new Position(regionOffset, regionLength);
+		iterator= model.getAnnotationIterator();
+		while (iterator.hasNext()) {
+			Annotation annotation= iterator.next();
+			Position p= model.getPosition(annotation);
+			int last= p.length == 0 ? p.offset : p.offset + p.length - 1;
+			boolean inside;
+			if (canStartBefore && canEndAfter)
+				inside= region.overlapsWith(p.offset, p.length);
+			else if (canStartBefore)
+				inside= region.includes(last);
+			else if (canEndAfter)
+				inside= region.includes(p.offset);
+			else
+				inside= region.includes(p.offset) && region.includes(p.offset + p.length - 1);
+			if (inside)
+				expected.add(annotation);
+		}
+		Assert.assertEquals("region [" + regionOffset + ", " + regionLength + "] " + canStartBefore + " " + canEndAfter, expected, actual);
+	}
+
 }
@@ -16,6 +16,12 @@ package org.eclipse.text.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -165,6 +171,31 @@ public class DocumentTest {
 
 	}
 
+	@Test
+	public void testGetOverlappingPositions() throws BadLocationException, BadPositionCategoryException {
+		Random random= new Random(17);
+		for (int i= 0; i < 300; i++) {
+			int offset= random.nextInt(fDocument.getLength());
+			int length= random.nextInt(Math.min(fDocument.getLength() - offset, 20) + 1);
+			fDocument.addPosition(new Position(offset, length));
+		}
+
+		Position[] all= fDocument.getPositions(IDocument.DEFAULT_CATEGORY);
+		for (int offset= 0; offset < fDocument.getLength(); offset+= 7) {
+			for (int length= 1; length < 30 && offset + length <= fDocument.getLength(); length+= 3) {
+				Set<Position> expected= Collections.newSetFromMap(new IdentityHashMap<>());
+				Position region= new Position(offset, length);
+				for (Position position : all) {
+					if (region.overlapsWith(position.getOffset(), position.getLength()))
+						expected.add(position);
+				}
+				Set<Position> actual= Collections.newSetFromMap(new IdentityHashMap<>());
+				actual.addAll(Arrays.asList(fDocument.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, true, true)));
+				assertEquals("overlapping positions of [" + offset + "," + length + "]", expected, actual);
+			}
+		}
+	}
+
 	@Test
 	public void testInsert1() throws BadPositionCategoryException, BadLocationException {
 		fDocument.replace(0, 0, "//comment\n");
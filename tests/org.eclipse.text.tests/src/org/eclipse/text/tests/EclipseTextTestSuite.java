@@ -41,6 +41,7 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		TextEditTests.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
+		RopeTextStoreTest.class,
 		ChildDocumentTest.class,
 		ProjectionTestSuite.class,
 		LinkTestSuite.class,
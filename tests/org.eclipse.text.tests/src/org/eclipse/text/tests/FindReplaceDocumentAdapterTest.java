@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,8 +22,11 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Random;
 import java.util.regex.PatternSyntaxException;
 
 import org.junit.After;
@@ -32,9 +35,14 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 
@@ -497,6 +505,139 @@ public class FindReplaceDocumentAdapterTest {
 		}
 	}
 
+	@Test
+	public void testFindAll() throws Exception {
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+
+		assertFindAll(adapter, 0, fDocument.getLength(), "public", true, false, false);
+		assertFindAll(adapter, 0, fDocument.getLength(), "COMMENT", false, false, false);
+		assertFindAll(adapter, 0, fDocument.getLength(), "comment", true, true, false);
+		assertFindAll(adapter, 0, fDocument.getLength(), "method\\d\\(\\)", true, false, true);
+		assertFindAll(adapter, 0, fDocument.getLength(), "^\\s*//.*$", true, false, true);
+		assertFindAll(adapter, 0, fDocument.getLength(), "x*", true, false, true);
+
+		List<IRegion> matches= new ArrayList<>();
+		adapter.findAll(0, fDocument.getLength(), "public", true, false, false, matches::add, null);
+		assertEquals(Arrays.asList(new Region(38, 6), new Region(75, 6), new Region(119, 6)), matches);
+
+		matches.clear();
+		adapter.findAll(70, 60, "public", true, false, false, matches::add, null);
+		assertEquals(Arrays.asList(new Region(75, 6), new Region(119, 6)), matches);
+
+		matches.clear();
+		adapter.findAll(0, 10, "", true, false, false, matches::add, null);
+		assertEquals(0, matches.size());
+
+		assertThrows(BadLocationException.class, () -> adapter.findAll(10, fDocument.getLength(), "public", true, false, false, matches::add, null));
+	}
+
+	@Test
+	public void testFindAllInChunks() throws Exception {
+		Random random= new Random(31);
+		char[] chars= new char[(1 << 20) + 12345];
+		for (int i= 0; i < chars.length; i++)
+			chars[i]= "aAb ".charAt(random.nextInt(4));
+		fDocument.set(new String(chars));
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+
+		assertFindAll(adapter, 0, fDocument.getLength(), "aa", true, false, false);
+		assertFindAll(adapter, 0, fDocument.getLength(), "aaa", false, false, false);
+		assertFindAll(adapter, 0, fDocument.getLength(), "ab", true, true, false);
+		assertFindAll(adapter, 7, fDocument.getLength() - 20, "abA", false, false, false);
+
+		// a run that crosses every chunk boundary
+		Arrays.fill(chars, 'a');
+		fDocument.set(new String(chars));
+		assertFindAll(adapter, 0, fDocument.getLength(), "aaaaaaa", true, false, false);
+		assertFindAll(adapter, 3, fDocument.getLength() - 3, "aaaaaaa", true, true, false);
+	}
+
+	@Test
+	public void testFindAllCanceled() throws Exception {
+		fDocument.set("a".repeat((1 << 20) + 1));
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+
+		assertThrows(OperationCanceledException.class, () -> adapter.findAll(0, fDocument.getLength(), "a", true, false, false, match -> {}, monitor));
+		assertThrows(OperationCanceledException.class, () -> adapter.findAll(0, fDocument.getLength(), "a", true, false, true, match -> {}, monitor));
+		assertThrows(OperationCanceledException.class, () -> adapter.replaceAll(0, fDocument.getLength(), "a", "b", true, false, false, monitor));
+		assertEquals(-1, fDocument.get().indexOf('b'));
+	}
+
+	@Test
+	public void testFindAllCanceledWithoutMatches() throws Exception {
+		fDocument.set("a".repeat(1 << 20));
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		monitor.setCanceled(true);
+
+		assertThrows(OperationCanceledException.class, () -> adapter.findAll(0, fDocument.getLength(), "b", true, false, true, match -> fail(), monitor));
+	}
+
+	@Test
+	public void testFindAllStreamsMatches() throws Exception {
+		fDocument.set("ab ".repeat(1 << 16));
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+		NullProgressMonitor monitor= new NullProgressMonitor();
+		List<IRegion> matches= new ArrayList<>();
+
+		assertThrows(OperationCanceledException.class, () -> adapter.findAll(0, fDocument.getLength(), "a+b", true, false, true, match -> {
+			matches.add(match);
+			monitor.setCanceled(true);
+		}, monitor));
+		assertTrue(matches.size() < 1 << 16);
+		assertEquals(new Region(0, 2), matches.get(0));
+	}
+
+	@Test
+	public void testReplaceAll() throws Exception {
+		List<DocumentEvent> events= new ArrayList<>();
+		fDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events.add(event);
+			}
+		});
+		FindReplaceDocumentAdapter adapter= new FindReplaceDocumentAdapter(fDocument);
+
+		int count= adapter.replaceAll(0, fDocument.getLength(), "public", "private", true, false, false, null);
+		assertEquals(3, count);
+		assertEquals(3, events.size());
+		assertEquals(3, fDocument.get().split("private", -1).length - 1);
+		assertEquals(-1, fDocument.get().indexOf("public"));
+
+		count= adapter.replaceAll(0, fDocument.getLength(), "method(\\d)\\(\\)", "\\Cop$1()", true, false, true, null);
+		assertEquals(2, count);
+		assertEquals(5, events.size());
+		assertTrue(fDocument.get().contains("private void op1() {"));
+		assertTrue(fDocument.get().contains("private void op2() {"));
+
+		count= adapter.replaceAll(0, fDocument.getLength(), "missing", "found", true, false, false, null);
+		assertEquals(0, count);
+		assertEquals(5, events.size());
+	}
+
+	private static void assertFindAll(FindReplaceDocumentAdapter adapter, int offset, int length, String findString, boolean caseSensitive, boolean wholeWord, boolean regExSearch) throws BadLocationException {
+		List<IRegion> expected= new ArrayList<>();
+		int start= offset;
+		IRegion match;
+		while (start <= offset + length && (match= adapter.find(start, findString, true, caseSensitive, wholeWord, regExSearch)) != null) {
+			if (match.getOffset() + match.getLength() > offset + length)
+				break;
+			expected.add(match);
+			start= match.getOffset() + match.getLength();
+		}
+
+		List<IRegion> actual= new ArrayList<>();
+		adapter.findAll(offset, length, findString, caseSensitive, wholeWord, regExSearch, actual::add, null);
+		assertEquals(findString, expected, actual);
+	}
+
 	@Test
 	public void testRegexFindStackOverflow_fail() throws Exception {
 		// test for https://bugs.eclipse.org/bugs/show_bug.cgi?id=102699
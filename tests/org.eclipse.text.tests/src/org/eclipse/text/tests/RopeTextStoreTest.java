@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.RopeTextStore;
+
+public class RopeTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		// use a tiny chunk size so that the tests exercise the tree operations
+		return new RopeTextStore(4);
+	}
+
+	@Test
+	public void testSnapshot() {
+		RopeTextStore store= new RopeTextStore(4);
+		store.set("0123456789");
+		RopeTextStore snapshot= store.snapshot();
+
+		store.replace(2, 5, "xyz");
+		assertEquals("01xyz789", store.get(0, store.getLength()));
+		assertEquals("0123456789", snapshot.get(0, snapshot.getLength()));
+
+		snapshot.replace(0, 0, "abc");
+		assertEquals("abc0123456789", snapshot.get(0, snapshot.getLength()));
+		assertEquals("01xyz789", store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random= new Random(4711);
+		RopeTextStore store= new RopeTextStore(16);
+		StringBuilder expected= new StringBuilder();
+		for (int i= 0; i < 5000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(expected.length() - offset, 40) + 1);
+			String text= randomText(random, random.nextInt(60));
+			store.replace(offset, length, text);
+			expected.replace(offset, offset + length, text);
+
+			assertEquals(expected.length(), store.getLength());
+			int from= random.nextInt(expected.length() + 1);
+			int to= from + random.nextInt(expected.length() - from + 1);
+			assertEquals(expected.substring(from, to), store.get(from, to - from));
+			if (expected.length() > 0) {
+				int index= random.nextInt(expected.length());
+				assertEquals(expected.charAt(index), store.get(index));
+			}
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testSequentialTyping() {
+		RopeTextStore store= new RopeTextStore(8);
+		StringBuilder expected= new StringBuilder();
+		for (int i= 0; i < 1000; i++) {
+			String c= String.valueOf((char) ('a' + i % 26));
+			store.replace(i, 0, c);
+			expected.append(c);
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		for (int i= 0; i < expected.length(); i++)
+			assertEquals(expected.charAt(i), store.get(i));
+	}
+
+	private static String randomText(Random random, int length) {
+		char[] chars= new char[length];
+		for (int i= 0; i < length; i++)
+			chars[i]= (char) ('a' + random.nextInt(26));
+		return new String(chars);
+	}
+}
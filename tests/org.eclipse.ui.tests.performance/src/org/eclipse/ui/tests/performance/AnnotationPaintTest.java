@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.tests.performance.JFacePerformanceSuite;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationPainter;
+import org.eclipse.jface.text.source.IAnnotationAccess;
+import org.eclipse.jface.text.source.ISharedTextColors;
+import org.eclipse.jface.text.source.OverviewRuler;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.source.VerticalRuler;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.editors.text.EditorsUI;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Test scrolling and annotation update performance of a source viewer with
+ * many annotations shown by an annotation painter and an overview ruler.
+ */
+@RunWith(Parameterized.class)
+public class AnnotationPaintTest extends BasicPerformanceTest {
+
+	private static final String ANNOTATION_TYPE = "org.eclipse.ui.tests.performance.annotation";
+	private static final int LINE_COUNT = 20000;
+	private static final int UPDATE_COUNT = 10;
+	private static final int ITERATIONS = 5;
+	private static final int MIN_ITERATIONS = 5;
+
+	private Shell fShell;
+	private SourceViewer fViewer;
+	private AnnotationModel fModel;
+
+	private final int annotationCount;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { 1000 }, { 20000 } });
+	}
+
+	/**
+	 * @param annotationCount the number of annotations in the model
+	 */
+	public AnnotationPaintTest(int annotationCount) {
+		super("AnnotationPaint[" + annotationCount + "]");
+		this.annotationCount = annotationCount;
+	}
+
+	@Test
+	public void test() throws Throwable {
+		final StyledText text = fViewer.getTextWidget();
+		final IDocument document = fViewer.getDocument();
+		fShell.setFocus();
+
+		exercise(() -> {
+			startMeasuring();
+			for (int i = 0; i < LINE_COUNT / 100; i++) {
+				fViewer.setTopIndex(i * 100);
+				// add and remove a few annotations around the visible area
+				Annotation[] added = new Annotation[UPDATE_COUNT];
+				Map<Annotation, Position> positions = new HashMap<>();
+				for (int j = 0; j < UPDATE_COUNT; j++) {
+					added[j] = new Annotation(ANNOTATION_TYPE, false, null);
+					int offset = document.getLength() * (i * 100 + j) / LINE_COUNT;
+					positions.put(added[j], new Position(offset, 5));
+				}
+				fModel.replaceAnnotations(null, positions);
+				processEvents();
+				fModel.replaceAnnotations(added, null);
+				text.redraw();
+				processEvents();
+			}
+			stopMeasuring();
+		}, MIN_ITERATIONS, ITERATIONS, JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+
+		Display display = Display.getCurrent();
+		if (display == null)
+			display = new Display();
+
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < LINE_COUNT; i++) {
+			content.append("line ").append(i).append(" of the annotation paint test\n");
+		}
+		IDocument document = new Document(content.toString());
+
+		fModel = new AnnotationModel();
+		int length = document.getLength();
+		for (int i = 0; i < annotationCount; i++) {
+			int offset = (int) ((long) length * i / annotationCount);
+			fModel.addAnnotation(new Annotation(ANNOTATION_TYPE, i % 2 == 0, null), new Position(offset, 10));
+		}
+
+		IAnnotationAccess access = new IAnnotationAccess() {
+			@Override
+			public Object getType(Annotation annotation) {
+				return annotation.getType();
+			}
+
+			@Override
+			public boolean isMultiLine(Annotation annotation) {
+				return true;
+			}
+
+			@Override
+			public boolean isTemporary(Annotation annotation) {
+				return !annotation.isPersistent();
+			}
+		};
+		ISharedTextColors colors = EditorsUI.getSharedTextColors();
+
+		fShell = new Shell(display);
+		fShell.setSize(500, 500);
+		fShell.setLayout(new FillLayout());
+
+		OverviewRuler overviewRuler = new OverviewRuler(access, 12, colors);
+		overviewRuler.addAnnotationType(ANNOTATION_TYPE);
+		overviewRuler.setAnnotationTypeLayer(ANNOTATION_TYPE, 0);
+		overviewRuler.setAnnotationTypeColor(ANNOTATION_TYPE, display.getSystemColor(SWT.COLOR_RED));
+
+		fViewer = new SourceViewer(fShell, new VerticalRuler(12), overviewRuler, true, SWT.V_SCROLL | SWT.H_SCROLL);
+		fViewer.setDocument(document, fModel);
+
+		AnnotationPainter painter = new AnnotationPainter(fViewer, access);
+		painter.addAnnotationType(ANNOTATION_TYPE);
+		painter.setAnnotationTypeColor(ANNOTATION_TYPE, display.getSystemColor(SWT.COLOR_RED));
+		fViewer.addPainter(painter);
+
+		fShell.open();
+		processEvents();
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		super.doTearDown();
+		if (fShell != null) {
+			fShell.close();
+			fShell = null;
+		}
+	}
+}
@@ -14,16 +14,23 @@
 package org.eclipse.ui.workbench.texteditor.tests;
 
 import static org.eclipse.jface.text.DocumentRewriteSessionType.SEQUENTIAL;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.ILineDiffInfo;
 
 import org.eclipse.ui.internal.texteditor.quickdiff.DocumentLineDiffer;
 
+import org.eclipse.ui.texteditor.ITextEditor;
+import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
+
 /**
  * Tests for the {@link DocumentLineDiffer}.
  */
@@ -169,4 +176,93 @@ public class DocumentLineDifferTest {
 		assertFalse(fLineDiffer.isSuspended());
 	}
 
+	/**
+	 * Test that the differences to the reference document are computed when the documents only
+	 * differ in the middle and at the end.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void differencesToReferenceAreComputed() throws Exception {
+		// given
+		fDocument.set("a\nb\nX\nd\ne\nf\n");
+		fLineDiffer.setReferenceProvider(new ReferenceProvider(new Document("a\nb\nc\nd\ne\n")));
+
+		// when
+		fLineDiffer.connect(fDocument);
+		waitForSynchronization();
+
+		// then
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(0).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(1).getChangeType());
+		assertEquals(ILineDiffInfo.CHANGED, fLineDiffer.getLineInfo(2).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(3).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(4).getChangeType());
+		assertEquals(ILineDiffInfo.ADDED, fLineDiffer.getLineInfo(5).getChangeType());
+		assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(6).getChangeType());
+	}
+
+	/**
+	 * Test that a document equal to the reference document has no differences.
+	 *
+	 * @throws Exception unexpected exception
+	 */
+	@Test
+	public void noDifferencesToEqualReference() throws Exception {
+		// given
+		fDocument.set("a\nb\nc\n");
+		fLineDiffer.setReferenceProvider(new ReferenceProvider(new Document("a\nb\nc\n")));
+
+		// when
+		fLineDiffer.connect(fDocument);
+		waitForSynchronization();
+
+		// then
+		for (int line= 0; line < fDocument.getNumberOfLines(); line++)
+			assertEquals(ILineDiffInfo.UNCHANGED, fLineDiffer.getLineInfo(line).getChangeType());
+	}
+
+	private void waitForSynchronization() throws InterruptedException {
+		long timeout= System.currentTimeMillis() + 10000;
+		while (!fLineDiffer.isSynchronized() && System.currentTimeMillis() < timeout)
+			Thread.sleep(10);
+		assertTrue(fLineDiffer.isSynchronized());
+	}
+
+	/** A reference provider returning a fixed document. */
+	private static final class ReferenceProvider implements IQuickDiffReferenceProvider {
+
+		private final IDocument fReference;
+
+		ReferenceProvider(IDocument reference) {
+			fReference= reference;
+		}
+
+		@Override
+		public IDocument getReference(IProgressMonitor monitor) {
+			return fReference;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public String getId() {
+			return "fixed";
+		}
+
+		@Override
+		public void setActiveEditor(ITextEditor editor) {
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return true;
+		}
+
+		@Override
+		public void setId(String id) {
+		}
+	}
 }
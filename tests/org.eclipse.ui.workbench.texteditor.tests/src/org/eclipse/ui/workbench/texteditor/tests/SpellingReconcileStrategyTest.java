@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.ISourceViewer;
+
+import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingAnnotation;
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
+import org.eclipse.ui.texteditor.spelling.SpellingProblem;
+import org.eclipse.ui.texteditor.spelling.SpellingReconcileStrategy;
+import org.eclipse.ui.texteditor.spelling.SpellingService;
+
+/**
+ * Tests for the {@link SpellingReconcileStrategy}.
+ */
+public class SpellingReconcileStrategyTest {
+
+	private static final String MISSPELLED= "teh";
+
+	private final Document fDocument= new Document("teh first line\nsecond line\nthird teh line\n");
+
+	private final AnnotationModel fModel= new AnnotationModel();
+
+	/** The total length of the regions checked by the engine. */
+	private int fCheckedLength;
+
+	private SpellingReconcileStrategy fStrategy;
+
+	@Before
+	public void setUp() {
+		fModel.connect(fDocument);
+		ISourceViewer viewer= mock(ISourceViewer.class);
+		when(viewer.getAnnotationModel()).thenReturn(fModel);
+		fStrategy= new SpellingReconcileStrategy(viewer, new TestSpellingService());
+		fStrategy.setDocument(fDocument);
+	}
+
+	@Test
+	public void unchangedProblemsKeepTheirAnnotations() {
+		fStrategy.initialReconcile();
+		List<Annotation> before= getSpellingAnnotations();
+		assertEquals(2, before.size());
+
+		fStrategy.reconcile(new Region(0, fDocument.getLength()));
+
+		List<Annotation> after= getSpellingAnnotations();
+		assertEquals(2, after.size());
+		assertTrue(after.containsAll(before));
+	}
+
+	@Test
+	public void incrementalCheckOnlyVisitsChangedLine() throws BadLocationException {
+		fStrategy.initialReconcile();
+		List<Annotation> before= getSpellingAnnotations();
+
+		// insert a misspelling on the second line, which shifts the problem on the third line
+		int offset= fDocument.getLineOffset(1);
+		String text= MISSPELLED + " ";
+		fDocument.replace(offset, 0, text);
+		fCheckedLength= 0;
+		fStrategy.reconcile(new DirtyRegion(offset, text.length(), DirtyRegion.INSERT, text), new Region(offset, text.length()));
+
+		assertEquals(fDocument.getLineLength(1) - 1, fCheckedLength);
+		List<Annotation> annotations= getSpellingAnnotations();
+		assertEquals(3, annotations.size());
+		assertTrue(annotations.containsAll(before));
+		for (Annotation annotation : annotations) {
+			Position position= fModel.getPosition(annotation);
+			assertEquals(MISSPELLED, fDocument.get(position.getOffset(), position.getLength()));
+		}
+	}
+
+	@Test
+	public void dirtyRegionIsReconciledThroughRegionReconcile() throws BadLocationException {
+		List<IRegion> reconciled= new ArrayList<>();
+		ISourceViewer viewer= mock(ISourceViewer.class);
+		when(viewer.getAnnotationModel()).thenReturn(fModel);
+		SpellingReconcileStrategy strategy= new SpellingReconcileStrategy(viewer, new TestSpellingService()) {
+			@Override
+			public void reconcile(IRegion region) {
+				reconciled.add(region);
+				super.reconcile(region);
+			}
+		};
+		strategy.setDocument(fDocument);
+
+		int offset= fDocument.getLineOffset(1);
+		fDocument.replace(offset, 0, "x");
+		strategy.reconcile(new DirtyRegion(offset, 1, DirtyRegion.INSERT, "x"), new Region(offset, 1));
+
+		assertEquals(1, reconciled.size());
+		assertEquals(offset, reconciled.get(0).getOffset());
+	}
+
+	@Test
+	public void incrementalCheckRemovesFixedProblem() throws BadLocationException {
+		fStrategy.initialReconcile();
+		Annotation third= getSpellingAnnotations().stream().filter(a -> fModel.getPosition(a).getOffset() > 0).findFirst().get();
+
+		int offset= fModel.getPosition(third).getOffset();
+		fDocument.replace(offset, MISSPELLED.length(), "the");
+		fStrategy.reconcile(new DirtyRegion(offset, 3, DirtyRegion.INSERT, "the"), new Region(offset, 3));
+
+		List<Annotation> annotations= getSpellingAnnotations();
+		assertEquals(1, annotations.size());
+		assertEquals(0, fModel.getPosition(annotations.get(0)).getOffset());
+	}
+
+	private List<Annotation> getSpellingAnnotations() {
+		List<Annotation> annotations= new ArrayList<>();
+		Iterator<Annotation> iter= fModel.getAnnotationIterator();
+		while (iter.hasNext()) {
+			Annotation annotation= iter.next();
+			if (SpellingAnnotation.TYPE.equals(annotation.getType()))
+				annotations.add(annotation);
+		}
+		return annotations;
+	}
+
+	/** A spelling service which reports each occurrence of {@link #MISSPELLED}. */
+	private class TestSpellingService extends SpellingService {
+
+		TestSpellingService() {
+			super(null);
+		}
+
+		@Override
+		public void check(IDocument document, IRegion[] regions, SpellingContext context, ISpellingProblemCollector collector, IProgressMonitor monitor) {
+			collector.beginCollecting();
+			try {
+				for (IRegion region : regions) {
+					fCheckedLength+= region.getLength();
+					String text= document.get(region.getOffset(), region.getLength());
+					for (int index= text.indexOf(MISSPELLED); index != -1; index= text.indexOf(MISSPELLED, index + 1))
+						collector.accept(new TestSpellingProblem(region.getOffset() + index));
+				}
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			} finally {
+				collector.endCollecting();
+			}
+		}
+	}
+
+	private static class TestSpellingProblem extends SpellingProblem {
+
+		private final int fOffset;
+
+		TestSpellingProblem(int offset) {
+			fOffset= offset;
+		}
+
+		@Override
+		public int getOffset() {
+			return fOffset;
+		}
+
+		@Override
+		public int getLength() {
+			return MISSPELLED.length();
+		}
+
+		@Override
+		public String getMessage() {
+			return MISSPELLED;
+		}
+
+		@Override
+		public ICompletionProposal[] getProposals() {
+			return new ICompletionProposal[0];
+		}
+	}
+}